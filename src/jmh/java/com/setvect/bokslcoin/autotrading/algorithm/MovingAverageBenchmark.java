@@ -0,0 +1,96 @@
+package com.setvect.bokslcoin.autotrading.algorithm;
+
+import com.setvect.bokslcoin.autotrading.algorithm.indicator.MovingAverage;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import com.setvect.bokslcoin.autotrading.model.CandleSeries;
+import com.setvect.bokslcoin.autotrading.util.MathUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이동평균 계산 비용 비교<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=MovingAverageBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MovingAverageBenchmark {
+    @Param({"15", "64", "200"})
+    private int period;
+
+    private List<Candle> candleList;
+    private CandleSeries series;
+    private List<Double> priceList;
+    private MovingAverage movingAverage;
+    private double price;
+
+    @Setup
+    public void setup() {
+        int size = period + 1;
+        candleList = new ArrayList<>(size);
+        priceList = new ArrayList<>(size);
+        series = new CandleSeries("KRW-BTC", size);
+        movingAverage = new MovingAverage(period);
+        LocalDateTime base = LocalDateTime.of(2022, 1, 1, 0, 0);
+        for (int i = 0; i < size; i++) {
+            Candle candle = new Candle();
+            candle.setMarket("KRW-BTC");
+            candle.setCandleDateTimeUtc(base.minusHours(i));
+            candle.setCandleDateTimeKst(base.minusHours(i).plusHours(9));
+            candle.setTradePrice(40_000_000 + i * 1000);
+            candleList.add(candle);
+            priceList.add(candle.getTradePrice());
+        }
+        // 과거 캔들부터 추가
+        for (int i = size - 1; i >= 0; i--) {
+            series.pushFront(candleList.get(i));
+            movingAverage.push(candleList.get(i).getTradePrice());
+        }
+        price = 40_000_000;
+    }
+
+    /**
+     * 캔들 목록 전체 합산
+     */
+    @Benchmark
+    public double getMaList() {
+        return CommonTradeHelper.getMa(candleList, period);
+    }
+
+    /**
+     * primitive 배열 캔들 전체 합산
+     */
+    @Benchmark
+    public double getMaSeries() {
+        return CommonTradeHelper.getMa(series, period);
+    }
+
+    /**
+     * Double 목록 합산
+     */
+    @Benchmark
+    public double mathUtilAverage() {
+        return MathUtil.getAverage(priceList, 0, period);
+    }
+
+    /**
+     * 체결마다 최신값 변경(누적 합 유지)
+     */
+    @Benchmark
+    public double movingAverageUpdate() {
+        price += 1000;
+        movingAverage.update(price);
+        return movingAverage.getValue();
+    }
+}
@@ -0,0 +1,46 @@
+package com.setvect.bokslcoin.autotrading.algorithm;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체결마다 호출하는 주기 시간 계산, 호가 단위 계산 비용<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=PriceTimeBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceTimeBenchmark {
+    @Param({"PERIOD_15", "PERIOD_60", "PERIOD_240", "PERIOD_1440"})
+    private PeriodType periodType;
+
+    private LocalDateTime time;
+    private final double[] prices = {0.57, 8.3, 95.5, 873, 4_512, 58_210, 312_450, 1_834_000, 38_331_000};
+    private int index;
+
+    @Setup
+    public void setup() {
+        time = LocalDateTime.of(2022, 3, 11, 10, 22, 34);
+    }
+
+    @Benchmark
+    public LocalDateTime fitDateTime() {
+        return periodType.fitDateTime(time);
+    }
+
+    @Benchmark
+    public double askPrice() {
+        index = (index + 1) % prices.length;
+        return AskPriceRange.askPrice(prices[index]);
+    }
+}
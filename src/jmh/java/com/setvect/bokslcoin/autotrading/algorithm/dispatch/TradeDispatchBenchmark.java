@@ -0,0 +1,93 @@
+package com.setvect.bokslcoin.autotrading.algorithm.dispatch;
+
+import com.setvect.bokslcoin.autotrading.algorithm.CoinTrading;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeFrameDecoder;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeRecord;
+import com.setvect.bokslcoin.autotrading.monitor.TradingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okio.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 체결 한 건에 웹소켓 수신 스레드가 묶여 있는 시간 비교<br>
+ * 매매 알고리즘은 API 호출 대신 blockMicros 동안 대기. 대기열이 차면 최신 체결로 합침(COALESCE)<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=TradeDispatchBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TradeDispatchBenchmark {
+    private static final String FRAME = "{\"type\":\"trade\",\"code\":\"KRW-BTC\",\"timestamp\":1652345678901,\"trade_date\":\"2022-05-12\"," +
+            "\"trade_time\":\"09:01:02\",\"trade_price\":38331000.0,\"trade_volume\":0.00012345,\"prev_closing_price\":39064000.0}";
+
+    /**
+     * 매매 알고리즘 한 번 호출 시간(마이크로초)
+     */
+    @Param({"0", "1000"})
+    private int blockMicros;
+
+    private ByteString bytes;
+    private TradeFrameDecoder decoder;
+    private TradeRecord record;
+    private CoinTrading coinTrading;
+    private TradeDispatcher dispatcher;
+    private GenericApplicationContext context;
+
+    @Setup
+    public void setup() {
+        bytes = ByteString.encodeUtf8(FRAME);
+        decoder = new TradeFrameDecoder(Collections.singletonList("KRW-BTC"));
+        record = new TradeRecord();
+        long blockNanos = TimeUnit.MICROSECONDS.toNanos(blockMicros);
+        coinTrading = tradeResult -> {
+            if (blockNanos > 0) {
+                LockSupport.parkNanos(blockNanos);
+            }
+        };
+        context = new GenericApplicationContext();
+        context.registerBean("benchmark", CoinTrading.class, () -> coinTrading);
+        context.refresh();
+        DispatchProperties properties = new DispatchProperties();
+        properties.setPolicy(BackpressurePolicy.COALESCE);
+        dispatcher = new TradeDispatcher(context, "benchmark", properties, new TradingMetrics(new SimpleMeterRegistry()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        dispatcher.shutdown();
+        context.close();
+    }
+
+    /**
+     * 기존 방식: 수신 스레드에서 매매 알고리즘 직접 호출
+     */
+    @Benchmark
+    public TradeRecord inline() {
+        decoder.decode(bytes, record);
+        coinTrading.tradeEvent(record.toTradeResult());
+        return record;
+    }
+
+    /**
+     * 코인별 작업 스레드 대기열에 넣기만 함
+     */
+    @Benchmark
+    public TradeRecord dispatch() {
+        decoder.decode(bytes, record);
+        dispatcher.dispatch(record);
+        return record;
+    }
+}
@@ -0,0 +1,105 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import com.setvect.bokslcoin.autotrading.util.GsonUtil;
+import okio.ByteString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체결 프레임 처리 비용 비교<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=TradeDecodeBenchmark, 호출당 할당량은 gc.alloc.rate.norm 항목 확인
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TradeDecodeBenchmark {
+    private static final String FRAME = "{\"type\":\"trade\",\"code\":\"KRW-BTC\",\"timestamp\":1652345678901,\"trade_date\":\"2022-05-12\"," +
+            "\"trade_time\":\"09:01:02\",\"trade_timestamp\":1652345678000,\"trade_price\":38331000.0,\"trade_volume\":0.00012345," +
+            "\"ask_bid\":\"BID\",\"prev_closing_price\":39064000.0,\"change\":\"FALL\",\"change_price\":733000.0," +
+            "\"sequential_id\":16523456780000000,\"stream_type\":\"REALTIME\"}";
+
+    private ByteString bytes;
+    private TradeFrameDecoder decoder;
+    private TradeRecord record;
+    /**
+     * 작업 스레드 대기열에서 꺼낸 체결
+     */
+    private TradeRecord workerRecord;
+    private final TradeResult[] tradeResults = {new TradeResult(), new TradeResult()};
+    private int tradeResultIdx;
+
+    @Setup
+    public void setup() {
+        bytes = ByteString.encodeUtf8(FRAME);
+        decoder = new TradeFrameDecoder(Arrays.asList("KRW-BTC", "KRW-ETH", "KRW-XRP", "KRW-EOS", "KRW-ETC"));
+        record = new TradeRecord();
+        workerRecord = new TradeRecord();
+    }
+
+    /**
+     * 기존 방식: 문자열 변환 후 Gson 역직렬화
+     */
+    @Benchmark
+    public TradeResult gson() {
+        String message = bytes.string(StandardCharsets.UTF_8);
+        return GsonUtil.GSON.fromJson(message, TradeResult.class);
+    }
+
+    /**
+     * 재사용 버퍼에 직접 읽기
+     */
+    @Benchmark
+    public TradeRecord decoder() {
+        decoder.decode(bytes, record);
+        return record;
+    }
+
+    /**
+     * 직접 읽은 후 이벤트 전달용 객체 생성
+     */
+    @Benchmark
+    public TradeResult decoderToTradeResult() {
+        decoder.decode(bytes, record);
+        return record.toTradeResult();
+    }
+
+    /**
+     * 수신부터 매매 알고리즘 전달까지(작업 스레드 대기열 복사, 체결 객체 생성, 체결 시간 조회). 체결마다 새 객체
+     */
+    @Benchmark
+    public LocalDateTime dispatchNewTradeResult() {
+        decoder.decode(bytes, record);
+        workerRecord.copyFrom(record);
+        return readTradeTime(workerRecord.toTradeResult());
+    }
+
+    /**
+     * 수신부터 매매 알고리즘 전달까지. 작업 스레드처럼 체결 객체 두 개를 번갈아 재사용
+     */
+    @Benchmark
+    public LocalDateTime dispatchReusedTradeResult() {
+        decoder.decode(bytes, record);
+        workerRecord.copyFrom(record);
+        tradeResultIdx ^= 1;
+        return readTradeTime(workerRecord.toTradeResult(tradeResults[tradeResultIdx]));
+    }
+
+    /**
+     * 매매 알고리즘에서 체결 하나에 조회하는 체결 시간(UTC 한 번, KST 두 번)
+     */
+    private static LocalDateTime readTradeTime(TradeResult tradeResult) {
+        tradeResult.getTradeDateTimeUtc();
+        tradeResult.getTradeDateTimeKst();
+        return tradeResult.getTradeDateTimeKst();
+    }
+}
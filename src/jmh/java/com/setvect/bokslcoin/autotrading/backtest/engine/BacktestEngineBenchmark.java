@@ -0,0 +1,110 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleColumns;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 체결 이벤트 한 건당 전략({@link com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiService#tradeEvent}) 처리 비용<br>
+ * 임의로 만든 1분봉을 백테스트 엔진으로 흘려 보냄. 결과 시간을 1분봉 수({@link #MINUTES} * 코인 수)로 나누면 체결 한 건 처리 시간<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=BacktestEngineBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BacktestEngineBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 0, 0);
+    /**
+     * 코인별 1분봉 수(30일)
+     */
+    private static final int MINUTES = 60 * 24 * 30;
+    private static final List<String> MARKETS = Arrays.asList("KRW-BTC", "KRW-ETH", "KRW-XRP");
+
+    @Param({"1", "3"})
+    private int marketCount;
+
+    private Path dir;
+    private BacktestEngine engine;
+    private MabsMultiProperties properties;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("candle-bench");
+        CandleStore store = new CandleStore(dir.toString());
+        Random random = new Random(1);
+        for (String market : MARKETS) {
+            CandleColumns minute = new CandleColumns();
+            CandleColumns hour = new CandleColumns();
+            double price = 10_000;
+            double open = price;
+            double high = price;
+            double low = price;
+            for (int i = 0; i < MINUTES; i++) {
+                // 임의 보행
+                price = Math.max(100, price * (1 + (random.nextDouble() - 0.5) * 0.004));
+                minute.add(CandleStore.toEpochMilli(BASE.plusMinutes(i)), price, price, price, price);
+                high = Math.max(high, price);
+                low = Math.min(low, price);
+                if (i % 60 == 59) {
+                    hour.add(CandleStore.toEpochMilli(BASE.plusMinutes(i - 59)), open, high, low, price);
+                    open = price;
+                    high = price;
+                    low = price;
+                }
+            }
+            store.merge(market, PeriodType.PERIOD_1, minute);
+            store.merge(market, PeriodType.PERIOD_60, hour);
+        }
+        engine = new BacktestEngine(store);
+
+        properties = new MabsMultiProperties();
+        properties.setMarkets(MARKETS.subList(0, marketCount));
+        properties.setPeriodType(PeriodType.PERIOD_60);
+        properties.setShortPeriod(13);
+        properties.setLongPeriod(64);
+        properties.setUpBuyRate(0.01);
+        properties.setDownSellRate(0.01);
+        properties.setLoseStopRate(0.5);
+        properties.setMaxBuyCount(marketCount);
+        properties.setInvestRatio(0.99);
+        properties.setNewMasBuy(false);
+        // 장기 이동평균을 계산할 수 있는 시점부터 시작
+        from = BASE.plusHours(65);
+        to = BASE.plusMinutes(MINUTES - 1);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    /**
+     * 전체 구간 백테스트
+     */
+    @Benchmark
+    public BacktestResult run() {
+        return engine.run(properties, from, to, 10_000_000);
+    }
+}
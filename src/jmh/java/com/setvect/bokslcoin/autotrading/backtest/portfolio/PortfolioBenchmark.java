@@ -0,0 +1,117 @@
+package com.setvect.bokslcoin.autotrading.backtest.portfolio;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsConditionEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsTradeEntity;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
+import com.setvect.bokslcoin.autotrading.util.DateRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 코인 포트폴리오 기간별 평가 비용(MakeBacktestReportTest.multiBacktest와 같은 구성)<br>
+ * 코인 10개, 4년치 임의 매매 내역과 일봉으로 기간 13개의 수익률, MDD, 승률, 보유 수익률 계산. DB 조회는 제외<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=PortfolioBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PortfolioBenchmark {
+    private static final List<String> MARKETS = Arrays.asList("KRW-BTC", "KRW-ETH", "KRW-XRP", "KRW-EOS", "KRW-ETC",
+            "KRW-ADA", "KRW-MANA", "KRW-BAT", "KRW-BCH", "KRW-DOT");
+    private static final LocalDate START = LocalDate.of(2017, 10, 1);
+    private static final LocalDate END = LocalDate.of(2021, 12, 31);
+
+    private TradeEvents events;
+    private PriceMatrix prices;
+    private List<PortfolioScenario> scenarios;
+
+    @Setup
+    public void setup() {
+        int dayCount = (int) ChronoUnit.DAYS.between(START, END) + 1;
+        prices = new PriceMatrix(MARKETS, START, END);
+        List<MabsTradeEntity> trades = new ArrayList<>();
+        Random random = new Random(1);
+        for (int m = 0; m < MARKETS.size(); m++) {
+            MabsConditionEntity condition = MabsConditionEntity.builder().market(MARKETS.get(m)).build();
+            double[] close = new double[dayCount];
+            double price = 10_000;
+            for (int d = 0; d < dayCount; d++) {
+                double open = price;
+                // 임의 보행
+                price = Math.max(100, price * (1 + (random.nextDouble() - 0.5) * 0.1));
+                close[d] = price;
+                prices.set(m, START.plusDays(d), open, price);
+            }
+            // 1~10일 보유하는 매매 반복
+            int d = 1 + random.nextInt(5);
+            while (d + 10 < dayCount) {
+                int sell = d + 1 + random.nextInt(10);
+                trades.add(trade(condition, TradeType.BUY, START.plusDays(d).atTime(m, 0), 0));
+                trades.add(trade(condition, TradeType.SELL, START.plusDays(sell).atTime(m, 0), close[sell] / close[d] - 1));
+                d = sell + 1 + random.nextInt(5);
+            }
+        }
+        events = TradeEvents.of(trades);
+
+        scenarios = Arrays.asList(
+                new DateRange("2017-10-01T00:00:00", "2017-12-31T23:59:59"),
+                new DateRange("2018-01-01T00:00:00", "2018-06-30T23:59:59"),
+                new DateRange("2018-07-01T00:00:00", "2018-12-31T23:59:59"),
+                new DateRange("2019-01-01T00:00:00", "2019-06-30T23:59:59"),
+                new DateRange("2019-07-01T00:00:00", "2019-12-31T23:59:59"),
+                new DateRange("2020-01-01T00:00:00", "2020-06-30T23:59:59"),
+                new DateRange("2020-07-01T00:00:00", "2020-12-31T23:59:59"),
+                new DateRange("2021-01-01T00:00:00", "2021-06-30T23:59:59"),
+                new DateRange("2021-07-01T00:00:00", "2021-12-31T23:59:59"),
+                new DateRange("2018-01-01T00:00:00", "2018-12-31T23:59:59"),
+                new DateRange("2019-01-01T00:00:00", "2019-12-31T23:59:59"),
+                new DateRange("2020-01-01T00:00:00", "2020-12-31T23:59:59"),
+                new DateRange("2021-01-01T00:00:00", "2021-12-31T23:59:59")
+        ).stream().map(r -> PortfolioScenario.builder()
+                .from(r.getFrom())
+                .to(r.getTo())
+                .investRatio(.99)
+                .cash(10_000_000)
+                .feeBuy(0.0007)
+                .feeSell(0.0007)
+                .build()).collect(Collectors.toList());
+    }
+
+    /**
+     * 모든 기간 매매 평가와 보유 수익률
+     */
+    @Benchmark
+    public double multiBacktest() {
+        List<PortfolioResult> results = PortfolioSimulator.run(events, MARKETS.size(), scenarios);
+        double sum = 0;
+        for (int i = 0; i < results.size(); i++) {
+            PortfolioScenario scenario = scenarios.get(i);
+            sum += results.get(i).getMdd() + prices.hold(scenario.getFrom(), scenario.getTo()).getSumMdd();
+        }
+        return sum;
+    }
+
+    private static MabsTradeEntity trade(MabsConditionEntity condition, TradeType tradeType, LocalDateTime time, double yield) {
+        return MabsTradeEntity.builder()
+                .mabsConditionEntity(condition)
+                .tradeType(tradeType)
+                .yield(yield)
+                .tradeTimeKst(time)
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.setvect.bokslcoin.autotrading.backtest.repository;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.mabs.analysis.CandleDataProvider;
+import com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.util.DateRange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 백테스트 하루치 시세 조회 비용({@link CandleDataProvider})<br>
+ * 1분마다 현재 1분봉과 이동평균 계산용 이전 60분봉 {@link #COUNT}개를 조회. 결과 시간이 하루(1440분) 처리 시간<br>
+ * 캔들은 {@link CandleTable}(복합 키 구성)에서 JDBC로 읽음. 코인, 주기별 처음 한 번 읽는 시간은 준비 단계에 포함<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=CandleDataProviderBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CandleDataProviderBenchmark {
+    private static final String MARKET = "KRW-BTC";
+    private static final int MINUTES_OF_DAY = 60 * 24;
+    /**
+     * 이전 캔들 조회 수(장기 이동평균 기간)
+     */
+    private static final int COUNT = 64;
+    /**
+     * 이동평균 계산이 가능한 첫 날
+     */
+    private static final int FIRST_DAY = COUNT / 24 + 1;
+
+    private Connection connection;
+    private CandleDataProvider provider;
+    private int day;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = CandleTable.create("candle_provider", "COMPOSITE");
+        LocalDateTime to = CandleTable.BASE.plusMinutes(CandleTable.MINUTES - 1);
+        provider = new CandleDataProvider(repository(connection), new DateRange(CandleTable.BASE, to));
+        day = FIRST_DAY;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        CandleTable.drop(connection);
+    }
+
+    /**
+     * 하루 동안 1분마다 시세 조회
+     */
+    @Benchmark
+    public double day() {
+        LocalDateTime start = CandleTable.BASE.plusDays(day);
+        day = day + 1 < CandleTable.MINUTES / MINUTES_OF_DAY ? day + 1 : FIRST_DAY;
+        double sum = 0;
+        for (int i = 0; i < MINUTES_OF_DAY; i++) {
+            provider.setCurrentTime(start.plusMinutes(i));
+            CandleMinute current = provider.getCurrentCandle(MARKET);
+            List<CandleMinute> before = provider.beforeMinute(MARKET, PeriodType.PERIOD_60, COUNT);
+            sum += current.getTradePrice() + before.get(before.size() - 1).getTradePrice();
+        }
+        return sum;
+    }
+
+    /**
+     * {@link CandleRepository#scanPrice}만 JDBC로 처리. 나머지 조회는 사용하지 않음
+     */
+    private static CandleRepository repository(Connection connection) {
+        return (CandleRepository) Proxy.newProxyInstance(CandleRepository.class.getClassLoader(), new Class<?>[]{CandleRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("scanPrice")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    @SuppressWarnings("unchecked")
+                    Consumer<CandlePrice> consumer = (Consumer<CandlePrice>) args[5];
+                    return scanPrice(connection, (String) args[0], (PeriodType) args[1], (LocalDateTime) args[2], (LocalDateTime) args[3], consumer);
+                });
+    }
+
+    private static int scanPrice(Connection connection, String market, PeriodType periodType, LocalDateTime from, LocalDateTime to,
+                                 Consumer<CandlePrice> consumer) throws SQLException {
+        int count = 0;
+        try (PreparedStatement ps = connection.prepareStatement("SELECT " + CandleTable.COLUMNS + " FROM WA_CANDLE" +
+                " WHERE MARKET = ? AND PERIOD_TYPE = ? AND CANDLE_DATE_TIME_UTC BETWEEN ? AND ? ORDER BY CANDLE_DATE_TIME_UTC")) {
+            ps.setString(1, market);
+            ps.setString(2, periodType.name());
+            ps.setTimestamp(3, Timestamp.valueOf(from));
+            ps.setTimestamp(4, Timestamp.valueOf(to));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumer.accept(new CandlePrice(rs.getTimestamp(1).toLocalDateTime(), rs.getTimestamp(2).toLocalDateTime(),
+                            rs.getDouble(3), rs.getDouble(4), rs.getDouble(5), rs.getDouble(6)));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,100 @@
+package com.setvect.bokslcoin.autotrading.backtest.repository;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WA_CANDLE 인덱스 구성에 따른 백테스트 조회 비용(H2 메모리 DB)<br>
+ * - TIME: 예전 구성. 시간 컬럼 단일 인덱스<br>
+ * - COMPOSITE: (코인, 주기, 시간) 복합 유니크 키<br>
+ * {@link CandleTable}에 1분봉과 60분봉을 넣고 백테스트가 분마다 하는 조회를 측정<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=CandleQueryBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CandleQueryBenchmark {
+    /**
+     * 이전 캔들 조회 수(장기 이동평균 기간)
+     */
+    private static final int COUNT = 64;
+
+    @Param({"TIME", "COMPOSITE"})
+    public String layout;
+
+    private Connection connection;
+    private PreparedStatement current;
+    private PreparedStatement before;
+    private int minute;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = CandleTable.create("candle_" + layout, layout);
+
+        current = connection.prepareStatement("SELECT " + CandleTable.COLUMNS + " FROM WA_CANDLE" +
+                " WHERE MARKET = ? AND PERIOD_TYPE = ? AND CANDLE_DATE_TIME_UTC BETWEEN ? AND ? ORDER BY CANDLE_DATE_TIME_UTC");
+        before = connection.prepareStatement("SELECT " + CandleTable.COLUMNS + " FROM WA_CANDLE" +
+                " WHERE MARKET = ? AND PERIOD_TYPE = ? AND CANDLE_DATE_TIME_UTC < ? ORDER BY CANDLE_DATE_TIME_UTC DESC LIMIT " + COUNT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        CandleTable.drop(connection);
+    }
+
+    private LocalDateTime nextTime() {
+        minute = (minute + 1) % (CandleTable.MINUTES - COUNT * 60);
+        return CandleTable.BASE.plusMinutes(minute + COUNT * 60);
+    }
+
+    /**
+     * 현재 1분봉 조회(분마다 실행)
+     */
+    @Benchmark
+    public double currentMinute() throws SQLException {
+        Timestamp time = Timestamp.valueOf(nextTime());
+        current.setString(1, CandleTable.MARKETS[minute % CandleTable.MARKETS.length]);
+        current.setString(2, PeriodType.PERIOD_1.name());
+        current.setTimestamp(3, time);
+        current.setTimestamp(4, time);
+        return sumClose(current);
+    }
+
+    /**
+     * 이동평균 계산용 이전 60분봉 조회
+     */
+    @Benchmark
+    public double beforeHour() throws SQLException {
+        before.setString(1, CandleTable.MARKETS[minute % CandleTable.MARKETS.length]);
+        before.setString(2, PeriodType.PERIOD_60.name());
+        before.setTimestamp(3, Timestamp.valueOf(PeriodType.PERIOD_60.fitDateTime(nextTime())));
+        return sumClose(before);
+    }
+
+    private static double sumClose(PreparedStatement ps) throws SQLException {
+        double sum = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                sum += rs.getDouble(6);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,96 @@
+package com.setvect.bokslcoin.autotrading.backtest.repository;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 벤치마크용 WA_CANDLE 테이블(H2 메모리 DB)<br>
+ * 코인 {@link #MARKETS}, {@link #MINUTES}분 동안의 1분봉과 60분봉을 넣음
+ */
+final class CandleTable {
+    static final LocalDateTime BASE = LocalDateTime.of(2021, 1, 1, 0, 0);
+    static final String[] MARKETS = {"KRW-BTC", "KRW-ETH", "KRW-XRP", "KRW-EOS", "KRW-ETC"};
+    /**
+     * 90일
+     */
+    static final int MINUTES = 60 * 24 * 90;
+
+    static final String COLUMNS = "CANDLE_DATE_TIME_UTC, CANDLE_DATE_TIME_KST, OPENING_PRICE, HIGH_PRICE, LOW_PRICE, TRADE_PRICE";
+
+    private CandleTable() {
+    }
+
+    /**
+     * @param name   DB 이름
+     * @param layout TIME: 예전 구성. 시간 컬럼 단일 인덱스, COMPOSITE: (코인, 주기, 시간) 복합 유니크 키
+     * @return 데이터를 넣은 연결
+     */
+    static Connection create(String name, String layout) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        try (Statement st = connection.createStatement()) {
+            st.execute("CREATE TABLE WA_CANDLE (CANDLE_SEQ INT PRIMARY KEY, MARKET VARCHAR(20) NOT NULL, PERIOD_TYPE VARCHAR(20) NOT NULL," +
+                    " CANDLE_DATE_TIME_UTC TIMESTAMP NOT NULL, CANDLE_DATE_TIME_KST TIMESTAMP NOT NULL," +
+                    " OPENING_PRICE DOUBLE NOT NULL, HIGH_PRICE DOUBLE NOT NULL, LOW_PRICE DOUBLE NOT NULL, TRADE_PRICE DOUBLE NOT NULL)");
+            if ("TIME".equals(layout)) {
+                st.execute("CREATE INDEX IDX_CANDLE_DATE_TIME_UTC_ASC ON WA_CANDLE (CANDLE_DATE_TIME_UTC ASC)");
+                st.execute("CREATE INDEX IDX_CANDLE_DATE_TIME_UTC_DESC ON WA_CANDLE (CANDLE_DATE_TIME_UTC DESC)");
+            } else {
+                st.execute("ALTER TABLE WA_CANDLE ADD CONSTRAINT UK_CANDLE_MARKET_PERIOD_TIME UNIQUE (MARKET, PERIOD_TYPE, CANDLE_DATE_TIME_UTC)");
+            }
+        }
+        insert(connection);
+        return connection;
+    }
+
+    /**
+     * 테이블 삭제 후 연결 종료
+     */
+    static void drop(Connection connection) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+        }
+        connection.close();
+    }
+
+    private static void insert(Connection connection) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement("INSERT INTO WA_CANDLE VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int seq = 0;
+            for (String market : MARKETS) {
+                for (int i = 0; i < MINUTES; i++) {
+                    add(ps, ++seq, market, PeriodType.PERIOD_1, BASE.plusMinutes(i));
+                    if (i % 60 == 0) {
+                        add(ps, ++seq, market, PeriodType.PERIOD_60, BASE.plusMinutes(i));
+                    }
+                    if (seq % 1000 == 0) {
+                        ps.executeBatch();
+                    }
+                }
+            }
+            ps.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private static void add(PreparedStatement ps, int seq, String market, PeriodType periodType, LocalDateTime time) throws SQLException {
+        double price = 10_000 + seq % 1000;
+        ps.setInt(1, seq);
+        ps.setString(2, market);
+        ps.setString(3, periodType.name());
+        ps.setTimestamp(4, Timestamp.valueOf(time));
+        ps.setTimestamp(5, Timestamp.valueOf(time.plusHours(9)));
+        ps.setDouble(6, price);
+        ps.setDouble(7, price);
+        ps.setDouble(8, price);
+        ps.setDouble(9, price);
+        ps.addBatch();
+    }
+}
@@ -0,0 +1,95 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 백테스트 중 기준 시간 이전 캔들 조회 비용<br>
+ * 1년치 60분봉에서 이동평균 계산에 필요한 만큼 조회<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=CandleLookupBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CandleLookupBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final int HOURS = 24 * 365;
+    /**
+     * 조회 캔들 수(장기 이동평균 기간 + 1)
+     */
+    private static final int COUNT = 65;
+
+    private Path dir;
+    private CandleStore store;
+    private CandleColumnFile file;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("candle-bench");
+        store = new CandleStore(dir.toString());
+        CandleColumns columns = new CandleColumns();
+        for (int i = 0; i < HOURS; i++) {
+            double price = 10_000 + i;
+            columns.add(CandleStore.toEpochMilli(BASE.plusHours(i)), price, price, price, price);
+        }
+        store.merge("KRW-BTC", PeriodType.PERIOD_60, columns);
+        file = store.open("KRW-BTC", PeriodType.PERIOD_60);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    private long nextTime() {
+        index = (index + 1) % (HOURS - COUNT);
+        return file.getTime(index + COUNT);
+    }
+
+    /**
+     * 이진 탐색으로 위치만 찾음
+     */
+    @Benchmark
+    public int lowerBound() {
+        return file.lowerBound(nextTime());
+    }
+
+    /**
+     * 종가 합산(객체 생성 없음)
+     */
+    @Benchmark
+    public double sumClose() {
+        int end = file.lowerBound(nextTime());
+        double sum = 0;
+        for (int i = end - COUNT; i < end; i++) {
+            sum += file.getClose(i);
+        }
+        return sum;
+    }
+
+    /**
+     * {@link Candle} 목록으로 변환
+     */
+    @Benchmark
+    public List<Candle> range() {
+        LocalDateTime end = CandleStore.toLocalDateTime(nextTime());
+        return store.range("KRW-BTC", PeriodType.PERIOD_60, end.minusHours(COUNT), end.minusHours(1)).toCandles();
+    }
+}
@@ -0,0 +1,105 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.algorithm.CommonTradeHelper;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기준 시간 이동평균 조회 비용. 캔들을 읽어 매번 계산 vs 미리 계산한 지표 파일({@link IndicatorColumnFile})<br>
+ * 1년치 60분봉, 이동평균 기간 {@link #WINDOW}<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=IndicatorLookupBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IndicatorLookupBenchmark {
+    private static final LocalDateTime BASE = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final int HOURS = 24 * 365;
+    private static final int WINDOW = 64;
+
+    private Path dir;
+    private CandleStore store;
+    private CandleColumnFile file;
+    private IndicatorColumnFile indicator;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("indicator-bench");
+        store = new CandleStore(dir.toString());
+        CandleColumns columns = new CandleColumns();
+        for (int i = 0; i < HOURS; i++) {
+            double price = 10_000 + i;
+            columns.add(CandleStore.toEpochMilli(BASE.plusHours(i)), price, price, price, price);
+        }
+        store.merge("KRW-BTC", PeriodType.PERIOD_60, columns);
+        file = store.open("KRW-BTC", PeriodType.PERIOD_60);
+        indicator = new IndicatorMaterializer(store).materialize("KRW-BTC", PeriodType.PERIOD_60, WINDOW);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    private long nextTime() {
+        index = (index + 1) % (HOURS - WINDOW);
+        return file.getTime(index + WINDOW);
+    }
+
+    /**
+     * 기존 방식: 이전 캔들을 읽어 {@link CommonTradeHelper#getMa} 계산
+     */
+    @Benchmark
+    public double smaFromCandles() {
+        return CommonTradeHelper.getMa(before(), WINDOW);
+    }
+
+    /**
+     * 기존 방식: 이전 캔들을 읽어 {@link CommonTradeHelper#getMaWeight} 계산
+     */
+    @Benchmark
+    public double wmaFromCandles() {
+        return CommonTradeHelper.getMaWeight(before(), WINDOW);
+    }
+
+    /**
+     * 지표 파일에서 읽음
+     */
+    @Benchmark
+    public double smaColumn() {
+        return indicator.getSma(WINDOW, file.lowerBound(nextTime()) - 1);
+    }
+
+    @Benchmark
+    public double wmaColumn() {
+        return indicator.getWma(WINDOW, file.lowerBound(nextTime()) - 1);
+    }
+
+    /**
+     * @return 기준 시간 이전 캔들 {@link #WINDOW}개(최근 캔들이 앞)
+     */
+    private List<Candle> before() {
+        LocalDateTime end = CandleStore.toLocalDateTime(nextTime());
+        List<Candle> candles = store.range("KRW-BTC", PeriodType.PERIOD_60, end.minusHours(WINDOW), end.minusHours(1)).toCandles();
+        Collections.reverse(candles);
+        return candles;
+    }
+}
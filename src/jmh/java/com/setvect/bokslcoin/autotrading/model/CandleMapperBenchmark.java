@@ -0,0 +1,92 @@
+package com.setvect.bokslcoin.autotrading.model;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.util.GsonUtil;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.config.Configuration;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캔들 한 개 변환, 복사 비용<br>
+ * ModelMapper(호출마다 설정 / 한 번 설정), Gson 왕복 복사와 직접 복사 비교<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=CandleMapperBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CandleMapperBenchmark {
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private CandleEntity entity;
+    private Candle candle;
+
+    @Setup
+    public void setup() {
+        configure(modelMapper);
+        LocalDateTime time = LocalDateTime.of(2022, 1, 1, 0, 0);
+        entity = new CandleEntity();
+        entity.setMarket("KRW-BTC");
+        entity.setPeriodType(PeriodType.PERIOD_1);
+        entity.setCandleDateTimeUtc(time);
+        entity.setCandleDateTimeKst(time.plusHours(9));
+        entity.setOpeningPrice(50_000_000);
+        entity.setHighPrice(50_100_000);
+        entity.setLowPrice(49_900_000);
+        entity.setTradePrice(50_050_000);
+        candle = CandleMapper.toCandle(entity);
+    }
+
+    private static void configure(ModelMapper mapper) {
+        mapper.getConfiguration()
+                .setFieldAccessLevel(Configuration.AccessLevel.PRIVATE)
+                .setMatchingStrategy(MatchingStrategies.STRICT);
+    }
+
+    /**
+     * 예전 ApplicationUtil.getMapper() 방식. 호출마다 설정
+     */
+    @Benchmark
+    public CandleMinute modelMapperConfigureEachCall() {
+        configure(modelMapper);
+        return modelMapper.map(entity, CandleMinute.class);
+    }
+
+    @Benchmark
+    public CandleMinute modelMapper() {
+        return modelMapper.map(entity, CandleMinute.class);
+    }
+
+    @Benchmark
+    public CandleMinute handWritten() {
+        return CandleMapper.toMinute(entity);
+    }
+
+    /**
+     * 예전 MabsTradeAnalyzerTest.depthCopy 방식
+     */
+    @Benchmark
+    public Candle gsonCopy() {
+        return GsonUtil.GSON.fromJson(GsonUtil.GSON.toJson(candle), Candle.class);
+    }
+
+    @Benchmark
+    public Candle copyConstructor() {
+        return new Candle(candle);
+    }
+
+    @Benchmark
+    public CandleDay toDay() {
+        return new CandleDay(candle);
+    }
+}
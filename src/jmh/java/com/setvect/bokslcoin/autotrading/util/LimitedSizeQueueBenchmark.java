@@ -0,0 +1,69 @@
+package com.setvect.bokslcoin.autotrading.util;
+
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import com.setvect.bokslcoin.autotrading.model.CandleSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 최신 값을 맨 앞에 추가하는 비용 비교<br>
+ * 실행: ./gradlew jmh -Pjmh.includes=LimitedSizeQueueBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LimitedSizeQueueBenchmark {
+    @Param({"16", "65", "201"})
+    private int size;
+
+    private LimitedSizeQueue<Double> queue;
+    private CandleSeries series;
+    private TradeResult tradeResult;
+    private double value;
+
+    @Setup
+    public void setup() {
+        queue = new LimitedSizeQueue<>(size);
+        series = new CandleSeries("KRW-BTC", size);
+        tradeResult = TradeResult.builder()
+                .type("trade")
+                .code("KRW-BTC")
+                .tradePrice(40_000_000)
+                .tradeDate(LocalDate.of(2022, 1, 1))
+                .tradeTime(LocalTime.of(9, 0))
+                .build();
+        for (int i = 0; i < size; i++) {
+            queue.add(0, (double) i);
+            series.pushFront(tradeResult);
+        }
+    }
+
+    /**
+     * ArrayList 맨 앞 삽입(요소 이동 + 박싱)
+     */
+    @Benchmark
+    public LimitedSizeQueue<Double> queueAddFirst() {
+        value += 1;
+        queue.add(0, value);
+        return queue;
+    }
+
+    /**
+     * 링 버퍼 맨 앞 추가
+     */
+    @Benchmark
+    public CandleSeries seriesPushFront() {
+        series.pushFront(tradeResult);
+        return series;
+    }
+}
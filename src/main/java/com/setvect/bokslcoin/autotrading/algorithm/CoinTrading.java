@@ -1,15 +1,30 @@
 package com.setvect.bokslcoin.autotrading.algorithm;
 
 import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+
+import java.util.List;
 
 /**
- * 알고리즘
+ * 알고리즘<br>
+ * 서로 다른 코인의 체결은 동시에 호출될 수 있고, 같은 코인은 한 번에 하나씩 순서대로 호출됨
  */
 public interface CoinTrading {
     /**
-     * 새로운 체결 이벤트 발생 시 호출
+     * 새로운 체결 이벤트 발생 시 호출<br>
+     * 체결 객체는 코인별로 재사용되며, 보관한 객체는 다음 체결까지만 값이 유지됨
      *
      * @param tradeResult 체결 현황
      */
     void tradeEvent(TradeResult tradeResult);
+
+    /**
+     * 웹소켓 연결이 끊긴 동안 놓친 시세 반영. 매매는 하지 않음
+     *
+     * @param market        코인 코드
+     * @param minuteCandles 놓친 구간 1분봉(최근 순서대로)
+     */
+    default void backfill(String market, List<Candle> minuteCandles) {
+        // 기본은 아무것도 하지 않음
+    }
 }
@@ -4,16 +4,17 @@ import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
 import com.setvect.bokslcoin.autotrading.model.Candle;
 import com.setvect.bokslcoin.autotrading.model.CandleDay;
 import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.model.CandleSeries;
 import com.setvect.bokslcoin.autotrading.quotation.CandleService;
-import com.setvect.bokslcoin.autotrading.util.MathUtil;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class CommonTradeHelper {
     /**
-     * @param moveListCandle 캔들 시세
+     * 실시간 매매에서 반복 계산할 때는 {@link com.setvect.bokslcoin.autotrading.algorithm.indicator.MovingAverage} 사용
+     *
+     * @param moveListCandle 캔들 시세(최근 시세가 앞)
      * @param range          계산할 범위
      * @return 종가 기준 이동평균 값
      */
@@ -21,8 +22,23 @@ public class CommonTradeHelper {
         if (moveListCandle.size() < range) {
             return 0;
         }
-        List<Double> values = moveListCandle.stream().map(Candle::getTradePrice).collect(Collectors.toList());
-        return MathUtil.getAverage(values, 0, range);
+        double sum = 0;
+        for (int i = 0; i < range; i++) {
+            sum += moveListCandle.get(i).getTradePrice();
+        }
+        return sum / range;
+    }
+
+    /**
+     * @param series 캔들 시세
+     * @param range  계산할 범위
+     * @return 종가 기준 이동평균 값
+     */
+    public static double getMa(CandleSeries series, int range) {
+        if (series.size() < range) {
+            return 0;
+        }
+        return series.sumClose(range) / range;
     }
 
     /**
@@ -34,8 +50,14 @@ public class CommonTradeHelper {
         if (moveListCandle.size() < range) {
             return 0;
         }
-        List<Double> values = moveListCandle.stream().map(Candle::getTradePrice).collect(Collectors.toList());
-        return MathUtil.getAverageWeight(values, 0, range);
+        double totalSum = 0;
+        int totalCount = 0;
+        for (int i = 0; i < range; i++) {
+            int weight = range - i;
+            totalCount += weight;
+            totalSum += moveListCandle.get(i).getTradePrice() * weight;
+        }
+        return totalSum / totalCount;
     }
 
     /**
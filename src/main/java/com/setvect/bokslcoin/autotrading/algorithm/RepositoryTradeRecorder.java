@@ -0,0 +1,30 @@
+package com.setvect.bokslcoin.autotrading.algorithm;
+
+import com.setvect.bokslcoin.autotrading.record.entity.AssetHistoryEntity;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeEntity;
+import com.setvect.bokslcoin.autotrading.record.repository.AssetHistoryRepository;
+import com.setvect.bokslcoin.autotrading.record.repository.TradeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 매매 내역, 자산 내역을 DB에 저장
+ */
+@Service
+@RequiredArgsConstructor
+public class RepositoryTradeRecorder implements TradeRecorder {
+    private final AssetHistoryRepository assetHistoryRepository;
+    private final TradeRepository tradeRepository;
+
+    @Override
+    public void saveTrade(TradeEntity trade) {
+        tradeRepository.save(trade);
+    }
+
+    @Override
+    public void saveAssets(List<AssetHistoryEntity> assets) {
+        assetHistoryRepository.saveAll(assets);
+    }
+}
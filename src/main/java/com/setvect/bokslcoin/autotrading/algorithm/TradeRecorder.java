@@ -0,0 +1,21 @@
+package com.setvect.bokslcoin.autotrading.algorithm;
+
+import com.setvect.bokslcoin.autotrading.record.entity.AssetHistoryEntity;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeEntity;
+
+import java.util.List;
+
+/**
+ * 매매 내역, 자산 내역 저장
+ */
+public interface TradeRecorder {
+    /**
+     * @param trade 매매 내역
+     */
+    void saveTrade(TradeEntity trade);
+
+    /**
+     * @param assets 자산별 수익률
+     */
+    void saveAssets(List<AssetHistoryEntity> assets);
+}
@@ -0,0 +1,24 @@
+package com.setvect.bokslcoin.autotrading.algorithm.controller;
+
+import com.setvect.bokslcoin.autotrading.common.ApiHttpClient;
+import com.setvect.bokslcoin.autotrading.common.ApiLatencyRecorder;
+import com.setvect.bokslcoin.autotrading.record.model.CommonResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST API 응답 시간
+ */
+@RestController
+public class ApiLatencyController {
+
+    /**
+     * @return API 경로별 응답 시간 분포
+     */
+    @GetMapping("/api-latency/stats")
+    public CommonResponse<List<ApiLatencyRecorder.LatencyStats>> stats() {
+        return new CommonResponse<>(ApiHttpClient.getLatency().getStats());
+    }
+}
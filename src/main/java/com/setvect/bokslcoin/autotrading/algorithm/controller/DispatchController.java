@@ -0,0 +1,27 @@
+package com.setvect.bokslcoin.autotrading.algorithm.controller;
+
+import com.setvect.bokslcoin.autotrading.algorithm.dispatch.DispatchStats;
+import com.setvect.bokslcoin.autotrading.algorithm.dispatch.TradeDispatcher;
+import com.setvect.bokslcoin.autotrading.record.model.CommonResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 체결 전달 현황
+ */
+@RestController
+@RequiredArgsConstructor
+public class DispatchController {
+    private final TradeDispatcher tradeDispatcher;
+
+    /**
+     * @return 코인별 대기열 크기, 전달 지연 시간
+     */
+    @GetMapping("/dispatch/stats")
+    public CommonResponse<List<DispatchStats>> stats() {
+        return new CommonResponse<>(tradeDispatcher.getStats());
+    }
+}
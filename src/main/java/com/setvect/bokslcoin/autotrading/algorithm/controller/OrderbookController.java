@@ -0,0 +1,27 @@
+package com.setvect.bokslcoin.autotrading.algorithm.controller;
+
+import com.setvect.bokslcoin.autotrading.algorithm.orderbook.TopOfBook;
+import com.setvect.bokslcoin.autotrading.algorithm.orderbook.TopOfBookCache;
+import com.setvect.bokslcoin.autotrading.record.model.CommonResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 최우선 호가 현황
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderbookController {
+    private final TopOfBookCache topOfBookCache;
+
+    /**
+     * @return 코인별 최우선 매도, 매수 호가
+     */
+    @GetMapping("/orderbook/top")
+    public CommonResponse<List<TopOfBook>> top() {
+        return new CommonResponse<>(topOfBookCache.getAll());
+    }
+}
@@ -0,0 +1,24 @@
+package com.setvect.bokslcoin.autotrading.algorithm.controller;
+
+import com.setvect.bokslcoin.autotrading.record.model.CommonResponse;
+import com.setvect.bokslcoin.autotrading.slack.SlackMessageService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 슬랙 전송 현황
+ */
+@RestController
+@RequiredArgsConstructor
+public class SlackStatsController {
+    private final SlackMessageService slackMessageService;
+
+    /**
+     * @return 전송, 버림, 대기 메시지 수
+     */
+    @GetMapping("/slack/stats")
+    public CommonResponse<SlackMessageService.SlackStats> stats() {
+        return new CommonResponse<>(slackMessageService.getStats());
+    }
+}
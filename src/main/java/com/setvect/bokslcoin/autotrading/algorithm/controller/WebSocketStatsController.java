@@ -0,0 +1,27 @@
+package com.setvect.bokslcoin.autotrading.algorithm.controller;
+
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.ShardStats;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.WebSocketSessionManager;
+import com.setvect.bokslcoin.autotrading.record.model.CommonResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 웹소켓 연결 현황
+ */
+@RestController
+@RequiredArgsConstructor
+public class WebSocketStatsController {
+    private final WebSocketSessionManager webSocketSessionManager;
+
+    /**
+     * @return 샤드별 연결 상태, 수신 건수, 초당 수신 건수
+     */
+    @GetMapping("/ws/stats")
+    public CommonResponse<List<ShardStats>> stats() {
+        return new CommonResponse<>(webSocketSessionManager.getStats());
+    }
+}
@@ -0,0 +1,15 @@
+package com.setvect.bokslcoin.autotrading.algorithm.dispatch;
+
+/**
+ * 코인별 대기열이 가득 찼을 때 처리 방법
+ */
+public enum BackpressurePolicy {
+    /**
+     * 대기열 마지막 체결을 새 체결로 교체. 수신 스레드는 멈추지 않고 최신 시세만 유지
+     */
+    COALESCE,
+    /**
+     * 대기열에 자리가 날 때까지 수신 스레드 대기. 모든 체결을 처리
+     */
+    BLOCK
+}
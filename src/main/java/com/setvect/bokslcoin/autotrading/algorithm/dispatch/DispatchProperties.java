@@ -0,0 +1,26 @@
+package com.setvect.bokslcoin.autotrading.algorithm.dispatch;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 체결 이벤트 전달 설정
+ */
+@Component
+@ConfigurationProperties(prefix = "com.setvect.bokslcoin.autotrading.dispatch")
+@Getter
+@Setter
+@ToString
+public class DispatchProperties {
+    /**
+     * 코인별 대기열 크기
+     */
+    private int queueSize = 64;
+    /**
+     * 대기열이 가득 찼을 때 처리 방법
+     */
+    private BackpressurePolicy policy = BackpressurePolicy.COALESCE;
+}
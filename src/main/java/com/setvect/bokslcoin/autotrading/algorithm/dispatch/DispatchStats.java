@@ -0,0 +1,56 @@
+package com.setvect.bokslcoin.autotrading.algorithm.dispatch;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 코인별 체결 전달 현황
+ */
+@Getter
+@Builder
+@ToString
+public class DispatchStats {
+    private final String market;
+    private final BackpressurePolicy policy;
+    /**
+     * 대기열 크기
+     */
+    private final int capacity;
+    /**
+     * 현재 대기 건수
+     */
+    private final int depth;
+    /**
+     * 최대 대기 건수
+     */
+    private final int maxDepth;
+    /**
+     * 수신 건수
+     */
+    private final long enqueued;
+    /**
+     * 대기열이 가득 차 최신 체결로 교체된 건수
+     */
+    private final long coalesced;
+    /**
+     * 대기열이 가득 차 수신 스레드가 대기한 건수
+     */
+    private final long blocked;
+    /**
+     * 매매 알고리즘 처리 완료 건수
+     */
+    private final long processed;
+    /**
+     * 매매 알고리즘 처리 중 예외 발생 건수
+     */
+    private final long failed;
+    /**
+     * 대기열에 넣은 후 작업 스레드가 꺼낼 때까지 평균 시간(㎲)
+     */
+    private final double avgLatencyMicros;
+    /**
+     * 대기열에 넣은 후 작업 스레드가 꺼낼 때까지 최대 시간(㎲)
+     */
+    private final double maxLatencyMicros;
+}
@@ -0,0 +1,169 @@
+package com.setvect.bokslcoin.autotrading.algorithm.dispatch;
+
+import com.setvect.bokslcoin.autotrading.algorithm.CoinTrading;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeRecord;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import com.setvect.bokslcoin.autotrading.monitor.TradingMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 웹소켓 수신 스레드에서 받은 체결을 코인별 작업 스레드로 전달<br>
+ * 수신 스레드는 대기열에 복사해 넣기만 하고, 체결 객체 변환과 매매 알고리즘(API 호출, 슬랙 전송 포함)은 코인별 작업 스레드에서 수행<br>
+ * 서로 다른 코인은 동시에 처리하고, 같은 코인은 받은 순서대로 한 번에 하나씩 처리. 코인 간 공유 상태는 매매 알고리즘에서 관리
+ */
+@Component
+@Slf4j
+public class TradeDispatcher {
+    /**
+     * 놓친 1분봉 반영 전 이미 받은 체결 처리를 기다리는 최대 시간
+     */
+    private static final long BACKFILL_WAIT_MS = 10_000;
+
+    private final CoinTrading coinTrading;
+    private final DispatchProperties properties;
+    private final TradingMetrics tradingMetrics;
+
+    /**
+     * (코인 코드: 작업 스레드)
+     */
+    private final Map<String, MarketWorker> workers = new ConcurrentHashMap<>();
+
+    public TradeDispatcher(ApplicationContext context, @Value("${com.setvect.bokslcoin.autotrading.algorithm.name}") String name,
+                           DispatchProperties properties, TradingMetrics tradingMetrics) {
+        this.coinTrading = (CoinTrading) context.getBean(name);
+        this.properties = properties;
+        this.tradingMetrics = tradingMetrics;
+    }
+
+    /**
+     * 체결을 코인별 대기열에 복사해 넣음
+     *
+     * @param tradeRecord 체결. 복사하므로 호출 후 재사용해도 됨
+     */
+    public void dispatch(TradeRecord tradeRecord) {
+        MarketWorker worker = workers.get(tradeRecord.getCode());
+        if (worker == null) {
+            worker = workers.computeIfAbsent(tradeRecord.getCode(), this::startWorker);
+        }
+        try {
+            worker.buffer.put(tradeRecord);
+        } catch (InterruptedException e) {
+            log.warn("체결 전달 중단: {}", tradeRecord.getCode());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 연결이 끊긴 동안 놓친 1분봉을 매매 알고리즘에 반영<br>
+     * 호출한 스레드에서 바로 실행하며, 끊기기 전에 받아 대기열에 있는 체결을 모두 처리한 다음 해당 코인 작업 스레드와 같은 잠금으로 실행<br>
+     * 반영이 끝날 때까지 해당 코인의 새 체결은 전달하지 않아야 됨
+     *
+     * @param market        코인 코드
+     * @param minuteCandles 1분봉(최근 순서대로)
+     */
+    public void backfill(String market, List<Candle> minuteCandles) {
+        MarketWorker worker = workers.computeIfAbsent(market, this::startWorker);
+        try {
+            if (!worker.buffer.awaitIdle(BACKFILL_WAIT_MS)) {
+                log.warn("[{}] 대기열 체결 처리 대기 시간 초과. 1분봉 먼저 반영", market);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        synchronized (worker.lock) {
+            coinTrading.backfill(market, minuteCandles);
+        }
+    }
+
+    /**
+     * @return 코인별 대기열 현황
+     */
+    public List<DispatchStats> getStats() {
+        return workers.entrySet().stream()
+                .map(e -> e.getValue().getStats(e.getKey()))
+                .sorted((a, b) -> a.getMarket().compareTo(b.getMarket()))
+                .collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.values().forEach(w -> w.thread.interrupt());
+    }
+
+    private MarketWorker startWorker(String market) {
+        log.info("체결 작업 스레드 시작: {}, 대기열: {}, 정책: {}", market, properties.getQueueSize(), properties.getPolicy());
+        MarketWorker worker = new MarketWorker(market);
+        worker.thread.start();
+        return worker;
+    }
+
+    /**
+     * 코인 하나를 전담하는 작업 스레드
+     */
+    private class MarketWorker implements Runnable {
+        private final TradeRingBuffer buffer = new TradeRingBuffer(properties.getQueueSize(), properties.getPolicy());
+        /**
+         * 대기열에서 꺼낸 체결을 담는 버퍼
+         */
+        private final TradeRecord tradeRecord = new TradeRecord();
+        /**
+         * 매매 알고리즘에 넘기는 체결 객체. 체결마다 새로 만들지 않고 두 개를 번갈아 사용<br>
+         * 매매 알고리즘은 직전 체결을 보관해 비교하기 때문에 직전 객체는 덮어쓰지 않음
+         */
+        private final TradeResult[] tradeResults = {new TradeResult(), new TradeResult()};
+        private int tradeResultIdx;
+        /**
+         * 같은 코인의 체결 처리와 놓친 1분봉 반영이 동시에 실행되지 않도록 잠금
+         */
+        private final Object lock = new Object();
+        private final Thread thread;
+        private volatile long processed;
+        private volatile long failed;
+
+        MarketWorker(String market) {
+            thread = new Thread(this, "trade-" + market);
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    buffer.take(tradeRecord);
+                } catch (InterruptedException e) {
+                    break;
+                }
+                tradeResultIdx ^= 1;
+                TradeResult tradeResult = tradeRecord.toTradeResult(tradeResults[tradeResultIdx]);
+                try {
+                    synchronized (lock) {
+                        coinTrading.tradeEvent(tradeResult);
+                    }
+                    tradingMetrics.decision(tradeResult.getCode(), tradeResult.getTimestampDiff());
+                    processed++;
+                } catch (Exception e) {
+                    failed++;
+                    log.error(String.format("%s 체결 처리 오류: %s", tradeResult.getCode(), e.getMessage()), e);
+                } finally {
+                    buffer.done();
+                }
+            }
+            log.info("체결 작업 스레드 종료: {}", thread.getName());
+        }
+
+        DispatchStats getStats(String market) {
+            return buffer.getStats(market, processed, failed);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.setvect.bokslcoin.autotrading.algorithm.dispatch;
+
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeRecord;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 코인 하나의 체결을 담는 고정 크기 원형 대기열<br>
+ * 수신 스레드 하나가 넣고 작업 스레드 하나가 꺼냄<br>
+ * 칸마다 미리 만든 {@link TradeRecord}에 값을 복사해 넣고 꺼내므로 체결 건당 객체 생성이 없음
+ */
+class TradeRingBuffer {
+    private final TradeRecord[] items;
+    /**
+     * 대기열에 넣은 시각(System.nanoTime)
+     */
+    private final long[] enqueueNanos;
+    private final BackpressurePolicy policy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition idle = lock.newCondition();
+
+    /**
+     * 다음에 꺼낼 위치
+     */
+    private int head;
+    private int count;
+    /**
+     * 꺼낸 다음 처리가 끝나지 않은 체결이 있으면 true
+     */
+    private boolean inFlight;
+
+    private long enqueued;
+    private long coalesced;
+    private long blocked;
+    private int maxDepth;
+    private long dequeued;
+    private long totalLatencyNanos;
+    private long maxLatencyNanos;
+
+    TradeRingBuffer(int size, BackpressurePolicy policy) {
+        if (size < 1) {
+            throw new IllegalArgumentException(String.format("대기열 크기는 1 이상이어야 됨. 입력값: %d", size));
+        }
+        this.items = new TradeRecord[size];
+        for (int i = 0; i < size; i++) {
+            items[i] = new TradeRecord();
+        }
+        this.enqueueNanos = new long[size];
+        this.policy = policy;
+    }
+
+    /**
+     * 체결 값을 복사해 대기열에 넣음<br>
+     * 가득 찬 경우 {@link BackpressurePolicy#COALESCE}면 마지막 체결을 교체하고, {@link BackpressurePolicy#BLOCK}이면 자리가 날 때까지 대기
+     *
+     * @param tradeRecord 체결. 복사하므로 호출 후 재사용해도 됨
+     * @throws InterruptedException BLOCK 대기 중 인터럽트
+     */
+    void put(TradeRecord tradeRecord) throws InterruptedException {
+        lock.lock();
+        try {
+            enqueued++;
+            if (count == items.length) {
+                if (policy == BackpressurePolicy.COALESCE) {
+                    int last = index(count - 1);
+                    items[last].copyFrom(tradeRecord);
+                    enqueueNanos[last] = System.nanoTime();
+                    coalesced++;
+                    return;
+                }
+                blocked++;
+                while (count == items.length) {
+                    notFull.await();
+                }
+            }
+            int tail = index(count);
+            items[tail].copyFrom(tradeRecord);
+            enqueueNanos[tail] = System.nanoTime();
+            count++;
+            maxDepth = Math.max(maxDepth, count);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기열에서 가장 오래된 체결을 꺼냄. 비어 있으면 대기<br>
+     * 처리가 끝나면 {@link #done()}을 호출해야 됨
+     *
+     * @param target 꺼낸 체결을 복사할 버퍼
+     * @throws InterruptedException 대기 중 인터럽트
+     */
+    void take(TradeRecord target) throws InterruptedException {
+        lock.lock();
+        try {
+            while (count == 0) {
+                notEmpty.await();
+            }
+            target.copyFrom(items[head]);
+            inFlight = true;
+            long latency = System.nanoTime() - enqueueNanos[head];
+            head = index(1);
+            count--;
+
+            dequeued++;
+            totalLatencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 꺼낸 체결 처리 완료
+     */
+    void done() {
+        lock.lock();
+        try {
+            inFlight = false;
+            if (count == 0) {
+                idle.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기열이 비고 꺼낸 체결 처리도 끝날 때까지 대기
+     *
+     * @param timeoutMs 최대 대기 시간
+     * @return 시간 안에 모두 처리했으면 true
+     * @throws InterruptedException 대기 중 인터럽트
+     */
+    boolean awaitIdle(long timeoutMs) throws InterruptedException {
+        long remain = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        lock.lock();
+        try {
+            while (count > 0 || inFlight) {
+                if (remain <= 0) {
+                    return false;
+                }
+                remain = idle.awaitNanos(remain);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param market    코인
+     * @param processed 처리 완료 건수
+     * @param failed    처리 실패 건수
+     * @return 현재 대기열 상태
+     */
+    DispatchStats getStats(String market, long processed, long failed) {
+        lock.lock();
+        try {
+            return DispatchStats.builder()
+                    .market(market)
+                    .policy(policy)
+                    .capacity(items.length)
+                    .depth(count)
+                    .maxDepth(maxDepth)
+                    .enqueued(enqueued)
+                    .coalesced(coalesced)
+                    .blocked(blocked)
+                    .processed(processed)
+                    .failed(failed)
+                    .avgLatencyMicros(dequeued == 0 ? 0 : totalLatencyNanos / dequeued / 1000.0)
+                    .maxLatencyMicros(maxLatencyNanos / 1000.0)
+                    .build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int index(int offset) {
+        return (head + offset) % items.length;
+    }
+}
@@ -0,0 +1,145 @@
+package com.setvect.bokslcoin.autotrading.algorithm.indicator;
+
+import com.setvect.bokslcoin.autotrading.model.CandleSeries;
+
+import java.util.Arrays;
+
+/**
+ * 종가 기준 단순 이동평균<br>
+ * 최근 period + 1개의 종가를 원형 배열에 보관하고 합계를 누적해 새 캔들 추가, 최근 캔들 종가 변경을 O(1)로 계산함<br>
+ * 현재 이동평균과 함께 한 주기 전 이동평균도 제공
+ */
+public class MovingAverage {
+    /**
+     * 누적 합계의 부동소수점 오차를 없애기 위해 합계를 다시 계산하는 주기(변경 횟수)
+     */
+    private static final int RESYNC_INTERVAL = 10_000;
+
+    private final int period;
+    /**
+     * 종가. head 위치가 가장 최근
+     */
+    private final double[] values;
+    private int head;
+    private int count;
+    /**
+     * 최근 period개 종가 합계
+     */
+    private double sum;
+    /**
+     * 한 주기 전부터 period개 종가 합계
+     */
+    private double previousSum;
+    private int changeCount;
+
+    /**
+     * @param period 이동평균 기간
+     */
+    public MovingAverage(int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException(String.format("이동평균 기간은 1 이상이어야 됨. 입력값: %d", period));
+        }
+        this.period = period;
+        this.values = new double[period + 1];
+    }
+
+    /**
+     * 새로운 캔들 종가 추가
+     *
+     * @param close 종가
+     */
+    public void push(double close) {
+        double newest = get(0);
+        double leaveCurrent = get(period - 1);
+        double leavePrevious = get(period);
+
+        head = (head + values.length - 1) % values.length;
+        values[head] = close;
+        count = Math.min(count + 1, values.length);
+
+        sum += close - leaveCurrent;
+        previousSum += newest - leavePrevious;
+        afterChange();
+    }
+
+    /**
+     * 기존 값을 지우고 캔들 목록의 종가를 과거부터 추가
+     *
+     * @param series 캔들 목록
+     */
+    public void load(CandleSeries series) {
+        head = 0;
+        count = 0;
+        sum = 0;
+        previousSum = 0;
+        changeCount = 0;
+        Arrays.fill(values, 0);
+        for (int i = series.size() - 1; i >= 0; i--) {
+            push(series.getClose(i));
+        }
+    }
+
+    /**
+     * 가장 최근 캔들 종가 변경
+     *
+     * @param close 종가
+     */
+    public void update(double close) {
+        if (count == 0) {
+            push(close);
+            return;
+        }
+        sum += close - values[head];
+        values[head] = close;
+        afterChange();
+    }
+
+    /**
+     * @return 현재 이동평균. 데이터가 부족하면 0
+     */
+    public double getValue() {
+        if (count < period) {
+            return 0;
+        }
+        return sum / period;
+    }
+
+    /**
+     * @return 한 주기 전 이동평균. 데이터가 부족하면 0
+     */
+    public double getPreviousValue() {
+        if (count < period + 1) {
+            return 0;
+        }
+        return previousSum / period;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * @param ago 몇 주기 전(0: 가장 최근)
+     * @return 종가. 보관하고 있지 않으면 0
+     */
+    private double get(int ago) {
+        if (ago >= count) {
+            return 0;
+        }
+        return values[(head + ago) % values.length];
+    }
+
+    private void afterChange() {
+        changeCount++;
+        if (changeCount < RESYNC_INTERVAL) {
+            return;
+        }
+        changeCount = 0;
+        double current = 0;
+        for (int i = 0; i < period; i++) {
+            current += get(i);
+        }
+        sum = current;
+        previousSum = current - get(0) + get(period);
+    }
+}
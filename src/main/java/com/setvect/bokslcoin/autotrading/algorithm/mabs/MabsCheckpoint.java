@@ -0,0 +1,64 @@
+package com.setvect.bokslcoin.autotrading.algorithm.mabs;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 이평선 돌파 전략 상태<br>
+ * 백테스트를 중간에 멈췄다가 같은 상태에서 이어서 실행하기 위함. 이동평균은 캔들로 다시 계산하기 때문에 보관하지 않음
+ */
+@Getter
+@Builder
+@ToString
+public class MabsCheckpoint {
+    /**
+     * 매매 주기 순번
+     */
+    private final int periodIdx;
+    /**
+     * 코인별 상태
+     */
+    private final List<Market> markets;
+
+    /**
+     * 코인 하나의 상태
+     */
+    @Getter
+    @Builder
+    @ToString(exclude = {"time", "open", "high", "low", "close"})
+    public static class Market {
+        private final String market;
+        /**
+         * 매매 주기 캔들 기준 시각(UTC, epoch millisecond). 과거부터 순서대로<br>
+         * 가장 최근 캔들은 마지막 체결 시각
+         */
+        private final long[] time;
+        private final double[] open;
+        private final double[] high;
+        private final double[] low;
+        private final double[] close;
+        /**
+         * 매수 이후 최고 수익률
+         */
+        private final double highYield;
+        /**
+         * 매수 이후 최저 수익률
+         */
+        private final double lowYield;
+        /**
+         * 현재 매매 주기에서 매도 완료 여부
+         */
+        private final boolean tradeComplete;
+        /**
+         * 마지막 체결 가격. 체결이 없으면 NaN
+         */
+        private final double lastPrice;
+        /**
+         * 마지막 체결 시각(UTC, epoch millisecond)
+         */
+        private final long lastTradeTime;
+    }
+}
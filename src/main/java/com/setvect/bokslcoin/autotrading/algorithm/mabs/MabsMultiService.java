@@ -1,21 +1,24 @@
 package com.setvect.bokslcoin.autotrading.algorithm.mabs;
 
 import com.setvect.bokslcoin.autotrading.algorithm.*;
+import com.setvect.bokslcoin.autotrading.algorithm.indicator.MovingAverage;
+import com.setvect.bokslcoin.autotrading.algorithm.orderbook.TopOfBook;
+import com.setvect.bokslcoin.autotrading.algorithm.orderbook.TopOfBookCache;
 import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
-import com.setvect.bokslcoin.autotrading.exchange.AccountService;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
 import com.setvect.bokslcoin.autotrading.exchange.OrderService;
+import com.setvect.bokslcoin.autotrading.exchange.PortfolioStateService;
 import com.setvect.bokslcoin.autotrading.model.Account;
 import com.setvect.bokslcoin.autotrading.model.Candle;
+import com.setvect.bokslcoin.autotrading.model.CandleSeries;
 import com.setvect.bokslcoin.autotrading.model.OrderHistory;
+import com.setvect.bokslcoin.autotrading.model.OrderResult;
 import com.setvect.bokslcoin.autotrading.quotation.CandleService;
 import com.setvect.bokslcoin.autotrading.record.entity.AssetHistoryEntity;
 import com.setvect.bokslcoin.autotrading.record.entity.TradeEntity;
 import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
-import com.setvect.bokslcoin.autotrading.record.repository.AssetHistoryRepository;
-import com.setvect.bokslcoin.autotrading.record.repository.TradeRepository;
 import com.setvect.bokslcoin.autotrading.slack.SlackMessageService;
 import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
-import com.setvect.bokslcoin.autotrading.util.LimitedSizeQueue;
 import com.setvect.bokslcoin.autotrading.util.MathUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,87 +27,105 @@ import org.jetbrains.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * 이평선 돌파 전략 + 멀티 코인
  * 코인별 동일한 현금 비율로 매매를 수행한다.
+ * <p>
+ * 코인별 상태(캔들, 이동평균, 수익률)는 해당 코인 작업 스레드에서만 변경하고, 코인 간 공유 상태(매매 주기, 매수 금액 배분)만 잠금 안에서 변경.
+ * 주문, 계좌 조회 같은 API 호출은 잠금 밖에서 수행
  */
 @Service("mabsMulti")
 @RequiredArgsConstructor
 @Slf4j
 public class MabsMultiService implements CoinTrading {
     /**
-     * 매수 시 즉각적인 매매를 위해 호가보다 상단에 주문을 넣는 퍼센트
+     * 매수 시 즉각적인 매매를 위해 호가보다 상단에 주문을 넣는 퍼센트<br>
+     * 최우선 매도 호가를 모르거나 잔량이 부족할 때만 사용
      */
     private static final double DIFF_RATE_BUY = 0.0;
     /**
      * 매도 시 즉각적인 매매를 위해 호가보다 하단에 주문을 넣는 퍼센트
-     * 무조건 매도를 하기위해 시장가 수준으로 호가를 낮춰 매도 요청
+     * 무조건 매도를 하기위해 시장가 수준으로 호가를 낮춰 매도 요청<br>
+     * 최우선 매수 호가를 모르거나 잔량이 부족할 때만 사용
      */
     private static final double DIFF_RATE_SELL = 0.010;
     /**
      * 최소 매매 금액
      */
     private static final int MINIMUM_BUY_CASH = 5_000;
-    private final AccountService accountService;
+    private final PortfolioStateService portfolioStateService;
     private final CandleService candleService;
     private final TradeEvent tradeEvent;
     private final OrderService orderService;
     private final SlackMessageService slackMessageService;
-    private final AssetHistoryRepository assetHistoryRepository;
-    private final TradeRepository tradeRepository;
+    private final TradeRecorder tradeRecorder;
 
     private final MabsMultiProperties properties;
+    private final TopOfBookCache topOfBookCache;
 
     /**
      * 해당 기간에 매매 여부 완료 여부
      * value: 코인 예) KRW-BTC, KRW-ETH, ...
      */
-    private final Set<String> tradeCompleteOfPeriod = new HashSet<>();
+    private final Set<String> tradeCompleteOfPeriod = ConcurrentHashMap.newKeySet();
 
-    private int periodIdx = -1;
+    private volatile int periodIdx = -1;
 
     /**
      * (코인 코드: 최근 캔들 목록)
      */
-    private final Map<String, LimitedSizeQueue<Candle>> coinByCandles = new HashMap<>();
+    private final Map<String, CandleSeries> coinByCandles = new ConcurrentHashMap<>();
 
     /**
-     * 보유 자산
-     * (코인코드: 계좌)
+     * (코인 코드: 단기 이동평균)
      */
-    private final Map<String, Account> coinAccount = new HashMap<>();
+    private final Map<String, MovingAverage> coinByMaShort = new ConcurrentHashMap<>();
 
     /**
-     * 보유 자산
-     * (코인코드: 매매 대기)
+     * (코인 코드: 장기 이동평균)
      */
-    private final Map<String, OrderHistory> coinOrderWait = new HashMap<>();
+    private final Map<String, MovingAverage> coinByMaLong = new ConcurrentHashMap<>();
 
     /**
      * 매수 이후 최고 수익률
      */
-    private final Map<String, Double> highYield = new HashMap<>();
+    private final Map<String, Double> highYield = new ConcurrentHashMap<>();
     /**
      * 매수 이후 최저 수익률
      */
-    private final Map<String, Double> lowYield = new HashMap<>();
+    private final Map<String, Double> lowYield = new ConcurrentHashMap<>();
 
     /**
      * 마지막 체결 시세
      * (코인코드: 체결)
      */
-    private final Map<String, TradeResult> currentTradeResult = new HashMap<>();
+    private final Map<String, TradeResult> currentTradeResult = new ConcurrentHashMap<>();
 
-    private int orderWaitRotation = -1;
+    /**
+     * 매수 주문 API 호출 중인 코인의 매수 금액<br>
+     * (코인코드: 매수 금액). 주문 결과를 계좌에 반영하기 전까지 다른 코인의 매수 금액 계산에 포함
+     */
+    private final Map<String, Double> bidReserved = new ConcurrentHashMap<>();
 
     /**
-     * 본 메소드를 호출하는 쪽에서는 스레드 안전성을 보장해야됨
+     * 코인 간 공유 상태(캔들 최초 조회, 매매 주기 변경, 매수 금액 배분) 잠금
+     */
+    private final Object sharedLock = new Object();
+
+    private final AtomicInteger orderWaitRotation = new AtomicInteger(-1);
+
+    /**
+     * 같은 코인은 동시에 호출하면 안됨. 서로 다른 코인은 동시에 호출해도 됨
      *
      * @param tradeResult 체결 현황
      */
@@ -114,62 +135,247 @@ public class MabsMultiService implements CoinTrading {
         currentTradeResult.put(tradeResult.getCode(), tradeResult);
 
         if (coinByCandles.size() < properties.getMarkets().size()) {
-            loadAccount();
-            loadOrderWait();
-            loadCandle();
+            // 처음 한 번만. 캔들이 없으면 매매 판단을 할 수 없으므로 다른 코인도 조회가 끝날 때까지 대기
+            synchronized (sharedLock) {
+                if (coinByCandles.size() < properties.getMarkets().size()) {
+                    portfolioStateService.reconcile();
+                    loadCandle();
+                }
+            }
         }
 
         LocalDateTime nowUtc = tradeResult.getTradeDateTimeUtc();
         int currentPeriod = getCurrentPeriod(nowUtc);
 
-
-        // 새로운 날짜면 매매 다시 초기화
-        if (periodIdx != currentPeriod) {
+        // 새로운 날짜면 매매 다시 초기화. 매매 주기를 먼저 바꾼 스레드만 계좌 조회, 자산 기록
+        // 코인마다 처리 스레드가 달라 이전 주기 체결이 늦게 올 수 있음. 주기는 앞으로만 바꿈
+        if (currentPeriod > periodIdx && startPeriod(currentPeriod)) {
             tradeEvent.newPeriod(tradeResult);
-            loadAccount();
+            portfolioStateService.reconcile();
             saveAsset(tradeResult.getTradeDateTimeKst());
-            tradeCompleteOfPeriod.clear();
-            periodIdx = currentPeriod;
         }
 
         String market = tradeResult.getCode();
-        List<Candle> candles = coinByCandles.get(market);
+        CandleSeries candles = coinByCandles.get(market);
         if (candles == null) {
             log.warn(String.format("%s 설정에 없는 시세데이타가 조회 되었습니다.", market));
             return;
         }
 
         // 맨 앞에 가장 최근
-        Candle newestCandle = candles.get(0);
+        Candle newestCandle = candles.getNewest();
         LocalDateTime tradeDateTimeKst = properties.getPeriodType().fitDateTime(tradeResult.getTradeDateTimeKst());
         LocalDateTime candleDateTimeKst = properties.getPeriodType().fitDateTime(newestCandle.getCandleDateTimeKst());
 
+        MovingAverage maShortIndicator = coinByMaShort.get(market);
+        MovingAverage maLongIndicator = coinByMaLong.get(market);
+        // getNewest()는 재사용 객체라 캔들을 바꾼 다음에는 이전 값을 가리키지 않음. 이동평균에는 배열에 저장한 종가를 넘김
         if (candleDateTimeKst.equals(tradeDateTimeKst)) {
-            newestCandle.change(tradeResult);
+            candles.change(tradeResult);
+            double close = candles.getClose(0);
+            maShortIndicator.update(close);
+            maLongIndicator.update(close);
             // 같은 주기에서 이전과 같은 체결값이면 이후 처리는 하지 않음
             if (beforeTradeResult != null && beforeTradeResult.getTradePrice() == tradeResult.getTradePrice()) {
                 return;
             }
         } else {
-            newestCandle = new Candle(tradeResult);
-            // 최근 캔들이 맨 앞에 있기 때문에 index 0에 넣음
-            candles.add(0, newestCandle);
+            candles.pushFront(tradeResult);
+            double close = candles.getClose(0);
+            maShortIndicator.push(close);
+            maLongIndicator.push(close);
         }
+        newestCandle = candles.getNewest();
 
-        double maShort = CommonTradeHelper.getMa(candles, properties.getShortPeriod());
-        double maLong = CommonTradeHelper.getMa(candles, properties.getLongPeriod());
+        double maShort = maShortIndicator.getValue();
+        double maLong = maLongIndicator.getValue();
         tradeEvent.check(newestCandle, maShort, maLong);
 
         logCurrentPrice(tradeResult, maShort, maLong);
         checkStatus();
 
-        if (isBuyable(market)) {
-            doBid(market);
+        double bidCash = reserveBid(market);
+        if (bidCash > 0) {
+            doBid(market, bidCash);
         } else if (isSellable(market)) {
             doAsk(market);
         }
     }
 
+    /**
+     * @param currentPeriod 새 매매 주기
+     * @return 이 스레드에서 매매 주기를 바꿨으면 true, 다른 스레드에서 이미 바꿨거나 이전 주기면 false
+     */
+    private boolean startPeriod(int currentPeriod) {
+        synchronized (sharedLock) {
+            if (currentPeriod <= periodIdx) {
+                return false;
+            }
+            tradeCompleteOfPeriod.clear();
+            periodIdx = currentPeriod;
+            return true;
+        }
+    }
+
+    /**
+     * 매수 조건을 확인하고 매수 금액을 예약. 다른 코인이 같은 현금으로 동시에 매수하지 않도록 잠금 안에서 수행
+     *
+     * @param market 매수 대상 코인
+     * @return 매수 금액. 매수하지 않으면 0
+     */
+    private double reserveBid(String market) {
+        synchronized (sharedLock) {
+            if (!isBuyable(market)) {
+                return 0;
+            }
+            double cash = getBuyCash();
+            bidReserved.put(market, cash);
+            return cash;
+        }
+    }
+
+    /**
+     * 놓친 1분봉을 매매 주기 캔들과 이동평균에 반영<br>
+     * 반영이 끝날 때까지 해당 코인의 새 체결은 전달되지 않기 때문에 가장 최근 캔들은 연결이 끊기기 전 캔들이고, 이 캔들을 기준으로 빠진 매매 주기를 판단<br>
+     * 매매 주기가 하나 이상 통째로 빠진 경우 해당 코인 캔들을 다시 조회
+     *
+     * @param market        코인 코드
+     * @param minuteCandles 1분봉(최근 순서대로)
+     */
+    @Override
+    public void backfill(String market, List<Candle> minuteCandles) {
+        CandleSeries candles = coinByCandles.get(market);
+        if (candles == null) {
+            // 아직 캔들을 읽기 전. 첫 체결 때 전체를 읽음
+            return;
+        }
+        PeriodType periodType = properties.getPeriodType();
+        MovingAverage maShortIndicator = coinByMaShort.get(market);
+        MovingAverage maLongIndicator = coinByMaLong.get(market);
+        int merged = 0;
+        // 과거 캔들부터 반영
+        for (int i = minuteCandles.size() - 1; i >= 0; i--) {
+            Candle minute = minuteCandles.get(i);
+            Candle newestCandle = candles.getNewest();
+            LocalDateTime newestPeriod = periodType.fitDateTime(newestCandle.getCandleDateTimeKst());
+            LocalDateTime minutePeriod = periodType.fitDateTime(minute.getCandleDateTimeKst());
+            if (minutePeriod.isBefore(newestPeriod)) {
+                continue;
+            }
+            if (minutePeriod.equals(newestPeriod)) {
+                candles.merge(minute);
+                maShortIndicator.update(candles.getClose(0));
+                maLongIndicator.update(candles.getClose(0));
+            } else if (minutePeriod.equals(newestPeriod.plusMinutes(periodType.getDiffMinutes()))) {
+                candles.pushFront(minute);
+                maShortIndicator.push(candles.getClose(0));
+                maLongIndicator.push(candles.getClose(0));
+            } else {
+                log.warn("[{}] 빠진 매매 주기가 있어 캔들 다시 조회. 최근 캔들: {}, 1분봉: {}", market, newestPeriod, minutePeriod);
+                loadCandle(market);
+                return;
+            }
+            merged++;
+        }
+        log.info("[{}] 1분봉 {}개 반영", market, merged);
+    }
+
+    /**
+     * @return 현재 전략 상태. 백테스트를 이어서 실행할 때 사용
+     */
+    public MabsCheckpoint checkpoint() {
+        List<MabsCheckpoint.Market> markets = new ArrayList<>(coinByCandles.size());
+        for (Map.Entry<String, CandleSeries> entry : coinByCandles.entrySet()) {
+            String market = entry.getKey();
+            CandleSeries candles = entry.getValue();
+            int size = candles.size();
+            long[] time = new long[size];
+            double[] open = new double[size];
+            double[] high = new double[size];
+            double[] low = new double[size];
+            double[] close = new double[size];
+            // 과거 캔들부터 저장
+            for (int i = 0; i < size; i++) {
+                int ago = size - 1 - i;
+                time[i] = candles.getTime(ago);
+                open[i] = candles.getOpen(ago);
+                high[i] = candles.getHigh(ago);
+                low[i] = candles.getLow(ago);
+                close[i] = candles.getClose(ago);
+            }
+            TradeResult last = currentTradeResult.get(market);
+            markets.add(MabsCheckpoint.Market.builder()
+                    .market(market)
+                    .time(time)
+                    .open(open)
+                    .high(high)
+                    .low(low)
+                    .close(close)
+                    .highYield(highYield.getOrDefault(market, 0.0))
+                    .lowYield(lowYield.getOrDefault(market, 0.0))
+                    .tradeComplete(tradeCompleteOfPeriod.contains(market))
+                    .lastPrice(last == null ? Double.NaN : last.getTradePrice())
+                    .lastTradeTime(last == null ? 0 : toEpochMilli(last.getTradeDateTimeUtc()))
+                    .build());
+        }
+        return MabsCheckpoint.builder()
+                .periodIdx(periodIdx)
+                .markets(markets)
+                .build();
+    }
+
+    /**
+     * 저장한 상태로 되돌림. 캔들을 다시 조회하지 않고 이동평균은 저장한 캔들로 계산함
+     *
+     * @param checkpoint {@link #checkpoint()}로 만든 상태
+     */
+    public void restore(MabsCheckpoint checkpoint) {
+        coinByCandles.clear();
+        coinByMaShort.clear();
+        coinByMaLong.clear();
+        highYield.clear();
+        lowYield.clear();
+        tradeCompleteOfPeriod.clear();
+        currentTradeResult.clear();
+        bidReserved.clear();
+
+        int candleMaxSize = properties.getLongPeriod() + 1;
+        for (MabsCheckpoint.Market state : checkpoint.getMarkets()) {
+            String market = state.getMarket();
+            CandleSeries candles = new CandleSeries(market, candleMaxSize);
+            for (int i = 0; i < state.getTime().length; i++) {
+                LocalDateTime utc = toLocalDateTime(state.getTime()[i]);
+                Candle candle = new Candle();
+                candle.setMarket(market);
+                candle.setCandleDateTimeUtc(utc);
+                candle.setCandleDateTimeKst(utc.plusHours(9));
+                candle.setOpeningPrice(state.getOpen()[i]);
+                candle.setHighPrice(state.getHigh()[i]);
+                candle.setLowPrice(state.getLow()[i]);
+                candle.setTradePrice(state.getClose()[i]);
+                candles.pushFront(candle);
+            }
+            putCandles(market, candles);
+
+            highYield.put(market, state.getHighYield());
+            lowYield.put(market, state.getLowYield());
+            if (state.isTradeComplete()) {
+                tradeCompleteOfPeriod.add(market);
+            }
+            if (!Double.isNaN(state.getLastPrice())) {
+                LocalDateTime utc = toLocalDateTime(state.getLastTradeTime());
+                currentTradeResult.put(market, TradeResult.builder()
+                        .type("trade")
+                        .code(market)
+                        .tradePrice(state.getLastPrice())
+                        .tradeDate(utc.toLocalDate())
+                        .tradeTime(utc.toLocalTime())
+                        .build());
+            }
+        }
+        periodIdx = checkpoint.getPeriodIdx();
+    }
+
     /**
      * @param market 매수 대상 코인
      * @return true 매수 조건 만족
@@ -179,13 +385,12 @@ public class MabsMultiService implements CoinTrading {
         if (tradeCompleteOfPeriod.contains(market)) {
             return false;
         }
-        if (coinAccount.containsKey(market)) {
+        if (portfolioStateService.getAccount(market) != null) {
             return false;
         }
 
-        List<Candle> candleList = coinByCandles.get(market);
-        double maShort = CommonTradeHelper.getMa(candleList, properties.getShortPeriod());
-        double maLong = CommonTradeHelper.getMa(candleList, properties.getLongPeriod());
+        double maShort = coinByMaShort.get(market).getValue();
+        double maLong = coinByMaLong.get(market).getValue();
 
         double buyTargetPrice = maLong + maLong * properties.getUpBuyRate();
 
@@ -196,47 +401,44 @@ public class MabsMultiService implements CoinTrading {
             return false;
         }
         // 직전 이동평균을 감지해 새롭게 돌파 했을 때만 매수
-        boolean isBeforeBuy = isBeforeBuy(candleList);
-        Candle candle = candleList.get(0);
+        boolean isBeforeBuy = isBeforeBuy(market);
+        Candle candle = coinByCandles.get(market).getNewest();
         if (isBeforeBuy && properties.isNewMasBuy()) {
             log.debug("[{}] 매수 안함. 새롭게 이동평균을 돌파할 때만 매수합니다.", candle.getMarket());
             return false;
         }
         // 매수 직전 주문 요청 이력 확인
-        loadOrderWait();
-        OrderHistory orderHistory = coinOrderWait.get(market);
+        OrderHistory orderHistory = portfolioStateService.getOrderWait(market);
         if (orderHistory != null) {
             log.info("{} 매수 주문요청  상태임: {}", market, orderHistory);
             return false;
         }
-        // 매수 대기 처리 여부 확인을 위해 계좌 내역 한번더 조회
-        loadAccount();
-        if (coinAccount.containsKey(market)) {
-            log.warn("[{}] 매수 안함. 이미 매수한 종목", candle.getMarket());
-            return false;
-        }
         return true;
     }
 
     /**
      * 코인 매수
      *
-     * @param market 코인 종류
+     * @param market   코인 종류
+     * @param bidPrice 예약한 매수 금액
      */
-    private void doBid(String market) {
-        List<Candle> candleList = coinByCandles.get(market);
-        Candle candle = candleList.get(0);
+    private void doBid(String market, double bidPrice) {
+        Candle candle = coinByCandles.get(market).getNewest();
         double tradePrice = candle.getTradePrice();
 
-        double bidPrice = getBuyCash();
-        // 매수 가격, 높은 가격으로 매수(시장가 효과)
-        double fitPrice = AskPriceRange.askPrice(tradePrice + tradePrice * DIFF_RATE_BUY);
+        double fitPrice = getBidOrderPrice(market, tradePrice, bidPrice);
 
         // 매수 수량
         String volume = ApplicationUtil.toNumberString(bidPrice / fitPrice);
 
         String price = ApplicationUtil.toNumberString(fitPrice);
-        orderService.callOrderBid(market, volume, price);
+        try {
+            OrderResult orderResult = orderService.callOrderBid(market, volume, price);
+            portfolioStateService.applyBid(market, orderResult, Double.parseDouble(volume), fitPrice);
+        } finally {
+            // 계좌에 반영한 다음 예약 해제. 순간적으로 두 번 빠질 수는 있어도 예약 금액이 빠지지 않는 경우는 없음
+            bidReserved.remove(market);
+        }
 
         TradeEntity trade = new TradeEntity();
         trade.setMarket(market);
@@ -246,26 +448,56 @@ public class MabsMultiService implements CoinTrading {
         trade.setAmount(amount);
         trade.setUnitPrice(tradePrice);
         trade.setRegDate(LocalDateTime.now());
-        tradeRepository.save(trade);
+        tradeRecorder.saveTrade(trade);
 
         tradeEvent.bid(market, tradePrice, bidPrice);
-        loadAccount();
-        loadOrderWait();
     }
 
 
+    /**
+     * 최우선 매도 호가 잔량으로 주문 금액을 채울 수 있으면 최우선 매도 호가로 매수<br>
+     * 그렇지 않으면 현재가보다 높은 가격으로 매수(시장가 효과)
+     *
+     * @param market     코인
+     * @param tradePrice 현재가
+     * @param cash       매수 금액
+     * @return 매수 주문 가격
+     */
+    private double getBidOrderPrice(String market, double tradePrice, double cash) {
+        TopOfBook book = topOfBookCache.get(market);
+        if (book != null && cash / book.getAskPrice() <= book.getAskSize()) {
+            return book.getAskPrice();
+        }
+        return AskPriceRange.askPrice(tradePrice + tradePrice * DIFF_RATE_BUY);
+    }
+
+    /**
+     * 최우선 매수 호가 잔량이 매도 수량 이상이면 최우선 매수 호가로 매도<br>
+     * 그렇지 않으면 현재가보다 낮은 가격으로 매도(시장가 효과)
+     *
+     * @param market     코인
+     * @param tradePrice 현재가
+     * @param volume     매도 수량
+     * @return 매도 주문 가격
+     */
+    private double getAskOrderPrice(String market, double tradePrice, double volume) {
+        TopOfBook book = topOfBookCache.get(market);
+        if (book != null && volume <= book.getBidSize()) {
+            return book.getBidPrice();
+        }
+        return AskPriceRange.askPrice(tradePrice - tradePrice * DIFF_RATE_SELL);
+    }
+
     /**
      * @param market 매도 대상 코인
      * @return true 매도 조건 만족
      */
     private boolean isSellable(String market) {
-        Account account = coinAccount.get(market);
+        Account account = portfolioStateService.getAccount(market);
         if (account == null) {
             return false;
         }
-        List<Candle> candleList = coinByCandles.get(market);
-
-        Candle candle = candleList.get(0);
+        Candle candle = coinByCandles.get(market).getNewest();
         double yield = getYield(candle, account);
 
         double maxHighYield = Math.max(highYield.getOrDefault(market, 0.0), yield);
@@ -276,8 +508,8 @@ public class MabsMultiService implements CoinTrading {
         lowYield.put(market, minLowYield);
         tradeEvent.lowYield(candle.getMarket(), minLowYield);
 
-        double maShort = CommonTradeHelper.getMa(candleList, properties.getShortPeriod());
-        double maLong = CommonTradeHelper.getMa(candleList, properties.getLongPeriod());
+        double maShort = coinByMaShort.get(market).getValue();
+        double maLong = coinByMaLong.get(market).getValue();
 
         // 장기이평 >= (단기이평 + 단기이평 * 하락매도률)
         double sellTargetPrice = maShort + maShort * properties.getDownSellRate();
@@ -289,8 +521,7 @@ public class MabsMultiService implements CoinTrading {
         }
 
         // 매도 직전 주문 요청 이력 확인
-        loadOrderWait();
-        OrderHistory orderHistory = coinOrderWait.get(market);
+        OrderHistory orderHistory = portfolioStateService.getOrderWait(market);
         if (orderHistory != null) {
             log.info("{} 매도 주문요청  상태임: {}", market, orderHistory);
             return false;
@@ -305,9 +536,8 @@ public class MabsMultiService implements CoinTrading {
      * @param market 코인 종류
      */
     private void doAsk(String market) {
-        Account account = coinAccount.get(market);
-        List<Candle> candleList = coinByCandles.get(market);
-        Candle candle = candleList.get(0);
+        Account account = portfolioStateService.getAccount(market);
+        Candle candle = coinByCandles.get(market).getNewest();
         double yield = getYield(candle, account);
 
         String message = String.format("[%s] 현재가: %,.2f, 매입단가: %,.2f, 투자금: %,.0f, 수익률: %.2f%%, 최고 수익률: %.2f%%, 최저 수익률: %.2f%%",
@@ -322,11 +552,11 @@ public class MabsMultiService implements CoinTrading {
         log.info(message);
         slackMessageService.sendMessage(message);
 
-        // 매도 가격, 낮은 가격으로 매도(시장가 효과)
         double currentPrice = candle.getTradePrice();
         double balance = account.getBalanceValue();
-        double fitPrice = AskPriceRange.askPrice(currentPrice - currentPrice * DIFF_RATE_SELL);
-        orderService.callOrderAsk(market, ApplicationUtil.toNumberString(balance), ApplicationUtil.toNumberString(fitPrice));
+        double fitPrice = getAskOrderPrice(market, currentPrice, balance);
+        OrderResult orderResult = orderService.callOrderAsk(market, ApplicationUtil.toNumberString(balance), ApplicationUtil.toNumberString(fitPrice));
+        portfolioStateService.applyAsk(market, orderResult, balance, fitPrice);
 
         TradeEntity trade = new TradeEntity();
         trade.setMarket(market);
@@ -336,29 +566,24 @@ public class MabsMultiService implements CoinTrading {
         trade.setUnitPrice(currentPrice);
         trade.setRegDate(LocalDateTime.now());
         trade.setYield(yield);
-        tradeRepository.save(trade);
+        tradeRecorder.saveTrade(trade);
 
         tradeEvent.ask(market, balance, currentPrice, AskReason.MA_DOWN);
         highYield.put(market, 0.0);
         lowYield.put(market, 0.0);
         tradeCompleteOfPeriod.add(market);
-        loadAccount();
-        loadOrderWait();
     }
 
     /**
      * 5분마다 매매 시세 체크, 매매 대기가 있으면 슬랙으로 메시지 전달
-     * 매매 대기가 있으면 계좌 정보도 추가로 체크함
      */
     private void checkStatus() {
         int temp = LocalTime.now().getMinute() / 5;
-        if (orderWaitRotation == temp) {
+        if (orderWaitRotation.getAndSet(temp) == temp) {
             return;
         }
-        orderWaitRotation = temp;
 
-        loadOrderWait();
-        String message = coinOrderWait.values().stream().map(history -> {
+        String message = portfolioStateService.getOrderWaits().values().stream().map(history -> {
             String currentPrice = Optional.ofNullable(currentTradeResult.get(history.getMarket()))
                     .map(p -> ApplicationUtil.toNumberString(p.getTradePrice())).orElse("");
             return String.format("[%s] %s 대기 %s/%s, %s/%s",
@@ -372,15 +597,17 @@ public class MabsMultiService implements CoinTrading {
         if (!StringUtils.isNotBlank(message)) {
             return;
         }
-        loadAccount();
         log.info(message);
-        slackMessageService.sendMessage(message);
+        slackMessageService.sendStatus(message);
     }
 
     /**
      * 10초마다 코인별 현재 가격 출력
      */
     private void logCurrentPrice(TradeResult tradeResult, double maShort, double maLong) {
+        if (!log.isDebugEnabled()) {
+            return;
+        }
         String message = String.format("[%s] 장-단: %,.2f(%.2f%%), %,.2f, MA_%d: %,.2f, MA_%d: %,.2f, TD: %,d",
                 tradeResult.getCode(),
                 maShort - maLong,
@@ -400,48 +627,18 @@ public class MabsMultiService implements CoinTrading {
      */
     private void saveAsset(LocalDateTime tradeDateTimeKst) {
         // 각 코인들의 가장 최근 캔들
-        Map<String, Candle> lastCandle = coinByCandles.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, p -> p.getValue().get(0)));
-        List<AssetHistoryEntity> rateByCoin = writeCurrentAssetRate(coinAccount, lastCandle, tradeDateTimeKst);
+        Map<String, Candle> lastCandle = coinByCandles.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, p -> p.getValue().getNewest()));
+        List<AssetHistoryEntity> rateByCoin = writeCurrentAssetRate(portfolioStateService.getAccounts(), lastCandle, tradeDateTimeKst);
 
         sendCurrentStatus(rateByCoin);
     }
 
-    /**
-     * 현금, 매수 코인 목록
-     */
-    private void loadAccount() {
-        coinAccount.clear();
-        coinAccount.putAll(accountService.getMyAccountBalance());
-        log.debug("load account: {}", coinAccount);
-    }
-
-    /**
-     * 매수/매도 대기 주문 조회
-     */
-    private void loadOrderWait() {
-        List<OrderHistory> history = orderService.getHistory(1, properties.getMaxBuyCount());
-        coinOrderWait.clear();
-        coinOrderWait.putAll(history.stream().collect(Collectors.toMap(OrderHistory::getMarket, Function.identity())));
-        log.debug("load coinOrder: {}", coinOrderWait);
-    }
-
     /**
      * 코인 캔들 정보를 얻음
      */
     private void loadCandle() {
-        int candleMaxSize = properties.getLongPeriod() + 1;
         for (String market : properties.getMarkets()) {
-            List<Candle> candleList = CommonTradeHelper.getCandles(candleService, market, properties.getPeriodType(), candleMaxSize);
-            if (candleList.isEmpty()) {
-                throw new RuntimeException(String.format("[%s] 현재 시세 데이터가 없습니다.", market));
-            }
-            if (candleList.size() < candleMaxSize) {
-                throw new RuntimeException(String.format("[%s] 이동평균계산을 위한 시세 데이터가 부족합니다", market));
-            }
-
-            LimitedSizeQueue<Candle> candles = new LimitedSizeQueue<>(candleMaxSize);
-            candles.addAll(candleList);
-            coinByCandles.put(market, candles);
+            loadCandle(market);
         }
         String candleInfo = coinByCandles.entrySet()
                 .stream()
@@ -450,12 +647,44 @@ public class MabsMultiService implements CoinTrading {
         log.info("load candle: {}", candleInfo);
     }
 
+    private void loadCandle(String market) {
+        int candleMaxSize = properties.getLongPeriod() + 1;
+        List<Candle> candleList = CommonTradeHelper.getCandles(candleService, market, properties.getPeriodType(), candleMaxSize);
+        if (candleList.isEmpty()) {
+            throw new RuntimeException(String.format("[%s] 현재 시세 데이터가 없습니다.", market));
+        }
+        if (candleList.size() < candleMaxSize) {
+            throw new RuntimeException(String.format("[%s] 이동평균계산을 위한 시세 데이터가 부족합니다", market));
+        }
+
+        CandleSeries candles = new CandleSeries(market, candleMaxSize);
+        // 과거 캔들부터 추가
+        for (int i = candleList.size() - 1; i >= 0; i--) {
+            candles.pushFront(candleList.get(i));
+        }
+        putCandles(market, candles);
+    }
+
+    private void putCandles(String market, CandleSeries candles) {
+        MovingAverage maShort = new MovingAverage(properties.getShortPeriod());
+        MovingAverage maLong = new MovingAverage(properties.getLongPeriod());
+        maShort.load(candles);
+        maLong.load(candles);
+        coinByMaShort.put(market, maShort);
+        coinByMaLong.put(market, maLong);
+        // 캔들 수로 조회 완료를 판단하기 때문에 이동평균을 먼저 넣음
+        coinByCandles.put(market, candles);
+    }
+
     /**
-     * @return 보유 현금
+     * @return 보유 현금. 매수 주문 중인 금액은 제외
      */
     private double getCash() {
-        Account krw = coinAccount.get("KRW");
+        Account krw = portfolioStateService.getAccount("KRW");
         BigDecimal cash = BigDecimal.valueOf(krw.getBalanceValue());
+        for (double reserved : bidReserved.values()) {
+            cash = cash.subtract(BigDecimal.valueOf(reserved));
+        }
         return cash.doubleValue();
     }
 
@@ -468,7 +697,10 @@ public class MabsMultiService implements CoinTrading {
         // 이미 매수한 코인 갯수
         int allowBuyCount = Math.min(properties.getMaxBuyCount(), properties.getMarkets().size());
         // 구매 건수 = 이미 구매 건수 + 매수 대기 건수 
-        int buyCount = (int) properties.getMarkets().stream().filter(p -> coinAccount.containsKey(p) || coinOrderWait.containsKey(p)).count();
+        Map<String, Account> coinAccount = portfolioStateService.getAccounts();
+        Map<String, OrderHistory> coinOrderWait = portfolioStateService.getOrderWaits();
+        int buyCount = (int) properties.getMarkets().stream()
+                .filter(p -> coinAccount.containsKey(p) || coinOrderWait.containsKey(p) || bidReserved.containsKey(p)).count();
         int rate = allowBuyCount - buyCount;
         double buyCash = 0;
 
@@ -488,11 +720,11 @@ public class MabsMultiService implements CoinTrading {
 
         String priceMessage = coinByCandles.values().stream().map(
                 candleList -> {
-                    double maShort = CommonTradeHelper.getMa(candleList, properties.getShortPeriod());
-                    double maLong = CommonTradeHelper.getMa(candleList, properties.getLongPeriod());
-                    Candle candle = candleList.get(0);
-
+                    Candle candle = candleList.getNewest();
                     String market = candle.getMarket();
+                    double maShort = coinByMaShort.get(market).getValue();
+                    double maLong = coinByMaLong.get(market).getValue();
+
                     TradeResult tradeResult = currentTradeResult.get(market);
                     String dayYield = Optional.ofNullable(tradeResult).map(p -> String.format("%.2f%%", p.getYieldDay() * 100)).orElse("X");
                     String message = String.format("[%s] %.2f%%, %s, %,.0f",
@@ -520,7 +752,7 @@ public class MabsMultiService implements CoinTrading {
         long minDiff = currentTradeResult.values().stream().mapToLong(TradeResult::getTimestampDiff).min().orElse(-9999);
         String diffTimeSummary = String.format("시간차: 최대 %,d, 최소 %,d", maxDiff, minDiff);
 
-        slackMessageService.sendMessage(StringUtils.joinWith("\n-----------\n",
+        slackMessageService.sendStatus(StringUtils.joinWith("\n-----------\n",
                 priceMessage, investmentSummary, cashSummary, diffTimeSummary));
     }
 
@@ -551,24 +783,27 @@ public class MabsMultiService implements CoinTrading {
             assetHistory.setRegDate(regDate);
             return assetHistory;
         }).collect(Collectors.toList());
-        assetHistoryRepository.saveAll(accountHistoryList);
+        tradeRecorder.saveAssets(accountHistoryList);
         return accountHistoryList;
     }
 
+    /**
+     * @param nowUtc 체결 시간(UTC)
+     * @return 1970-01-01(UTC)부터 지난 매매 주기 수. 월이 바뀌어도 줄지 않기 때문에 크기로 이전, 이후 주기를 비교할 수 있음
+     */
     private int getCurrentPeriod(LocalDateTime nowUtc) {
-        int dayHourMinuteSum = nowUtc.getDayOfMonth() * 1440 + nowUtc.getHour() * 60 + nowUtc.getMinute();
-        return dayHourMinuteSum / properties.getPeriodType().getDiffMinutes();
+        long epochMinute = nowUtc.toEpochSecond(ZoneOffset.UTC) / 60;
+        return (int) (epochMinute / properties.getPeriodType().getDiffMinutes());
     }
 
     /**
-     * @param candleList 캔들
+     * @param market 코인
      * @return 이동 평균에서 직전 매수 조건 이면 true, 아니면 false
      */
-    private boolean isBeforeBuy(List<Candle> candleList) {
+    private boolean isBeforeBuy(String market) {
         // 한단계전에 매수 조건이였는지 확인
-        List<Candle> beforeCandleList = candleList.subList(1, candleList.size());
-        double maShortBefore = CommonTradeHelper.getMa(beforeCandleList, properties.getShortPeriod());
-        double maLongBefore = CommonTradeHelper.getMa(beforeCandleList, properties.getLongPeriod());
+        double maShortBefore = coinByMaShort.get(market).getPreviousValue();
+        double maLongBefore = coinByMaLong.get(market).getPreviousValue();
         double buyTargetPrice = maLongBefore + maLongBefore * properties.getUpBuyRate();
         //(장기이평 + 장기이평 * 상승매수률) <= 단기이평
         return buyTargetPrice <= maShortBefore;
@@ -581,6 +816,14 @@ public class MabsMultiService implements CoinTrading {
         return diff / avgPrice;
     }
 
+    private static long toEpochMilli(LocalDateTime utc) {
+        return utc.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.UTC);
+    }
+
     @Nullable
     private static String removeKrw(String market) {
         return StringUtils.replace(market, "KRW-", "");
@@ -0,0 +1,46 @@
+package com.setvect.bokslcoin.autotrading.algorithm.orderbook;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 최우선 호가. 생성 후 변경하지 않음
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TopOfBook {
+    private final String market;
+    /**
+     * 최우선 매도 호가
+     */
+    private final double askPrice;
+    /**
+     * 최우선 매도 잔량
+     */
+    private final double askSize;
+    /**
+     * 최우선 매수 호가
+     */
+    private final double bidPrice;
+    /**
+     * 최우선 매수 잔량
+     */
+    private final double bidSize;
+    /**
+     * 거래소 타임스탬프(epoch ms)
+     */
+    private final long timestamp;
+    /**
+     * 수신 시간(epoch ms)
+     */
+    private final long receivedMillis;
+
+    /**
+     * @return 매도 호가 - 매수 호가
+     */
+    public double getSpread() {
+        return askPrice - bidPrice;
+    }
+}
@@ -0,0 +1,62 @@
+package com.setvect.bokslcoin.autotrading.algorithm.orderbook;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 코인별 최우선 호가<br>
+ * 호가 프레임마다 최신 값으로 교체하고 이전 값은 버림(중간 변경은 보관하지 않음)<br>
+ * 수신 스레드가 쓰고 매매 스레드가 읽으며, 잠금 없이 사용 가능
+ */
+@Component
+public class TopOfBookCache {
+    private final Map<String, TopOfBook> books = new ConcurrentHashMap<>();
+
+    /**
+     * 이 시간(ms)보다 오래된 호가는 사용하지 않음
+     */
+    private final long maxAgeMs;
+
+    public TopOfBookCache(@Value("${com.setvect.bokslcoin.autotrading.orderbook.maxAgeMs:3000}") long maxAgeMs) {
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /**
+     * @param market    코인 코드
+     * @param askPrice  최우선 매도 호가
+     * @param askSize   최우선 매도 잔량
+     * @param bidPrice  최우선 매수 호가
+     * @param bidSize   최우선 매수 잔량
+     * @param timestamp 거래소 타임스탬프
+     */
+    public void update(String market, double askPrice, double askSize, double bidPrice, double bidSize, long timestamp) {
+        books.put(market, new TopOfBook(market, askPrice, askSize, bidPrice, bidSize, timestamp, System.currentTimeMillis()));
+    }
+
+    /**
+     * @param market 코인 코드
+     * @return 최우선 호가. 없거나 오래된 경우 null
+     */
+    public TopOfBook get(String market) {
+        TopOfBook book = books.get(market);
+        if (book == null || System.currentTimeMillis() - book.getReceivedMillis() > maxAgeMs) {
+            return null;
+        }
+        return book;
+    }
+
+    /**
+     * @return 코인별 최우선 호가(오래된 값 포함)
+     */
+    public List<TopOfBook> getAll() {
+        return books.values().stream()
+                .sorted(Comparator.comparing(TopOfBook::getMarket))
+                .collect(Collectors.toList());
+    }
+}
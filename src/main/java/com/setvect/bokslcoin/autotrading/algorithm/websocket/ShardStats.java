@@ -0,0 +1,46 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 웹소켓 샤드(연결 하나) 현황
+ */
+@Getter
+@Builder
+@ToString
+public class ShardStats {
+    private final int shard;
+    /**
+     * 구독 코인
+     */
+    private final List<String> markets;
+    private final boolean connected;
+    /**
+     * 현재 연결 유지 시간(초)
+     */
+    private final double connectedSec;
+    /**
+     * 재연결 횟수
+     */
+    private final long reconnects;
+    /**
+     * 전체 수신 건수
+     */
+    private final long received;
+    /**
+     * 현재 연결 이후 초당 수신 건수
+     */
+    private final double ratePerSec;
+    /**
+     * 마지막 수신 후 경과 시간(ms). 수신한 적 없으면 -1
+     */
+    private final long lastMessageAgeMs;
+    /**
+     * 체결이 오래 없는 코인
+     */
+    private final List<String> silentMarkets;
+}
@@ -0,0 +1,416 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import okio.ByteString;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 업비트 웹소켓 체결, 호가 프레임(JSON, DEFAULT 포맷)을 바이트 단위로 직접 읽어 {@link TradeRecord}에 담음<br>
+ * 호가 프레임은 첫 번째 호가(최우선 매도, 매수 호가)만 읽고 나머지는 건너뜀<br>
+ * 문자열 변환, 리플렉션, 날짜 문자열 파싱을 하지 않아 체결 건당 객체 생성이 없음<br>
+ * 구독 중인 코인 코드는 미리 만든 문자열을 재사용함
+ * <p>
+ * 하나의 수신 스레드에서만 사용
+ */
+public class TradeFrameDecoder {
+    private static final byte[] KEY_TYPE = bytes("type");
+    private static final byte[] KEY_CODE = bytes("code");
+    private static final byte[] KEY_TRADE_PRICE = bytes("trade_price");
+    private static final byte[] KEY_TRADE_VOLUME = bytes("trade_volume");
+    private static final byte[] KEY_TIMESTAMP = bytes("timestamp");
+    private static final byte[] KEY_TRADE_DATE = bytes("trade_date");
+    private static final byte[] KEY_TRADE_TIME = bytes("trade_time");
+    private static final byte[] KEY_PREV_CLOSING_PRICE = bytes("prev_closing_price");
+    private static final byte[] KEY_ORDERBOOK_UNITS = bytes("orderbook_units");
+    private static final byte[] KEY_ASK_PRICE = bytes("ask_price");
+    private static final byte[] KEY_ASK_SIZE = bytes("ask_size");
+    private static final byte[] KEY_BID_PRICE = bytes("bid_price");
+    private static final byte[] KEY_BID_SIZE = bytes("bid_size");
+
+    private static final String TYPE_TRADE = "trade";
+    private static final byte[] TYPE_TRADE_BYTES = bytes(TYPE_TRADE);
+    private static final String TYPE_ORDERBOOK = "orderbook";
+    private static final byte[] TYPE_ORDERBOOK_BYTES = bytes(TYPE_ORDERBOOK);
+
+    /**
+     * 가수부가 이 자릿수 이하면 double 변환 시 오차 없음
+     */
+    private static final int EXACT_DIGITS = 15;
+    private static final double[] POW10 = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final String[] codes;
+    private final byte[][] codeBytes;
+
+    private ByteString frame;
+    private int pos;
+
+    /**
+     * @param codes 구독 중인 코인 코드. 해당 코드는 문자열을 새로 만들지 않음
+     */
+    public TradeFrameDecoder(List<String> codes) {
+        this.codes = codes.toArray(new String[0]);
+        this.codeBytes = new byte[this.codes.length][];
+        for (int i = 0; i < this.codes.length; i++) {
+            codeBytes[i] = bytes(this.codes[i]);
+        }
+    }
+
+    /**
+     * @param bytes  웹소켓 바이너리 프레임
+     * @param record 결과를 담을 버퍼
+     * @return 체결(trade) 프레임이면 true, 그 외 프레임(호가, 에러 응답, 체결 일자, 시간이 없는 체결 등)이면 false
+     * @throws IllegalArgumentException JSON 형식이 잘못된 경우
+     */
+    public boolean decode(ByteString bytes, TradeRecord record) {
+        return decodeFrame(bytes, record) == UpbitWebSocketListener.UpbitType.TRADE;
+    }
+
+    /**
+     * @param bytes  웹소켓 바이너리 프레임
+     * @param record 결과를 담을 버퍼
+     * @return 체결 프레임이면 TRADE, 호가 프레임이면 ORDERBOOK, 그 외 프레임(에러 응답, 체결 일자, 시간이 없는 체결 등)이면 null
+     * @throws IllegalArgumentException JSON 형식이 잘못된 경우
+     */
+    public UpbitWebSocketListener.UpbitType decodeFrame(ByteString bytes, TradeRecord record) {
+        frame = bytes;
+        pos = 0;
+        record.clear();
+        try {
+            skipWhitespace();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                return null;
+            }
+            while (true) {
+                skipWhitespace();
+                int keyStart = readStringBounds();
+                int keyEnd = pos - 1;
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                readField(keyStart, keyEnd, record);
+                skipWhitespace();
+                byte b = next();
+                if (b == '}') {
+                    break;
+                }
+                if (b != ',') {
+                    throw error("',' or '}'");
+                }
+            }
+        } finally {
+            frame = null;
+        }
+        if (record.getCode() == null) {
+            return null;
+        }
+        if (TYPE_TRADE.equals(record.getType())) {
+            return record.hasTradeDateTime() ? UpbitWebSocketListener.UpbitType.TRADE : null;
+        }
+        if (TYPE_ORDERBOOK.equals(record.getType()) && record.getAskPrice() > 0 && record.getBidPrice() > 0) {
+            return UpbitWebSocketListener.UpbitType.ORDERBOOK;
+        }
+        return null;
+    }
+
+    private void readField(int keyStart, int keyEnd, TradeRecord record) {
+        if (keyEquals(keyStart, keyEnd, KEY_TYPE)) {
+            int start = readStringBounds();
+            record.setType(type(start, pos - 1));
+        } else if (keyEquals(keyStart, keyEnd, KEY_CODE)) {
+            int start = readStringBounds();
+            record.setCode(code(start, pos - 1));
+        } else if (keyEquals(keyStart, keyEnd, KEY_TRADE_PRICE)) {
+            record.setTradePrice(readDouble());
+        } else if (keyEquals(keyStart, keyEnd, KEY_TRADE_VOLUME)) {
+            record.setTradeVolume(readDouble());
+        } else if (keyEquals(keyStart, keyEnd, KEY_TIMESTAMP)) {
+            record.setTimestamp(readLong());
+        } else if (keyEquals(keyStart, keyEnd, KEY_TRADE_DATE)) {
+            record.setTradeDate(readDigitString(8));
+        } else if (keyEquals(keyStart, keyEnd, KEY_TRADE_TIME)) {
+            record.setTradeTime(readDigitString(6));
+        } else if (keyEquals(keyStart, keyEnd, KEY_PREV_CLOSING_PRICE)) {
+            record.setPrevClosingPrice(readDouble());
+        } else if (keyEquals(keyStart, keyEnd, KEY_ORDERBOOK_UNITS)) {
+            readTopOfBook(record);
+        } else {
+            skipValue();
+        }
+    }
+
+    /**
+     * 호가 목록 중 첫 번째 호가만 읽고 나머지는 건너뜀
+     */
+    private void readTopOfBook(TradeRecord record) {
+        expect('[');
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return;
+        }
+        expect('{');
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+        } else {
+            while (true) {
+                skipWhitespace();
+                int keyStart = readStringBounds();
+                int keyEnd = pos - 1;
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (keyEquals(keyStart, keyEnd, KEY_ASK_PRICE)) {
+                    record.setAskPrice(readDouble());
+                } else if (keyEquals(keyStart, keyEnd, KEY_ASK_SIZE)) {
+                    record.setAskSize(readDouble());
+                } else if (keyEquals(keyStart, keyEnd, KEY_BID_PRICE)) {
+                    record.setBidPrice(readDouble());
+                } else if (keyEquals(keyStart, keyEnd, KEY_BID_SIZE)) {
+                    record.setBidSize(readDouble());
+                } else {
+                    skipValue();
+                }
+                skipWhitespace();
+                byte b = next();
+                if (b == '}') {
+                    break;
+                }
+                if (b != ',') {
+                    throw error("',' or '}'");
+                }
+            }
+        }
+        while (true) {
+            skipWhitespace();
+            byte b = next();
+            if (b == ']') {
+                return;
+            }
+            if (b != ',') {
+                throw error("',' or ']'");
+            }
+            skipWhitespace();
+            skipValue();
+        }
+    }
+
+    /**
+     * 문자열을 읽고 시작 위치를 반환. 읽은 후 pos는 닫는 따옴표 다음 위치
+     */
+    private int readStringBounds() {
+        expect('"');
+        int start = pos;
+        while (true) {
+            byte b = next();
+            if (b == '"') {
+                return start;
+            }
+            if (b == '\\') {
+                next();
+            }
+        }
+    }
+
+    /**
+     * "2021-05-15", "20210515", "11:26:30", "112630" 처럼 구분자가 섞인 숫자 문자열을 숫자로 변환
+     *
+     * @param digits 숫자 자릿수
+     * @return 숫자. 자릿수가 다르면 -1
+     */
+    private int readDigitString(int digits) {
+        expect('"');
+        int value = 0;
+        int count = 0;
+        while (true) {
+            byte b = next();
+            if (b == '"') {
+                return count == digits ? value : -1;
+            }
+            if (b >= '0' && b <= '9') {
+                if (count < digits) {
+                    value = value * 10 + (b - '0');
+                }
+                count++;
+            }
+        }
+    }
+
+    private long readLong() {
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        while (pos < frame.size()) {
+            byte b = frame.getByte(pos);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            value = value * 10 + (b - '0');
+            pos++;
+            digits++;
+        }
+        if (digits == 0) {
+            throw error("number");
+        }
+        return negative ? -value : value;
+    }
+
+    private double readDouble() {
+        int start = pos;
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            pos++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean fraction = false;
+        boolean exact = true;
+        while (pos < frame.size()) {
+            byte b = frame.getByte(pos);
+            if (b >= '0' && b <= '9') {
+                if (digits < EXACT_DIGITS) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (mantissa != 0) {
+                        digits++;
+                    }
+                    if (fraction) {
+                        scale++;
+                    }
+                } else {
+                    exact = false;
+                }
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else if (b == 'e' || b == 'E' || b == '+' || b == '-') {
+                exact = false;
+            } else {
+                break;
+            }
+            pos++;
+        }
+        if (pos == start) {
+            throw error("number");
+        }
+        if (!exact || scale >= POW10.length) {
+            return Double.parseDouble(string(start, pos));
+        }
+        double value = mantissa / POW10[scale];
+        return negative ? -value : value;
+    }
+
+    private void skipValue() {
+        byte b = peek();
+        if (b == '"') {
+            readStringBounds();
+        } else if (b == '{' || b == '[') {
+            int depth = 0;
+            do {
+                b = next();
+                if (b == '"') {
+                    pos--;
+                    readStringBounds();
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+        } else {
+            while (pos < frame.size()) {
+                b = frame.getByte(pos);
+                if (b == ',' || b == '}' || b == ']' || isWhitespace(b)) {
+                    break;
+                }
+                pos++;
+            }
+        }
+    }
+
+    private String type(int start, int end) {
+        if (rangeEquals(start, end, TYPE_TRADE_BYTES)) {
+            return TYPE_TRADE;
+        }
+        if (rangeEquals(start, end, TYPE_ORDERBOOK_BYTES)) {
+            return TYPE_ORDERBOOK;
+        }
+        return string(start, end);
+    }
+
+    private String code(int start, int end) {
+        for (int i = 0; i < codeBytes.length; i++) {
+            if (rangeEquals(start, end, codeBytes[i])) {
+                return codes[i];
+            }
+        }
+        return string(start, end);
+    }
+
+    private boolean keyEquals(int start, int end, byte[] key) {
+        return rangeEquals(start, end, key);
+    }
+
+    private boolean rangeEquals(int start, int end, byte[] value) {
+        if (end - start != value.length) {
+            return false;
+        }
+        for (int i = 0; i < value.length; i++) {
+            if (frame.getByte(start + i) != value[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String string(int start, int end) {
+        return frame.substring(start, end).string(StandardCharsets.UTF_8);
+    }
+
+    private void skipWhitespace() {
+        while (pos < frame.size() && isWhitespace(frame.getByte(pos))) {
+            pos++;
+        }
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private byte peek() {
+        if (pos >= frame.size()) {
+            throw error("more data");
+        }
+        return frame.getByte(pos);
+    }
+
+    private byte next() {
+        byte b = peek();
+        pos++;
+        return b;
+    }
+
+    private void expect(char c) {
+        if (next() != c) {
+            throw error("'" + c + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String expected) {
+        return new IllegalArgumentException(String.format("체결 프레임 형식 오류. 위치: %d, 기대값: %s", pos, expected));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,82 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 연결이 끊긴 코인의 체결을 놓친 1분봉 반영이 끝날 때까지 보관<br>
+ * 수신 스레드가 넣고, 관리 스레드가 1분봉 반영이 끝난 코인부터 받은 순서대로 꺼내 전달<br>
+ * 1분봉보다 새 체결이 먼저 반영되면 1분봉이 이전 매매 주기로 취급되어 버려지기 때문에 사용
+ */
+public class TradeHoldBuffer {
+    /**
+     * (코인 코드: 보관한 체결)
+     */
+    private final Map<String, List<TradeRecord>> held = new HashMap<>();
+    /**
+     * 보관 중인 코인이 없으면 잠금 없이 바로 통과
+     */
+    private volatile boolean empty = true;
+
+    /**
+     * 이후 받는 체결을 {@link #release(String, Consumer)} 호출 전까지 보관
+     *
+     * @param market 코인 코드
+     */
+    public synchronized void hold(String market) {
+        held.putIfAbsent(market, new ArrayList<>());
+        empty = false;
+    }
+
+    /**
+     * @param tradeRecord 체결. 보관하면 복사
+     * @return 보관했으면 true, 보관 대상 코인이 아니면 false
+     */
+    public boolean offer(TradeRecord tradeRecord) {
+        if (empty) {
+            return false;
+        }
+        synchronized (this) {
+            List<TradeRecord> records = held.get(tradeRecord.getCode());
+            if (records == null) {
+                return false;
+            }
+            TradeRecord copy = new TradeRecord();
+            copy.copyFrom(tradeRecord);
+            records.add(copy);
+            return true;
+        }
+    }
+
+    /**
+     * @param market 코인 코드
+     * @return 보관한 첫 번째 체결 시간(epoch millisecond), 없으면 0
+     */
+    public synchronized long getFirstTimestamp(String market) {
+        List<TradeRecord> records = held.get(market);
+        return records == null || records.isEmpty() ? 0 : records.get(0).getTimestamp();
+    }
+
+    /**
+     * 보관한 체결을 받은 순서대로 전달하고 보관 해제<br>
+     * 전달하는 동안 받은 같은 코인 체결은 전달이 끝난 다음 처리되므로 순서 유지
+     *
+     * @param market   코인 코드
+     * @param consumer 체결 처리
+     * @return 전달한 체결 수
+     */
+    public synchronized int release(String market, Consumer<TradeRecord> consumer) {
+        List<TradeRecord> records = held.get(market);
+        if (records == null) {
+            return 0;
+        }
+        records.forEach(consumer);
+        // 전달이 끝난 다음 해제해야 수신 스레드가 잠금 없이 먼저 전달하지 않음
+        held.remove(market);
+        empty = held.isEmpty();
+        return records.size();
+    }
+}
@@ -0,0 +1,168 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 웹소켓 체결, 호가 프레임을 담는 재사용 가능한 버퍼<br>
+ * 호가 프레임은 최우선 호가만 담음<br>
+ * 하나의 수신 스레드에서만 사용해야 되며, 다음 프레임을 읽으면 값이 덮어써짐. 보관이 필요하면 {@link #copyFrom(TradeRecord)}, {@link #toTradeResult()}로 복사
+ */
+@Getter
+@ToString
+public class TradeRecord {
+    private String type;
+    private String code;
+    private double tradePrice;
+    private double tradeVolume;
+    private long timestamp;
+    /**
+     * yyyyMMdd 형태의 숫자. 없거나 형식이 다르면 -1
+     */
+    private int tradeDate;
+    /**
+     * HHmmss 형태의 숫자. 없거나 형식이 다르면 -1
+     */
+    private int tradeTime;
+    private double prevClosingPrice;
+    /**
+     * 최우선 매도 호가(호가 프레임)
+     */
+    private double askPrice;
+    private double askSize;
+    /**
+     * 최우선 매수 호가(호가 프레임)
+     */
+    private double bidPrice;
+    private double bidSize;
+
+    /**
+     * 이전 프레임 값 초기화
+     */
+    void clear() {
+        type = null;
+        code = null;
+        tradePrice = 0;
+        tradeVolume = 0;
+        timestamp = 0;
+        tradeDate = -1;
+        tradeTime = -1;
+        prevClosingPrice = 0;
+        askPrice = 0;
+        askSize = 0;
+        bidPrice = 0;
+        bidSize = 0;
+    }
+
+    void setType(String type) {
+        this.type = type;
+    }
+
+    void setCode(String code) {
+        this.code = code;
+    }
+
+    void setTradePrice(double tradePrice) {
+        this.tradePrice = tradePrice;
+    }
+
+    void setTradeVolume(double tradeVolume) {
+        this.tradeVolume = tradeVolume;
+    }
+
+    void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    void setTradeDate(int tradeDate) {
+        this.tradeDate = tradeDate;
+    }
+
+    void setTradeTime(int tradeTime) {
+        this.tradeTime = tradeTime;
+    }
+
+    void setPrevClosingPrice(double prevClosingPrice) {
+        this.prevClosingPrice = prevClosingPrice;
+    }
+
+    void setAskPrice(double askPrice) {
+        this.askPrice = askPrice;
+    }
+
+    void setAskSize(double askSize) {
+        this.askSize = askSize;
+    }
+
+    void setBidPrice(double bidPrice) {
+        this.bidPrice = bidPrice;
+    }
+
+    void setBidSize(double bidSize) {
+        this.bidSize = bidSize;
+    }
+
+    /**
+     * 다른 스레드로 넘기기 위해 값을 복사. 객체를 새로 만들지 않음
+     *
+     * @param other 복사할 버퍼
+     */
+    public void copyFrom(TradeRecord other) {
+        type = other.type;
+        code = other.code;
+        tradePrice = other.tradePrice;
+        tradeVolume = other.tradeVolume;
+        timestamp = other.timestamp;
+        tradeDate = other.tradeDate;
+        tradeTime = other.tradeTime;
+        prevClosingPrice = other.prevClosingPrice;
+        askPrice = other.askPrice;
+        askSize = other.askSize;
+        bidPrice = other.bidPrice;
+        bidSize = other.bidSize;
+    }
+
+    /**
+     * @return 체결 일자, 시간이 올바른 값이면 true
+     */
+    public boolean hasTradeDateTime() {
+        return isValidDate(tradeDate) && isValidTime(tradeTime);
+    }
+
+    private static boolean isValidDate(int yyyyMMdd) {
+        if (yyyyMMdd < 0) {
+            return false;
+        }
+        int year = yyyyMMdd / 10000;
+        int month = yyyyMMdd / 100 % 100;
+        int day = yyyyMMdd % 100;
+        if (year < 1 || month < 1 || month > 12 || day < 1) {
+            return false;
+        }
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        int lastDay = month == 2 ? (leap ? 29 : 28) : (month == 4 || month == 6 || month == 9 || month == 11) ? 30 : 31;
+        return day <= lastDay;
+    }
+
+    private static boolean isValidTime(int hhmmss) {
+        return hhmmss >= 0 && hhmmss / 10000 < 24 && hhmmss / 100 % 100 < 60 && hhmmss % 100 < 60;
+    }
+
+    /**
+     * @return 현재 버퍼 값을 복사한 체결 정보
+     */
+    public TradeResult toTradeResult() {
+        return toTradeResult(new TradeResult());
+    }
+
+    /**
+     * 체결 정보 객체를 새로 만들지 않고 재사용
+     *
+     * @param reuse 값을 덮어쓸 체결 정보
+     * @return reuse
+     */
+    public TradeResult toTradeResult(TradeResult reuse) {
+        reuse.copyFrom(this);
+        return reuse;
+    }
+}
@@ -1,6 +1,7 @@
 package com.setvect.bokslcoin.autotrading.algorithm.websocket;
 
 import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
@@ -14,7 +15,6 @@ import java.time.LocalTime;
  * https://docs.upbit.com/docs/upbit-quotation-websocket
  */
 @Getter
-@Builder
 @ToString
 public class TradeResult {
     private String type;
@@ -26,12 +26,73 @@ public class TradeResult {
     private LocalTime tradeTime;
     private double prevClosingPrice;
 
+    /**
+     * 체결 일시 캐시. 체결 일자, 시간이 바뀌면 다시 만듦
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient LocalDateTime tradeDateTimeUtc;
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient LocalDateTime tradeDateTimeKst;
+
+    /**
+     * 재사용할 빈 객체. {@link TradeRecord#toTradeResult(TradeResult)}로 값을 채움
+     */
+    public TradeResult() {
+    }
+
+    @Builder
+    public TradeResult(String type, String code, double tradePrice, double tradeVolume, long timestamp, LocalDate tradeDate, LocalTime tradeTime,
+                       double prevClosingPrice) {
+        this.type = type;
+        this.code = code;
+        this.tradePrice = tradePrice;
+        this.tradeVolume = tradeVolume;
+        this.timestamp = timestamp;
+        this.tradeDate = tradeDate;
+        this.tradeTime = tradeTime;
+        this.prevClosingPrice = prevClosingPrice;
+    }
+
+    /**
+     * 버퍼 값으로 덮어씀. 체결 일자, 시간이 이전과 같으면 날짜 객체를 새로 만들지 않음
+     *
+     * @param record 체결 버퍼
+     */
+    void copyFrom(TradeRecord record) {
+        type = record.getType();
+        code = record.getCode();
+        tradePrice = record.getTradePrice();
+        tradeVolume = record.getTradeVolume();
+        timestamp = record.getTimestamp();
+        prevClosingPrice = record.getPrevClosingPrice();
+
+        int yyyyMMdd = record.getTradeDate();
+        if (tradeDate == null || tradeDate.getYear() * 10000 + tradeDate.getMonthValue() * 100 + tradeDate.getDayOfMonth() != yyyyMMdd) {
+            tradeDate = LocalDate.of(yyyyMMdd / 10000, yyyyMMdd / 100 % 100, yyyyMMdd % 100);
+            tradeDateTimeUtc = null;
+        }
+        int hhmmss = record.getTradeTime();
+        if (tradeTime == null || tradeTime.getHour() * 10000 + tradeTime.getMinute() * 100 + tradeTime.getSecond() != hhmmss) {
+            tradeTime = LocalTime.of(hhmmss / 10000, hhmmss / 100 % 100, hhmmss % 100);
+            tradeDateTimeUtc = null;
+        }
+    }
+
     public LocalDateTime getTradeDateTimeUtc() {
-        return LocalDateTime.of(tradeDate, tradeTime);
+        LocalDateTime utc = tradeDateTimeUtc;
+        if (utc == null) {
+            utc = LocalDateTime.of(tradeDate, tradeTime);
+            tradeDateTimeKst = utc.plusHours(9);
+            tradeDateTimeUtc = utc;
+        }
+        return utc;
     }
 
     public LocalDateTime getTradeDateTimeKst() {
-        return getTradeDateTimeUtc().plusHours(9);
+        getTradeDateTimeUtc();
+        return tradeDateTimeKst;
     }
 
     /**
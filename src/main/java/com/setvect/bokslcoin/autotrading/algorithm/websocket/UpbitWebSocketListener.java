@@ -1,9 +1,9 @@
 package com.setvect.bokslcoin.autotrading.algorithm.websocket;
 
 import com.google.gson.annotations.SerializedName;
+import com.setvect.bokslcoin.autotrading.algorithm.orderbook.TopOfBookCache;
+import com.setvect.bokslcoin.autotrading.monitor.TradingMetrics;
 import com.setvect.bokslcoin.autotrading.slack.SlackMessageService;
-import com.setvect.bokslcoin.autotrading.starter.TradingWebsocket;
-import com.setvect.bokslcoin.autotrading.util.BeanUtils;
 import com.setvect.bokslcoin.autotrading.util.GsonUtil;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -14,23 +14,56 @@ import okhttp3.WebSocketListener;
 import okio.ByteString;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.springframework.context.ApplicationEventPublisher;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Slf4j
 public class UpbitWebSocketListener extends WebSocketListener {
-    private final ApplicationEventPublisher publisher;
+    /**
+     * 체결 수신 처리. 수신 스레드에서 호출되므로 오래 걸리는 작업을 하면 안됨<br>
+     * 전달한 버퍼는 다음 프레임에서 재사용되므로, 보관이 필요하면 받는 쪽에서 복사
+     */
+    private final Consumer<TradeRecord> tradeConsumer;
     private final SlackMessageService slackMessageService;
+    private final TradingMetrics tradingMetrics;
+    /**
+     * 최우선 호가 저장. null이면 호가를 구독하지 않음
+     */
+    private final TopOfBookCache topOfBookCache;
+    /**
+     * 연결 상태 변경 통보. 재연결은 받는 쪽에서 처리
+     */
+    private final SessionCallback sessionCallback;
 
-    public UpbitWebSocketListener(ApplicationEventPublisher publisher, SlackMessageService slackMessageService) {
+    public UpbitWebSocketListener(Consumer<TradeRecord> tradeConsumer, SlackMessageService slackMessageService,
+                                  TradingMetrics tradingMetrics, TopOfBookCache topOfBookCache, SessionCallback sessionCallback) {
         super();
-        this.publisher = publisher;
+        this.tradeConsumer = tradeConsumer;
         this.slackMessageService = slackMessageService;
+        this.tradingMetrics = tradingMetrics;
+        this.topOfBookCache = topOfBookCache;
+        this.sessionCallback = sessionCallback;
+    }
+
+    /**
+     * 연결 상태 변경 통보. OkHttp 스레드에서 호출되므로 오래 걸리는 작업을 하면 안됨
+     */
+    public interface SessionCallback {
+        /**
+         * 연결 후 구독 요청 완료
+         */
+        void opened();
+
+        /**
+         * 연결 종료 또는 실패
+         *
+         * @param reason 사유
+         */
+        void closed(String reason);
     }
 
     @Getter
@@ -53,17 +86,21 @@ public class UpbitWebSocketListener extends WebSocketListener {
     }
 
     private static final int NORMAL_CLOSURE_STATUS = 1000;
+    private String json;
     /**
-     * TRADE 타입으로 고정
+     * 체결 프레임 디코더. OkHttp 수신 스레드 하나에서만 사용
      */
-    private static final UpbitType TYPE_TRADE = UpbitType.TRADE;
-    private String json;
+    private TradeFrameDecoder decoder;
+    private final TradeRecord tradeRecord = new TradeRecord();
 
     @Override
     public void onClosed(@NotNull WebSocket webSocket, int code, @NotNull String reason) {
         String message = String.format("Socket Closed : %s / %s", code, reason);
         log.info(message);
         slack(message);
+        if (sessionCallback != null) {
+            sessionCallback.closed(message);
+        }
     }
 
 
@@ -81,17 +118,9 @@ public class UpbitWebSocketListener extends WebSocketListener {
         String message = "Socket Error : " + t.getMessage();
         log.error(message, t);
         slack(message);
-
-        try {
-            TimeUnit.SECONDS.sleep(5);
-        } catch (InterruptedException e) {
-            log.error(e.getMessage());
+        if (sessionCallback != null) {
+            sessionCallback.closed(message);
         }
-
-        log.info("restarting");
-        TradingWebsocket tradingWebsocket = BeanUtils.getBean(TradingWebsocket.class);
-        tradingWebsocket.onApplicationEvent();
-        log.info("restart completed");
     }
 
     @Override
@@ -100,20 +129,47 @@ public class UpbitWebSocketListener extends WebSocketListener {
 
     @Override
     public void onMessage(@NotNull WebSocket webSocket, @NotNull ByteString bytes) {
-        TradeResult tradeResult = GsonUtil.GSON.fromJson(bytes.string(StandardCharsets.UTF_8), TradeResult.class);
-        publisher.publishEvent(new ChangeTrade(tradeResult));
+        long start = System.nanoTime();
+        UpbitType frameType;
+        try {
+            frameType = decoder.decodeFrame(bytes, tradeRecord);
+        } catch (IllegalArgumentException e) {
+            // 잘린 프레임 하나 때문에 연결을 끊지 않음
+            log.warn("{}: {}", e.getMessage(), bytes.utf8());
+            return;
+        }
+        if (frameType == UpbitType.TRADE) {
+            tradingMetrics.tick(tradeRecord.getCode(), System.nanoTime() - start);
+            tradeConsumer.accept(tradeRecord);
+        } else if (frameType == UpbitType.ORDERBOOK && topOfBookCache != null) {
+            topOfBookCache.update(tradeRecord.getCode(), tradeRecord.getAskPrice(), tradeRecord.getAskSize(),
+                    tradeRecord.getBidPrice(), tradeRecord.getBidSize(), tradeRecord.getTimestamp());
+        } else {
+            log.warn("체결, 호가 데이터가 아님: {}", bytes.utf8());
+        }
     }
 
     @Override
     public void onOpen(@NotNull WebSocket webSocket, @NotNull Response response) {
         webSocket.send(getParameter());
+        if (sessionCallback != null) {
+            sessionCallback.opened();
+        }
     }
 
     public void setParameter(List<String> codes) {
-        this.json = GsonUtil.GSON.toJson(Arrays.asList(Ticket.of(UUID.randomUUID().toString()), Type.of(TYPE_TRADE, codes)));
+        List<Object> request = new ArrayList<>(Arrays.asList(Ticket.of(UUID.randomUUID().toString()), Type.of(UpbitType.TRADE, codes)));
+        if (topOfBookCache != null) {
+            request.add(Type.of(UpbitType.ORDERBOOK, codes));
+        }
+        this.json = GsonUtil.GSON.toJson(request);
+        this.decoder = new TradeFrameDecoder(codes);
     }
 
-    private String getParameter() {
+    /**
+     * @return 구독 요청 메시지
+     */
+    String getParameter() {
         return this.json;
     }
 
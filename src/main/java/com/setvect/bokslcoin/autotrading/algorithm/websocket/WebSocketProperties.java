@@ -0,0 +1,55 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 웹소켓 연결 설정
+ */
+@Component
+@ConfigurationProperties(prefix = "com.setvect.bokslcoin.autotrading.ws")
+@Getter
+@Setter
+@ToString
+public class WebSocketProperties {
+    private String url = "wss://api.upbit.com/websocket/v1";
+    /**
+     * 연결(샤드) 수. 구독 코인을 나눠서 연결마다 따로 받음
+     */
+    private int shardCount = 1;
+    /**
+     * 샤드 연결 시작 간격(ms)
+     */
+    private long connectIntervalMs = 250;
+    /**
+     * ping 전송 주기(ms). 이 시간 안에 pong이 없으면 연결 실패로 처리
+     */
+    private long pingIntervalMs = 30_000;
+    /**
+     * 재연결 최소 대기 시간(ms). 실패할 때마다 두 배씩 늘어남
+     */
+    private long reconnectMinMs = 1_000;
+    /**
+     * 재연결 최대 대기 시간(ms)
+     */
+    private long reconnectMaxMs = 60_000;
+    /**
+     * 코인별 체결 수신 확인 주기(ms)
+     */
+    private long checkIntervalMs = 10_000;
+    /**
+     * 이 시간(ms) 동안 체결이 없는 코인이 있으면 다시 구독. 모든 코인이 없으면 다시 연결
+     */
+    private long silentMarketMs = 120_000;
+    /**
+     * 재연결 후 끊긴 동안의 1분봉 반영 여부
+     */
+    private boolean backfill = true;
+    /**
+     * 체결과 함께 호가 구독 여부. 주문 가격을 최우선 호가로 정함
+     */
+    private boolean orderbook = true;
+}
@@ -0,0 +1,430 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import com.setvect.bokslcoin.autotrading.algorithm.orderbook.TopOfBookCache;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.monitor.TradingMetrics;
+import com.setvect.bokslcoin.autotrading.quotation.CandleService;
+import com.setvect.bokslcoin.autotrading.slack.SlackMessageService;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 업비트 웹소켓 연결 관리<br>
+ * - 구독 코인을 여러 연결(샤드)로 나누고, 연결마다 수신 스레드 하나가 동작. 한 코인은 항상 같은 연결로 받기 때문에 코인별 체결 순서 유지<br>
+ * - 하나의 OkHttpClient를 계속 사용하고, ping/pong으로 끊긴 연결을 감지<br>
+ * - 연결이 끊기면 해당 샤드만 지터를 넣은 지수 백오프로 다시 연결<br>
+ * - 일부 코인의 체결이 오래 없으면 같은 연결에서 다시 구독하고, 샤드의 모든 코인이 없으면 다시 연결<br>
+ * - 다시 연결되면 끊긴 동안의 1분봉을 조회해 매매 알고리즘에 반영. 반영이 끝날 때까지 해당 코인의 새 체결은 보관했다가 이후 순서대로 전달
+ * <p>
+ * 연결 상태는 관리 스레드 하나에서만 변경하고, OkHttp 콜백은 관리 스레드로 넘김
+ */
+@Component
+@Slf4j
+public class WebSocketSessionManager {
+    private static final int NORMAL_CLOSURE_STATUS = 1000;
+    /**
+     * 1분봉 한 번에 조회 가능한 최대 개수
+     */
+    private static final int MAX_MINUTE_COUNT = 200;
+
+    private final WebSocketProperties properties;
+    private final CandleService candleService;
+    private final SlackMessageService slackMessageService;
+    private final TradingMetrics tradingMetrics;
+    private final TopOfBookCache topOfBookCache;
+
+    private final OkHttpClient client;
+    private final ScheduledExecutorService scheduler;
+
+    private final List<Shard> shards = new CopyOnWriteArrayList<>();
+    /**
+     * 1분봉 반영 전에 받은 체결
+     */
+    private final TradeHoldBuffer holdBuffer = new TradeHoldBuffer();
+    private Consumer<TradeRecord> tradeConsumer;
+    private BiConsumer<String, List<Candle>> backfillConsumer;
+    private volatile boolean running;
+
+    public WebSocketSessionManager(WebSocketProperties properties, CandleService candleService,
+                                   SlackMessageService slackMessageService, TradingMetrics tradingMetrics, TopOfBookCache topOfBookCache) {
+        this.properties = properties;
+        this.candleService = candleService;
+        this.slackMessageService = slackMessageService;
+        this.tradingMetrics = tradingMetrics;
+        this.topOfBookCache = topOfBookCache;
+        this.client = new OkHttpClient.Builder()
+                .pingInterval(properties.getPingIntervalMs(), TimeUnit.MILLISECONDS)
+                .readTimeout(0, TimeUnit.MILLISECONDS)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "ws-session");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 구독 시작
+     *
+     * @param markets          구독 코인
+     * @param tradeConsumer    체결 수신 처리. 샤드별 수신 스레드에서 호출됨. 전달한 버퍼는 재사용되므로 보관이 필요하면 복사
+     * @param backfillConsumer 재연결 후 놓친 1분봉(최근 순서대로) 처리. 관리 스레드에서 호출되며, 끝날 때까지 해당 코인 체결은 전달하지 않음
+     */
+    public void start(List<String> markets, Consumer<TradeRecord> tradeConsumer, BiConsumer<String, List<Candle>> backfillConsumer) {
+        scheduler.execute(() -> {
+            if (running) {
+                log.warn("이미 구독 중");
+                return;
+            }
+            this.tradeConsumer = tradeConsumer;
+            this.backfillConsumer = backfillConsumer;
+            running = true;
+            tradingMetrics.feedStarted();
+            List<List<String>> groups = split(markets, properties.getShardCount());
+            for (int i = 0; i < groups.size(); i++) {
+                Shard shard = new Shard(i, groups.get(i));
+                shards.add(shard);
+                // 연결 요청 수 제한이 있어 샤드별로 간격을 두고 연결
+                scheduler.schedule(shard::connect, i * properties.getConnectIntervalMs(), TimeUnit.MILLISECONDS);
+            }
+            log.info("웹소켓 샤드 {}개, 코인 {}개", groups.size(), markets.size());
+        });
+        scheduler.scheduleWithFixedDelay(this::checkSilent, properties.getCheckIntervalMs(), properties.getCheckIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return 샤드별 연결 상태, 수신 현황
+     */
+    public List<ShardStats> getStats() {
+        long now = System.currentTimeMillis();
+        return shards.stream().map(shard -> shard.toStats(now)).collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.execute(() -> {
+            running = false;
+            shards.forEach(Shard::close);
+        });
+        scheduler.shutdown();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    /**
+     * 코인을 순서대로 돌아가며 샤드에 배정. 샤드별 코인 수 차이는 최대 1
+     *
+     * @param markets    코인
+     * @param shardCount 샤드 수. 코인 수보다 많으면 코인 수로 맞추고, 1보다 작으면 1
+     * @return 샤드별 코인. 코인이 없으면 빈 목록
+     */
+    static List<List<String>> split(List<String> markets, int shardCount) {
+        if (markets.isEmpty()) {
+            return new ArrayList<>();
+        }
+        int count = Math.max(1, Math.min(shardCount, markets.size()));
+        List<List<String>> groups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            groups.add(new ArrayList<>());
+        }
+        for (int i = 0; i < markets.size(); i++) {
+            groups.get(i % count).add(markets.get(i));
+        }
+        return groups;
+    }
+
+    /**
+     * @param attempt 연속 실패 횟수(0부터)
+     * @return 대기 시간(ms). 최소값 * 2^attempt를 최대값으로 제한하고, 그 절반 ~ 전체 사이 임의 값
+     */
+    private long backoff(int attempt) {
+        long delay = properties.getReconnectMinMs() << Math.min(attempt, 20);
+        delay = Math.min(delay, properties.getReconnectMaxMs());
+        long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    /**
+     * 샤드별 코인 마지막 체결 이후 경과 시간 확인
+     */
+    private void checkSilent() {
+        long now = System.currentTimeMillis();
+        for (Shard shard : shards) {
+            try {
+                shard.checkSilent(now);
+            } catch (Exception e) {
+                log.warn("[shard-{}] 체결 수신 확인 오류: {}", shard.id, e.getMessage());
+            }
+        }
+    }
+
+    private void execute(Runnable task) {
+        if (!scheduler.isShutdown()) {
+            scheduler.execute(task);
+        }
+    }
+
+    private static LocalDateTime toMinuteUtc(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(epochMilli / 60_000 * 60, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * 웹소켓 연결 하나와 그 연결로 받는 코인
+     */
+    private class Shard {
+        private final int id;
+        private final List<String> markets;
+
+        private WebSocket webSocket;
+        private UpbitWebSocketListener listener;
+        /**
+         * 연결 차수. 이전 연결에서 늦게 도착한 콜백은 무시
+         */
+        private int generation;
+        /**
+         * 연속 연결 실패 횟수
+         */
+        private int attempt;
+        private long resubscribeMillis;
+        /**
+         * (코인 코드: 연결이 끊기기 전 마지막 체결 시간). 다시 연결되면 이 시간 이후 1분봉을 반영
+         */
+        private final Map<String, Long> gapStart = new HashMap<>();
+
+        private volatile boolean connected;
+        private volatile long openMillis;
+        private volatile long reconnects;
+        private volatile long lastMessageMillis;
+        private final LongAdder received = new LongAdder();
+        private final LongAdder receivedSinceOpen = new LongAdder();
+
+        Shard(int id, List<String> markets) {
+            this.id = id;
+            this.markets = Collections.unmodifiableList(new ArrayList<>(markets));
+        }
+
+        void connect() {
+            if (!running) {
+                return;
+            }
+            generation++;
+            listener = new UpbitWebSocketListener(this::receive, slackMessageService, tradingMetrics,
+                    properties.isOrderbook() ? topOfBookCache : null, new Session(this, generation));
+            listener.setParameter(markets);
+            Request request = new Request.Builder()
+                    .url(properties.getUrl())
+                    .build();
+            webSocket = client.newWebSocket(request, listener);
+            log.info("[shard-{}] 웹소켓 연결 시도: {}, 코인: {}", id, generation, markets);
+        }
+
+        /**
+         * 수신 스레드에서 호출
+         */
+        private void receive(TradeRecord tradeRecord) {
+            received.increment();
+            receivedSinceOpen.increment();
+            lastMessageMillis = System.currentTimeMillis();
+            if (holdBuffer.offer(tradeRecord)) {
+                return;
+            }
+            tradeConsumer.accept(tradeRecord);
+        }
+
+        void opened(int gen) {
+            if (gen != generation) {
+                return;
+            }
+            attempt = 0;
+            connected = true;
+            openMillis = System.currentTimeMillis();
+            receivedSinceOpen.reset();
+            resubscribeMillis = openMillis;
+            if (gapStart.isEmpty()) {
+                return;
+            }
+            String message = String.format("[shard-%d] 웹소켓 재연결 완료. 끊긴 시간: %,d초", id,
+                    (openMillis - gapStart.values().stream().mapToLong(v -> v).min().orElse(openMillis)) / 1000);
+            log.info(message);
+            slackMessageService.sendMessage(message);
+            if (properties.isBackfill()) {
+                backfill();
+            }
+            gapStart.clear();
+        }
+
+        void closed(int gen, String reason) {
+            // onFailure, onClosed가 모두 호출되는 경우 한 번만 처리
+            if (gen != generation || !running || webSocket == null) {
+                return;
+            }
+            webSocket = null;
+            connected = false;
+            // 재연결을 여러 번 시도해도 처음 끊긴 시점 유지
+            if (gapStart.isEmpty()) {
+                long now = System.currentTimeMillis();
+                for (String market : markets) {
+                    long last = tradingMetrics.getLastTickMillis(market);
+                    gapStart.put(market, last == 0 ? now : last);
+                    // 새 연결의 체결이 1분봉보다 먼저 반영되지 않도록 보관
+                    if (properties.isBackfill()) {
+                        holdBuffer.hold(market);
+                    }
+                }
+            }
+            long delay = backoff(attempt++);
+            log.warn("[shard-{}] 웹소켓 연결 끊김: {}, {}ms 후 재연결({}번째)", id, reason, delay, attempt);
+            reconnects++;
+            tradingMetrics.reconnect();
+            scheduler.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+        }
+
+        void close() {
+            if (webSocket != null) {
+                webSocket.close(NORMAL_CLOSURE_STATUS, null);
+                webSocket = null;
+            }
+            connected = false;
+        }
+
+        void checkSilent(long now) {
+            if (!running || webSocket == null || !connected) {
+                return;
+            }
+            List<String> silent = getSilentMarkets(now);
+            if (silent.isEmpty()) {
+                return;
+            }
+            if (silent.size() == markets.size()) {
+                log.warn("[shard-{}] 모든 코인 체결 없음. 다시 연결", id);
+                // onFailure 호출로 이어져 재연결함
+                webSocket.cancel();
+                return;
+            }
+            if (now - resubscribeMillis > properties.getSilentMarketMs()) {
+                log.info("[shard-{}] 체결 없는 코인: {}, 다시 구독", id, silent);
+                resubscribeMillis = now;
+                webSocket.send(listener.getParameter());
+            }
+        }
+
+        private List<String> getSilentMarkets(long now) {
+            if (!connected) {
+                return markets;
+            }
+            return markets.stream()
+                    .filter(market -> now - Math.max(tradingMetrics.getLastTickMillis(market), openMillis) > properties.getSilentMarketMs())
+                    .collect(Collectors.toList());
+        }
+
+        /**
+         * 코인별로 끊긴 시점부터 새 연결의 첫 체결 전까지 1분봉을 조회해 전달하고, 보관한 체결을 이어서 전달<br>
+         * 끊기기 전 마지막 체결이 속한 1분봉은 이미 일부 반영했고, 새 연결의 첫 체결이 속한 1분봉은 이후 체결로 반영하기 때문에 제외
+         */
+        private void backfill() {
+            for (Map.Entry<String, Long> entry : gapStart.entrySet()) {
+                String market = entry.getKey();
+                try {
+                    long first = holdBuffer.getFirstTimestamp(market);
+                    LocalDateTime from = toMinuteUtc(entry.getValue());
+                    LocalDateTime to = toMinuteUtc(first == 0 ? System.currentTimeMillis() : first);
+                    backfillConsumer.accept(market, getMissedMinutes(market, from, to));
+                } catch (Exception e) {
+                    log.warn(String.format("[%s] 1분봉 반영 실패: %s", market, e.getMessage()), e);
+                } finally {
+                    int count = holdBuffer.release(market, tradeConsumer);
+                    log.info("[{}] 보관한 체결 {}건 전달", market, count);
+                }
+            }
+        }
+
+        /**
+         * 공백이 한 번에 조회 가능한 개수보다 길면 나눠서 조회
+         *
+         * @param market 코인
+         * @param from   시작 시각(UTC), 미포함
+         * @param to     종료 시각(UTC), 미포함
+         * @return 1분봉(최근 순서대로)
+         */
+        private List<Candle> getMissedMinutes(String market, LocalDateTime from, LocalDateTime to) {
+            List<Candle> missed = new ArrayList<>();
+            LocalDateTime cursor = to;
+            while (cursor.isAfter(from)) {
+                List<CandleMinute> minutes = candleService.getMinute(1, market, MAX_MINUTE_COUNT, cursor);
+                for (CandleMinute minute : minutes) {
+                    LocalDateTime time = minute.getCandleDateTimeUtc();
+                    if (time.isAfter(from) && time.isBefore(to)) {
+                        missed.add(minute);
+                    }
+                }
+                if (minutes.size() < MAX_MINUTE_COUNT) {
+                    break;
+                }
+                cursor = minutes.get(minutes.size() - 1).getCandleDateTimeUtc();
+            }
+            return missed;
+        }
+
+        ShardStats toStats(long now) {
+            long open = openMillis;
+            long last = lastMessageMillis;
+            double uptimeSec = connected && open > 0 ? (now - open) / 1000.0 : 0;
+            return ShardStats.builder()
+                    .shard(id)
+                    .markets(markets)
+                    .connected(connected)
+                    .connectedSec(uptimeSec)
+                    .reconnects(reconnects)
+                    .received(received.sum())
+                    .ratePerSec(uptimeSec > 0 ? receivedSinceOpen.sum() / uptimeSec : 0)
+                    .lastMessageAgeMs(last == 0 ? -1 : now - last)
+                    .silentMarkets(getSilentMarkets(now))
+                    .build();
+        }
+    }
+
+    /**
+     * 연결 하나의 상태 변경을 관리 스레드로 전달
+     */
+    private class Session implements UpbitWebSocketListener.SessionCallback {
+        private final Shard shard;
+        private final int gen;
+
+        Session(Shard shard, int gen) {
+            this.shard = shard;
+            this.gen = gen;
+        }
+
+        @Override
+        public void opened() {
+            execute(() -> shard.opened(gen));
+        }
+
+        @Override
+        public void closed(String reason) {
+            execute(() -> shard.closed(gen, reason));
+        }
+    }
+}
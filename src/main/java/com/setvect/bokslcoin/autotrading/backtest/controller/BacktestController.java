@@ -0,0 +1,61 @@
+package com.setvect.bokslcoin.autotrading.backtest.controller;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.backtest.engine.BacktestEngine;
+import com.setvect.bokslcoin.autotrading.backtest.engine.BacktestResult;
+import com.setvect.bokslcoin.autotrading.backtest.engine.BacktestSweepService;
+import com.setvect.bokslcoin.autotrading.backtest.engine.SweepResult;
+import com.setvect.bokslcoin.autotrading.backtest.model.BacktestForm;
+import com.setvect.bokslcoin.autotrading.backtest.model.SweepForm;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import com.setvect.bokslcoin.autotrading.record.model.CommonResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 백테스트 실행
+ */
+@RestController
+@RequiredArgsConstructor
+public class BacktestController {
+    private final CandleStore candleStore;
+    private final BacktestSweepService backtestSweepService;
+
+    /**
+     * 캔들 저장소의 1분봉으로 백테스트<br>
+     * 예) POST /backtest/run?markets=KRW-BTC,KRW-ETH&amp;from=2021-01-01T00:00:00&amp;to=2022-01-01T00:00:00
+     *
+     * @param form 백테스트 조건
+     * @return 백테스트 결과
+     */
+    @PostMapping("/backtest/run")
+    public CommonResponse<BacktestResult> run(BacktestForm form) {
+        if (form.getMarkets() == null || form.getMarkets().isEmpty() || form.getFrom() == null || form.getTo() == null) {
+            throw new IllegalArgumentException("필수 조건 없음: markets, from, to");
+        }
+        BacktestResult result = new BacktestEngine(candleStore).run(form.toProperties(), form.getFrom(), form.getTo(), form.getCash());
+        return new CommonResponse<>(result);
+    }
+
+    /**
+     * 코인 x 이동평균 기간 조합을 동시에 백테스트하고 결과(XA_MABS_CONDITION, XB_MABS_TRADE) 저장<br>
+     * 예) POST /backtest/sweep?markets=KRW-BTC,KRW-ETH&amp;maPeriods=13-64,20-70&amp;from=2021-01-01T00:00:00&amp;to=2022-01-01T00:00:00
+     *
+     * @param form 백테스트 조건
+     * @return 조건별 결과, 처리 속도
+     */
+    @PostMapping("/backtest/sweep")
+    public CommonResponse<SweepResult> sweep(SweepForm form) {
+        if (form.getMarkets() == null || form.getMarkets().isEmpty() || form.getMaPeriods() == null || form.getMaPeriods().isEmpty()
+                || form.getFrom() == null || form.getTo() == null) {
+            throw new IllegalArgumentException("필수 조건 없음: markets, maPeriods, from, to");
+        }
+        List<MabsMultiProperties> grid = BacktestSweepService.grid(form.getMarkets(), form.getPeriodType(), form.getMaPeriodValues(),
+                form.getUpBuyRate(), form.getDownSellRate(), form.getLoseStopRate());
+        SweepResult result = backtestSweepService.sweep(grid, form.getFrom(), form.getTo(), form.getCash(), form.getComment());
+        return new CommonResponse<>(result);
+    }
+}
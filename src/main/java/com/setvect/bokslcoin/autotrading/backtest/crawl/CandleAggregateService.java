@@ -0,0 +1,103 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.repository.CandleBulkRepository;
+import com.setvect.bokslcoin.autotrading.backtest.repository.CandleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 1분봉을 기준으로 15분, 30분, 60분, 240분(4시간), 1440분(하루) 캔들을 만듦<br>
+ * 1분봉을 시간 순서로 한 번만 읽으면서 모든 주기를 같이 만들고, 모아서 저장함<br>
+ * UTC 기준으로 만듦. 예를 들어 하루 분봉은 우리나라 시간으로 09:00:00 ~ 다음날 08:59:59을 의미
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CandleAggregateService {
+    /**
+     * 만드는 주기
+     */
+    public static final List<PeriodType> TARGET_PERIODS = Arrays.asList(PeriodType.PERIOD_15, PeriodType.PERIOD_30, PeriodType.PERIOD_60, PeriodType.PERIOD_240, PeriodType.PERIOD_1440);
+
+    /**
+     * 1분봉을 한 번에 읽는 건수, 저장 단위
+     */
+    private static final int PAGE_SIZE = 10_000;
+
+    private final CandleRepository candleRepository;
+    private final CandleBulkRepository candleBulkRepository;
+
+    /**
+     * 수집 후 바뀐 구간만 다시 만듦
+     *
+     * @param result 1분봉 수집 결과
+     * @return 저장한 캔들 수
+     */
+    public int aggregate(CrawlResult result) {
+        if (result.getCount() == 0) {
+            return 0;
+        }
+        return aggregate(result.getMarket(), result.getFrom());
+    }
+
+    /**
+     * from이 포함된 구간부터 현재까지 다시 만듦. 기존 캔들은 덮어씀
+     *
+     * @param market 코인
+     * @param from   1분봉이 바뀐 시작 시간(UTC), null이면 전체
+     * @return 저장한 캔들 수
+     */
+    public int aggregate(String market, LocalDateTime from) {
+        // 주기별로 다시 만들어야 되는 첫 번째 구간
+        Map<PeriodType, LocalDateTime> changedFrom = new EnumMap<>(PeriodType.class);
+        LocalDateTime start = CandleCrawler.MINIMUM_CANDLE_DATE;
+        if (from != null) {
+            for (PeriodType period : TARGET_PERIODS) {
+                changedFrom.put(period, period.fitDateTime(from));
+            }
+            // 가장 긴 주기 구간 시작부터 읽어야 모든 주기의 구간이 온전함
+            start = PeriodType.PERIOD_1440.fitDateTime(from);
+        }
+
+        List<CandleEntity> buffer = new ArrayList<>(PAGE_SIZE);
+        int[] count = new int[1];
+        PeriodAggregator aggregator = new PeriodAggregator(market, TARGET_PERIODS, candle -> {
+            LocalDateTime changed = changedFrom.get(candle.getPeriodType());
+            if (changed != null && candle.getCandleDateTimeUtc().isBefore(changed)) {
+                return;
+            }
+            buffer.add(candle);
+            if (buffer.size() >= PAGE_SIZE) {
+                count[0] += flush(buffer);
+            }
+        });
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        int read = candleRepository.scanPrice(market, PeriodType.PERIOD_1, start, now, PAGE_SIZE, aggregator::add);
+        aggregator.finish(now);
+        count[0] += flush(buffer);
+        log.info("캔들 병합. 코인: {}, 시작: {}, 1분봉 {}건 -> {}건", market, start, read, count[0]);
+        return count[0];
+    }
+
+    private int flush(List<CandleEntity> buffer) {
+        if (buffer.isEmpty()) {
+            return 0;
+        }
+        candleBulkRepository.upsert(buffer);
+        int size = buffer.size();
+        buffer.clear();
+        return size;
+    }
+}
@@ -0,0 +1,120 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice;
+import com.setvect.bokslcoin.autotrading.backtest.repository.CandleBulkRepository;
+import com.setvect.bokslcoin.autotrading.backtest.repository.CandleRepository;
+import com.setvect.bokslcoin.autotrading.model.CandleMapper;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.quotation.CandleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 1분봉 증분 수집<br>
+ * 마지막으로 저장한 캔들 이후부터 현재까지 API 페이지를 받는 대로 모아 {@link CandleBulkRepository}로 저장(임시 파일 없음)<br>
+ * 페이지 수집, 중간에 멈춘 구간 이어받기는 {@link CandlePager}에서 하고, 진행 상태는 checkpointDir/코인.crawl에 기록.
+ * 호출 사이에 requestIntervalMs만큼 대기
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CandleCrawler {
+    /**
+     * 캔들 수집 최소 날짜. 해당 날짜 이전에는 캔들 데이터가 없다고 가정
+     */
+    public static final LocalDateTime MINIMUM_CANDLE_DATE = LocalDateTime.of(2015, 1, 1, 0, 0, 0);
+
+    private final CandleService candleService;
+    private final CandleRepository candleRepository;
+    private final CandleBulkRepository candleBulkRepository;
+
+    /**
+     * API 호출 간격(ms). 호출 횟수 제한 때문에 적용
+     */
+    @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.requestIntervalMs:500}")
+    private long requestIntervalMs;
+
+    /**
+     * 이 건수 이상 모이면 저장
+     */
+    @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.flushSize:10000}")
+    private int flushSize;
+
+    /**
+     * 코인별 수집 진행 상태(코인.crawl) 저장 경로
+     */
+    @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.checkpointDir:./crawl-checkpoint}")
+    private String checkpointDir;
+
+    /**
+     * 이전에 멈춘 구간이 있으면 먼저 마저 받고, 마지막으로 저장한 캔들 이후부터 현재까지 수집
+     *
+     * @param market 코인
+     * @return 수집 결과
+     */
+    public CrawlResult crawl(String market) {
+        Path checkpointPath = Paths.get(checkpointDir).resolve(market + CandlePager.CHECKPOINT_EXTENSION);
+        CandlePager pager = new CandlePager(market, to -> {
+            TimeUnit.MILLISECONDS.sleep(requestIntervalMs);
+            return candleService.getMinute(1, market, CandlePager.PAGE_COUNT, to);
+        }, new DbSink(market), flushSize, requestIntervalMs, requestIntervalMs);
+        try {
+            return pager.crawl(checkpointPath, () -> getLastSaved(market)).toResult(market);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(String.format("[%s] 캔들 수집 중단", market), e);
+        }
+    }
+
+    /**
+     * @return 저장된 마지막 1분봉 시각(UTC). 없으면 수집 최소 날짜
+     */
+    private LocalDateTime getLastSaved(String market) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        List<CandlePrice> lastCandle = candleRepository.findPriceBefore(market, PeriodType.PERIOD_1, now, PageRequest.of(0, 1));
+        return lastCandle.isEmpty() ? MINIMUM_CANDLE_DATE : lastCandle.get(0).getCandleDateTimeUtc();
+    }
+
+    /**
+     * 모아 놓은 캔들을 DB에 한 번에 저장
+     */
+    private class DbSink implements CandlePager.Sink {
+        private final String market;
+        private final List<CandleEntity> buffer = new ArrayList<>(flushSize + CandlePager.PAGE_COUNT);
+
+        DbSink(String market) {
+            this.market = market;
+        }
+
+        @Override
+        public void add(CandleMinute candle) {
+            buffer.add(CandleMapper.toEntity(candle, PeriodType.PERIOD_1));
+        }
+
+        @Override
+        public int size() {
+            return buffer.size();
+        }
+
+        @Override
+        public void flush() {
+            candleBulkRepository.upsert(buffer);
+            int size = buffer.size();
+            log.info("저장 {}, {} ~ {}, {}건", market, buffer.get(size - 1).getCandleDateTimeUtc(), buffer.get(0).getCandleDateTimeUtc(), size);
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 코인 하나의 1분봉을 최신 캔들부터 과거 방향으로 페이지 단위로 받아 {@link Sink}에 넘김<br>
+ * 저장할 때마다 진행 상태({@link CrawlCheckpoint})를 기록하고, 중간에 멈추면 다음 실행에서 남은 구간부터 이어서 받음<br>
+ * 호출 제한은 {@link Request}, 저장 방식은 {@link Sink}에서 처리
+ */
+@Slf4j
+class CandlePager {
+    /**
+     * API 한 번에 받는 캔들 수(최대 200)
+     */
+    static final int PAGE_COUNT = 200;
+
+    /**
+     * 연속 실패 허용 횟수
+     */
+    static final int MAX_RETRY = 10;
+
+    /**
+     * 진행 상태 파일 확장자. 예) KRW-BTC.crawl
+     */
+    static final String CHECKPOINT_EXTENSION = ".crawl";
+
+    private final String market;
+    private final Request request;
+    private final Sink sink;
+
+    /**
+     * 이 건수 이상 모이면 저장
+     */
+    private final int flushSize;
+
+    /**
+     * 첫 번째 재시도 대기 시간(ms). 재시도마다 두 배
+     */
+    private final long backoffMs;
+
+    /**
+     * 재시도 최대 대기 시간(ms)
+     */
+    private final long backoffMaxMs;
+
+    /**
+     * 1분봉 한 페이지 요청
+     */
+    interface Request {
+        /**
+         * @param to 이 시각(UTC) 이전 캔들. null이면 가장 최근부터
+         * @return 최신 캔들부터 최대 {@link #PAGE_COUNT}개
+         * @throws InterruptedException 호출 제한 대기 중 중단
+         */
+        List<CandleMinute> get(LocalDateTime to) throws InterruptedException;
+    }
+
+    /**
+     * 받은 캔들을 모았다가 저장
+     */
+    interface Sink {
+        void add(CandleMinute candle);
+
+        /**
+         * @return 저장하지 않고 모아 놓은 캔들 수
+         */
+        int size();
+
+        /**
+         * 모아 놓은 캔들 저장
+         */
+        void flush();
+    }
+
+    CandlePager(String market, Request request, Sink sink, int flushSize, long backoffMs, long backoffMaxMs) {
+        this.market = market;
+        this.request = request;
+        this.sink = sink;
+        this.flushSize = flushSize;
+        this.backoffMs = backoffMs;
+        this.backoffMaxMs = backoffMaxMs;
+    }
+
+    /**
+     * 이전에 멈춘 구간이 있으면 먼저 마저 받고, 저장된 마지막 1분봉 이후부터 현재까지 받음
+     *
+     * @param checkpointPath 진행 상태 파일
+     * @param lastSaved      저장된 마지막 1분봉 시각(UTC). 이전 구간을 마저 받은 다음 조회
+     * @return 수집 범위
+     * @throws InterruptedException 수집 중단
+     */
+    Range crawl(Path checkpointPath, Supplier<LocalDateTime> lastSaved) throws InterruptedException {
+        Range total = new Range();
+        CrawlCheckpoint checkpoint = CrawlCheckpoint.load(checkpointPath);
+        if (checkpoint != null) {
+            log.info("[{}] 이전 수집 이어서 진행. {} 이후 ~ {} 이전", market, checkpoint.getLower(), checkpoint.getCursor());
+            total.add(crawl(checkpoint.getLower(), checkpoint.getCursor(), checkpointPath));
+        }
+        total.add(crawl(lastSaved.get(), null, checkpointPath));
+        return total;
+    }
+
+    /**
+     * cursor 이전부터 lower 이후까지 과거 방향으로 수집
+     *
+     * @param lower          이미 저장된 마지막 1분봉 시각(UTC). 이 시각 이하는 받지 않음
+     * @param cursor         이 시각(UTC) 이전부터 받음. null이면 현재
+     * @param checkpointPath 진행 상태 파일
+     * @return 수집 범위
+     */
+    private Range crawl(LocalDateTime lower, LocalDateTime cursor, Path checkpointPath) throws InterruptedException {
+        Range range = new Range();
+        LocalDateTime to = cursor;
+        boolean end = false;
+        while (!end) {
+            List<CandleMinute> data = request(to);
+            end = data.isEmpty();
+            // 최신 캔들부터 내려옴
+            for (CandleMinute d : data) {
+                if (!d.getCandleDateTimeUtc().isAfter(lower)) {
+                    end = true;
+                    break;
+                }
+                sink.add(d);
+                range.add(d.getCandleDateTimeUtc());
+            }
+            if (!data.isEmpty()) {
+                to = data.get(data.size() - 1).getCandleDateTimeUtc();
+            }
+            if (sink.size() >= flushSize || end) {
+                if (sink.size() > 0) {
+                    sink.flush();
+                }
+                if (end) {
+                    CrawlCheckpoint.delete(checkpointPath);
+                } else {
+                    // 저장한 다음 기록해야 멈췄을 때 빠지는 구간이 없음
+                    new CrawlCheckpoint(lower, to).save(checkpointPath);
+                }
+                log.info("[{}] 저장. 현재: {}, 누적 {}건", market, to, range.count);
+            } else {
+                log.debug("[{}] 수집. 현재: {}, 누적 {}건", market, to, range.count);
+            }
+        }
+        return range;
+    }
+
+    /**
+     * 실패하면 대기 시간을 늘려가며 다시 요청
+     */
+    private List<CandleMinute> request(LocalDateTime to) throws InterruptedException {
+        for (int retry = 1; ; retry++) {
+            try {
+                return request.get(to);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (retry >= MAX_RETRY) {
+                    throw new RuntimeException(String.format("캔들 수집 실패. market: %s, to: %s, %s", market, to, e.getMessage()), e);
+                }
+                long wait = Math.min(backoffMs << Math.min(retry - 1, 20), backoffMaxMs);
+                log.info("[{}] {}, {}ms 후 다시 실행({})", market, e.getMessage(), wait, retry);
+                TimeUnit.MILLISECONDS.sleep(wait);
+            }
+        }
+    }
+
+    /**
+     * 수집한 1분봉 범위
+     */
+    @Getter
+    static class Range {
+        /**
+         * 가장 이른 시간(UTC). 받은 캔들이 없으면 null
+         */
+        private LocalDateTime from;
+        /**
+         * 가장 늦은 시간(UTC). 받은 캔들이 없으면 null
+         */
+        private LocalDateTime to;
+        private int count;
+
+        void add(LocalDateTime time) {
+            from = from == null || time.isBefore(from) ? time : from;
+            to = to == null || time.isAfter(to) ? time : to;
+            count++;
+        }
+
+        void add(Range other) {
+            if (other.count == 0) {
+                return;
+            }
+            from = from == null || other.from.isBefore(from) ? other.from : from;
+            to = to == null || other.to.isAfter(to) ? other.to : to;
+            count += other.count;
+        }
+
+        /**
+         * @param market 코인
+         * @return 수집 결과
+         */
+        CrawlResult toResult(String market) {
+            return CrawlResult.builder()
+                    .market(market)
+                    .count(count)
+                    .from(from)
+                    .to(to)
+                    .build();
+        }
+    }
+}
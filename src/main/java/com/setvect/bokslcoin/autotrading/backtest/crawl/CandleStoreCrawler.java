@@ -0,0 +1,215 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleColumnFile;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleColumns;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.quotation.CandleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 여러 코인의 1분봉을 동시에 수집해 캔들 저장소({@link CandleStore})에 바로 저장<br>
+ * 모든 코인이 하나의 {@link TokenBucket}을 같이 사용해 API 초당 호출 제한 안에서 최대한 빠르게 수집함<br>
+ * 페이지 수집, 중간에 멈춘 구간 이어받기는 {@link CandlePager}에서 하고, 진행 상태는 storeDir/코인.crawl에 기록.
+ * 수집이 끝나면 15분 ~ 1440분 캔들도 다시 만듦
+ */
+@Service
+@Slf4j
+public class CandleStoreCrawler {
+    private final CandleService candleService;
+    private final CandleStore candleStore;
+    private final Path storeDir;
+    private final TokenBucket tokenBucket;
+
+    /**
+     * 동시에 수집하는 코인 수
+     */
+    private final int parallelism;
+
+    /**
+     * 이 건수 이상 모이면 저장
+     */
+    private final int flushSize;
+
+    /**
+     * 첫 번째 재시도 대기 시간(ms). 재시도마다 두 배
+     */
+    private final long backoffMs;
+
+    /**
+     * 재시도 최대 대기 시간(ms)
+     */
+    private final long backoffMaxMs;
+
+    public CandleStoreCrawler(CandleService candleService,
+                              CandleStore candleStore,
+                              @Value("${com.setvect.bokslcoin.autotrading.backtest.storeDir:./candle-store}") String storeDir,
+                              @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.requestsPerSecond:9}") double requestsPerSecond,
+                              @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.burst:1}") int burst,
+                              @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.parallelism:4}") int parallelism,
+                              @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.storeFlushSize:200000}") int flushSize,
+                              @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.backoffMs:500}") long backoffMs,
+                              @Value("${com.setvect.bokslcoin.autotrading.backtest.crawl.backoffMaxMs:30000}") long backoffMaxMs) {
+        this.candleService = candleService;
+        this.candleStore = candleStore;
+        this.storeDir = Paths.get(storeDir);
+        this.tokenBucket = new TokenBucket(requestsPerSecond, burst);
+        this.parallelism = Math.max(parallelism, 1);
+        this.flushSize = flushSize;
+        this.backoffMs = backoffMs;
+        this.backoffMaxMs = backoffMaxMs;
+    }
+
+    /**
+     * @param markets 코인
+     * @return 코인 순서대로 수집 결과
+     */
+    public List<CrawlResult> crawl(List<String> markets) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, markets.size()));
+        try {
+            List<Future<CrawlResult>> futures = new ArrayList<>(markets.size());
+            for (String market : markets) {
+                futures.add(pool.submit(() -> crawl(market)));
+            }
+            List<CrawlResult> result = new ArrayList<>(markets.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    result.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(String.format("[%s] 캔들 수집 실패: %s", markets.get(i), e.getCause().getMessage()), e.getCause());
+                }
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("캔들 수집 중단", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 이전에 멈춘 구간이 있으면 먼저 마저 받고, 저장된 마지막 1분봉 이후부터 현재까지 수집
+     *
+     * @param market 코인
+     * @return 수집 결과
+     */
+    public CrawlResult crawl(String market) {
+        Path checkpointPath = storeDir.resolve(market + CandlePager.CHECKPOINT_EXTENSION);
+        CandlePager pager = new CandlePager(market, to -> {
+            tokenBucket.acquire();
+            return candleService.getMinute(1, market, CandlePager.PAGE_COUNT, to);
+        }, new StoreSink(market), flushSize, backoffMs, backoffMaxMs);
+        try {
+            CandlePager.Range total = pager.crawl(checkpointPath, () -> toLocalDateTime(getLastTime(market)));
+            if (total.getCount() > 0) {
+                aggregate(market, total.getFrom());
+            }
+            CrawlResult result = total.toResult(market);
+            log.info("[{}] 수집 완료: {}", market, result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(String.format("[%s] 캔들 수집 중단", market), e);
+        }
+    }
+
+    /**
+     * @return 저장된 마지막 1분봉 시각(UTC, epoch millisecond). 없으면 수집 최소 날짜
+     */
+    private long getLastTime(String market) {
+        if (candleStore.exists(market, PeriodType.PERIOD_1)) {
+            CandleColumnFile minute = candleStore.open(market, PeriodType.PERIOD_1);
+            if (minute.size() > 0) {
+                return minute.getTime(minute.size() - 1);
+            }
+        }
+        return CandleStore.toEpochMilli(CandleCrawler.MINIMUM_CANDLE_DATE);
+    }
+
+    /**
+     * from이 포함된 하루 구간부터 저장소의 1분봉으로 15분 ~ 1440분 캔들을 다시 만듦
+     *
+     * @param market 코인
+     * @param from   1분봉이 바뀐 시작 시간(UTC)
+     */
+    private void aggregate(String market, LocalDateTime from) {
+        Map<PeriodType, CandleColumns> columnsByPeriod = new EnumMap<>(PeriodType.class);
+        Map<PeriodType, Long> changedFrom = new EnumMap<>(PeriodType.class);
+        for (PeriodType period : CandleAggregateService.TARGET_PERIODS) {
+            columnsByPeriod.put(period, new CandleColumns());
+            changedFrom.put(period, CandleStore.toEpochMilli(period.fitDateTime(from)));
+        }
+        PeriodAggregator aggregator = new PeriodAggregator(market, CandleAggregateService.TARGET_PERIODS, candle -> {
+            long time = CandleStore.toEpochMilli(candle.getCandleDateTimeUtc());
+            if (time < changedFrom.get(candle.getPeriodType())) {
+                return;
+            }
+            columnsByPeriod.get(candle.getPeriodType())
+                    .add(time, candle.getOpeningPrice(), candle.getHighPrice(), candle.getLowPrice(), candle.getTradePrice());
+        });
+
+        CandleColumnFile minute = candleStore.open(market, PeriodType.PERIOD_1);
+        int start = minute.lowerBound(CandleStore.toEpochMilli(PeriodType.PERIOD_1440.fitDateTime(from)));
+        for (int i = start; i < minute.size(); i++) {
+            LocalDateTime utc = toLocalDateTime(minute.getTime(i));
+            aggregator.add(new CandlePrice(utc, utc.plusHours(9), minute.getOpen(i), minute.getHigh(i), minute.getLow(i), minute.getClose(i)));
+        }
+        aggregator.finish(LocalDateTime.now(ZoneOffset.UTC));
+        columnsByPeriod.forEach((period, columns) -> {
+            if (columns.size() > 0) {
+                candleStore.merge(market, period, columns);
+            }
+        });
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return CandleStore.toLocalDateTime(epochMilli);
+    }
+
+    /**
+     * 모아 놓은 캔들을 저장소 파일에 합쳐서 저장
+     */
+    private class StoreSink implements CandlePager.Sink {
+        private final String market;
+        private CandleColumns buffer = new CandleColumns(flushSize + CandlePager.PAGE_COUNT);
+
+        StoreSink(String market) {
+            this.market = market;
+        }
+
+        @Override
+        public void add(CandleMinute candle) {
+            buffer.add(CandleStore.toEpochMilli(candle.getCandleDateTimeUtc()), candle.getOpeningPrice(), candle.getHighPrice(), candle.getLowPrice(),
+                    candle.getTradePrice());
+        }
+
+        @Override
+        public int size() {
+            return buffer.size();
+        }
+
+        @Override
+        public void flush() {
+            candleStore.merge(market, PeriodType.PERIOD_1, buffer);
+            buffer = new CandleColumns(flushSize + CandlePager.PAGE_COUNT);
+        }
+    }
+}
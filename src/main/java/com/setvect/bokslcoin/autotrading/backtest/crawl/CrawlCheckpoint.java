@@ -0,0 +1,77 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+/**
+ * 코인별 1분봉 수집 진행 상태<br>
+ * 최근 캔들부터 과거 방향으로 받다가 멈추면 cursor 이전부터 lower 이후까지가 아직 받지 않은 구간
+ */
+@Getter
+class CrawlCheckpoint {
+    /**
+     * 이미 저장된 마지막 1분봉 시각(UTC). 이 시각 이하는 받지 않음
+     */
+    private final LocalDateTime lower;
+    /**
+     * 이 시각(UTC) 이전부터 받아야 함
+     */
+    private final LocalDateTime cursor;
+
+    CrawlCheckpoint(LocalDateTime lower, LocalDateTime cursor) {
+        this.lower = lower;
+        this.cursor = cursor;
+    }
+
+    /**
+     * @return 진행 상태. 파일이 없으면 null
+     */
+    static CrawlCheckpoint load(Path path) {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("수집 진행 상태 읽기 실패: %s", path), e);
+        }
+        return new CrawlCheckpoint(LocalDateTime.parse(properties.getProperty("lower")), LocalDateTime.parse(properties.getProperty("cursor")));
+    }
+
+    static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("수집 진행 상태 삭제 실패: %s", path), e);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 다음 교체
+     */
+    void save(Path path) {
+        Properties properties = new Properties();
+        properties.setProperty("lower", lower.toString());
+        properties.setProperty("cursor", cursor.toString());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, "UTC. cursor 이전 ~ lower 이후 수집 필요");
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("수집 진행 상태 저장 실패: %s", path), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 코인 하나의 1분봉 수집 결과
+ */
+@Getter
+@Builder
+@ToString
+public class CrawlResult {
+    private final String market;
+    /**
+     * 저장한 캔들 수
+     */
+    private final int count;
+    /**
+     * 저장한 캔들 중 가장 이른 시간(UTC). 저장한 캔들이 없으면 null
+     */
+    private final LocalDateTime from;
+    /**
+     * 저장한 캔들 중 가장 늦은 시간(UTC). 저장한 캔들이 없으면 null
+     */
+    private final LocalDateTime to;
+}
@@ -0,0 +1,114 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 시간 순서로 들어오는 1분봉 하나로 여러 주기의 캔들을 동시에 만듦<br>
+ * 주기마다 진행 중인 캔들 하나(시가, 고가, 저가, 종가)만 유지하고, 다음 구간의 1분봉이 들어오면 완성된 캔들을 내보냄<br>
+ * 캔들 시간은 구간에 포함된 첫 번째 1분봉 시간(UTC 기준 구간)
+ */
+public class PeriodAggregator {
+    private final String market;
+    private final Accumulator[] accumulators;
+    private final Consumer<CandleEntity> sink;
+
+    /**
+     * @param market  코인
+     * @param periods 만들 주기
+     * @param sink    완성된 캔들을 받음
+     */
+    public PeriodAggregator(String market, List<PeriodType> periods, Consumer<CandleEntity> sink) {
+        this.market = market;
+        this.sink = sink;
+        this.accumulators = periods.stream().map(Accumulator::new).toArray(Accumulator[]::new);
+    }
+
+    /**
+     * @param candle 1분봉. 이전에 넣은 캔들보다 시간이 늦어야 됨
+     */
+    public void add(CandlePrice candle) {
+        LocalDateTime time = candle.getCandleDateTimeUtc();
+        for (Accumulator acc : accumulators) {
+            if (acc.end == null || !time.isBefore(acc.end)) {
+                emit(acc);
+                acc.reset(candle);
+            }
+            acc.add(candle);
+        }
+    }
+
+    /**
+     * 진행 중인 캔들 중 구간이 끝난 캔들을 내보냄. 아직 구간이 끝나지 않은 캔들은 버림
+     *
+     * @param nowUtc 현재 시간
+     */
+    public void finish(LocalDateTime nowUtc) {
+        for (Accumulator acc : accumulators) {
+            if (acc.end != null && !acc.end.isAfter(nowUtc)) {
+                emit(acc);
+            }
+            acc.end = null;
+        }
+    }
+
+    private void emit(Accumulator acc) {
+        if (acc.end == null) {
+            return;
+        }
+        CandleEntity entity = new CandleEntity();
+        entity.setMarket(market);
+        entity.setPeriodType(acc.periodType);
+        entity.setCandleDateTimeUtc(acc.timeUtc);
+        entity.setCandleDateTimeKst(acc.timeKst);
+        entity.setOpeningPrice(acc.open);
+        entity.setHighPrice(acc.high);
+        entity.setLowPrice(acc.low);
+        entity.setTradePrice(acc.close);
+        sink.accept(entity);
+    }
+
+    /**
+     * 주기 하나의 진행 중인 캔들
+     */
+    private static class Accumulator {
+        private final PeriodType periodType;
+        private final Duration length;
+        /**
+         * 구간 종료 시간(포함하지 않음). null이면 진행 중인 캔들 없음
+         */
+        private LocalDateTime end;
+        private LocalDateTime timeUtc;
+        private LocalDateTime timeKst;
+        private double open;
+        private double high;
+        private double low;
+        private double close;
+
+        Accumulator(PeriodType periodType) {
+            this.periodType = periodType;
+            this.length = Duration.ofMinutes(periodType.getDiffMinutes());
+        }
+
+        void reset(CandlePrice first) {
+            timeUtc = first.getCandleDateTimeUtc();
+            timeKst = first.getCandleDateTimeKst();
+            end = periodType.fitDateTime(timeUtc).plus(length);
+            open = first.getOpeningPrice();
+            high = -Double.MAX_VALUE;
+            low = Double.MAX_VALUE;
+        }
+
+        void add(CandlePrice candle) {
+            high = Math.max(high, candle.getHighPrice());
+            low = Math.min(low, candle.getLowPrice());
+            close = candle.getTradePrice();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 호출 횟수 제한<br>
+ * 토큰이 초당 permitsPerSecond개씩 최대 capacity개까지 쌓이고, 호출마다 하나씩 사용<br>
+ * 토큰이 없으면 먼저 요청한 순서대로 대기 시간을 예약하기 때문에 여러 스레드가 같이 사용해도 제한을 넘지 않음
+ */
+public class TokenBucket {
+    private final double permitsPerNano;
+    private final double capacity;
+
+    /**
+     * 남은 토큰. 대기 중인 요청이 있으면 음수
+     */
+    private double tokens;
+    private long refillNanos;
+
+    /**
+     * @param permitsPerSecond 초당 호출 횟수
+     * @param capacity         연속 호출 가능 횟수
+     */
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        if (permitsPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException(String.format("호출 제한 값 오류. 초당 호출: %f, 연속 호출: %d", permitsPerSecond, capacity));
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.refillNanos = System.nanoTime();
+    }
+
+    /**
+     * 토큰 하나를 사용. 없으면 생길 때까지 대기
+     *
+     * @throws InterruptedException 대기 중 중단
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refillNanos) * permitsPerNano);
+            refillNanos = now;
+            tokens -= 1;
+            waitNanos = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsCheckpoint;
+import com.setvect.bokslcoin.autotrading.model.OrderResult;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 백테스트 중간 상태(전략 + 모의 계좌)<br>
+ * {@link BacktestEngine#resume}로 다음 1분봉부터 이어서 실행함<br>
+ * 저장 형식: 버전(int) + 시각 + 계좌 + 미체결 주문 + 전략 상태. 캔들은 항목별로 모아서 기록
+ */
+@Getter
+@Builder
+@ToString
+public class BacktestCheckpoint {
+    private static final int VERSION = 2;
+
+    /**
+     * 마지막으로 처리한 1분봉 시각(UTC, epoch millisecond)
+     */
+    private final long time;
+    /**
+     * 현금. 미체결 매수 주문에 묶인 금액 포함
+     */
+    private final double cash;
+    /**
+     * 현금 + 보유 코인 평가 금액
+     */
+    private final double totalAsset;
+    /**
+     * 보유 코인. 미체결 매도 주문에 묶인 수량 포함
+     */
+    private final List<Position> positions;
+    /**
+     * 미체결 주문, 주문 순서
+     */
+    private final List<Order> orders;
+    /**
+     * 마지막 주문 번호
+     */
+    private final int orderSeq;
+    /**
+     * (코인: 마지막 체결가)
+     */
+    private final Map<String, Double> currentPrice;
+    /**
+     * 전략 상태
+     */
+    private final MabsCheckpoint strategy;
+
+    /**
+     * 보유 코인 하나
+     */
+    @Getter
+    @Builder
+    @ToString
+    public static class Position {
+        private final String market;
+        private final double balance;
+        private final double avgBuyPrice;
+    }
+
+    /**
+     * 미체결 주문 하나
+     */
+    @Getter
+    @Builder
+    @ToString
+    public static class Order {
+        private final String uuid;
+        private final String market;
+        private final OrderResult.Side side;
+        private final OrderResult.OrdType ordType;
+        /**
+         * 주문량. 시장가 매수는 0
+         */
+        private final double volume;
+        /**
+         * 주문 가격. 시장가 매수는 주문 금액
+         */
+        private final double price;
+        /**
+         * 묶어 놓은 금액(매수), 수량(매도)
+         */
+        private final double locked;
+    }
+
+    /**
+     * @return 저장용 값
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(VERSION);
+            out.writeLong(time);
+            out.writeDouble(cash);
+            out.writeDouble(totalAsset);
+
+            out.writeInt(positions.size());
+            for (Position position : positions) {
+                out.writeUTF(position.market);
+                out.writeDouble(position.balance);
+                out.writeDouble(position.avgBuyPrice);
+            }
+
+            out.writeInt(currentPrice.size());
+            for (Map.Entry<String, Double> entry : currentPrice.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeDouble(entry.getValue());
+            }
+
+            out.writeInt(orderSeq);
+            out.writeInt(orders.size());
+            for (Order order : orders) {
+                out.writeUTF(order.uuid);
+                out.writeUTF(order.market);
+                out.writeUTF(order.side.name());
+                out.writeUTF(order.ordType.name());
+                out.writeDouble(order.volume);
+                out.writeDouble(order.price);
+                out.writeDouble(order.locked);
+            }
+
+            out.writeInt(strategy.getPeriodIdx());
+            out.writeInt(strategy.getMarkets().size());
+            for (MabsCheckpoint.Market market : strategy.getMarkets()) {
+                out.writeUTF(market.getMarket());
+                out.writeDouble(market.getHighYield());
+                out.writeDouble(market.getLowYield());
+                out.writeBoolean(market.isTradeComplete());
+                out.writeDouble(market.getLastPrice());
+                out.writeLong(market.getLastTradeTime());
+
+                long[] candleTime = market.getTime();
+                out.writeInt(candleTime.length);
+                for (long t : candleTime) {
+                    out.writeLong(t);
+                }
+                writeDoubles(out, market.getOpen());
+                writeDoubles(out, market.getHigh());
+                writeDoubles(out, market.getLow());
+                writeDoubles(out, market.getClose());
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("백테스트 상태 저장 실패", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param value {@link #toBytes()} 결과
+     * @return 백테스트 상태
+     */
+    public static BacktestCheckpoint fromBytes(byte[] value) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(value))) {
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(String.format("지원하지 않는 백테스트 상태 버전: %d", version));
+            }
+            BacktestCheckpointBuilder builder = BacktestCheckpoint.builder()
+                    .time(in.readLong())
+                    .cash(in.readDouble())
+                    .totalAsset(in.readDouble());
+
+            int positionCount = in.readInt();
+            List<Position> positions = new ArrayList<>(positionCount);
+            for (int i = 0; i < positionCount; i++) {
+                positions.add(Position.builder()
+                        .market(in.readUTF())
+                        .balance(in.readDouble())
+                        .avgBuyPrice(in.readDouble())
+                        .build());
+            }
+
+            int priceCount = in.readInt();
+            Map<String, Double> currentPrice = new HashMap<>();
+            for (int i = 0; i < priceCount; i++) {
+                currentPrice.put(in.readUTF(), in.readDouble());
+            }
+
+            builder.orderSeq(in.readInt());
+            int orderCount = in.readInt();
+            List<Order> orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) {
+                orders.add(Order.builder()
+                        .uuid(in.readUTF())
+                        .market(in.readUTF())
+                        .side(OrderResult.Side.valueOf(in.readUTF()))
+                        .ordType(OrderResult.OrdType.valueOf(in.readUTF()))
+                        .volume(in.readDouble())
+                        .price(in.readDouble())
+                        .locked(in.readDouble())
+                        .build());
+            }
+
+            int periodIdx = in.readInt();
+            int marketCount = in.readInt();
+            List<MabsCheckpoint.Market> markets = new ArrayList<>(marketCount);
+            for (int i = 0; i < marketCount; i++) {
+                MabsCheckpoint.Market.MarketBuilder market = MabsCheckpoint.Market.builder()
+                        .market(in.readUTF())
+                        .highYield(in.readDouble())
+                        .lowYield(in.readDouble())
+                        .tradeComplete(in.readBoolean())
+                        .lastPrice(in.readDouble())
+                        .lastTradeTime(in.readLong());
+
+                int size = in.readInt();
+                long[] candleTime = new long[size];
+                for (int k = 0; k < size; k++) {
+                    candleTime[k] = in.readLong();
+                }
+                markets.add(market.time(candleTime)
+                        .open(readDoubles(in, size))
+                        .high(readDoubles(in, size))
+                        .low(readDoubles(in, size))
+                        .close(readDoubles(in, size))
+                        .build());
+            }
+
+            return builder.positions(positions)
+                    .currentPrice(currentPrice)
+                    .orders(orders)
+                    .strategy(MabsCheckpoint.builder().periodIdx(periodIdx).markets(markets).build())
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("백테스트 상태 형식 오류", e);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream out, double[] values) throws IOException {
+        for (double v : values) {
+            out.writeDouble(v);
+        }
+    }
+
+    private static double[] readDoubles(DataInputStream in, int size) throws IOException {
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = in.readDouble();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,75 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import ch.qos.logback.classic.Level;
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 명령행에서 백테스트 실행(스프링 구동 없음)<br>
+ * 예) ./gradlew backtest --args="--markets=KRW-BTC,KRW-ETH --from=2021-01-01T00:00:00 --to=2022-01-01T00:00:00 --shortPeriod=13 --longPeriod=64"<br>
+ * 옵션: storeDir, markets, from, to(UTC 기준), periodType, shortPeriod, longPeriod, upBuyRate, downSellRate, loseStopRate, maxBuyCount, investRatio, newMasBuy, cash
+ */
+@Slf4j
+public class BacktestCli {
+    public static void main(String[] args) {
+        // 스프링 로그 설정(logback-spring.xml)이 적용되지 않기 때문에 직접 지정
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+
+        Map<String, String> option = parse(args);
+        if (!option.containsKey("markets") || !option.containsKey("from") || !option.containsKey("to")) {
+            throw new IllegalArgumentException("필수 옵션 없음: --markets, --from, --to");
+        }
+        List<String> markets = Arrays.asList(option.get("markets").split("\\s*,\\s*"));
+
+        MabsMultiProperties properties = new MabsMultiProperties();
+        properties.setMarkets(markets);
+        properties.setPeriodType(PeriodType.valueOf(option.getOrDefault("periodType", "PERIOD_60")));
+        properties.setShortPeriod(Integer.parseInt(option.getOrDefault("shortPeriod", "13")));
+        properties.setLongPeriod(Integer.parseInt(option.getOrDefault("longPeriod", "64")));
+        properties.setUpBuyRate(Double.parseDouble(option.getOrDefault("upBuyRate", "0.01")));
+        properties.setDownSellRate(Double.parseDouble(option.getOrDefault("downSellRate", "0.01")));
+        properties.setLoseStopRate(Double.parseDouble(option.getOrDefault("loseStopRate", "0.5")));
+        properties.setMaxBuyCount(Integer.parseInt(option.getOrDefault("maxBuyCount", String.valueOf(markets.size()))));
+        properties.setInvestRatio(Double.parseDouble(option.getOrDefault("investRatio", "0.99")));
+        properties.setNewMasBuy(Boolean.parseBoolean(option.getOrDefault("newMasBuy", "true")));
+        double cash = Double.parseDouble(option.getOrDefault("cash", "10000000"));
+
+        BacktestEngine engine = new BacktestEngine(new CandleStore(option.getOrDefault("storeDir", "./candle-store")));
+        BacktestResult result = engine.run(properties, LocalDateTime.parse(option.get("from")), LocalDateTime.parse(option.get("to")), cash);
+
+        result.getTrades().forEach(trade -> log.info("{}", trade));
+        log.info("조건: {}", properties);
+        log.info("투자금: {}, 최종 금액: {}, 수익률: {}%, 매매 횟수: {}",
+                String.format("%,.0f", result.getCash()), String.format("%,.0f", result.getFinalAsset()),
+                String.format("%.2f", result.getYield() * 100), result.getTrades().size());
+        log.info("1분봉: {}건, 실행 시간: {}ms, 초당 {}건",
+                String.format("%,d", result.getCandleCount()), String.format("%,d", result.getElapsedMs()),
+                String.format("%,.0f", result.getCandlesPerSecond()));
+    }
+
+    /**
+     * @param args --이름=값 형태
+     * @return (이름: 값)
+     */
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> option = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException(String.format("옵션 형식 오류(--이름=값): %s", arg));
+            }
+            int idx = arg.indexOf('=');
+            option.put(arg.substring(2, idx), arg.substring(idx + 1));
+        }
+        return option;
+    }
+}
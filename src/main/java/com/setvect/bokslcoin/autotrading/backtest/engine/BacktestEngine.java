@@ -0,0 +1,207 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.TradeRecorder;
+import com.setvect.bokslcoin.autotrading.algorithm.orderbook.TopOfBookCache;
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiService;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleColumnFile;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import com.setvect.bokslcoin.autotrading.exchange.PortfolioStateService;
+import com.setvect.bokslcoin.autotrading.record.entity.AssetHistoryEntity;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeEntity;
+import com.setvect.bokslcoin.autotrading.slack.SlackMessageService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 이평선 돌파 전략 백테스트<br>
+ * 캔들 저장소의 1분봉을 시간 순서대로 전략({@link MabsMultiService})에 체결 이벤트로 전달함<br>
+ * 계좌, 주문, 캔들 조회는 메모리에서 동작하는 시뮬레이션 객체를 사용하고 DB는 사용하지 않음<br>
+ * 실행마다 전략 객체를 새로 만들기 때문에 서로 다른 스레드에서 동시에 실행 가능<br>
+ * 실행이 끝나면 전략, 계좌 상태({@link BacktestCheckpoint})를 반환하고, 이 상태로 새로 추가된 1분봉만 이어서 실행할 수 있음
+ */
+@Slf4j
+public class BacktestEngine {
+    /**
+     * 백테스트에서는 매매, 자산 내역을 저장하지 않음
+     */
+    private static final TradeRecorder NO_RECORD = new TradeRecorder() {
+        @Override
+        public void saveTrade(TradeEntity trade) {
+            // nothing
+        }
+
+        @Override
+        public void saveAssets(List<AssetHistoryEntity> assets) {
+            // nothing
+        }
+    };
+
+    /**
+     * 백테스트에서는 호가가 없어 주문 가격은 체결가 기준
+     */
+    private static final TopOfBookCache NO_ORDERBOOK = new TopOfBookCache(0);
+
+    private final CandleStore candleStore;
+
+    public BacktestEngine(CandleStore candleStore) {
+        this.candleStore = candleStore;
+    }
+
+    /**
+     * @param properties 매매 조건
+     * @param from       시작 시간(UTC 기준), 포함
+     * @param to         종료 시간(UTC 기준), 포함
+     * @param cash       투자금
+     * @return 백테스트 결과
+     */
+    public BacktestResult run(MabsMultiProperties properties, LocalDateTime from, LocalDateTime to, double cash) {
+        return run(properties, from, to, cash, null);
+    }
+
+    /**
+     * 저장한 상태에서 다음 1분봉부터 이어서 실행<br>
+     * 미체결 주문도 이어지기 때문에 처음부터 끝까지 한 번에 실행한 것과 같은 매매를 함
+     *
+     * @param properties 매매 조건. 상태를 저장할 때와 같아야 됨
+     * @param checkpoint 이전 실행 결과의 {@link BacktestResult#getCheckpoint()}
+     * @param to         종료 시간(UTC 기준), 포함
+     * @return 이어서 실행한 구간의 결과. 투자금은 저장 시점 평가 금액
+     */
+    public BacktestResult resume(MabsMultiProperties properties, BacktestCheckpoint checkpoint, LocalDateTime to) {
+        LocalDateTime from = CandleStore.toLocalDateTime(checkpoint.getTime() + 1);
+        return run(properties, from, to, checkpoint.getTotalAsset(), checkpoint);
+    }
+
+    /**
+     * @param properties 매매 조건
+     * @param from       시작 시간(UTC 기준)
+     * @return 첫 번째 코인의 장기 이동평균 기간 + 1번째 캔들 시간과 from 중 늦은 시간
+     */
+    public LocalDateTime getStart(MabsMultiProperties properties, LocalDateTime from) {
+        String market = properties.getMarkets().get(0);
+        CandleColumnFile periodFile = candleStore.open(market, properties.getPeriodType());
+        int n = properties.getLongPeriod() + 1;
+        if (periodFile.size() < n) {
+            throw new RuntimeException(String.format("[%s] 시세 데이터 부족, 기대값: %d, 실제값: %d", market, n, periodFile.size()));
+        }
+        LocalDateTime base = CandleStore.toLocalDateTime(periodFile.getTime(n - 1));
+        return base.isAfter(from) ? base : from;
+    }
+
+    private BacktestResult run(MabsMultiProperties properties, LocalDateTime from, LocalDateTime to, double cash, BacktestCheckpoint checkpoint) {
+        long startNanos = System.nanoTime();
+        List<String> markets = properties.getMarkets();
+        int marketCount = markets.size();
+
+        // 코인별 1분봉과 읽을 위치
+        CandleColumnFile[] minutes = new CandleColumnFile[marketCount];
+        int[] position = new int[marketCount];
+        int[] end = new int[marketCount];
+        long fromTime = CandleStore.toEpochMilli(from);
+        long toTime = CandleStore.toEpochMilli(to);
+        for (int i = 0; i < marketCount; i++) {
+            minutes[i] = candleStore.open(markets.get(i), PeriodType.PERIOD_1);
+            position[i] = minutes[i].lowerBound(fromTime);
+            end[i] = minutes[i].lowerBound(toTime + 1);
+        }
+
+        SimulatedExchange exchange = new SimulatedExchange(cash);
+        SimulatedCandleService candleService = new SimulatedCandleService(candleStore);
+        SimulatedOrderService orderService = new SimulatedOrderService(exchange);
+        PortfolioStateService portfolioStateService = new PortfolioStateService(new SimulatedAccountService(exchange), orderService);
+        BacktestTradeEvent tradeEvent = new BacktestTradeEvent(exchange);
+        MabsMultiService strategy = new MabsMultiService(portfolioStateService, candleService, tradeEvent, orderService,
+                new SlackMessageService(), NO_RECORD, properties, NO_ORDERBOOK);
+
+        // 마지막으로 처리한 1분봉 시각
+        long lastTime = fromTime - 1;
+        if (checkpoint != null) {
+            exchange.restore(checkpoint);
+            for (BacktestCheckpoint.Position saved : checkpoint.getPositions()) {
+                tradeEvent.restorePosition(saved.getMarket(), saved.getAvgBuyPrice());
+            }
+            strategy.restore(checkpoint.getStrategy());
+            portfolioStateService.reconcile();
+            lastTime = checkpoint.getTime();
+        }
+
+        long candleCount = 0;
+        while (true) {
+            // 코인 중 가장 이른 시간의 1분봉 선택
+            int next = -1;
+            long time = Long.MAX_VALUE;
+            for (int i = 0; i < marketCount; i++) {
+                if (position[i] < end[i]) {
+                    long t = minutes[i].getTime(position[i]);
+                    if (t < time) {
+                        time = t;
+                        next = i;
+                    }
+                }
+            }
+            if (next == -1) {
+                break;
+            }
+            String market = markets.get(next);
+            double price = minutes[next].getClose(position[next]);
+            position[next]++;
+
+            // 미체결 주문이 체결되면 전략이 보기 전에 계좌 상태를 맞춤
+            exchange.setCurrentPrice(market, price);
+            if (exchange.isChanged()) {
+                portfolioStateService.reconcile();
+            }
+            candleService.setCurrentTime(time);
+            LocalDateTime utc = CandleStore.toLocalDateTime(time);
+            TradeResult tradeResult = TradeResult.builder()
+                    .type("trade")
+                    .code(market)
+                    .tradePrice(price)
+                    .tradeDate(utc.toLocalDate())
+                    .tradeTime(utc.toLocalTime())
+                    // 백테스트에서는 의미없는값
+                    .timestamp(0L)
+                    .prevClosingPrice(0)
+                    .tradeVolume(0)
+                    .build();
+            strategy.tradeEvent(tradeResult);
+            // 주문하거나 체결됐을 때만 계좌 상태를 맞춤
+            if (exchange.isChanged()) {
+                portfolioStateService.reconcile();
+            }
+            lastTime = time;
+            candleCount++;
+        }
+
+        double finalAsset = exchange.getTotalAsset();
+        BacktestCheckpoint next = BacktestCheckpoint.builder()
+                .time(lastTime)
+                .cash(exchange.getCash())
+                .totalAsset(finalAsset)
+                .positions(exchange.getPositions())
+                .orders(exchange.getOrders())
+                .orderSeq(exchange.getOrderSeq())
+                .currentPrice(exchange.getCurrentPrices())
+                .strategy(strategy.checkpoint())
+                .build();
+        BacktestResult result = BacktestResult.builder()
+                .markets(markets)
+                .from(from)
+                .to(to)
+                .cash(cash)
+                .finalAsset(finalAsset)
+                .yield(finalAsset / cash - 1)
+                .trades(tradeEvent.getTrades())
+                .candleCount(candleCount)
+                .elapsedMs((System.nanoTime() - startNanos) / 1_000_000)
+                .checkpoint(next)
+                .build();
+        log.info("backtest: {}", result);
+        return result;
+    }
+}
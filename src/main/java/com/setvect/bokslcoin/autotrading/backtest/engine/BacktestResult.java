@@ -0,0 +1,58 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 백테스트 결과
+ */
+@Getter
+@Builder
+@ToString(exclude = {"trades", "checkpoint"})
+public class BacktestResult {
+    private final List<String> markets;
+    /**
+     * 시작 시간(UTC 기준)
+     */
+    private final LocalDateTime from;
+    /**
+     * 종료 시간(UTC 기준)
+     */
+    private final LocalDateTime to;
+    /**
+     * 투자금
+     */
+    private final double cash;
+    /**
+     * 종료 시점 현금 + 보유 코인 평가 금액
+     */
+    private final double finalAsset;
+    /**
+     * 수익률
+     */
+    private final double yield;
+    private final List<BacktestTrade> trades;
+    /**
+     * 처리한 1분봉 수
+     */
+    private final long candleCount;
+    /**
+     * 실행 시간(ms)
+     */
+    private final long elapsedMs;
+    /**
+     * 종료 시점 상태. 이어서 실행할 때 사용
+     */
+    private final BacktestCheckpoint checkpoint;
+
+    /**
+     * @return 초당 처리한 1분봉 수
+     */
+    public double getCandlesPerSecond() {
+        return elapsedMs == 0 ? 0 : candleCount * 1000.0 / elapsedMs;
+    }
+}
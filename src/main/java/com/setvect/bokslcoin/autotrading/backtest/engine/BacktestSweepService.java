@@ -0,0 +1,194 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsConditionEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsTradeEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.repository.MabsConditionEntityRepository;
+import com.setvect.bokslcoin.autotrading.backtest.repository.MabsTradeEntityRepository;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 여러 매매 조건을 동시에 백테스트하고 결과를 저장<br>
+ * 조건마다 독립된 전략 객체로 실행하고, 캔들 저장소(읽기 전용)만 공유함<br>
+ * 결과 저장은 호출한 스레드 하나에서 묶어서 함
+ */
+@Service
+@Slf4j
+public class BacktestSweepService {
+    /**
+     * 한 번에 저장하는 조건 수
+     */
+    private static final int SAVE_BATCH_SIZE = 20;
+
+    private final CandleStore candleStore;
+    private final MabsConditionEntityRepository mabsConditionEntityRepository;
+    private final MabsTradeEntityRepository mabsTradeEntityRepository;
+
+    /**
+     * 동시 실행 스레드 수. 0 이하이면 CPU 코어 수
+     */
+    private final int parallelism;
+
+    public BacktestSweepService(CandleStore candleStore,
+                                MabsConditionEntityRepository mabsConditionEntityRepository,
+                                MabsTradeEntityRepository mabsTradeEntityRepository,
+                                @Value("${com.setvect.bokslcoin.autotrading.backtest.parallelism:0}") int parallelism) {
+        this.candleStore = candleStore;
+        this.mabsConditionEntityRepository = mabsConditionEntityRepository;
+        this.mabsTradeEntityRepository = mabsTradeEntityRepository;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * @param markets      코인
+     * @param periodType   매매 주기
+     * @param maPeriods    (단기, 장기) 이동평균 기간 목록
+     * @param upBuyRate    상승 매수률
+     * @param downSellRate 하락 매도률
+     * @param loseStopRate 손절 매도
+     * @return 코인 x 이동평균 기간 조합. 조건마다 코인 하나
+     */
+    public static List<MabsMultiProperties> grid(List<String> markets, PeriodType periodType, List<int[]> maPeriods,
+                                                 double upBuyRate, double downSellRate, double loseStopRate) {
+        List<MabsMultiProperties> result = new ArrayList<>();
+        for (int[] maPeriod : maPeriods) {
+            for (String market : markets) {
+                MabsMultiProperties properties = new MabsMultiProperties();
+                properties.setMarkets(Collections.singletonList(market));
+                properties.setMaxBuyCount(1);
+                properties.setInvestRatio(0.99);
+                properties.setPeriodType(periodType);
+                properties.setShortPeriod(maPeriod[0]);
+                properties.setLongPeriod(maPeriod[1]);
+                properties.setUpBuyRate(upBuyRate);
+                properties.setDownSellRate(downSellRate);
+                properties.setLoseStopRate(loseStopRate);
+                properties.setNewMasBuy(true);
+                result.add(properties);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 조건마다 시작 시간은 장기 이동평균을 계산할 수 있는 시점 이후로 맞춤
+     *
+     * @param grid    매매 조건. 조건마다 코인 하나
+     * @param from    시작 시간(UTC 기준)
+     * @param to      종료 시간(UTC 기준)
+     * @param cash    투자금
+     * @param comment 조건 설명
+     * @return 조건별 결과
+     */
+    public SweepResult sweep(List<MabsMultiProperties> grid, LocalDateTime from, LocalDateTime to, double cash, String comment) {
+        for (MabsMultiProperties properties : grid) {
+            if (properties.getMarkets().size() != 1) {
+                throw new IllegalArgumentException(String.format("조건별 코인은 하나만 지정: %s", properties.getMarkets()));
+            }
+        }
+        long startNanos = System.nanoTime();
+        BacktestEngine engine = new BacktestEngine(candleStore);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<SweepResult.Item> items = new ArrayList<>();
+        try {
+            CompletionService<Run> completion = new ExecutorCompletionService<>(pool);
+            for (MabsMultiProperties properties : grid) {
+                completion.submit(() -> {
+                    LocalDateTime start = engine.getStart(properties, from);
+                    return new Run(properties, engine.run(properties, start, to, cash));
+                });
+            }
+
+            List<Run> batch = new ArrayList<>();
+            for (int i = 0; i < grid.size(); i++) {
+                batch.add(completion.take().get());
+                if (batch.size() >= SAVE_BATCH_SIZE) {
+                    items.addAll(save(batch, comment));
+                    batch.clear();
+                }
+                log.info("sweep: {}/{}", i + 1, grid.size());
+            }
+            items.addAll(save(batch, comment));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("백테스트 중단", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(String.format("백테스트 실패: %s", e.getCause().getMessage()), e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        items.sort(Comparator.comparingDouble(SweepResult.Item::getYield).reversed());
+        SweepResult result = SweepResult.builder()
+                .items(items)
+                .candleCount(items.stream().mapToLong(SweepResult.Item::getCandleCount).sum())
+                .elapsedMs((System.nanoTime() - startNanos) / 1_000_000)
+                .parallelism(parallelism)
+                .build();
+        log.info("sweep 완료: 조건 {}건, 1분봉 {}건, {}ms, 초당 {}건", items.size(),
+                String.format("%,d", result.getCandleCount()), String.format("%,d", result.getElapsedMs()),
+                String.format("%,.0f", result.getCandlesPerSecond()));
+        return result;
+    }
+
+    private List<SweepResult.Item> save(List<Run> batch, String comment) {
+        List<MabsConditionEntity> conditions = new ArrayList<>(batch.size());
+        List<MabsTradeEntity> trades = new ArrayList<>();
+        for (Run run : batch) {
+            MabsMultiProperties properties = run.properties;
+            MabsConditionEntity condition = MabsConditionEntity.builder()
+                    .market(properties.getMarkets().get(0))
+                    .tradePeriod(properties.getPeriodType())
+                    .upBuyRate(properties.getUpBuyRate())
+                    .downSellRate(properties.getDownSellRate())
+                    .shortPeriod(properties.getShortPeriod())
+                    .longPeriod(properties.getLongPeriod())
+                    .loseStopRate(properties.getLoseStopRate())
+                    .comment(comment)
+                    .build();
+            conditions.add(condition);
+            for (BacktestTrade trade : run.result.getTrades()) {
+                trades.add(trade.toEntity(condition));
+            }
+        }
+        mabsConditionEntityRepository.saveAll(conditions);
+        mabsTradeEntityRepository.saveAll(trades);
+
+        List<SweepResult.Item> items = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Run run = batch.get(i);
+            items.add(SweepResult.Item.builder()
+                    .mabsConditionSeq(conditions.get(i).getMabsConditionSeq())
+                    .market(run.properties.getMarkets().get(0))
+                    .shortPeriod(run.properties.getShortPeriod())
+                    .longPeriod(run.properties.getLongPeriod())
+                    .yield(run.result.getYield())
+                    .tradeCount(run.result.getTrades().size())
+                    .candleCount(run.result.getCandleCount())
+                    .elapsedMs(run.result.getElapsedMs())
+                    .build());
+        }
+        return items;
+    }
+
+    @RequiredArgsConstructor
+    private static class Run {
+        private final MabsMultiProperties properties;
+        private final BacktestResult result;
+    }
+}
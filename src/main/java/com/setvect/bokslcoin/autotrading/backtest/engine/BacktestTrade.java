@@ -0,0 +1,88 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.AskReason;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsConditionEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsTradeEntity;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 백테스트 매매 건별 정보
+ */
+@Getter
+@Builder
+@ToString
+public class BacktestTrade {
+    private final String market;
+    /**
+     * 매수/매도
+     */
+    private final TradeType tradeType;
+    /**
+     * 거래시간(KST 기준)
+     */
+    private final LocalDateTime tradeTimeKst;
+    /**
+     * 거래 단가
+     */
+    private final double unitPrice;
+    /**
+     * 거래 금액
+     */
+    private final double amount;
+    /**
+     * 매도시 수익률, 매수는 0
+     */
+    private final double yield;
+    /**
+     * 매수 이후 최고 수익률, 매수는 0
+     */
+    private final double highYield;
+    /**
+     * 매수 이후 최저 수익률, 매수는 0
+     */
+    private final double lowYield;
+    /**
+     * 단기 이동평균
+     */
+    private final double maShort;
+    /**
+     * 장기 이동평균
+     */
+    private final double maLong;
+    /**
+     * 매도 이유
+     */
+    private final AskReason askReason;
+    /**
+     * 거래 후 현금
+     */
+    private final double cash;
+    /**
+     * 거래 후 현금 + 보유 코인 평가 금액
+     */
+    private final double totalAsset;
+
+    /**
+     * @param condition 매매 조건
+     * @return 저장용 매매 내역
+     */
+    public MabsTradeEntity toEntity(MabsConditionEntity condition) {
+        return MabsTradeEntity.builder()
+                .mabsConditionEntity(condition)
+                .tradeType(tradeType)
+                .highYield(highYield)
+                .lowYield(lowYield)
+                .maShort(maShort)
+                .maLong(maLong)
+                .yield(yield)
+                .unitPrice(unitPrice)
+                .sellReason(tradeType == TradeType.SELL ? askReason : null)
+                .tradeTimeKst(tradeTimeKst)
+                .build();
+    }
+}
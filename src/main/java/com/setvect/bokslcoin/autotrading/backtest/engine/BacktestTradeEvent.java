@@ -0,0 +1,137 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.AskReason;
+import com.setvect.bokslcoin.autotrading.algorithm.TradeEvent;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 백테스트 매매 이벤트를 받아 매매 내역을 만듦
+ */
+class BacktestTradeEvent implements TradeEvent {
+    private final SimulatedExchange exchange;
+    private final Map<String, MarketState> stateByMarket = new HashMap<>();
+    private final List<BacktestTrade> trades = new ArrayList<>();
+
+    BacktestTradeEvent(SimulatedExchange exchange) {
+        this.exchange = exchange;
+    }
+
+    List<BacktestTrade> getTrades() {
+        return trades;
+    }
+
+    /**
+     * 이어서 실행할 때 보유 중인 코인의 매수 가격을 되돌림
+     *
+     * @param market   코인
+     * @param bidPrice 매수 가격
+     */
+    void restorePosition(String market, double bidPrice) {
+        getState(market).bidPrice = bidPrice;
+    }
+
+    @Override
+    public void newPeriod(TradeResult candle) {
+        // nothing
+    }
+
+    @Override
+    public void check(Candle candle) {
+        // nothing
+    }
+
+    @Override
+    public void setMaPrice(double ma) {
+        // nothing
+    }
+
+    @Override
+    public void check(Candle candle, double maShort, double maLong) {
+        MarketState state = getState(candle.getMarket());
+        state.candle = candle;
+        state.maShort = maShort;
+        state.maLong = maLong;
+    }
+
+    @Override
+    public void check(Candle candle, double currentMa, double maxMa, double minMa) {
+        // nothing
+    }
+
+    @Override
+    public void bid(String market, double tradePrice, double bidPrice) {
+        MarketState state = getState(market);
+        state.bidPrice = tradePrice;
+        state.highYield = 0;
+        state.lowYield = 0;
+        trades.add(BacktestTrade.builder()
+                .market(market)
+                .tradeType(TradeType.BUY)
+                .tradeTimeKst(state.candle.getCandleDateTimeKst())
+                .unitPrice(tradePrice)
+                .amount(bidPrice)
+                .maShort(state.maShort)
+                .maLong(state.maLong)
+                .cash(exchange.getCash())
+                .totalAsset(exchange.getTotalAsset())
+                .build());
+    }
+
+    @Override
+    public void ask(String market, double balance, double tradePrice, AskReason reason) {
+        MarketState state = getState(market);
+        trades.add(BacktestTrade.builder()
+                .market(market)
+                .tradeType(TradeType.SELL)
+                .tradeTimeKst(state.candle.getCandleDateTimeKst())
+                .unitPrice(tradePrice)
+                .amount(balance * tradePrice)
+                .yield(tradePrice / state.bidPrice - 1)
+                .highYield(state.highYield)
+                .lowYield(state.lowYield)
+                .maShort(state.maShort)
+                .maLong(state.maLong)
+                .askReason(reason)
+                .cash(exchange.getCash())
+                .totalAsset(exchange.getTotalAsset())
+                .build());
+    }
+
+    @Override
+    public void highYield(String market, double highYield) {
+        getState(market).highYield = highYield;
+    }
+
+    @Override
+    public void lowYield(String market, double lowYield) {
+        getState(market).lowYield = lowYield;
+    }
+
+    @Override
+    public void registerTargetPrice(String market, double targetPrice) {
+        // nothing
+    }
+
+    private MarketState getState(String market) {
+        return stateByMarket.computeIfAbsent(market, k -> new MarketState());
+    }
+
+    /**
+     * 코인별 마지막 시세, 매수 정보
+     */
+    private static class MarketState {
+        private Candle candle;
+        private double maShort;
+        private double maLong;
+        private double bidPrice;
+        private double highYield;
+        private double lowYield;
+    }
+}
@@ -0,0 +1,126 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsCheckpointEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsConditionEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsTradeEntity;
+import com.setvect.bokslcoin.autotrading.backtest.repository.MabsCheckpointEntityRepository;
+import com.setvect.bokslcoin.autotrading.backtest.repository.MabsConditionEntityRepository;
+import com.setvect.bokslcoin.autotrading.backtest.repository.MabsTradeEntityRepository;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 매매 조건별 증분 백테스트<br>
+ * 조건마다 마지막 상태(XA_MABS_CHECKPOINT)를 저장하고, 다음 실행은 그 이후 1분봉만 처리함<br>
+ * 보유 중인 코인도 상태에 포함되기 때문에 마지막 매수를 지우고 다시 계산할 필요 없음
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MabsIncrementalService {
+    /**
+     * 처음 실행할 때 투자금
+     */
+    public static final double CASH = 10_000_000;
+
+    private final CandleStore candleStore;
+    private final MabsConditionEntityRepository mabsConditionEntityRepository;
+    private final MabsTradeEntityRepository mabsTradeEntityRepository;
+    private final MabsCheckpointEntityRepository mabsCheckpointEntityRepository;
+
+    /**
+     * 저장한 상태 이후 1분봉만 백테스트하고 매매 내역, 상태를 저장<br>
+     * 상태가 없으면 장기 이동평균을 계산할 수 있는 시점부터 실행. 상태 없이 만든 매매 내역이 있으면 마지막 매도 이후부터 실행
+     *
+     * @param mabsConditionSeq 매매 조건 일련번호
+     * @param to               종료 시간(UTC 기준), 포함
+     * @return 이번에 실행한 구간의 결과
+     */
+    @Transactional
+    public BacktestResult run(int mabsConditionSeq, LocalDateTime to) {
+        MabsConditionEntity condition = mabsConditionEntityRepository.findById(mabsConditionSeq)
+                .orElseThrow(() -> new IllegalArgumentException(String.format("매매 조건 없음: %d", mabsConditionSeq)));
+        MabsMultiProperties properties = toProperties(condition);
+        BacktestEngine engine = new BacktestEngine(candleStore);
+
+        Optional<MabsCheckpointEntity> saved = mabsCheckpointEntityRepository.findById(mabsConditionSeq);
+        BacktestResult result;
+        if (saved.isPresent()) {
+            BacktestCheckpoint checkpoint = BacktestCheckpoint.fromBytes(saved.get().getState());
+            result = engine.resume(properties, checkpoint, to);
+        } else {
+            LocalDateTime from = engine.getStart(properties, getLegacyStart(condition));
+            result = engine.run(properties, from, to, CASH);
+        }
+
+        List<MabsTradeEntity> trades = result.getTrades().stream()
+                .map(trade -> trade.toEntity(condition))
+                .collect(Collectors.toList());
+        mabsTradeEntityRepository.saveAll(trades);
+
+        BacktestCheckpoint checkpoint = result.getCheckpoint();
+        LocalDateTime lastCandleUtc = CandleStore.toLocalDateTime(checkpoint.getTime());
+        mabsCheckpointEntityRepository.save(MabsCheckpointEntity.builder()
+                .mabsConditionSeq(mabsConditionSeq)
+                .lastCandleUtc(lastCandleUtc)
+                .totalAsset(checkpoint.getTotalAsset())
+                .state(checkpoint.toBytes())
+                .updateDate(LocalDateTime.now())
+                .build());
+
+        log.info("[{}] 증분 백테스트. 조건: {}, 구간: {} ~ {}, 1분봉: {}건, 매매: {}건, 평가 금액: {}, {}ms",
+                condition.getMarket(), mabsConditionSeq, result.getFrom(), lastCandleUtc,
+                String.format("%,d", result.getCandleCount()), trades.size(),
+                String.format("%,.0f", checkpoint.getTotalAsset()), String.format("%,d", result.getElapsedMs()));
+        return result;
+    }
+
+    /**
+     * 상태 없이 만든 매매 내역은 마지막 매수를 지우고 마지막 매도 다음 분부터 다시 실행
+     *
+     * @param condition 매매 조건
+     * @return 시작 시간(UTC 기준). 매매 내역이 없으면 {@link LocalDateTime#MIN}
+     */
+    private LocalDateTime getLegacyStart(MabsConditionEntity condition) {
+        List<MabsTradeEntity> tradeList = mabsTradeEntityRepository.findByCondition(condition.getMabsConditionSeq());
+        if (tradeList.isEmpty()) {
+            return LocalDateTime.MIN;
+        }
+        MabsTradeEntity lastTrade = tradeList.get(tradeList.size() - 1);
+        if (lastTrade.getTradeType() == TradeType.BUY) {
+            log.info("[{}] 마지막 매수 삭제: {} {}", condition.getMarket(), lastTrade.getTradeSeq(), lastTrade.getTradeTimeKst());
+            mabsTradeEntityRepository.delete(lastTrade);
+            tradeList = tradeList.subList(0, tradeList.size() - 1);
+        }
+        if (tradeList.isEmpty()) {
+            return LocalDateTime.MIN;
+        }
+        return tradeList.get(tradeList.size() - 1).getTradeTimeKst().minusHours(9).plusMinutes(1);
+    }
+
+    private static MabsMultiProperties toProperties(MabsConditionEntity condition) {
+        MabsMultiProperties properties = new MabsMultiProperties();
+        properties.setMarkets(Collections.singletonList(condition.getMarket()));
+        properties.setMaxBuyCount(1);
+        properties.setInvestRatio(0.99);
+        properties.setUpBuyRate(condition.getUpBuyRate());
+        properties.setLoseStopRate(condition.getLoseStopRate());
+        properties.setDownSellRate(condition.getDownSellRate());
+        properties.setPeriodType(condition.getTradePeriod());
+        properties.setShortPeriod(condition.getShortPeriod());
+        properties.setLongPeriod(condition.getLongPeriod());
+        properties.setNewMasBuy(true);
+        return properties;
+    }
+}
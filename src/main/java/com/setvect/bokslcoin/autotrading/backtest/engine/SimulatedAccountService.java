@@ -0,0 +1,30 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.exchange.AccountService;
+import com.setvect.bokslcoin.autotrading.model.Account;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 백테스트용 계좌 조회
+ */
+class SimulatedAccountService extends AccountService {
+    private final SimulatedExchange exchange;
+
+    SimulatedAccountService(SimulatedExchange exchange) {
+        super(null, null);
+        this.exchange = exchange;
+    }
+
+    @Override
+    public List<Account> getMyAccount() {
+        return new ArrayList<>(exchange.getAccounts().values());
+    }
+
+    @Override
+    public Map<String, Account> getMyAccountBalance() {
+        return exchange.getAccounts();
+    }
+}
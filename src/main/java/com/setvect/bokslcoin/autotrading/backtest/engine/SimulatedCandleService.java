@@ -0,0 +1,107 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleColumnFile;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import com.setvect.bokslcoin.autotrading.model.CandleDay;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.quotation.CandleService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 백테스트용 캔들 조회<br>
+ * 캔들 저장소에서 현재 시뮬레이션 시각 이전 캔들을 반환. 진행 중인 주기의 캔들은 1분봉을 합쳐서 만듦
+ */
+class SimulatedCandleService extends CandleService {
+    private final CandleStore candleStore;
+
+    /**
+     * 현재 시뮬레이션 시각(UTC, epoch millisecond)
+     */
+    private long currentTime;
+
+    SimulatedCandleService(CandleStore candleStore) {
+        super(null);
+        this.candleStore = candleStore;
+    }
+
+    void setCurrentTime(long currentTime) {
+        this.currentTime = currentTime;
+    }
+
+    @Override
+    public List<CandleMinute> getMinute(int unit, String market, int count, LocalDateTime to) {
+        return getCandles(market, getPeriodType(unit), count, to, CandleMinute::new);
+    }
+
+    @Override
+    public List<CandleDay> getDay(String market, int count, LocalDateTime to) {
+        return getCandles(market, PeriodType.PERIOD_1440, count, to, CandleDay::new);
+    }
+
+    /**
+     * @param market     코인
+     * @param periodType 주기
+     * @param count      캔들 개수
+     * @param to         마지막 캔들 시각(exclusive). null이면 현재 시뮬레이션 시각 기준
+     * @param factory    캔들 객체 생성
+     * @return 캔들(최근 순서대로)
+     */
+    private <T extends Candle> List<T> getCandles(String market, PeriodType periodType, int count, LocalDateTime to, Supplier<T> factory) {
+        List<T> result = new ArrayList<>(count);
+        CandleColumnFile periodFile = candleStore.open(market, periodType);
+        long end;
+        if (to == null) {
+            CandleColumnFile minute = candleStore.open(market, PeriodType.PERIOD_1);
+            end = CandleStore.toEpochMilli(periodType.fitDateTime(CandleStore.toLocalDateTime(currentTime)));
+            // 진행 중인 주기: [주기 시작, 현재 시각]의 1분봉을 합침
+            int from = minute.lowerBound(end);
+            int last = minute.lowerBound(currentTime + 1) - 1;
+            if (from <= last) {
+                T candle = factory.get();
+                double high = -Double.MAX_VALUE;
+                double low = Double.MAX_VALUE;
+                for (int i = from; i <= last; i++) {
+                    high = Math.max(high, minute.getHigh(i));
+                    low = Math.min(low, minute.getLow(i));
+                }
+                setValue(candle, market, end, minute.getOpen(from), high, low, minute.getClose(last));
+                result.add(candle);
+            }
+        } else {
+            end = CandleStore.toEpochMilli(to);
+        }
+
+        for (int i = periodFile.lowerBound(end) - 1; i >= 0 && result.size() < count; i--) {
+            T candle = factory.get();
+            setValue(candle, market, periodFile.getTime(i), periodFile.getOpen(i), periodFile.getHigh(i), periodFile.getLow(i), periodFile.getClose(i));
+            result.add(candle);
+        }
+        return result;
+    }
+
+    private static void setValue(Candle candle, String market, long time, double open, double high, double low, double close) {
+        LocalDateTime utc = CandleStore.toLocalDateTime(time);
+        candle.setMarket(market);
+        candle.setCandleDateTimeUtc(utc);
+        candle.setCandleDateTimeKst(utc.plusHours(9));
+        candle.setOpeningPrice(open);
+        candle.setHighPrice(high);
+        candle.setLowPrice(low);
+        candle.setTradePrice(close);
+    }
+
+    private static PeriodType getPeriodType(int unit) {
+        for (PeriodType periodType : PeriodType.values()) {
+            if (periodType.getDiffMinutes() == unit) {
+                return periodType;
+            }
+        }
+        throw new IllegalArgumentException(String.format("지원하지 않는 분 단위: %d", unit));
+    }
+}
@@ -0,0 +1,504 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.model.Account;
+import com.setvect.bokslcoin.autotrading.model.OrderChance;
+import com.setvect.bokslcoin.autotrading.model.OrderHistory;
+import com.setvect.bokslcoin.autotrading.model.OrderResult;
+import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 백테스트용 거래소<br>
+ * 지정가 매수는 체결가가 주문 가격 이하, 지정가 매도는 체결가가 주문 가격 이상이면 현재 체결가로 전량 체결되고,
+ * 그렇지 않으면 미체결 주문으로 남아 조건을 만족하는 체결({@link #setCurrentPrice(String, double)})에서 체결됨<br>
+ * 시장가 매수는 다음 체결가로 체결, 시장가 매도는 현재 체결가로 바로 체결<br>
+ * 미체결 주문은 주문 금액(매수), 주문 수량(매도)을 묶어 놓고, 취소하면 돌려줌
+ */
+class SimulatedExchange {
+    private double cash;
+    /**
+     * 미체결 매수 주문에 묶인 금액
+     */
+    private double lockedCash;
+    /**
+     * (코인: 보유 수량). 미체결 매도 주문에 묶인 수량 제외
+     */
+    private final Map<String, Double> balance = new HashMap<>();
+    /**
+     * (코인: 미체결 매도 주문에 묶인 수량)
+     */
+    private final Map<String, Double> lockedBalance = new HashMap<>();
+    /**
+     * (코인: 매수 평균가)
+     */
+    private final Map<String, Double> avgBuyPrice = new HashMap<>();
+    /**
+     * (코인: 현재 체결가)
+     */
+    private final Map<String, Double> currentPrice = new HashMap<>();
+    /**
+     * (주문 아이디: 미체결 주문), 주문 순서
+     */
+    private final Map<String, PendingOrder> pendingOrders = new LinkedHashMap<>();
+
+    /**
+     * 마지막 {@link #getAccounts()} 호출 이후 계좌 변경 여부
+     */
+    private boolean changed;
+    private int orderSeq;
+
+    SimulatedExchange(double cash) {
+        this.cash = cash;
+    }
+
+    /**
+     * 체결가를 바꾸고, 해당 코인의 미체결 주문 중 조건을 만족하는 주문을 체결
+     *
+     * @param market 코인
+     * @param price  체결가
+     */
+    void setCurrentPrice(String market, double price) {
+        currentPrice.put(market, price);
+        if (pendingOrders.isEmpty()) {
+            return;
+        }
+        Iterator<PendingOrder> it = pendingOrders.values().iterator();
+        while (it.hasNext()) {
+            PendingOrder order = it.next();
+            if (!order.market.equals(market) || !order.isFillable(price)) {
+                continue;
+            }
+            it.remove();
+            if (order.side == OrderResult.Side.bid) {
+                lockedCash -= order.locked;
+                cash += order.locked;
+                // 시장가 매수는 주문 금액만큼 체결가로 매수
+                double volume = order.ordType == OrderResult.OrdType.price ? order.locked / price : order.volume;
+                fillBid(market, volume, price);
+            } else {
+                addLockedBalance(market, -order.volume);
+                fillAsk(market, order.volume, price);
+            }
+        }
+    }
+
+    /**
+     * 지정가 매수<br>
+     * 호가 단위 보정으로 주문 금액이 보유 현금보다 크면 보유 현금만큼만 주문
+     *
+     * @param market     코인
+     * @param volume     주문량
+     * @param limitPrice 주문 가격
+     * @return 주문 결과. 바로 체결되지 않으면 대기 상태
+     */
+    OrderResult bid(String market, double volume, double limitPrice) {
+        if (volume * limitPrice > cash) {
+            volume = cash / limitPrice;
+        }
+        double price = getCurrentPrice(market);
+        if (price <= limitPrice) {
+            fillBid(market, volume, price);
+            return orderResult(market, OrderResult.Side.bid, OrderResult.OrdType.limit, volume, price);
+        }
+        return addPending(market, OrderResult.Side.bid, OrderResult.OrdType.limit, volume, limitPrice, volume * limitPrice);
+    }
+
+    /**
+     * 시장가 매수. 다음 체결가로 주문 금액만큼 매수
+     *
+     * @param market 코인
+     * @param amount 주문 금액
+     * @return 주문 결과. 항상 대기 상태
+     */
+    OrderResult bidByMarket(String market, double amount) {
+        if (amount > cash) {
+            throw new IllegalArgumentException(String.format("[%s] 주문 가능 금액 부족. 주문 금액: %f, 보유 금액: %f", market, amount, cash));
+        }
+        return addPending(market, OrderResult.Side.bid, OrderResult.OrdType.price, 0, amount, amount);
+    }
+
+    /**
+     * 지정가 매도
+     *
+     * @param market     코인
+     * @param volume     주문량
+     * @param limitPrice 주문 가격
+     * @return 주문 결과. 바로 체결되지 않으면 대기 상태
+     */
+    OrderResult ask(String market, double volume, double limitPrice) {
+        double price = getCurrentPrice(market);
+        subtractBalance(market, volume);
+        if (price >= limitPrice) {
+            fillAsk(market, volume, price);
+            return orderResult(market, OrderResult.Side.ask, OrderResult.OrdType.limit, volume, price);
+        }
+        addLockedBalance(market, volume);
+        return addPending(market, OrderResult.Side.ask, OrderResult.OrdType.limit, volume, limitPrice, volume);
+    }
+
+    /**
+     * 시장가 매도. 현재 체결가로 바로 체결
+     *
+     * @param market 코인
+     * @param volume 주문량
+     * @return 주문 결과
+     */
+    OrderResult askByMarket(String market, double volume) {
+        double price = getCurrentPrice(market);
+        subtractBalance(market, volume);
+        fillAsk(market, volume, price);
+        return orderResult(market, OrderResult.Side.ask, OrderResult.OrdType.market, volume, price);
+    }
+
+    /**
+     * 미체결 주문을 취소하고 묶어 놓은 금액, 수량을 돌려줌
+     *
+     * @param uuid 주문 아이디
+     * @return 취소한 주문
+     */
+    OrderHistory cancel(String uuid) {
+        PendingOrder order = pendingOrders.remove(uuid);
+        if (order == null) {
+            throw new IllegalArgumentException(String.format("미체결 주문 없음: %s", uuid));
+        }
+        if (order.side == OrderResult.Side.bid) {
+            lockedCash -= order.locked;
+            cash += order.locked;
+        } else {
+            addLockedBalance(order.market, -order.volume);
+            balance.merge(order.market, order.volume, Double::sum);
+        }
+        changed = true;
+        return order.toHistory(OrderResult.State.cancel);
+    }
+
+    /**
+     * @return 미체결 주문, 주문 순서
+     */
+    List<OrderHistory> getPendingOrders() {
+        List<OrderHistory> result = new ArrayList<>(pendingOrders.size());
+        for (PendingOrder order : pendingOrders.values()) {
+            result.add(order.toHistory(OrderResult.State.wait));
+        }
+        return result;
+    }
+
+    /**
+     * @param market 코인
+     * @return 주문 가능 정보. 수수료는 없음
+     */
+    OrderChance getChance(String market) {
+        String[] tokens = market.split("-");
+        Double avgPrice = avgBuyPrice.get(market);
+        return OrderChance.builder()
+                .bidFee("0")
+                .askFee("0")
+                .market(OrderChance.Market.builder()
+                        .id(market)
+                        .name(market)
+                        .orderTypes(Arrays.asList(OrderResult.OrdType.values()))
+                        .orderSides(Arrays.asList(OrderResult.Side.values()))
+                        .state("active")
+                        .build())
+                .bidAccount(OrderChance.BidAccount.builder()
+                        .currency(tokens[0])
+                        .balance(ApplicationUtil.toNumberString(cash))
+                        .locked(ApplicationUtil.toNumberString(lockedCash))
+                        .avgBuyPrice("0")
+                        .avgBuyPriceModified(false)
+                        .unitCurrency(tokens[0])
+                        .build())
+                .askAccount(OrderChance.AskAccount.builder()
+                        .currency(tokens[1])
+                        .balance(ApplicationUtil.toNumberString(balance.getOrDefault(market, 0.0)))
+                        .locked(ApplicationUtil.toNumberString(lockedBalance.getOrDefault(market, 0.0)))
+                        .avgBuyPrice(ApplicationUtil.toNumberString(avgPrice == null ? 0 : avgPrice))
+                        .avgBuyPriceModified(false)
+                        .unitCurrency(tokens[0])
+                        .build())
+                .build();
+    }
+
+    /**
+     * @return 잔고가 있는 계좌. (코인코드: 계좌)
+     */
+    Map<String, Account> getAccounts() {
+        changed = false;
+        Map<String, Account> accounts = new HashMap<>();
+        Account krw = new Account();
+        krw.setCurrency("KRW");
+        krw.setUnitCurrency("KRW");
+        krw.setBalance(ApplicationUtil.toNumberString(cash));
+        krw.setLocked(ApplicationUtil.toNumberString(lockedCash));
+        accounts.put("KRW", krw);
+
+        avgBuyPrice.forEach((market, price) -> {
+            String[] tokens = market.split("-");
+            Account account = new Account();
+            account.setUnitCurrency(tokens[0]);
+            account.setCurrency(tokens[1]);
+            account.setBalance(ApplicationUtil.toNumberString(balance.getOrDefault(market, 0.0)));
+            account.setLocked(ApplicationUtil.toNumberString(lockedBalance.getOrDefault(market, 0.0)));
+            account.setAvgBuyPrice(ApplicationUtil.toNumberString(price));
+            accounts.put(market, account);
+        });
+        return accounts;
+    }
+
+    /**
+     * 저장한 상태로 되돌림
+     *
+     * @param checkpoint 백테스트 상태
+     */
+    void restore(BacktestCheckpoint checkpoint) {
+        cash = checkpoint.getCash();
+        lockedCash = 0;
+        balance.clear();
+        lockedBalance.clear();
+        avgBuyPrice.clear();
+        pendingOrders.clear();
+        for (BacktestCheckpoint.Position position : checkpoint.getPositions()) {
+            balance.put(position.getMarket(), position.getBalance());
+            avgBuyPrice.put(position.getMarket(), position.getAvgBuyPrice());
+        }
+        // 저장한 현금, 보유 수량에 포함된 묶인 금액, 수량을 다시 묶음
+        for (BacktestCheckpoint.Order saved : checkpoint.getOrders()) {
+            PendingOrder order = new PendingOrder(saved.getUuid(), saved.getMarket(), saved.getSide(), saved.getOrdType(),
+                    saved.getVolume(), saved.getPrice(), saved.getLocked());
+            pendingOrders.put(order.uuid, order);
+            if (order.side == OrderResult.Side.bid) {
+                cash -= order.locked;
+                lockedCash += order.locked;
+            } else {
+                subtractBalance(order.market, order.volume);
+                addLockedBalance(order.market, order.volume);
+            }
+        }
+        orderSeq = checkpoint.getOrderSeq();
+        currentPrice.clear();
+        currentPrice.putAll(checkpoint.getCurrentPrice());
+        changed = true;
+    }
+
+    /**
+     * 미체결 매도 주문에 묶인 수량도 보유 수량에 포함
+     *
+     * @return 보유 코인
+     */
+    List<BacktestCheckpoint.Position> getPositions() {
+        List<BacktestCheckpoint.Position> positions = new ArrayList<>(avgBuyPrice.size());
+        avgBuyPrice.forEach((market, price) -> positions.add(BacktestCheckpoint.Position.builder()
+                .market(market)
+                .balance(balance.getOrDefault(market, 0.0) + lockedBalance.getOrDefault(market, 0.0))
+                .avgBuyPrice(price)
+                .build()));
+        return positions;
+    }
+
+    /**
+     * @return 저장용 미체결 주문, 주문 순서
+     */
+    List<BacktestCheckpoint.Order> getOrders() {
+        List<BacktestCheckpoint.Order> orders = new ArrayList<>(pendingOrders.size());
+        for (PendingOrder order : pendingOrders.values()) {
+            orders.add(BacktestCheckpoint.Order.builder()
+                    .uuid(order.uuid)
+                    .market(order.market)
+                    .side(order.side)
+                    .ordType(order.ordType)
+                    .volume(order.volume)
+                    .price(order.price)
+                    .locked(order.locked)
+                    .build());
+        }
+        return orders;
+    }
+
+    int getOrderSeq() {
+        return orderSeq;
+    }
+
+    /**
+     * @return (코인: 현재 체결가)
+     */
+    Map<String, Double> getCurrentPrices() {
+        return new HashMap<>(currentPrice);
+    }
+
+    boolean isChanged() {
+        return changed;
+    }
+
+    /**
+     * @return 현금. 미체결 매수 주문에 묶인 금액 포함
+     */
+    double getCash() {
+        return cash + lockedCash;
+    }
+
+    /**
+     * @return 현금 + 보유 코인 평가 금액(현재 체결가 기준)
+     */
+    double getTotalAsset() {
+        double total = cash + lockedCash;
+        for (Map.Entry<String, Double> e : avgBuyPrice.entrySet()) {
+            String market = e.getKey();
+            total += (balance.getOrDefault(market, 0.0) + lockedBalance.getOrDefault(market, 0.0)) * getCurrentPrice(market);
+        }
+        return total;
+    }
+
+    private void fillBid(String market, double volume, double price) {
+        double amount = volume * price;
+        double before = balance.getOrDefault(market, 0.0) + lockedBalance.getOrDefault(market, 0.0);
+        double after = before + volume;
+        avgBuyPrice.put(market, (avgBuyPrice.getOrDefault(market, 0.0) * before + amount) / after);
+        balance.merge(market, volume, Double::sum);
+        cash -= amount;
+        changed = true;
+    }
+
+    /**
+     * 매도 수량은 보유 수량 또는 묶인 수량에서 이미 뺀 상태
+     */
+    private void fillAsk(String market, double volume, double price) {
+        if (!balance.containsKey(market) && !lockedBalance.containsKey(market)) {
+            avgBuyPrice.remove(market);
+        }
+        cash += volume * price;
+        changed = true;
+    }
+
+    private void subtractBalance(String market, double volume) {
+        double remain = balance.getOrDefault(market, 0.0) - volume;
+        if (remain < -1e-9) {
+            throw new IllegalArgumentException(String.format("[%s] 보유 수량 부족. 주문량: %f, 보유량: %f", market, volume, remain + volume));
+        }
+        if (remain <= 1e-9) {
+            balance.remove(market);
+        } else {
+            balance.put(market, remain);
+        }
+    }
+
+    private void addLockedBalance(String market, double volume) {
+        double locked = lockedBalance.getOrDefault(market, 0.0) + volume;
+        if (locked <= 1e-9) {
+            lockedBalance.remove(market);
+        } else {
+            lockedBalance.put(market, locked);
+        }
+    }
+
+    private double getCurrentPrice(String market) {
+        Double price = currentPrice.get(market);
+        if (price == null) {
+            throw new IllegalStateException(String.format("[%s] 체결 가격 없음", market));
+        }
+        return price;
+    }
+
+    private OrderResult addPending(String market, OrderResult.Side side, OrderResult.OrdType ordType, double volume, double price, double locked) {
+        if (side == OrderResult.Side.bid) {
+            cash -= locked;
+            lockedCash += locked;
+        }
+        PendingOrder order = new PendingOrder("backtest-" + (++orderSeq), market, side, ordType, volume, price, locked);
+        pendingOrders.put(order.uuid, order);
+        changed = true;
+        String volumeText = ApplicationUtil.toNumberString(volume);
+        return OrderResult.builder()
+                .uuid(order.uuid)
+                .side(side)
+                .ordType(ordType)
+                .price(ApplicationUtil.toNumberString(price))
+                .state(OrderResult.State.wait.name())
+                .market(market)
+                .volume(volumeText)
+                .remainingVolume(volumeText)
+                .locked(ApplicationUtil.toNumberString(locked))
+                .executedVolume("0")
+                .tradeCount(0)
+                .build();
+    }
+
+    private OrderResult orderResult(String market, OrderResult.Side side, OrderResult.OrdType ordType, double volume, double price) {
+        String volumeText = ApplicationUtil.toNumberString(volume);
+        return OrderResult.builder()
+                .uuid("backtest-" + (++orderSeq))
+                .side(side)
+                .ordType(ordType)
+                .price(ApplicationUtil.toNumberString(price))
+                .avgPrice(ApplicationUtil.toNumberString(price))
+                .state(OrderResult.State.done.name())
+                .market(market)
+                .volume(volumeText)
+                .remainingVolume("0")
+                .executedVolume(volumeText)
+                .tradeCount(1)
+                .build();
+    }
+
+    /**
+     * 미체결 주문
+     */
+    private static class PendingOrder {
+        private final String uuid;
+        private final String market;
+        private final OrderResult.Side side;
+        private final OrderResult.OrdType ordType;
+        /**
+         * 주문량. 시장가 매수는 0
+         */
+        private final double volume;
+        /**
+         * 주문 가격. 시장가 매수는 주문 금액
+         */
+        private final double price;
+        /**
+         * 묶어 놓은 금액(매수), 수량(매도)
+         */
+        private final double locked;
+
+        PendingOrder(String uuid, String market, OrderResult.Side side, OrderResult.OrdType ordType, double volume, double price, double locked) {
+            this.uuid = uuid;
+            this.market = market;
+            this.side = side;
+            this.ordType = ordType;
+            this.volume = volume;
+            this.price = price;
+            this.locked = locked;
+        }
+
+        boolean isFillable(double tradePrice) {
+            if (ordType == OrderResult.OrdType.price) {
+                return true;
+            }
+            return side == OrderResult.Side.bid ? tradePrice <= price : tradePrice >= price;
+        }
+
+        OrderHistory toHistory(OrderResult.State state) {
+            String volumeText = ApplicationUtil.toNumberString(volume);
+            return OrderHistory.builder()
+                    .uuid(uuid)
+                    .side(side)
+                    .ordType(ordType)
+                    .price(ApplicationUtil.toNumberString(price))
+                    .state(state)
+                    .market(market)
+                    .volume(volumeText)
+                    .remainingVolume(volumeText)
+                    .locked(ApplicationUtil.toNumberString(locked))
+                    .executedVolume("0")
+                    .tradeCount(0)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.exchange.OrderService;
+import com.setvect.bokslcoin.autotrading.model.OrderChance;
+import com.setvect.bokslcoin.autotrading.model.OrderHistory;
+import com.setvect.bokslcoin.autotrading.model.OrderResult;
+
+import java.util.List;
+
+/**
+ * 백테스트용 주문<br>
+ * 체결 조건은 {@link SimulatedExchange} 참고
+ */
+class SimulatedOrderService extends OrderService {
+    private final SimulatedExchange exchange;
+
+    SimulatedOrderService(SimulatedExchange exchange) {
+        super(null, null, null);
+        this.exchange = exchange;
+    }
+
+    @Override
+    public OrderChance getChange(String market) {
+        return exchange.getChance(market);
+    }
+
+    @Override
+    public List<OrderHistory> getHistory(int page, int limit) {
+        List<OrderHistory> orders = exchange.getPendingOrders();
+        int from = Math.min((page - 1) * limit, orders.size());
+        return orders.subList(from, Math.min(from + limit, orders.size()));
+    }
+
+    @Override
+    public OrderHistory cancelOrder(String uuid) {
+        return exchange.cancel(uuid);
+    }
+
+    @Override
+    public OrderResult callOrderBid(String market, String volume, String price) {
+        return exchange.bid(market, Double.parseDouble(volume), Double.parseDouble(price));
+    }
+
+    @Override
+    public OrderResult callOrderAsk(String market, String volume, String price) {
+        return exchange.ask(market, Double.parseDouble(volume), Double.parseDouble(price));
+    }
+
+    @Override
+    public OrderResult callOrderBidByMarket(String market, String price) {
+        return exchange.bidByMarket(market, Double.parseDouble(price));
+    }
+
+    @Override
+    public OrderResult callOrderAskByMarket(String market, String volume) {
+        return exchange.askByMarket(market, Double.parseDouble(volume));
+    }
+}
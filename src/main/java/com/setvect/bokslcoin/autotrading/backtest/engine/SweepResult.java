@@ -0,0 +1,59 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 여러 조건 백테스트 결과
+ */
+@Getter
+@Builder
+@ToString(exclude = "items")
+public class SweepResult {
+    /**
+     * 조건별 결과(수익률 내림차순)
+     */
+    private final List<Item> items;
+    /**
+     * 전체 조건에서 처리한 1분봉 수
+     */
+    private final long candleCount;
+    /**
+     * 전체 실행 시간(ms)
+     */
+    private final long elapsedMs;
+    /**
+     * 동시 실행 스레드 수
+     */
+    private final int parallelism;
+
+    /**
+     * @return 초당 처리한 1분봉 수
+     */
+    public double getCandlesPerSecond() {
+        return elapsedMs == 0 ? 0 : candleCount * 1000.0 / elapsedMs;
+    }
+
+    /**
+     * 조건 하나의 결과
+     */
+    @Getter
+    @Builder
+    @ToString
+    public static class Item {
+        /**
+         * 저장한 조건 일련번호
+         */
+        private final int mabsConditionSeq;
+        private final String market;
+        private final int shortPeriod;
+        private final int longPeriod;
+        private final double yield;
+        private final int tradeCount;
+        private final long candleCount;
+        private final long elapsedMs;
+    }
+}
@@ -10,17 +10,19 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
-import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 
 /**
- * 캔드 실세
+ * 캔드 실세<br>
+ * 모든 조회가 코인, 주기 조건에 시간 순서라서 (코인, 주기, 시간) 복합 키 하나로 처리(예전 IDX_CANDLE_MARKET_PERIOD_TIME 인덱스 대체)<br>
+ * 시간 역순 조회는 H2가 인덱스를 거꾸로 읽지 못해 해당 코인, 주기의 기준 시간 이전 캔들을 모두 읽은 다음 정렬함<br>
+ * 예전 구성으로 만든 테이블은 {@link com.setvect.bokslcoin.autotrading.backtest.repository.CandleSchemaMigration}에서 키 적용
  */
 @Entity(name = "WA_CANDLE")
-@Table(indexes = {
-        @Index(name = "IDX_CANDLE_DATE_TIME_UTC_ASC", columnList = "CANDLE_DATE_TIME_UTC ASC"),
-        @Index(name = "IDX_CANDLE_DATE_TIME_UTC_DESC", columnList = "CANDLE_DATE_TIME_UTC DESC"),
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "UK_CANDLE_MARKET_PERIOD_TIME", columnNames = {"MARKET", "PERIOD_TYPE", "CANDLE_DATE_TIME_UTC"}),
 })
 @Getter
 @Setter
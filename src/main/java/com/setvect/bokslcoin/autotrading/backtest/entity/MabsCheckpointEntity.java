@@ -0,0 +1,58 @@
+package com.setvect.bokslcoin.autotrading.backtest.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import java.time.LocalDateTime;
+
+/**
+ * 이평선 돌파 백테스트 조건별 중간 상태<br>
+ * 증분 백테스트에서 마지막으로 처리한 1분봉 이후만 실행하기 위함. 조건 하나에 하나
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "XA_MABS_CHECKPOINT")
+@ToString(exclude = {"state"})
+public class MabsCheckpointEntity {
+    /**
+     * 매매 조건 일련번호({@link MabsConditionEntity#getMabsConditionSeq()})
+     */
+    @Id
+    @Column(name = "BACKTEST_CONDITION_SEQ")
+    private int mabsConditionSeq;
+
+    /**
+     * 마지막으로 처리한 1분봉 시각(UTC 기준)
+     */
+    @Column(name = "LAST_CANDLE_UTC", nullable = false)
+    private LocalDateTime lastCandleUtc;
+
+    /**
+     * 현금 + 보유 코인 평가 금액
+     */
+    @Column(name = "TOTAL_ASSET", nullable = false)
+    private double totalAsset;
+
+    /**
+     * 전략, 계좌 상태
+     * {@link com.setvect.bokslcoin.autotrading.backtest.engine.BacktestCheckpoint#toBytes()}
+     */
+    @Lob
+    @Column(name = "STATE", nullable = false)
+    private byte[] state;
+
+    /**
+     * 저장일
+     */
+    @Column(name = "UPDATE_DATE", nullable = false)
+    private LocalDateTime updateDate;
+}
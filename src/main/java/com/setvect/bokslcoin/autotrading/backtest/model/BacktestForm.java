@@ -0,0 +1,80 @@
+package com.setvect.bokslcoin.autotrading.backtest.model;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.record.model.RangeForm;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 백테스트 조건<br>
+ * 기간(from, to)은 UTC 기준
+ */
+@Getter
+@Setter
+public class BacktestForm extends RangeForm {
+    /**
+     * 매수, 매도 대상 코인
+     */
+    private List<String> markets;
+    /**
+     * 매매 주기
+     */
+    private PeriodType periodType = PeriodType.PERIOD_60;
+    /**
+     * 단기 이동평균 기간
+     */
+    private int shortPeriod = 13;
+    /**
+     * 장기 이동평균 기간
+     */
+    private int longPeriod = 64;
+    /**
+     * 상승 매수률
+     */
+    private double upBuyRate = 0.01;
+    /**
+     * 하락 매도률
+     */
+    private double downSellRate = 0.01;
+    /**
+     * 손절 매도
+     */
+    private double loseStopRate = 0.5;
+    /**
+     * 최대 코인 매매 갯수. 0이면 대상 코인 수
+     */
+    private int maxBuyCount;
+    /**
+     * 총 현금을 기준으로 투자 비율
+     */
+    private double investRatio = 0.99;
+    /**
+     * 새롭게 이동평균을 돌파 했을 때만 매수
+     */
+    private boolean newMasBuy = true;
+    /**
+     * 투자금
+     */
+    private double cash = 10_000_000;
+
+    /**
+     * @return 매매 조건
+     */
+    public MabsMultiProperties toProperties() {
+        MabsMultiProperties properties = new MabsMultiProperties();
+        properties.setMarkets(markets);
+        properties.setPeriodType(periodType);
+        properties.setShortPeriod(shortPeriod);
+        properties.setLongPeriod(longPeriod);
+        properties.setUpBuyRate(upBuyRate);
+        properties.setDownSellRate(downSellRate);
+        properties.setLoseStopRate(loseStopRate);
+        properties.setMaxBuyCount(maxBuyCount == 0 ? markets.size() : maxBuyCount);
+        properties.setInvestRatio(investRatio);
+        properties.setNewMasBuy(newMasBuy);
+        return properties;
+    }
+}
@@ -0,0 +1,25 @@
+package com.setvect.bokslcoin.autotrading.backtest.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 캔들 시간, 가격만 조회(엔티티를 만들지 않음)
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CandlePrice {
+    private final LocalDateTime candleDateTimeUtc;
+    private final LocalDateTime candleDateTimeKst;
+    private final double openingPrice;
+    private final double highPrice;
+    private final double lowPrice;
+    /**
+     * 종가
+     */
+    private final double tradePrice;
+}
@@ -0,0 +1,63 @@
+package com.setvect.bokslcoin.autotrading.backtest.model;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.record.model.RangeForm;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 여러 조건 백테스트<br>
+ * 기간(from, to)은 UTC 기준
+ */
+@Getter
+@Setter
+public class SweepForm extends RangeForm {
+    /**
+     * 코인. 코인마다 조건을 따로 만듦
+     */
+    private List<String> markets;
+    /**
+     * 매매 주기
+     */
+    private PeriodType periodType = PeriodType.PERIOD_60;
+    /**
+     * 단기-장기 이동평균 기간. 예) 13-64, 20-70
+     */
+    private List<String> maPeriods;
+    /**
+     * 상승 매수률
+     */
+    private double upBuyRate = 0.01;
+    /**
+     * 하락 매도률
+     */
+    private double downSellRate = 0.01;
+    /**
+     * 손절 매도
+     */
+    private double loseStopRate = 0.5;
+    /**
+     * 투자금
+     */
+    private double cash = 10_000_000;
+    /**
+     * 조건에 대한 설명
+     */
+    private String comment;
+
+    /**
+     * @return (단기, 장기) 이동평균 기간
+     */
+    public List<int[]> getMaPeriodValues() {
+        return maPeriods.stream().map(p -> {
+            String[] tokens = p.split("-");
+            if (tokens.length != 2) {
+                throw new IllegalArgumentException(String.format("이동평균 기간 형식 오류(단기-장기): %s", p));
+            }
+            return new int[]{Integer.parseInt(tokens[0].trim()), Integer.parseInt(tokens[1].trim())};
+        }).collect(Collectors.toList());
+    }
+}
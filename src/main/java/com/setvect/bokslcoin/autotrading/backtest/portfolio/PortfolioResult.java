@@ -0,0 +1,73 @@
+package com.setvect.bokslcoin.autotrading.backtest.portfolio;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 포트폴리오 시뮬레이션 결과<br>
+ * 매매 건별 값은 {@link #getEvents()}와 같은 위치
+ */
+@Getter
+@Builder
+public class PortfolioResult {
+    private final PortfolioScenario scenario;
+    /**
+     * 시뮬레이션한 매매 내역
+     */
+    private final TradeEvents events;
+
+    /**
+     * 매수금액
+     */
+    private final double[] buyAmount;
+    /**
+     * 매매 후 전체 코인 매수 금액
+     */
+    private final double[] buyTotalAmount;
+    /**
+     * 매매 후 현금
+     */
+    private final double[] cash;
+    /**
+     * 매매 수수료
+     */
+    private final double[] feePrice;
+    /**
+     * 투자 수익(수수료 포함), 매수는 0
+     */
+    private final double[] gains;
+
+    /**
+     * 실현 수익률
+     */
+    private final double yield;
+    /**
+     * 매매 후 자산(현금 + 전체 코인 매수 금액) 기준 최대 낙폭
+     */
+    private final double mdd;
+    private final int gainCount;
+    private final int lossCount;
+
+    /**
+     * 코인별 수익 합계. 위치는 {@link TradeEvents#getMarket(int)} 값
+     */
+    private final double[] marketGains;
+    private final int[] marketGainCount;
+    private final int[] marketLossCount;
+
+    /**
+     * @param i 매매 위치
+     * @return 현금 + 전체 코인 매수 금액
+     */
+    public double getFinalResult(int i) {
+        return buyTotalAmount[i] + cash[i];
+    }
+
+    /**
+     * @return 총 매매에서 이익을 본 비율
+     */
+    public double getWinRate() {
+        int tradeCount = gainCount + lossCount;
+        return tradeCount == 0 ? 0 : (double) gainCount / tradeCount;
+    }
+}
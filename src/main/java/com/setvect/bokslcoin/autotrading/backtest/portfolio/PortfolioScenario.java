@@ -0,0 +1,40 @@
+package com.setvect.bokslcoin.autotrading.backtest.portfolio;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 포트폴리오 시뮬레이션 조건
+ */
+@Getter
+@Builder
+@ToString
+public class PortfolioScenario {
+    /**
+     * 시작(KST), 포함
+     */
+    private final LocalDateTime from;
+    /**
+     * 종료(KST), 포함
+     */
+    private final LocalDateTime to;
+    /**
+     * 총 현금을 기준으로 투자 비율. 1은 전액, 0.5은 50% 투자
+     */
+    private final double investRatio;
+    /**
+     * 최초 투자 금액
+     */
+    private final double cash;
+    /**
+     * 매수 수수료
+     */
+    private final double feeBuy;
+    /**
+     * 매도 수수료
+     */
+    private final double feeSell;
+}
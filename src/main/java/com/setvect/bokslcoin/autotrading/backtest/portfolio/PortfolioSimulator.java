@@ -0,0 +1,131 @@
+package com.setvect.bokslcoin.autotrading.backtest.portfolio;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 매매 내역으로 여러 코인 포트폴리오 자산 변화를 계산<br>
+ * 매수 가능한 코인 수만큼 현금을 나눠 매수하고, 매도 시 매매 수익률만큼 돌려받음<br>
+ * 자산 곡선, MDD, 승률을 매매 내역 한 번 순회로 계산
+ */
+public class PortfolioSimulator {
+    private PortfolioSimulator() {
+    }
+
+    /**
+     * 조건마다 기간을 잘라 병렬로 계산
+     *
+     * @param events    전체 매매 내역
+     * @param slotCount 동시에 매수 가능한 코인 수
+     * @param scenarios 조건
+     * @return 조건과 같은 순서의 결과
+     */
+    public static List<PortfolioResult> run(TradeEvents events, int slotCount, List<PortfolioScenario> scenarios) {
+        return scenarios.parallelStream()
+                .map(s -> simulate(events.window(s.getFrom(), s.getTo()), slotCount, s))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @param events    매매 내역(코인별 매수로 시작해서 매도로 끝나야 됨)
+     * @param slotCount 동시에 매수 가능한 코인 수
+     * @param scenario  조건. 기간은 사용하지 않음
+     * @return 결과
+     */
+    public static PortfolioResult simulate(TradeEvents events, int slotCount, PortfolioScenario scenario) {
+        int size = events.size();
+        int marketCount = events.getMarketCount();
+        double[] buyAmount = new double[size];
+        double[] buyTotalAmount = new double[size];
+        double[] cashHistory = new double[size];
+        double[] feePrice = new double[size];
+        double[] gains = new double[size];
+        double[] marketGains = new double[marketCount];
+        int[] marketGainCount = new int[marketCount];
+        int[] marketLossCount = new int[marketCount];
+
+        // 코인별 매수 금액, 0이면 보유 안 함
+        double[] holding = new double[marketCount];
+        int buyCount = 0;
+        double buyTotal = 0;
+        double cash = scenario.getCash();
+        double high = 0;
+        double mdd = 0;
+        int gainCount = 0;
+        int lossCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            int m = events.getMarket(i);
+            String market = events.getMarketName(m);
+            if (events.isBuy(i)) {
+                if (slotCount <= buyCount) {
+                    throw new RuntimeException(String.format("매수 종목 한도 초과. 종모 매수 한도: %,d", slotCount));
+                }
+                if (holding[m] != 0) {
+                    throw new RuntimeException(String.format("이미 매수한 코인 입니다. 코인명: %s", market));
+                }
+                double amount = cash * scenario.getInvestRatio() / (slotCount - buyCount);
+                holding[m] = amount;
+                cash -= amount;
+                buyTotal += amount;
+                buyCount++;
+                buyAmount[i] = amount;
+                feePrice[i] = amount * scenario.getFeeBuy();
+            } else {
+                if (holding[m] == 0) {
+                    throw new RuntimeException(String.format("매수 내역이 없습니다. 코인명: %s", market));
+                }
+                double amount = holding[m];
+                holding[m] = 0;
+                double gain = amount * events.getYield(i);
+                double fee = (amount + gain) * scenario.getFeeSell();
+                gain -= fee;
+                cash += amount + gain;
+                buyTotal -= amount;
+                buyCount--;
+                if (buyCount == 0) {
+                    // 누적 오차 제거
+                    buyTotal = 0;
+                }
+                buyAmount[i] = amount;
+                feePrice[i] = fee;
+                gains[i] = gain;
+                marketGains[m] += gain;
+                if (gain > 0) {
+                    gainCount++;
+                    marketGainCount[m]++;
+                } else {
+                    lossCount++;
+                    marketLossCount[m]++;
+                }
+            }
+            buyTotalAmount[i] = buyTotal;
+            cashHistory[i] = cash;
+
+            double asset = buyTotal + cash;
+            if (high < asset) {
+                high = asset;
+            } else {
+                mdd = Math.min(mdd, asset / high - 1);
+            }
+        }
+
+        double yield = size == 0 ? 0 : (buyTotalAmount[size - 1] + cashHistory[size - 1]) / (buyTotalAmount[0] + cashHistory[0]) - 1;
+        return PortfolioResult.builder()
+                .scenario(scenario)
+                .events(events)
+                .buyAmount(buyAmount)
+                .buyTotalAmount(buyTotalAmount)
+                .cash(cashHistory)
+                .feePrice(feePrice)
+                .gains(gains)
+                .yield(yield)
+                .mdd(mdd)
+                .gainCount(gainCount)
+                .lossCount(lossCount)
+                .marketGains(marketGains)
+                .marketGainCount(marketGainCount)
+                .marketLossCount(marketLossCount)
+                .build();
+    }
+}
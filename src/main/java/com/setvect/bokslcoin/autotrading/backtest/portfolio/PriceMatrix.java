@@ -0,0 +1,152 @@
+package com.setvect.bokslcoin.autotrading.backtest.portfolio;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 날짜 x 코인 일봉 가격표. 캔들이 없는 날은 NaN
+ */
+public class PriceMatrix {
+    private final LocalDate start;
+    private final int dayCount;
+    private final String[] markets;
+    /**
+     * [코인][날짜]
+     */
+    private final double[][] open;
+    private final double[][] close;
+
+    /**
+     * @param markets 코인
+     * @param start   시작일, 포함
+     * @param end     종료일, 포함
+     */
+    public PriceMatrix(List<String> markets, LocalDate start, LocalDate end) {
+        this.start = start;
+        this.dayCount = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        this.markets = markets.toArray(new String[0]);
+        this.open = new double[this.markets.length][dayCount];
+        this.close = new double[this.markets.length][dayCount];
+        for (int m = 0; m < this.markets.length; m++) {
+            Arrays.fill(open[m], Double.NaN);
+            Arrays.fill(close[m], Double.NaN);
+        }
+    }
+
+    /**
+     * @param market     코인 위치
+     * @param date       날짜. 범위 밖이면 무시
+     * @param openPrice  시가
+     * @param closePrice 종가
+     */
+    public void set(int market, LocalDate date, double openPrice, double closePrice) {
+        int day = (int) ChronoUnit.DAYS.between(start, date);
+        if (day < 0 || day >= dayCount) {
+            return;
+        }
+        open[market][day] = openPrice;
+        close[market][day] = closePrice;
+    }
+
+    public String getMarket(int market) {
+        return markets[market];
+    }
+
+    public int getMarketCount() {
+        return markets.length;
+    }
+
+    /**
+     * 기간 동안 보유(존버)할 경우 수익률<br>
+     * 코인별: 기간 안의 시가 기준 수익률, MDD<br>
+     * 동일 비중: 코인마다 1씩 시작해서 날마다 (종가 / 첫 시가)를 합한 값 기준. 캔들이 없는 날은 이전 값 유지
+     *
+     * @param from 시작(일봉 기준 시각 포함)
+     * @param to   종료(일봉 기준 시각 포함)
+     * @return 보유 수익률
+     */
+    public HoldYield hold(LocalDateTime from, LocalDateTime to) {
+        LocalDate firstDate = from.toLocalTime().equals(LocalTime.MIDNIGHT) ? from.toLocalDate() : from.toLocalDate().plusDays(1);
+        int first = Math.max(0, (int) ChronoUnit.DAYS.between(start, firstDate));
+        int last = Math.min(dayCount - 1, (int) ChronoUnit.DAYS.between(start, to.toLocalDate()));
+
+        int marketCount = markets.length;
+        double[] yield = new double[marketCount];
+        double[] mdd = new double[marketCount];
+        double[] startPrice = new double[marketCount];
+        double[] high = new double[marketCount];
+        double[] lastOpen = new double[marketCount];
+        double[] sumValue = new double[marketCount];
+        Arrays.fill(sumValue, 1.0);
+
+        double sum = marketCount;
+        double sumStart = sum;
+        double sumHigh = sum;
+        double sumMdd = 0;
+        for (int d = first; d <= last; d++) {
+            for (int m = 0; m < marketCount; m++) {
+                double o = open[m][d];
+                if (Double.isNaN(o)) {
+                    continue;
+                }
+                if (startPrice[m] == 0) {
+                    startPrice[m] = o;
+                }
+                if (high[m] < o) {
+                    high[m] = o;
+                } else {
+                    mdd[m] = Math.min(mdd[m], o / high[m] - 1);
+                }
+                lastOpen[m] = o;
+                double value = close[m][d] / startPrice[m];
+                sum += value - sumValue[m];
+                sumValue[m] = value;
+            }
+            if (sumHigh < sum) {
+                sumHigh = sum;
+            } else {
+                sumMdd = Math.min(sumMdd, sum / sumHigh - 1);
+            }
+        }
+        for (int m = 0; m < marketCount; m++) {
+            yield[m] = startPrice[m] == 0 ? 0 : lastOpen[m] / startPrice[m] - 1;
+        }
+        return HoldYield.builder()
+                .yield(yield)
+                .mdd(mdd)
+                .sumYield(sum / sumStart - 1)
+                .sumMdd(sumMdd)
+                .build();
+    }
+
+    /**
+     * 보유 수익률
+     */
+    @Getter
+    @Builder
+    public static class HoldYield {
+        /**
+         * 코인별 수익률. 위치는 코인 위치
+         */
+        private final double[] yield;
+        /**
+         * 코인별 MDD
+         */
+        private final double[] mdd;
+        /**
+         * 동일 비중 수익률
+         */
+        private final double sumYield;
+        /**
+         * 동일 비중 MDD
+         */
+        private final double sumMdd;
+    }
+}
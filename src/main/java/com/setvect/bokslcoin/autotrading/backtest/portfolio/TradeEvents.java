@@ -0,0 +1,173 @@
+package com.setvect.bokslcoin.autotrading.backtest.portfolio;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsTradeEntity;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 코인의 매매 내역을 시간 순서로 정렬한 항목별 배열<br>
+ * 시간은 매매 시각(KST)을 epoch second로 바꾼 값
+ */
+public class TradeEvents {
+    private final String[] markets;
+    private final long[] time;
+    private final int[] market;
+    private final boolean[] buy;
+    private final double[] yield;
+    /**
+     * 리포트용 원본
+     */
+    private final MabsTradeEntity[] source;
+
+    private TradeEvents(String[] markets, long[] time, int[] market, boolean[] buy, double[] yield, MabsTradeEntity[] source) {
+        this.markets = markets;
+        this.time = time;
+        this.market = market;
+        this.buy = buy;
+        this.yield = yield;
+        this.source = source;
+    }
+
+    /**
+     * @param trades 매매 내역. 같은 시간이면 목록 순서 유지
+     * @return 시간 순서로 정렬한 매매 내역
+     */
+    public static TradeEvents of(List<MabsTradeEntity> trades) {
+        List<MabsTradeEntity> sorted = new ArrayList<>(trades);
+        sorted.sort(Comparator.comparing(MabsTradeEntity::getTradeTimeKst));
+
+        Map<String, Integer> marketIndex = new LinkedHashMap<>();
+        int size = sorted.size();
+        long[] time = new long[size];
+        int[] market = new int[size];
+        boolean[] buy = new boolean[size];
+        double[] yield = new double[size];
+        for (int i = 0; i < size; i++) {
+            MabsTradeEntity trade = sorted.get(i);
+            time[i] = toEpochSecond(trade.getTradeTimeKst());
+            market[i] = marketIndex.computeIfAbsent(trade.getMabsConditionEntity().getMarket(), k -> marketIndex.size());
+            buy[i] = trade.getTradeType() == TradeType.BUY;
+            yield[i] = trade.getYield();
+        }
+        return new TradeEvents(marketIndex.keySet().toArray(new String[0]), time, market, buy, yield, sorted.toArray(new MabsTradeEntity[0]));
+    }
+
+    /**
+     * 기간 안의 매매만 남김<br>
+     * 코인마다 첫 거래는 매수, 마지막 거래는 매도가 되도록 앞쪽 매도와 뒤쪽 매수는 버림
+     *
+     * @param from 시작(KST), 포함
+     * @param to   종료(KST), 포함
+     * @return 기간 안의 매매
+     */
+    public TradeEvents window(LocalDateTime from, LocalDateTime to) {
+        int start = lowerBound(toEpochSecond(from));
+        int end = lowerBound(toEpochSecond(to) + 1);
+
+        // 코인별 첫 매수, 마지막 매도 위치
+        int[] firstBuy = new int[markets.length];
+        int[] lastSell = new int[markets.length];
+        Arrays.fill(firstBuy, Integer.MAX_VALUE);
+        Arrays.fill(lastSell, -1);
+        for (int i = start; i < end; i++) {
+            int m = market[i];
+            if (buy[i]) {
+                firstBuy[m] = Math.min(firstBuy[m], i);
+            } else {
+                lastSell[m] = i;
+            }
+        }
+
+        int[] index = new int[end - start];
+        int size = 0;
+        for (int i = start; i < end; i++) {
+            int m = market[i];
+            if (firstBuy[m] <= i && i <= lastSell[m]) {
+                index[size++] = i;
+            }
+        }
+
+        long[] t = new long[size];
+        int[] mk = new int[size];
+        boolean[] b = new boolean[size];
+        double[] y = new double[size];
+        MabsTradeEntity[] s = new MabsTradeEntity[size];
+        for (int k = 0; k < size; k++) {
+            int i = index[k];
+            t[k] = time[i];
+            mk[k] = market[i];
+            b[k] = buy[i];
+            y[k] = yield[i];
+            s[k] = source[i];
+        }
+        return new TradeEvents(markets, t, mk, b, y, s);
+    }
+
+    public int size() {
+        return time.length;
+    }
+
+    /**
+     * @return 코인. 위치가 {@link #getMarket(int)} 값
+     */
+    public String[] getMarkets() {
+        return markets.clone();
+    }
+
+    public int getMarketCount() {
+        return markets.length;
+    }
+
+    public String getMarketName(int marketIndex) {
+        return markets[marketIndex];
+    }
+
+    public long getTime(int i) {
+        return time[i];
+    }
+
+    public int getMarket(int i) {
+        return market[i];
+    }
+
+    public boolean isBuy(int i) {
+        return buy[i];
+    }
+
+    /**
+     * @return 매도 수익률(매수는 0)
+     */
+    public double getYield(int i) {
+        return yield[i];
+    }
+
+    public MabsTradeEntity getSource(int i) {
+        return source[i];
+    }
+
+    private int lowerBound(long value) {
+        int low = 0;
+        int high = time.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (time[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+}
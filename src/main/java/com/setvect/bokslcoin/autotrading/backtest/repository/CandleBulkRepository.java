@@ -0,0 +1,88 @@
+package com.setvect.bokslcoin.autotrading.backtest.repository;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * WA_CANDLE 대량 저장<br>
+ * JPA 엔티티 단위 저장 대신 JDBC 배치로 처리. 같은 코인, 주기, 시간(UTC)의 캔들이 있으면 값을 갱신함
+ */
+@Repository
+@RequiredArgsConstructor
+public class CandleBulkRepository {
+    private static final String UPDATE_SQL = "UPDATE WA_CANDLE SET CANDLE_DATE_TIME_KST = ?, OPENING_PRICE = ?, HIGH_PRICE = ?, LOW_PRICE = ?, TRADE_PRICE = ?" +
+            " WHERE MARKET = ? AND PERIOD_TYPE = ? AND CANDLE_DATE_TIME_UTC = ?";
+
+    /**
+     * 키 값은 DB에서 바로 시퀀스를 받음(행마다 시퀀스를 조회하는 왕복 없음)
+     */
+    private static final String INSERT_SQL = "INSERT INTO WA_CANDLE (CANDLE_SEQ, MARKET, PERIOD_TYPE, CANDLE_DATE_TIME_UTC, CANDLE_DATE_TIME_KST," +
+            " OPENING_PRICE, HIGH_PRICE, LOW_PRICE, TRADE_PRICE) VALUES (NEXT VALUE FOR HIBERNATE_SEQUENCE, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * JDBC 배치 하나에 담는 건수
+     */
+    @Value("${com.setvect.bokslcoin.autotrading.backtest.batchSize:1000}")
+    private int batchSize;
+
+    /**
+     * 있는 캔들은 갱신하고 없는 캔들은 추가
+     *
+     * @param candles 저장할 캔들. 코인, 주기, 시간(UTC)이 중복되면 안 됨
+     * @return 새로 추가한 건수
+     */
+    @Transactional
+    public int upsert(List<CandleEntity> candles) {
+        if (candles.isEmpty()) {
+            return 0;
+        }
+        int[][] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, candles, batchSize, (ps, c) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(c.getCandleDateTimeKst()));
+            ps.setDouble(2, c.getOpeningPrice());
+            ps.setDouble(3, c.getHighPrice());
+            ps.setDouble(4, c.getLowPrice());
+            ps.setDouble(5, c.getTradePrice());
+            ps.setString(6, c.getMarket());
+            ps.setString(7, c.getPeriodType().name());
+            ps.setTimestamp(8, Timestamp.valueOf(c.getCandleDateTimeUtc()));
+        });
+
+        List<CandleEntity> insert = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updated) {
+            for (int count : batch) {
+                if (count == 0) {
+                    insert.add(candles.get(index));
+                }
+                index++;
+            }
+        }
+        if (!insert.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, insert, batchSize, CandleBulkRepository::setInsert);
+        }
+        return insert.size();
+    }
+
+    private static void setInsert(PreparedStatement ps, CandleEntity c) throws SQLException {
+        ps.setString(1, c.getMarket());
+        ps.setString(2, c.getPeriodType().name());
+        ps.setTimestamp(3, Timestamp.valueOf(c.getCandleDateTimeUtc()));
+        ps.setTimestamp(4, Timestamp.valueOf(c.getCandleDateTimeKst()));
+        ps.setDouble(5, c.getOpeningPrice());
+        ps.setDouble(6, c.getHighPrice());
+        ps.setDouble(7, c.getLowPrice());
+        ps.setDouble(8, c.getTradePrice());
+    }
+}
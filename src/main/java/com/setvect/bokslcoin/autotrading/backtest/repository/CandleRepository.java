@@ -2,6 +2,8 @@ package com.setvect.bokslcoin.autotrading.backtest.repository;
 
 import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
 import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 public interface CandleRepository extends JpaRepository<CandleEntity, Integer> {
@@ -54,4 +57,61 @@ public interface CandleRepository extends JpaRepository<CandleEntity, Integer> {
     List<CandleEntity> findMarketPricePeriodAfter(@Param("market") String market, @Param("period") PeriodType periodType,
                                                   @Param("base") LocalDateTime base, Pageable pageable);
 
+    /**
+     * {@link #findMarketPricePeriodAfter}와 같지만 시간, 가격만 조회
+     *
+     * @param market     코인
+     * @param periodType 주기
+     * @param base       시작 날짜 - 해당 날짜를 포함하지 않음 - UTC
+     * @param end        종료 날짜 - 해당 날짜를 포함함 - UTC
+     * @param pageable   가져올 갯수
+     * @return 시세(날짜 기준 오름 차순)
+     */
+    @Query("select new com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice(c.candleDateTimeUtc, c.candleDateTimeKst, c.openingPrice, c.highPrice, c.lowPrice, c.tradePrice)" +
+            " from WA_CANDLE c " +
+            " where c.market = :market and c.periodType = :period and c.candleDateTimeUtc > :base and c.candleDateTimeUtc <= :end order by c.candleDateTimeUtc")
+    List<CandlePrice> findPriceAfter(@Param("market") String market, @Param("period") PeriodType periodType,
+                                     @Param("base") LocalDateTime base, @Param("end") LocalDateTime end, Pageable pageable);
+
+    /**
+     * {@link #findMarketPricePeriodBefore}와 같지만 시간, 가격만 조회
+     *
+     * @param market     코인
+     * @param periodType 주기
+     * @param base       시작 날짜 - 해당 날짜를 포함하지 않음 - UTC
+     * @param pageable   가져올 갯수
+     * @return 시세(날짜 기준 내림 차순)
+     */
+    @Query("select new com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice(c.candleDateTimeUtc, c.candleDateTimeKst, c.openingPrice, c.highPrice, c.lowPrice, c.tradePrice)" +
+            " from WA_CANDLE c " +
+            " where c.market = :market and c.periodType = :period and c.candleDateTimeUtc < :base order by c.candleDateTimeUtc desc")
+    List<CandlePrice> findPriceBefore(@Param("market") String market, @Param("period") PeriodType periodType,
+                                      @Param("base") LocalDateTime base, Pageable pageable);
+
+    /**
+     * 기간 안의 시세를 시간 순서로 전달<br>
+     * 페이지마다 마지막으로 읽은 시간 이후를 조회(offset 없음)
+     *
+     * @param market     코인
+     * @param periodType 주기
+     * @param from       시작 날짜 - 해당 날짜를 포함함 - UTC
+     * @param to         종료 날짜 - 해당 날짜를 포함함 - UTC
+     * @param pageSize   한 번에 조회하는 건수
+     * @param consumer   시세를 받음
+     * @return 전달한 건수
+     */
+    default int scanPrice(String market, PeriodType periodType, LocalDateTime from, LocalDateTime to, int pageSize, Consumer<CandlePrice> consumer) {
+        // 캔들 시간은 분 단위라서 1초 앞을 기준으로 하면 from을 포함함
+        LocalDateTime base = from.minusSeconds(1);
+        int count = 0;
+        while (true) {
+            List<CandlePrice> page = findPriceAfter(market, periodType, base, to, PageRequest.of(0, pageSize));
+            page.forEach(consumer);
+            count += page.size();
+            if (page.size() < pageSize) {
+                return count;
+            }
+            base = page.get(page.size() - 1).getCandleDateTimeUtc();
+        }
+    }
 }
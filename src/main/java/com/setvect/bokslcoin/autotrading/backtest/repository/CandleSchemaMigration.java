@@ -0,0 +1,53 @@
+package com.setvect.bokslcoin.autotrading.backtest.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+
+/**
+ * 예전 구성으로 만든 WA_CANDLE에 (코인, 주기, 시간) 유니크 키 적용<br>
+ * ddl-auto=update는 같은 캔들이 중복 저장된 테이블에 유니크 키를 추가하지 못하고 에러 로그만 남기고 넘어감.
+ * 키가 없으면 중복 캔들을 지우고(CANDLE_SEQ가 가장 큰 행만 남김) 키를 추가한 다음, 키로 대체된 예전 인덱스를 삭제<br>
+ * 스키마 갱신이 끝난 다음 실행해야 해서 entityManagerFactory 이후에 만듦
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@Slf4j
+public class CandleSchemaMigration {
+    static final String UNIQUE_KEY = "UK_CANDLE_MARKET_PERIOD_TIME";
+
+    /**
+     * 유니크 키로 대체된 인덱스<br>
+     * IDX_CANDLE_MARKET_PERIOD_TIME은 유니크 키와 컬럼 구성이 같고, 시간 단일 인덱스는 코인, 주기 조건 조회에 쓰이지 않음
+     */
+    private static final String[] REPLACED_INDEXES = {"IDX_CANDLE_MARKET_PERIOD_TIME", "IDX_CANDLE_DATE_TIME_UTC_ASC", "IDX_CANDLE_DATE_TIME_UTC_DESC"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void migrate() {
+        Integer table = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'WA_CANDLE'", Integer.class);
+        if (table == null || table == 0) {
+            return;
+        }
+        Integer key = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.CONSTRAINTS WHERE TABLE_NAME = 'WA_CANDLE' AND CONSTRAINT_NAME = ?",
+                Integer.class, UNIQUE_KEY);
+        if (key != null && key > 0) {
+            return;
+        }
+        log.info("WA_CANDLE 유니크 키({}) 적용 시작", UNIQUE_KEY);
+        int deleted = jdbcTemplate.update("DELETE FROM WA_CANDLE C WHERE EXISTS (SELECT 1 FROM WA_CANDLE D" +
+                " WHERE D.MARKET = C.MARKET AND D.PERIOD_TYPE = C.PERIOD_TYPE AND D.CANDLE_DATE_TIME_UTC = C.CANDLE_DATE_TIME_UTC AND D.CANDLE_SEQ > C.CANDLE_SEQ)");
+        log.info("중복 캔들 {}건 삭제", deleted);
+        jdbcTemplate.execute("ALTER TABLE WA_CANDLE ADD CONSTRAINT " + UNIQUE_KEY + " UNIQUE (MARKET, PERIOD_TYPE, CANDLE_DATE_TIME_UTC)");
+        for (String index : REPLACED_INDEXES) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index);
+        }
+        log.info("WA_CANDLE 유니크 키({}) 적용 완료", UNIQUE_KEY);
+    }
+}
@@ -0,0 +1,7 @@
+package com.setvect.bokslcoin.autotrading.backtest.repository;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsCheckpointEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface MabsCheckpointEntityRepository extends JpaRepository<MabsCheckpointEntity, Integer> {
+}
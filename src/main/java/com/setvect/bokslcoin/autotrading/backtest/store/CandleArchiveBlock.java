@@ -0,0 +1,276 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * 캔들 보관 파일({@link CandleArchiveWriter})의 블록 하나<br>
+ * 항목별로 모아서 기록(시간, 마지막 틱 시각, 시가, 고가, 저가, 종가, 누적 거래 금액, 누적 거래량)<br>
+ * - 시간: 첫 값 + 이전 캔들과의 차이<br>
+ * - 마지막 틱 시각: 캔들 시간과의 차이<br>
+ * - 가격: 블록마다 소수점 자릿수(scale)를 정해 정수로 바꾼 다음 시가는 이전 시가, 나머지는 시가와의 차이. 정수로 표현할 수 없으면 double 그대로<br>
+ * - 누적 거래 금액, 누적 거래량: double 그대로<br>
+ * 정수는 zigzag + 가변 길이(7bit)로 기록
+ */
+class CandleArchiveBlock {
+    /**
+     * 가격을 정수로 바꿀 때 최대 소수점 자릿수
+     */
+    static final int MAX_SCALE = 8;
+    /**
+     * 가격을 double 그대로 기록
+     */
+    private static final int RAW_SCALE = -1;
+    private static final long[] POW10 = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L};
+    /**
+     * 정수로 바꾼 가격 최대 값. double로 정확하게 표현할 수 있는 범위
+     */
+    private static final double MAX_FIXED = 1L << 52;
+
+    long[] time;
+    long[] timestamp;
+    double[] open;
+    double[] high;
+    double[] low;
+    double[] close;
+    double[] accTradePrice;
+    double[] accTradeVolume;
+    int size;
+
+    CandleArchiveBlock(int capacity) {
+        time = new long[capacity];
+        timestamp = new long[capacity];
+        open = new double[capacity];
+        high = new double[capacity];
+        low = new double[capacity];
+        close = new double[capacity];
+        accTradePrice = new double[capacity];
+        accTradeVolume = new double[capacity];
+    }
+
+    void add(long timeUtc, long lastTick, double openPrice, double highPrice, double lowPrice, double closePrice, double tradePrice, double tradeVolume) {
+        if (size == time.length) {
+            grow(size * 2);
+        }
+        time[size] = timeUtc;
+        timestamp[size] = lastTick;
+        open[size] = openPrice;
+        high[size] = highPrice;
+        low[size] = lowPrice;
+        close[size] = closePrice;
+        accTradePrice[size] = tradePrice;
+        accTradeVolume[size] = tradeVolume;
+        size++;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return 압축 전 블록 값
+     */
+    byte[] encode() {
+        Encoder out = new Encoder(size * 24);
+        out.writeVarLong(size);
+        int scale = getScale();
+        out.write(scale);
+
+        long prev = 0;
+        for (int i = 0; i < size; i++) {
+            out.writeZigzag(time[i] - prev);
+            prev = time[i];
+        }
+        for (int i = 0; i < size; i++) {
+            out.writeZigzag(timestamp[i] - time[i]);
+        }
+
+        if (scale == RAW_SCALE) {
+            writeDoubles(out, open);
+            writeDoubles(out, high);
+            writeDoubles(out, low);
+            writeDoubles(out, close);
+        } else {
+            long factor = POW10[scale];
+            long prevOpen = 0;
+            for (int i = 0; i < size; i++) {
+                long o = Math.round(open[i] * factor);
+                out.writeZigzag(o - prevOpen);
+                prevOpen = o;
+            }
+            for (int i = 0; i < size; i++) {
+                out.writeZigzag(Math.round(high[i] * factor) - Math.round(open[i] * factor));
+            }
+            for (int i = 0; i < size; i++) {
+                out.writeZigzag(Math.round(open[i] * factor) - Math.round(low[i] * factor));
+            }
+            for (int i = 0; i < size; i++) {
+                out.writeZigzag(Math.round(close[i] * factor) - Math.round(open[i] * factor));
+            }
+        }
+        writeDoubles(out, accTradePrice);
+        writeDoubles(out, accTradeVolume);
+        return out.toByteArray();
+    }
+
+    /**
+     * 기존 값을 지우고 블록 값을 읽음
+     *
+     * @param raw 압축 해제한 블록 값
+     */
+    void decode(byte[] raw) {
+        Decoder in = new Decoder(raw);
+        int count = (int) in.readVarLong();
+        if (count > time.length) {
+            grow(count);
+        }
+        size = count;
+        int scale = (byte) in.read();
+
+        long prev = 0;
+        for (int i = 0; i < size; i++) {
+            prev += in.readZigzag();
+            time[i] = prev;
+        }
+        for (int i = 0; i < size; i++) {
+            timestamp[i] = time[i] + in.readZigzag();
+        }
+
+        if (scale == RAW_SCALE) {
+            readDoubles(in, open);
+            readDoubles(in, high);
+            readDoubles(in, low);
+            readDoubles(in, close);
+        } else if (scale >= 0 && scale <= MAX_SCALE) {
+            double factor = POW10[scale];
+            long[] fixedOpen = new long[size];
+            long prevOpen = 0;
+            for (int i = 0; i < size; i++) {
+                prevOpen += in.readZigzag();
+                fixedOpen[i] = prevOpen;
+                open[i] = prevOpen / factor;
+            }
+            for (int i = 0; i < size; i++) {
+                high[i] = (fixedOpen[i] + in.readZigzag()) / factor;
+            }
+            for (int i = 0; i < size; i++) {
+                low[i] = (fixedOpen[i] - in.readZigzag()) / factor;
+            }
+            for (int i = 0; i < size; i++) {
+                close[i] = (fixedOpen[i] + in.readZigzag()) / factor;
+            }
+        } else {
+            throw new IllegalArgumentException(String.format("가격 소수점 자릿수 오류: %d", scale));
+        }
+        readDoubles(in, accTradePrice);
+        readDoubles(in, accTradeVolume);
+    }
+
+    private int getScale() {
+        for (int scale = 0; scale <= MAX_SCALE; scale++) {
+            if (isExact(open, scale) && isExact(high, scale) && isExact(low, scale) && isExact(close, scale)) {
+                return scale;
+            }
+        }
+        return RAW_SCALE;
+    }
+
+    private boolean isExact(double[] values, int scale) {
+        long factor = POW10[scale];
+        for (int i = 0; i < size; i++) {
+            double v = values[i] * factor;
+            if (Double.isNaN(v) || Math.abs(v) >= MAX_FIXED || Math.round(v) / (double) factor != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeDoubles(Encoder out, double[] values) {
+        for (int i = 0; i < size; i++) {
+            out.writeLong(Double.doubleToLongBits(values[i]));
+        }
+    }
+
+    private void readDoubles(Decoder in, double[] values) {
+        for (int i = 0; i < size; i++) {
+            values[i] = Double.longBitsToDouble(in.readLong());
+        }
+    }
+
+    private void grow(int capacity) {
+        time = Arrays.copyOf(time, capacity);
+        timestamp = Arrays.copyOf(timestamp, capacity);
+        open = Arrays.copyOf(open, capacity);
+        high = Arrays.copyOf(high, capacity);
+        low = Arrays.copyOf(low, capacity);
+        close = Arrays.copyOf(close, capacity);
+        accTradePrice = Arrays.copyOf(accTradePrice, capacity);
+        accTradeVolume = Arrays.copyOf(accTradeVolume, capacity);
+    }
+
+    private static class Encoder extends ByteArrayOutputStream {
+        Encoder(int size) {
+            super(size);
+        }
+
+        void writeZigzag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+    }
+
+    private static class Decoder {
+        private final byte[] buf;
+        private int pos;
+
+        Decoder(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int read() {
+            if (pos >= buf.length) {
+                throw new IllegalArgumentException("캔들 블록 길이 오류");
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        long readZigzag() {
+            long value = readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("캔들 블록 정수 형식 오류");
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.google.gson.stream.JsonReader;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.util.GsonUtil;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 수집한 캔들 JSON 파일(업비트 캔들 조회 응답 형식)을 캔들 보관 파일로 변환<br>
+ * 파일 이름: 코인_분단위.cbin 예) KRW-BTC_1440.cbin (일봉은 1440)
+ */
+@Slf4j
+public class CandleArchiveConverter {
+    public static final String EXTENSION = ".cbin";
+
+    private CandleArchiveConverter() {
+    }
+
+    /**
+     * JSON 파일 하나에 여러 코인, 주기가 섞여 있으면 코인, 주기별로 나눠서 저장<br>
+     * 같은 이름의 보관 파일이 있으면 교체
+     *
+     * @param json      JSON 파일
+     * @param outputDir 저장 디렉토리
+     * @return 만든 보관 파일
+     */
+    public static List<Path> fromJson(File json, Path outputDir) {
+        // 업비트 응답은 최신 순이라 정렬하기 위해 파일 하나는 메모리에 올림. 객체 배열 대신 하나씩 읽어서 파싱 중간 값은 만들지 않음
+        Map<String, List<CandleMinute>> candlesByKey = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(json.toPath(), StandardCharsets.UTF_8);
+             JsonReader jsonReader = new JsonReader(reader)) {
+            jsonReader.beginArray();
+            while (jsonReader.hasNext()) {
+                CandleMinute candle = GsonUtil.GSON.fromJson(jsonReader, CandleMinute.class);
+                candlesByKey.computeIfAbsent(getFileName(candle.getMarket(), candle.getUnit()), k -> new ArrayList<>()).add(candle);
+            }
+            jsonReader.endArray();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("캔들 파일 읽기 실패: %s", json), e);
+        }
+
+        List<Path> result = new ArrayList<>();
+        candlesByKey.forEach((fileName, candles) -> {
+            candles.sort(Comparator.comparing(CandleMinute::getCandleDateTimeUtc));
+            Path path = outputDir.resolve(fileName);
+            CandleMinute first = candles.get(0);
+            try (CandleArchiveWriter writer = CandleArchiveWriter.create(path, first.getMarket(), first.getUnit())) {
+                CandleMinute before = null;
+                for (CandleMinute candle : candles) {
+                    // 같은 시간 캔들이 중복되면 나중 값 사용
+                    if (before != null && before.getCandleDateTimeUtc().equals(candle.getCandleDateTimeUtc())) {
+                        log.warn("중복 캔들 제외: {}, {}", json, before.getCandleDateTimeUtc());
+                    } else if (before != null) {
+                        writer.add(before);
+                    }
+                    before = candle;
+                }
+                writer.add(before);
+            }
+            log.info("캔들 보관 파일 저장: {} -> {}, {}건", json, path, candles.size());
+            result.add(path);
+        });
+        return result;
+    }
+
+    /**
+     * @param dir       JSON 파일 디렉토리
+     * @param outputDir 저장 디렉토리
+     * @return 만든 보관 파일
+     */
+    public static List<Path> fromJsonDir(File dir, Path outputDir) {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(".json"));
+        if (files == null) {
+            throw new RuntimeException(String.format("디렉토리 없음: %s", dir));
+        }
+        Arrays.sort(files);
+        List<Path> result = new ArrayList<>();
+        for (File file : files) {
+            result.addAll(fromJson(file, outputDir));
+        }
+        return result;
+    }
+
+    /**
+     * @param market 코인
+     * @param unit   분 단위. 일봉은 0
+     * @return 보관 파일 이름
+     */
+    public static String getFileName(String market, int unit) {
+        return market + "_" + (unit == 0 ? 1440 : unit) + EXTENSION;
+    }
+}
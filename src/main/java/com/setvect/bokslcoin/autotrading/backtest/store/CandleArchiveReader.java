@@ -0,0 +1,330 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 캔들 보관 파일({@link CandleArchiveWriter}) 읽기<br>
+ * 색인만 메모리에 올리고 블록은 필요할 때 하나씩 읽어서 압축 해제. 파일 전체를 캔들 목록으로 만들지 않음
+ */
+public class CandleArchiveReader implements AutoCloseable, Iterable<CandleMinute> {
+    private static final long KST_OFFSET_MS = 9 * 60 * 60 * 1000L;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final String market;
+    private final int unit;
+    private final List<CandleArchiveWriter.IndexEntry> index;
+    private final int size;
+
+    private CandleArchiveReader(Path path, FileChannel channel, String market, int unit, List<CandleArchiveWriter.IndexEntry> index) {
+        this.path = path;
+        this.channel = channel;
+        this.market = market;
+        this.unit = unit;
+        this.index = index;
+        this.size = index.stream().mapToInt(e -> e.count).sum();
+    }
+
+    /**
+     * @param path 파일
+     * @return 읽기
+     */
+    public static CandleArchiveReader open(Path path) {
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            long fileSize = channel.size();
+            if (fileSize < CandleArchiveWriter.TRAILER_SIZE + 8) {
+                throw new RuntimeException(String.format("캔들 보관 파일 형식이 아님: %s", path));
+            }
+            ByteBuffer trailer = read(channel, fileSize - CandleArchiveWriter.TRAILER_SIZE, CandleArchiveWriter.TRAILER_SIZE);
+            long indexOffset = trailer.getLong();
+            int blockCount = trailer.getInt();
+            if (trailer.getInt() != CandleArchiveWriter.MAGIC) {
+                throw new RuntimeException(String.format("캔들 보관 파일 형식이 아님: %s", path));
+            }
+            long indexLength = (long) blockCount * CandleArchiveWriter.INDEX_ENTRY_SIZE;
+            if (indexOffset < 0 || indexOffset + indexLength + CandleArchiveWriter.TRAILER_SIZE != fileSize) {
+                throw new RuntimeException(String.format("캔들 보관 파일 색인 오류: %s", path));
+            }
+
+            DataInputStream header = new DataInputStream(new ByteArrayInputStream(read(channel, 0, (int) Math.min(indexOffset, 1024)).array()));
+            if (header.readInt() != CandleArchiveWriter.MAGIC) {
+                throw new RuntimeException(String.format("캔들 보관 파일 형식이 아님: %s", path));
+            }
+            int version = header.readInt();
+            if (version != CandleArchiveWriter.VERSION) {
+                throw new RuntimeException(String.format("지원하지 않는 캔들 보관 파일 버전: %d, %s", version, path));
+            }
+            String market = header.readUTF();
+            int unit = header.readInt();
+
+            ByteBuffer indexBuffer = read(channel, indexOffset, (int) indexLength);
+            List<CandleArchiveWriter.IndexEntry> index = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                index.add(new CandleArchiveWriter.IndexEntry(indexBuffer.getLong(), indexBuffer.getLong(), indexBuffer.getInt(),
+                        indexBuffer.getLong(), indexBuffer.getInt(), indexBuffer.getInt()));
+            }
+            return new CandleArchiveReader(path, channel, market, unit, Collections.unmodifiableList(index));
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new RuntimeException(String.format("캔들 보관 파일 읽기 실패: %s", path), e);
+        } catch (RuntimeException e) {
+            closeQuietly(channel);
+            throw e;
+        }
+    }
+
+    public String getMarket() {
+        return market;
+    }
+
+    /**
+     * @return 분 단위. 일봉은 0
+     */
+    public int getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return 전체 캔들 수
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 블록 수
+     */
+    public int getBlockCount() {
+        return index.size();
+    }
+
+    /**
+     * @return 첫 캔들 시간(UTC). 캔들이 없으면 null
+     */
+    public LocalDateTime getFrom() {
+        return index.isEmpty() ? null : CandleStore.toLocalDateTime(index.get(0).firstTime);
+    }
+
+    /**
+     * @return 마지막 캔들 시간(UTC). 캔들이 없으면 null
+     */
+    public LocalDateTime getTo() {
+        return index.isEmpty() ? null : CandleStore.toLocalDateTime(index.get(index.size() - 1).lastTime);
+    }
+
+    /**
+     * @return 전체 캔들을 시간 오름차순으로 읽음
+     */
+    @Override
+    public Iterator<CandleMinute> iterator() {
+        return new CandleIterator(Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * 범위에 걸치지 않는 블록은 읽지 않음
+     *
+     * @param from   시작 날짜 - UTC, 포함
+     * @param to     종료 날짜 - UTC, 포함
+     * @param action 캔들 처리(시간 오름차순)
+     */
+    public void forEach(LocalDateTime from, LocalDateTime to, Consumer<CandleMinute> action) {
+        CandleIterator iterator = new CandleIterator(CandleStore.toEpochMilli(from), CandleStore.toEpochMilli(to));
+        while (iterator.hasNext()) {
+            action.accept(iterator.next());
+        }
+    }
+
+    /**
+     * 캔들 객체를 만들지 않고 가격만 읽음
+     *
+     * @param from    시작 날짜 - UTC, 포함
+     * @param to      종료 날짜 - UTC, 포함
+     * @param columns 읽은 캔들을 추가할 곳
+     * @return 추가한 캔들 수
+     */
+    public int readColumns(LocalDateTime from, LocalDateTime to, CandleColumns columns) {
+        long fromMs = CandleStore.toEpochMilli(from);
+        long toMs = CandleStore.toEpochMilli(to);
+        CandleArchiveBlock block = new CandleArchiveBlock(CandleArchiveWriter.DEFAULT_BLOCK_SIZE);
+        Inflater inflater = new Inflater();
+        int count = 0;
+        try {
+            for (CandleArchiveWriter.IndexEntry entry : index) {
+                if (entry.lastTime < fromMs || entry.firstTime > toMs) {
+                    continue;
+                }
+                readBlock(entry, block, inflater);
+                for (int i = 0; i < block.size; i++) {
+                    if (block.time[i] >= fromMs && block.time[i] <= toMs) {
+                        columns.add(block.time[i], block.open[i], block.high[i], block.low[i], block.close[i]);
+                        count++;
+                    }
+                }
+            }
+        } finally {
+            inflater.end();
+        }
+        return count;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("캔들 보관 파일 닫기 실패: %s", path), e);
+        }
+    }
+
+    private void readBlock(CandleArchiveWriter.IndexEntry entry, CandleArchiveBlock block, Inflater inflater) {
+        try {
+            byte[] compressed = read(channel, entry.offset, entry.length).array();
+            byte[] raw = new byte[entry.rawLength];
+            inflater.reset();
+            inflater.setInput(compressed);
+            int length = 0;
+            while (length < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, length, raw.length - length);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += n;
+            }
+            if (length != raw.length) {
+                throw new RuntimeException(String.format("캔들 보관 파일 블록 크기 오류. 예상: %,d, 실제: %,d, %s", raw.length, length, path));
+            }
+            block.decode(raw);
+        } catch (IOException | DataFormatException e) {
+            throw new RuntimeException(String.format("캔들 보관 파일 블록 읽기 실패: %s", path), e);
+        }
+        if (block.size != entry.count) {
+            throw new RuntimeException(String.format("캔들 보관 파일 블록 캔들 수 오류. 예상: %d, 실제: %d, %s", entry.count, block.size, path));
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new IOException(String.format("파일 끝. 위치: %,d", position + buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignore) {
+            // 읽기 실패를 먼저 알림
+        }
+    }
+
+    /**
+     * 블록을 하나씩 읽으면서 캔들을 만듦
+     */
+    private class CandleIterator implements Iterator<CandleMinute> {
+        private final long fromMs;
+        private final long toMs;
+        private final CandleArchiveBlock block = new CandleArchiveBlock(CandleArchiveWriter.DEFAULT_BLOCK_SIZE);
+        private final Inflater inflater = new Inflater();
+        private int blockIdx;
+        private int candleIdx;
+        private boolean done;
+
+        CandleIterator(long fromMs, long toMs) {
+            this.fromMs = fromMs;
+            this.toMs = toMs;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!done) {
+                while (candleIdx < block.size) {
+                    long time = block.time[candleIdx];
+                    if (time > toMs) {
+                        finish();
+                        return false;
+                    }
+                    if (time >= fromMs) {
+                        return true;
+                    }
+                    candleIdx++;
+                }
+                if (!nextBlock()) {
+                    finish();
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public CandleMinute next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int i = candleIdx++;
+            CandleMinute candle = new CandleMinute();
+            candle.setMarket(market);
+            candle.setUnit(unit);
+            candle.setCandleDateTimeUtc(CandleStore.toLocalDateTime(block.time[i]));
+            candle.setCandleDateTimeKst(CandleStore.toLocalDateTime(block.time[i] + KST_OFFSET_MS));
+            candle.setOpeningPrice(block.open[i]);
+            candle.setHighPrice(block.high[i]);
+            candle.setLowPrice(block.low[i]);
+            candle.setTradePrice(block.close[i]);
+            candle.setTimestamp(block.timestamp[i]);
+            candle.setCandleAccTradePrice(block.accTradePrice[i]);
+            candle.setCandleAccTradeVolume(block.accTradeVolume[i]);
+            return candle;
+        }
+
+        private boolean nextBlock() {
+            while (blockIdx < index.size()) {
+                CandleArchiveWriter.IndexEntry entry = index.get(blockIdx++);
+                if (entry.firstTime > toMs) {
+                    return false;
+                }
+                if (entry.lastTime < fromMs) {
+                    continue;
+                }
+                readBlock(entry, block, inflater);
+                candleIdx = 0;
+                return true;
+            }
+            return false;
+        }
+
+        private void finish() {
+            if (!done) {
+                done = true;
+                block.clear();
+                inflater.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.model.Candle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * 캔들 보관 파일 쓰기<br>
+ * 구조: 헤더 + 블록(압축, n개) + 색인 + 꼬리(16byte)<br>
+ * - 헤더: 식별값(int), 버전(int), 코인(UTF), 분 단위(int, 일봉은 0)<br>
+ * - 블록: {@link CandleArchiveBlock}를 Deflate로 압축<br>
+ * - 색인: 블록마다 첫 시간(long), 마지막 시간(long), 캔들 수(int), 위치(long), 압축 크기(int), 원래 크기(int)<br>
+ * - 꼬리: 색인 위치(long), 블록 수(int), 식별값(int)<br>
+ * 캔들은 시간 오름차순으로 추가해야 됨. 닫을 때 임시 파일을 교체하기 때문에 쓰는 도중 읽어도 깨진 파일을 보지 않음
+ */
+public class CandleArchiveWriter implements AutoCloseable {
+    static final int MAGIC = 0x424B4341;
+    static final int VERSION = 1;
+    static final int TRAILER_SIZE = 16;
+    static final int INDEX_ENTRY_SIZE = 8 + 8 + 4 + 8 + 4 + 4;
+    /**
+     * 블록 하나에 들어가는 캔들 수. 1분봉 기준 약 3일
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private final Path path;
+    private final Path temp;
+    private final String market;
+    private final int blockSize;
+    private final DataOutputStream out;
+    private final CandleArchiveBlock block;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final List<IndexEntry> index = new ArrayList<>();
+
+    private long offset;
+    private long lastTime = Long.MIN_VALUE;
+    private boolean closed;
+
+    private CandleArchiveWriter(Path path, String market, int unit, int blockSize) throws IOException {
+        this.path = path;
+        this.temp = path.resolveSibling(path.getFileName() + ".tmp");
+        this.market = market;
+        this.blockSize = blockSize;
+        this.block = new CandleArchiveBlock(blockSize);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeUTF(market);
+        out.writeInt(unit);
+        offset = out.size();
+    }
+
+    /**
+     * @param path   파일
+     * @param market 코인
+     * @param unit   분 단위. 일봉은 0
+     * @return 쓰기
+     */
+    public static CandleArchiveWriter create(Path path, String market, int unit) {
+        return create(path, market, unit, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param path      파일
+     * @param market    코인
+     * @param unit      분 단위. 일봉은 0
+     * @param blockSize 블록 하나에 들어가는 캔들 수
+     * @return 쓰기
+     */
+    public static CandleArchiveWriter create(Path path, String market, int unit, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException(String.format("블록 크기 오류: %d", blockSize));
+        }
+        try {
+            return new CandleArchiveWriter(path, market, unit, blockSize);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("캔들 보관 파일 생성 실패: %s", path), e);
+        }
+    }
+
+    /**
+     * @param candle 캔들. 이전에 추가한 캔들보다 시간이 커야 됨
+     */
+    public void add(Candle candle) {
+        if (!market.equals(candle.getMarket())) {
+            throw new IllegalArgumentException(String.format("코인 다름. 파일: %s, 캔들: %s", market, candle.getMarket()));
+        }
+        long time = CandleStore.toEpochMilli(candle.getCandleDateTimeUtc());
+        if (time <= lastTime) {
+            throw new IllegalArgumentException(String.format("캔들은 시간 오름차순이고 중복이 없어야 됨: %s", candle.getCandleDateTimeUtc()));
+        }
+        lastTime = time;
+        block.add(time, candle.getTimestamp(), candle.getOpeningPrice(), candle.getHighPrice(), candle.getLowPrice(), candle.getTradePrice(),
+                candle.getCandleAccTradePrice(), candle.getCandleAccTradeVolume());
+        if (block.size == blockSize) {
+            writeBlock();
+        }
+    }
+
+    /**
+     * 남은 블록과 색인을 쓰고 파일을 교체
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (block.size > 0) {
+                writeBlock();
+            }
+            long indexOffset = offset;
+            for (IndexEntry entry : index) {
+                out.writeLong(entry.firstTime);
+                out.writeLong(entry.lastTime);
+                out.writeInt(entry.count);
+                out.writeLong(entry.offset);
+                out.writeInt(entry.length);
+                out.writeInt(entry.rawLength);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(index.size());
+            out.writeInt(MAGIC);
+            out.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("캔들 보관 파일 저장 실패: %s", path), e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeBlock() {
+        byte[] raw = block.encode();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] buf = new byte[Math.max(64, raw.length / 2)];
+        long blockOffset = offset;
+        try {
+            while (!deflater.finished()) {
+                int length = deflater.deflate(buf);
+                out.write(buf, 0, length);
+                offset += length;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("캔들 보관 파일 저장 실패: %s", path), e);
+        }
+        index.add(new IndexEntry(block.time[0], block.time[block.size - 1], block.size, blockOffset, (int) (offset - blockOffset), raw.length));
+        block.clear();
+    }
+
+    /**
+     * 블록 색인 하나
+     */
+    static class IndexEntry {
+        final long firstTime;
+        final long lastTime;
+        final int count;
+        final long offset;
+        final int length;
+        final int rawLength;
+
+        IndexEntry(long firstTime, long lastTime, int count, long offset, int length, int rawLength) {
+            this.firstTime = firstTime;
+            this.lastTime = lastTime;
+            this.count = count;
+            this.offset = offset;
+            this.length = length;
+            this.rawLength = rawLength;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 캔들 항목별 고정 길이 파일<br>
+ * 구조: 헤더(16byte) + 시간(long[n]) + 시가(double[n]) + 고가(double[n]) + 저가(double[n]) + 종가(double[n])<br>
+ * 헤더: 식별값(int), 버전(int), 캔들 수(int), 예약(int)<br>
+ * 시간 오름차순으로 저장하고, 읽을 때는 메모리 매핑을 사용해 파일 전체를 힙에 올리지 않음(Windows 제외, {@link ColumnFiles})
+ */
+public class CandleColumnFile {
+    private static final int MAGIC = 0x424B4344;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int openOffset;
+    private final int highOffset;
+    private final int lowOffset;
+    private final int closeOffset;
+
+    private CandleColumnFile(Path path, ByteBuffer buffer, int size) {
+        this.path = path;
+        this.buffer = buffer;
+        this.size = size;
+        this.openOffset = HEADER_SIZE + size * 8;
+        this.highOffset = openOffset + size * 8;
+        this.lowOffset = highOffset + size * 8;
+        this.closeOffset = lowOffset + size * 8;
+    }
+
+    /**
+     * @param path 파일
+     * @return 읽기 전용으로 매핑한 파일. Windows는 메모리로 읽은 파일({@link ColumnFiles})
+     */
+    public static CandleColumnFile open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ColumnFiles.read(channel);
+            if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new RuntimeException(String.format("캔들 파일 형식이 아님: %s", path));
+            }
+            int version = buffer.getInt(4);
+            if (version != VERSION) {
+                throw new RuntimeException(String.format("지원하지 않는 캔들 파일 버전: %d, %s", version, path));
+            }
+            int size = buffer.getInt(8);
+            long expect = HEADER_SIZE + (long) size * 8 * 5;
+            if (channel.size() != expect) {
+                throw new RuntimeException(String.format("캔들 파일 크기 오류. 예상: %,d, 실제: %,d, %s", expect, channel.size(), path));
+            }
+            return new CandleColumnFile(path, buffer, size);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("캔들 파일 읽기 실패: %s", path), e);
+        }
+    }
+
+    /**
+     * 임시 파일에 쓴 다음 교체하기 때문에 쓰는 도중 읽어도 깨진 파일을 보지 않음. 이미 열어 놓은 객체는 이전 내용을 계속 읽음
+     *
+     * @param path    파일
+     * @param columns 시간 오름차순 캔들
+     */
+    public static void write(Path path, CandleColumns columns) {
+        if (!columns.isSorted()) {
+            throw new IllegalArgumentException("캔들은 시간 오름차순이고 중복이 없어야 됨");
+        }
+        int size = columns.size();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                out.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(0);
+                for (int i = 0; i < size; i++) {
+                    flushIfFull(channel, out);
+                    out.putLong(columns.getTime(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    flushIfFull(channel, out);
+                    out.putDouble(columns.getOpen(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    flushIfFull(channel, out);
+                    out.putDouble(columns.getHigh(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    flushIfFull(channel, out);
+                    out.putDouble(columns.getLow(i));
+                }
+                for (int i = 0; i < size; i++) {
+                    flushIfFull(channel, out);
+                    out.putDouble(columns.getClose(i));
+                }
+                flush(channel, out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("캔들 파일 저장 실패: %s", path), e);
+        }
+    }
+
+    private static void flushIfFull(FileChannel channel, ByteBuffer out) throws IOException {
+        if (out.remaining() < 8) {
+            flush(channel, out);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTime(int i) {
+        return buffer.getLong(HEADER_SIZE + checkIndex(i) * 8);
+    }
+
+    public double getOpen(int i) {
+        return buffer.getDouble(openOffset + checkIndex(i) * 8);
+    }
+
+    public double getHigh(int i) {
+        return buffer.getDouble(highOffset + checkIndex(i) * 8);
+    }
+
+    public double getLow(int i) {
+        return buffer.getDouble(lowOffset + checkIndex(i) * 8);
+    }
+
+    public double getClose(int i) {
+        return buffer.getDouble(closeOffset + checkIndex(i) * 8);
+    }
+
+    /**
+     * @param timeUtc 시간(UTC, epoch millisecond)
+     * @return timeUtc 이상인 첫 번째 위치, 없으면 size
+     */
+    public int lowerBound(long timeUtc) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(HEADER_SIZE + mid * 8) < timeUtc) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param fromUtc 시작 시간(UTC, epoch millisecond), 포함
+     * @param toUtc   종료 시간(UTC, epoch millisecond), 포함
+     * @param market  코인
+     * @return 범위에 해당하는 캔들
+     */
+    public CandleSlice slice(String market, long fromUtc, long toUtc) {
+        int start = lowerBound(fromUtc);
+        int end = toUtc == Long.MAX_VALUE ? size : lowerBound(toUtc + 1);
+        return new CandleSlice(market, this, start, Math.max(start, end));
+    }
+
+    /**
+     * @return 파일 전체를 힙으로 읽은 값
+     */
+    public CandleColumns toColumns() {
+        CandleColumns columns = new CandleColumns(size);
+        for (int i = 0; i < size; i++) {
+            columns.add(getTime(i), getOpen(i), getHigh(i), getLow(i), getClose(i));
+        }
+        return columns;
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(String.format("index: %d, size: %d", i, size));
+        }
+        return i;
+    }
+}
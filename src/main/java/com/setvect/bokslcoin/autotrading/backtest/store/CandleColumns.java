@@ -0,0 +1,160 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import java.util.Arrays;
+
+/**
+ * 캔들 항목별 primitive 배열. 크기는 자동으로 늘어남<br>
+ * 시간은 캔들 기준 시각(UTC, epoch millisecond)
+ */
+public class CandleColumns {
+    private long[] time;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private int size;
+
+    public CandleColumns() {
+        this(1024);
+    }
+
+    /**
+     * @param capacity 초기 크기
+     */
+    public CandleColumns(int capacity) {
+        int c = Math.max(capacity, 16);
+        time = new long[c];
+        open = new double[c];
+        high = new double[c];
+        low = new double[c];
+        close = new double[c];
+    }
+
+    public void add(long timeUtc, double openPrice, double highPrice, double lowPrice, double closePrice) {
+        if (size == time.length) {
+            int c = size * 2;
+            time = Arrays.copyOf(time, c);
+            open = Arrays.copyOf(open, c);
+            high = Arrays.copyOf(high, c);
+            low = Arrays.copyOf(low, c);
+            close = Arrays.copyOf(close, c);
+        }
+        time[size] = timeUtc;
+        open[size] = openPrice;
+        high[size] = highPrice;
+        low[size] = lowPrice;
+        close[size] = closePrice;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getTime(int i) {
+        return time[i];
+    }
+
+    public double getOpen(int i) {
+        return open[i];
+    }
+
+    public double getHigh(int i) {
+        return high[i];
+    }
+
+    public double getLow(int i) {
+        return low[i];
+    }
+
+    public double getClose(int i) {
+        return close[i];
+    }
+
+    /**
+     * 시간 오름차순으로 정렬되어 있어야 됨
+     *
+     * @param timeUtc 시간(UTC, epoch millisecond)
+     * @return timeUtc 이상인 첫 번째 위치, 없으면 size
+     */
+    public int lowerBound(long timeUtc) {
+        int lowIndex = 0;
+        int highIndex = size;
+        while (lowIndex < highIndex) {
+            int mid = (lowIndex + highIndex) >>> 1;
+            if (time[mid] < timeUtc) {
+                lowIndex = mid + 1;
+            } else {
+                highIndex = mid;
+            }
+        }
+        return lowIndex;
+    }
+
+    /**
+     * @return 시간 오름차순이고 중복이 없으면 true
+     */
+    public boolean isSorted() {
+        for (int i = 1; i < size; i++) {
+            if (time[i - 1] >= time[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 시간 오름차순으로 정렬하고 같은 시간은 나중에 추가한 값만 남김
+     *
+     * @return 정렬된 새 객체. 이미 정렬되어 있으면 자기 자신
+     */
+    public CandleColumns sorted() {
+        if (isSorted()) {
+            return this;
+        }
+        // 같은 시간이면 나중에 추가한 값이 뒤에 오도록 위치 순서 유지
+        Integer[] index = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            index[i] = i;
+        }
+        Arrays.sort(index, (a, b) -> {
+            int c = Long.compare(time[a], time[b]);
+            return c != 0 ? c : Integer.compare(a, b);
+        });
+        CandleColumns result = new CandleColumns(size);
+        for (int k = 0; k < size; k++) {
+            int i = index[k];
+            if (k + 1 < size && time[index[k + 1]] == time[i]) {
+                continue;
+            }
+            result.add(time[i], open[i], high[i], low[i], close[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 정렬된 두 목록을 합침. 같은 시간은 update 값 사용
+     *
+     * @param base   기존 값(시간 오름차순)
+     * @param update 새로운 값(시간 오름차순)
+     * @return 합친 결과
+     */
+    public static CandleColumns merge(CandleColumns base, CandleColumns update) {
+        CandleColumns result = new CandleColumns(base.size + update.size);
+        int i = 0;
+        int j = 0;
+        while (i < base.size || j < update.size) {
+            if (j >= update.size || (i < base.size && base.time[i] < update.time[j])) {
+                result.add(base.time[i], base.open[i], base.high[i], base.low[i], base.close[i]);
+                i++;
+            } else {
+                if (i < base.size && base.time[i] == update.time[j]) {
+                    i++;
+                }
+                result.add(update.time[j], update.open[j], update.high[j], update.low[j], update.close[j]);
+                j++;
+            }
+        }
+        return result;
+    }
+}
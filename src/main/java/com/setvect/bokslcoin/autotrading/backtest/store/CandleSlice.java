@@ -0,0 +1,93 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.model.Candle;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캔들 파일의 일부 구간 [start, end)<br>
+ * 값을 복사하지 않고 매핑된 파일을 직접 읽음. 인덱스 0이 가장 오래된 캔들
+ */
+public class CandleSlice {
+    private final String market;
+    private final CandleColumnFile file;
+    private final int start;
+    private final int end;
+
+    CandleSlice(String market, CandleColumnFile file, int start, int end) {
+        this.market = market;
+        this.file = file;
+        this.start = start;
+        this.end = end;
+    }
+
+    public String getMarket() {
+        return market;
+    }
+
+    public int size() {
+        return end - start;
+    }
+
+    public boolean isEmpty() {
+        return start == end;
+    }
+
+    public long getTime(int i) {
+        return file.getTime(index(i));
+    }
+
+    public double getOpen(int i) {
+        return file.getOpen(index(i));
+    }
+
+    public double getHigh(int i) {
+        return file.getHigh(index(i));
+    }
+
+    public double getLow(int i) {
+        return file.getLow(index(i));
+    }
+
+    public double getClose(int i) {
+        return file.getClose(index(i));
+    }
+
+    /**
+     * @param i 위치
+     * @return 캔들 객체. 시가, 고가, 저가, 종가, 기준 시각만 채워짐
+     */
+    public Candle getCandle(int i) {
+        int index = index(i);
+        Candle candle = new Candle();
+        candle.setMarket(market);
+        LocalDateTime utc = CandleStore.toLocalDateTime(file.getTime(index));
+        candle.setCandleDateTimeUtc(utc);
+        candle.setCandleDateTimeKst(utc.plusHours(9));
+        candle.setOpeningPrice(file.getOpen(index));
+        candle.setHighPrice(file.getHigh(index));
+        candle.setLowPrice(file.getLow(index));
+        candle.setTradePrice(file.getClose(index));
+        return candle;
+    }
+
+    /**
+     * @return 캔들 목록(시간 오름차순)
+     */
+    public List<Candle> toCandles() {
+        List<Candle> result = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            result.add(getCandle(i));
+        }
+        return result;
+    }
+
+    private int index(int i) {
+        if (i < 0 || i >= size()) {
+            throw new IndexOutOfBoundsException(String.format("index: %d, size: %d", i, size()));
+        }
+        return start + i;
+    }
+}
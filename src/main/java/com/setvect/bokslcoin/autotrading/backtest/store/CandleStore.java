@@ -0,0 +1,119 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 백테스트용 캔들 저장소<br>
+ * 코인, 주기별로 파일 하나({@link CandleColumnFile})를 사용. 예) KRW-BTC_PERIOD_1.candle
+ */
+@Component
+@Slf4j
+public class CandleStore {
+    private static final String EXTENSION = ".candle";
+    private static final String INDICATOR_EXTENSION = ".indicator";
+
+    private final Path storeDir;
+
+    /**
+     * 열어 놓은 파일. 저장하면 다시 열기 위해 제거
+     */
+    private final Map<String, CandleColumnFile> openFiles = new ConcurrentHashMap<>();
+
+    public CandleStore(@Value("${com.setvect.bokslcoin.autotrading.backtest.storeDir:./candle-store}") String storeDir) {
+        this.storeDir = Paths.get(storeDir);
+    }
+
+    /**
+     * @param market     코인
+     * @param periodType 주기
+     * @return 저장된 캔들이 있으면 true
+     */
+    public boolean exists(String market, PeriodType periodType) {
+        return Files.exists(getPath(market, periodType));
+    }
+
+    /**
+     * @param market     코인
+     * @param periodType 주기
+     * @return 캔들 파일
+     */
+    public CandleColumnFile open(String market, PeriodType periodType) {
+        Path path = getPath(market, periodType);
+        return openFiles.computeIfAbsent(path.toString(), k -> {
+            if (!Files.exists(path)) {
+                throw new RuntimeException(String.format("캔들 파일 없음: %s", path));
+            }
+            return CandleColumnFile.open(path);
+        });
+    }
+
+    /**
+     * @param market     코인
+     * @param periodType 주기
+     * @param from       시작 날짜 - UTC, 포함
+     * @param end        종료 날짜 - UTC, 포함
+     * @return 시세(날짜 기준 오름 차순)
+     */
+    public CandleSlice range(String market, PeriodType periodType, LocalDateTime from, LocalDateTime end) {
+        return open(market, periodType).slice(market, toEpochMilli(from), toEpochMilli(end));
+    }
+
+    /**
+     * 기존 캔들과 합쳐서 저장. 같은 시간의 캔들은 새 값으로 교체
+     *
+     * @param market     코인
+     * @param periodType 주기
+     * @param columns    저장할 캔들
+     * @return 저장 후 전체 캔들 수
+     */
+    public synchronized int merge(String market, PeriodType periodType, CandleColumns columns) {
+        Path path = getPath(market, periodType);
+        CandleColumns update = columns.sorted();
+        CandleColumns result = exists(market, periodType) ? CandleColumns.merge(open(market, periodType).toColumns(), update) : update;
+        CandleColumnFile.write(path, result);
+        // 파일을 바꾼 다음 제거해야 그 사이에 open으로 예전 파일이 다시 들어가지 않음. 파일 교체는 원자적이라 쓰는 도중 읽지 않음
+        openFiles.remove(path.toString());
+        log.info("캔들 저장: {}, 추가: {}, 전체: {}", path, update.size(), result.size());
+        return result.size();
+    }
+
+    /**
+     * @param market     코인
+     * @param periodType 주기
+     * @return 미리 계산한 지표 파일({@link IndicatorColumnFile}) 경로. 캔들 파일과 같은 디렉토리
+     */
+    public Path getIndicatorPath(String market, PeriodType periodType) {
+        return storeDir.resolve(market + "_" + periodType.name() + INDICATOR_EXTENSION);
+    }
+
+    private Path getPath(String market, PeriodType periodType) {
+        return storeDir.resolve(market + "_" + periodType.name() + EXTENSION);
+    }
+
+    /**
+     * @param utc 날짜 - UTC
+     * @return epoch millisecond
+     */
+    public static long toEpochMilli(LocalDateTime utc) {
+        return utc.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * @param epochMilli epoch millisecond
+     * @return 날짜 - UTC
+     */
+    public static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000), (int) Math.floorMod(epochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
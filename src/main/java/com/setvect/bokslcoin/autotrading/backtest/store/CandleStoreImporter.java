@@ -0,0 +1,155 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.google.gson.reflect.TypeToken;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.repository.CandleRepository;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.util.GsonUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DB(WA_CANDLE), 수집 JSON 파일, 캔들 보관 파일의 캔들을 {@link CandleStore}로 옮김
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CandleStoreImporter {
+    /**
+     * DB에서 한 번에 읽는 캔들 수
+     */
+    private static final int PAGE_SIZE = 10_000;
+
+    private final CandleRepository candleRepository;
+    private final CandleStore candleStore;
+
+    /**
+     * @param market     코인
+     * @param periodType 주기
+     * @return 저장 후 전체 캔들 수
+     */
+    public int importFromDb(String market, PeriodType periodType) {
+        CandleColumns columns = new CandleColumns();
+        candleRepository.scanPrice(market, periodType, LocalDateTime.of(2000, 1, 1, 0, 0), LocalDateTime.now(ZoneOffset.UTC), PAGE_SIZE,
+                c -> columns.add(CandleStore.toEpochMilli(c.getCandleDateTimeUtc()), c.getOpeningPrice(), c.getHighPrice(), c.getLowPrice(), c.getTradePrice()));
+        log.info("DB 캔들 읽음: {}, {}, {}건", market, periodType, columns.size());
+        return candleStore.merge(market, periodType, columns);
+    }
+
+    /**
+     * 수집한 캔들 JSON 파일(업비트 캔들 조회 응답 형식) 저장<br>
+     * 분 단위(unit) 값이 없으면 일봉으로 판단
+     *
+     * @param file JSON 파일
+     */
+    public void importFromJson(File file) {
+        Map<String, Map<PeriodType, CandleColumns>> columnsByMarket = new LinkedHashMap<>();
+        readJson(file, columnsByMarket);
+        mergeAll(columnsByMarket);
+    }
+
+    /**
+     * 디렉토리의 JSON 파일을 모두 읽은 다음 코인, 주기별로 한 번만 저장<br>
+     * 같은 시간의 캔들은 파일 이름 순서로 나중 파일 값 사용
+     *
+     * @param dir 디렉토리
+     */
+    public void importFromJsonDir(File dir) {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(".json"));
+        if (files == null) {
+            throw new RuntimeException(String.format("디렉토리 없음: %s", dir));
+        }
+        Arrays.sort(files);
+        Map<String, Map<PeriodType, CandleColumns>> columnsByMarket = new LinkedHashMap<>();
+        for (File file : files) {
+            log.info("JSON 캔들 읽음: {}", file);
+            readJson(file, columnsByMarket);
+        }
+        mergeAll(columnsByMarket);
+    }
+
+    /**
+     * 캔들 보관 파일({@link CandleArchiveWriter}) 저장. 캔들 객체를 만들지 않고 블록 단위로 읽음
+     *
+     * @param file 캔들 보관 파일
+     * @return 저장 후 전체 캔들 수
+     */
+    public int importFromArchive(File file) {
+        CandleColumns columns = new CandleColumns();
+        String market;
+        PeriodType periodType;
+        try (CandleArchiveReader reader = CandleArchiveReader.open(file.toPath())) {
+            market = reader.getMarket();
+            periodType = getPeriodType(reader.getUnit());
+            if (reader.size() == 0) {
+                return 0;
+            }
+            reader.readColumns(reader.getFrom(), reader.getTo(), columns);
+        }
+        return candleStore.merge(market, periodType, columns);
+    }
+
+    /**
+     * @param dir 디렉토리
+     */
+    public void importFromArchiveDir(File dir) {
+        File[] files = dir.listFiles((d, name) -> name.endsWith(CandleArchiveConverter.EXTENSION));
+        if (files == null) {
+            throw new RuntimeException(String.format("디렉토리 없음: %s", dir));
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            log.info("캔들 보관 파일 저장: {}", file);
+            importFromArchive(file);
+        }
+    }
+
+    private static void readJson(File file, Map<String, Map<PeriodType, CandleColumns>> columnsByMarket) {
+        List<CandleMinute> candles;
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            candles = GsonUtil.GSON.fromJson(reader, new TypeToken<List<CandleMinute>>() {
+            }.getType());
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("캔들 파일 읽기 실패: %s", file), e);
+        }
+        for (CandleMinute c : candles) {
+            columnsByMarket.computeIfAbsent(c.getMarket(), k -> new EnumMap<>(PeriodType.class))
+                    .computeIfAbsent(getPeriodType(c.getUnit()), k -> new CandleColumns())
+                    .add(CandleStore.toEpochMilli(c.getCandleDateTimeUtc()), c.getOpeningPrice(), c.getHighPrice(), c.getLowPrice(), c.getTradePrice());
+        }
+    }
+
+    /**
+     * 정렬 순서(업비트 응답은 최신 순)는 저장할 때 맞춤
+     */
+    private void mergeAll(Map<String, Map<PeriodType, CandleColumns>> columnsByMarket) {
+        columnsByMarket.forEach((market, columnsByPeriod) ->
+                columnsByPeriod.forEach((periodType, columns) -> candleStore.merge(market, periodType, columns)));
+    }
+
+    private static PeriodType getPeriodType(int unit) {
+        if (unit == 0) {
+            return PeriodType.PERIOD_1440;
+        }
+        for (PeriodType periodType : PeriodType.values()) {
+            if (periodType.getDiffMinutes() == unit) {
+                return periodType;
+            }
+        }
+        throw new IllegalArgumentException(String.format("지원하지 않는 분 단위: %d", unit));
+    }
+}
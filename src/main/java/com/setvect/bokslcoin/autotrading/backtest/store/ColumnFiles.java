@@ -0,0 +1,44 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+
+/**
+ * 캔들, 지표 파일 읽기 공통<br>
+ * 저장할 때 임시 파일을 기존 파일 위로 옮겨 교체하는데, Windows는 매핑된 파일을 교체하거나 지울 수 없고 매핑은 GC 전까지 풀리지 않음<br>
+ * 그래서 Windows에서는 매핑하지 않고 파일 전체를 직접 메모리(힙 밖)로 읽어 파일을 바로 닫음. 그 외 OS는 매핑해서 읽음(교체해도 기존 매핑은 이전 내용 유지)
+ */
+final class ColumnFiles {
+    /**
+     * 매핑한 파일을 교체할 수 있는 OS면 true
+     */
+    static final boolean MAP = !System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+
+    private ColumnFiles() {
+    }
+
+    /**
+     * @param channel 읽기 전용으로 연 파일
+     * @return 파일 전체 내용(little endian). 절대 위치로만 읽어야 됨
+     */
+    static ByteBuffer read(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (MAP) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException(String.format("파일이 너무 큼: %,d", size));
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException(String.format("파일을 끝까지 읽지 못함. 예상: %,d, 읽음: %,d", size, buffer.position()));
+            }
+        }
+        buffer.flip();
+        return buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,258 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 캔들 파일({@link CandleColumnFile})의 종가로 미리 계산한 이동평균<br>
+ * 구조: 헤더(32byte) + 기간(int[m]) + 종가 누적 합계(double[n + 1]) + 기간별 단순 이동평균(double[n]), 가중 이동평균(double[n])<br>
+ * 헤더: 식별값(int), 버전(int), 캔들 수(int), 기간 수(int), 마지막 캔들 시간(long), 예약(long)<br>
+ * i번째 값은 i번째 캔들까지 기간 수만큼의 평균. 캔들이 부족하면 NaN<br>
+ * 가중 이동평균은 최근 캔들일수록 가중치가 큼({@link com.setvect.bokslcoin.autotrading.algorithm.CommonTradeHelper#getMaWeight}와 같음)
+ */
+public class IndicatorColumnFile {
+    private static final int MAGIC = 0x424B4349;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    /**
+     * 누적 계산의 부동소수점 오차를 없애기 위해 가중 합계를 다시 계산하는 주기(캔들 수)
+     */
+    private static final int RESYNC_INTERVAL = 10_000;
+
+    private final Path path;
+    private final ByteBuffer buffer;
+    private final int size;
+    private final long lastTime;
+    private final int[] windows;
+    private final int sumOffset;
+    private final int columnOffset;
+
+    private IndicatorColumnFile(Path path, ByteBuffer buffer, int size, long lastTime, int[] windows) {
+        this.path = path;
+        this.buffer = buffer;
+        this.size = size;
+        this.lastTime = lastTime;
+        this.windows = windows;
+        this.sumOffset = HEADER_SIZE + windows.length * 4;
+        this.columnOffset = sumOffset + (size + 1) * 8;
+    }
+
+    /**
+     * @param path 파일
+     * @return 읽기 전용으로 매핑한 파일. Windows는 메모리로 읽은 파일({@link ColumnFiles})
+     */
+    public static IndicatorColumnFile open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ColumnFiles.read(channel);
+            if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new RuntimeException(String.format("지표 파일 형식이 아님: %s", path));
+            }
+            int version = buffer.getInt(4);
+            if (version != VERSION) {
+                throw new RuntimeException(String.format("지원하지 않는 지표 파일 버전: %d, %s", version, path));
+            }
+            int size = buffer.getInt(8);
+            int windowCount = buffer.getInt(12);
+            long lastTime = buffer.getLong(16);
+            long expect = HEADER_SIZE + windowCount * 4L + (size + 1L) * 8 + (long) windowCount * 2 * size * 8;
+            if (channel.size() != expect) {
+                throw new RuntimeException(String.format("지표 파일 크기 오류. 예상: %,d, 실제: %,d, %s", expect, channel.size(), path));
+            }
+            int[] windows = new int[windowCount];
+            for (int i = 0; i < windowCount; i++) {
+                windows[i] = buffer.getInt(HEADER_SIZE + i * 4);
+            }
+            return new IndicatorColumnFile(path, buffer, size, lastTime, windows);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("지표 파일 읽기 실패: %s", path), e);
+        }
+    }
+
+    /**
+     * 종가 누적 합계를 한 번 구하고, 기간마다 누적 합계 차이로 이동평균을 계산해 저장<br>
+     * 임시 파일에 쓴 다음 교체하기 때문에 쓰는 도중 읽어도 깨진 파일을 보지 않음. 이미 열어 놓은 객체는 이전 내용을 계속 읽음
+     *
+     * @param path    파일
+     * @param candle  캔들 파일
+     * @param windows 이동평균 기간
+     */
+    public static void write(Path path, CandleColumnFile candle, int[] windows) {
+        int[] sortedWindows = Arrays.stream(windows).distinct().sorted().toArray();
+        for (int window : sortedWindows) {
+            if (window < 1) {
+                throw new IllegalArgumentException(String.format("이동평균 기간은 1 이상이어야 됨. 입력값: %d", window));
+            }
+        }
+        int size = candle.size();
+        double[] close = new double[size];
+        double[] sum = new double[size + 1];
+        for (int i = 0; i < size; i++) {
+            close[i] = candle.getClose(i);
+            sum[i + 1] = sum[i] + close[i];
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                out.putInt(MAGIC).putInt(VERSION).putInt(size).putInt(sortedWindows.length)
+                        .putLong(size == 0 ? 0 : candle.getTime(size - 1)).putLong(0);
+                for (int window : sortedWindows) {
+                    flushIfFull(channel, out);
+                    out.putInt(window);
+                }
+                for (double v : sum) {
+                    flushIfFull(channel, out);
+                    out.putDouble(v);
+                }
+                for (int window : sortedWindows) {
+                    for (int i = 0; i < size; i++) {
+                        flushIfFull(channel, out);
+                        out.putDouble(i < window - 1 ? Double.NaN : (sum[i + 1] - sum[i + 1 - window]) / window);
+                    }
+                    writeWeight(channel, out, close, sum, window);
+                }
+                flush(channel, out);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(String.format("지표 파일 저장 실패: %s", path), e);
+        }
+    }
+
+    /**
+     * 가중 합계 = 이전 가중 합계 + 기간 x 새 종가 - 이전 구간 종가 합계
+     */
+    private static void writeWeight(FileChannel channel, ByteBuffer out, double[] close, double[] sum, int window) throws IOException {
+        double weightTotal = window * (window + 1) / 2.0;
+        double weightSum = 0;
+        for (int i = 0; i < close.length; i++) {
+            if (i < window - 1) {
+                flushIfFull(channel, out);
+                out.putDouble(Double.NaN);
+                continue;
+            }
+            if (i == window - 1 || (i % RESYNC_INTERVAL) == 0) {
+                weightSum = 0;
+                for (int k = 0; k < window; k++) {
+                    weightSum += close[i - k] * (window - k);
+                }
+            } else {
+                weightSum += window * close[i] - (sum[i] - sum[i - window]);
+            }
+            flushIfFull(channel, out);
+            out.putDouble(weightSum / weightTotal);
+        }
+    }
+
+    private static void flushIfFull(FileChannel channel, ByteBuffer out) throws IOException {
+        if (out.remaining() < 8) {
+            flush(channel, out);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * @return 계산에 사용한 캔들 수
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 계산에 사용한 마지막 캔들 시간(UTC, epoch millisecond)
+     */
+    public long getLastTime() {
+        return lastTime;
+    }
+
+    /**
+     * @return 저장된 이동평균 기간(오름차순)
+     */
+    public int[] getWindows() {
+        return windows.clone();
+    }
+
+    /**
+     * @param window 이동평균 기간
+     * @return 저장된 기간이면 true
+     */
+    public boolean contains(int window) {
+        return Arrays.binarySearch(windows, window) >= 0;
+    }
+
+    /**
+     * @param candle 캔들 파일
+     * @return 캔들 파일이 바뀌지 않았으면 true
+     */
+    public boolean isCurrent(CandleColumnFile candle) {
+        return candle.size() == size && (size == 0 || candle.getTime(size - 1) == lastTime);
+    }
+
+    /**
+     * @param window 이동평균 기간
+     * @param i      캔들 위치
+     * @return i번째 캔들까지 단순 이동평균. 캔들이 부족하면 NaN
+     */
+    public double getSma(int window, int i) {
+        return buffer.getDouble(getColumnOffset(window, 0) + checkIndex(i) * 8);
+    }
+
+    /**
+     * @param window 이동평균 기간
+     * @param i      캔들 위치
+     * @return i번째 캔들까지 가중 이동평균. 캔들이 부족하면 NaN
+     */
+    public double getWma(int window, int i) {
+        return buffer.getDouble(getColumnOffset(window, 1) + checkIndex(i) * 8);
+    }
+
+    /**
+     * 저장하지 않은 기간의 이동평균, 진행 중인 캔들을 포함한 이동평균 계산에 사용
+     *
+     * @param from 시작 위치, 포함
+     * @param to   종료 위치, 미포함
+     * @return from ~ to 캔들 종가 합계
+     */
+    public double getSum(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException(String.format("from: %d, to: %d, size: %d", from, to, size));
+        }
+        return buffer.getDouble(sumOffset + to * 8) - buffer.getDouble(sumOffset + from * 8);
+    }
+
+    private int getColumnOffset(int window, int kind) {
+        int idx = Arrays.binarySearch(windows, window);
+        if (idx < 0) {
+            throw new IllegalArgumentException(String.format("계산하지 않은 이동평균 기간: %d, %s", window, path));
+        }
+        return columnOffset + (idx * 2 + kind) * size * 8;
+    }
+
+    private int checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(String.format("index: %d, size: %d", i, size));
+        }
+        return i;
+    }
+}
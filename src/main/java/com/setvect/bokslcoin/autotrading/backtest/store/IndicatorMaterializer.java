@@ -0,0 +1,74 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * 캔들 저장소의 코인, 주기별 이동평균을 미리 계산해 캔들 파일 옆에 저장({@link IndicatorColumnFile})<br>
+ * 같은 코인, 주기에 대해 여러 (단기, 장기) 조합을 백테스트해도 이동평균은 한 번만 계산하고, 이후에는 위치로 바로 읽음<br>
+ * 캔들 파일이 바뀌었거나 요청한 기간이 없으면 다시 계산
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IndicatorMaterializer {
+    private final CandleStore candleStore;
+
+    /**
+     * 열어 놓은 파일. 다시 계산하면 교체
+     */
+    private final Map<Path, IndicatorColumnFile> openFiles = new ConcurrentHashMap<>();
+
+    /**
+     * @param market     코인
+     * @param periodType 주기
+     * @param windows    이동평균 기간
+     * @return 요청한 기간이 모두 들어 있는 지표 파일
+     */
+    public synchronized IndicatorColumnFile materialize(String market, PeriodType periodType, int... windows) {
+        CandleColumnFile candle = candleStore.open(market, periodType);
+        Path path = candleStore.getIndicatorPath(market, periodType);
+        IndicatorColumnFile current = openFiles.get(path);
+        if (current == null && Files.exists(path)) {
+            current = IndicatorColumnFile.open(path);
+        }
+        if (current != null && current.isCurrent(candle) && Arrays.stream(windows).allMatch(current::contains)) {
+            openFiles.put(path, current);
+            return current;
+        }
+
+        // 기존에 계산한 기간도 같이 다시 계산
+        int[] allWindows = current == null ? windows : IntStream.concat(Arrays.stream(current.getWindows()), Arrays.stream(windows)).toArray();
+        long startNanos = System.nanoTime();
+        IndicatorColumnFile.write(path, candle, allWindows);
+        IndicatorColumnFile result = IndicatorColumnFile.open(path);
+        openFiles.put(path, result);
+        log.info("지표 계산: {}, {}, 캔들: {}, 기간: {}, {}ms", market, periodType, candle.size(), Arrays.toString(result.getWindows()),
+                (System.nanoTime() - startNanos) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * 백테스트 조건의 단기, 장기 이동평균 기간을 한 번에 계산
+     *
+     * @param markets    코인
+     * @param periodType 주기
+     * @param maPeriods  (단기, 장기) 이동평균 기간 목록
+     */
+    public void materialize(List<String> markets, PeriodType periodType, List<int[]> maPeriods) {
+        int[] windows = maPeriods.stream().flatMapToInt(Arrays::stream).distinct().toArray();
+        for (String market : markets) {
+            materialize(market, periodType, windows);
+        }
+    }
+}
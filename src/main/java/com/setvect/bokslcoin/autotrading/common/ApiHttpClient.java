@@ -0,0 +1,113 @@
+package com.setvect.bokslcoin.autotrading.common;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpEntity;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST API 호출에 사용하는 공유 HTTP 클라이언트<br>
+ * 연결 풀을 사용해 호출마다 TCP/TLS 연결을 새로 맺지 않음<br>
+ * 설정은 {@link HttpClientProperties} 기본값으로 시작하고, 스프링 구동 시 {@link #configure(HttpClientProperties)}로 교체됨
+ */
+@Slf4j
+public class ApiHttpClient {
+    private static final ApiLatencyRecorder LATENCY = new ApiLatencyRecorder();
+
+    private static volatile CloseableHttpClient client = create(new HttpClientProperties());
+
+    /**
+     * 설정을 적용한 클라이언트로 교체. 기존 클라이언트는 닫음
+     *
+     * @param properties 설정
+     */
+    public static synchronized void configure(HttpClientProperties properties) {
+        CloseableHttpClient before = client;
+        client = create(properties);
+        log.info("HTTP client: {}", properties);
+        close(before);
+    }
+
+    /**
+     * @param url     호출 주소(오류 메시지용)
+     * @param request 요청
+     * @return 응답 본문
+     * @throws IOException 통신 오류
+     */
+    public static String execute(String url, HttpRequestBase request) throws IOException {
+        String endpoint = request.getURI().getPath();
+        long start = System.nanoTime();
+        boolean success = false;
+        try (CloseableHttpResponse response = client.execute(request)) {
+            int statusCode = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            String responseText = EntityUtils.toString(entity, "UTF-8");
+
+            if (statusCode != 200 && statusCode != 201) {
+                String message = String.format("Error, Status: %d, URL: %s, Message: %s", statusCode, url, responseText);
+                throw new RuntimeException(message);
+            }
+            success = true;
+            return responseText;
+        } finally {
+            LATENCY.record(endpoint, System.nanoTime() - start, success);
+        }
+    }
+
+    /**
+     * @return API 경로별 응답 시간
+     */
+    public static ApiLatencyRecorder getLatency() {
+        return LATENCY;
+    }
+
+    /**
+     * 클라이언트 종료
+     */
+    public static synchronized void shutdown() {
+        close(client);
+    }
+
+    private static CloseableHttpClient create(HttpClientProperties properties) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        // 오래 쉰 연결은 재사용 전에 확인
+        connectionManager.setValidateAfterInactivity(1000);
+
+        RequestConfig config = RequestConfig.custom()
+                .setConnectTimeout(properties.getConnectTimeoutMs())
+                .setConnectionRequestTimeout(properties.getConnectionRequestTimeoutMs())
+                .setSocketTimeout(properties.getSocketTimeoutMs())
+                .build();
+
+        long keepAliveMs = properties.getKeepAliveMs();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(config)
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? Math.min(duration, keepAliveMs) : keepAliveMs;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleEvictMs(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    private static void close(CloseableHttpClient target) {
+        try {
+            target.close();
+        } catch (IOException e) {
+            log.warn("HTTP client close error: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.setvect.bokslcoin.autotrading.common;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * API 주소별 응답 시간. upbit.api.latency 타이머로 기록<br>
+ * 스프링 구동 전에도 호출되기 때문에 자체 레지스트리에 먼저 기록하고, 레지스트리에 연결되면 같은 타이머를 그쪽에도 기록함<br>
+ * 분포는 히스토그램(/actuator/prometheus)으로 노출되고, {@link #getStats()}는 자체 레지스트리 값 사용
+ */
+public class ApiLatencyRecorder implements MeterBinder {
+    private static final String NAME = "upbit.api.latency";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final CompositeMeterRegistry composite = new CompositeMeterRegistry();
+
+    /**
+     * (API 경로: 타이머)
+     */
+    private final Map<String, EndpointTimers> timers = new ConcurrentHashMap<>();
+
+    public ApiLatencyRecorder() {
+        composite.add(new SimpleMeterRegistry());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        composite.add(registry);
+    }
+
+    /**
+     * @param endpoint     API 경로. 예) /v1/accounts
+     * @param elapsedNanos 응답 시간
+     * @param success      정상 응답 여부
+     */
+    public void record(String endpoint, long elapsedNanos, boolean success) {
+        EndpointTimers endpointTimers = timers.get(endpoint);
+        if (endpointTimers == null) {
+            endpointTimers = timers.computeIfAbsent(endpoint, k -> new EndpointTimers(composite, k));
+        }
+        (success ? endpointTimers.success : endpointTimers.error).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return API 경로별 응답 시간
+     */
+    public List<LatencyStats> getStats() {
+        List<LatencyStats> result = new ArrayList<>(timers.size());
+        timers.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> result.add(e.getValue().toStats(e.getKey())));
+        return result;
+    }
+
+    private static class EndpointTimers {
+        private final Timer success;
+        private final Timer error;
+
+        EndpointTimers(MeterRegistry registry, String endpoint) {
+            success = timer(registry, endpoint, "success");
+            error = timer(registry, endpoint, "error");
+        }
+
+        private static Timer timer(MeterRegistry registry, String endpoint, String outcome) {
+            return Timer.builder(NAME)
+                    .description("REST API 응답 시간")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(PERCENTILES)
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+        }
+
+        LatencyStats toStats(String endpoint) {
+            HistogramSnapshot snapshot = success.takeSnapshot();
+            Map<String, Double> percentileMs = new LinkedHashMap<>();
+            for (ValueAtPercentile p : snapshot.percentileValues()) {
+                percentileMs.put("p" + Math.round(p.percentile() * 100), p.value(TimeUnit.MILLISECONDS));
+            }
+            return LatencyStats.builder()
+                    .endpoint(endpoint)
+                    .count(success.count() + error.count())
+                    .error(error.count())
+                    .avgMs(snapshot.mean(TimeUnit.MILLISECONDS))
+                    .maxMs(snapshot.max(TimeUnit.MILLISECONDS))
+                    .percentileMs(percentileMs)
+                    .build();
+        }
+    }
+
+    /**
+     * API 경로 하나의 응답 시간
+     */
+    @Getter
+    @Builder
+    @ToString
+    public static class LatencyStats {
+        private final String endpoint;
+        private final long count;
+        /**
+         * 예외 또는 오류 응답 건수
+         */
+        private final long error;
+        /**
+         * 정상 응답 평균
+         */
+        private final double avgMs;
+        /**
+         * 정상 응답 최대. 최근 구간 기준
+         */
+        private final double maxMs;
+        /**
+         * 정상 응답 백분위. 최근 구간 기준. 예) p95: 95% 응답이 이 시간 이하
+         */
+        private final Map<String, Double> percentileMs;
+    }
+}
@@ -0,0 +1,46 @@
+package com.setvect.bokslcoin.autotrading.common;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * REST API 호출 HTTP 클라이언트 설정
+ */
+@Component
+@ConfigurationProperties(prefix = "com.setvect.bokslcoin.autotrading.http")
+@Getter
+@Setter
+@ToString
+public class HttpClientProperties {
+    /**
+     * 연결 타임 아웃(ms)
+     */
+    private int connectTimeoutMs = 2000;
+    /**
+     * 응답 대기 타임 아웃(ms)
+     */
+    private int socketTimeoutMs = 2000;
+    /**
+     * 연결 풀에서 연결을 얻기 위한 대기 타임 아웃(ms)
+     */
+    private int connectionRequestTimeoutMs = 2000;
+    /**
+     * 전체 최대 연결 수
+     */
+    private int maxTotal = 20;
+    /**
+     * 호스트별 최대 연결 수
+     */
+    private int maxPerRoute = 10;
+    /**
+     * 서버가 유지 시간을 알려주지 않을 때 연결 유지 시간(ms)
+     */
+    private long keepAliveMs = 30_000;
+    /**
+     * 사용하지 않는 연결을 정리하는 기준 시간(ms)
+     */
+    private long idleEvictMs = 60_000;
+}
@@ -0,0 +1,38 @@
+package com.setvect.bokslcoin.autotrading.config;
+
+import com.setvect.bokslcoin.autotrading.common.ApiHttpClient;
+import com.setvect.bokslcoin.autotrading.common.HttpClientProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * 설정 파일 값으로 공유 HTTP 클라이언트 구성
+ */
+@Configuration
+@RequiredArgsConstructor
+public class HttpClientConfig {
+    private final HttpClientProperties properties;
+
+    @PostConstruct
+    public void init() {
+        ApiHttpClient.configure(properties);
+    }
+
+    /**
+     * API 응답 시간을 메트릭 레지스트리에 연결
+     */
+    @Bean
+    public MeterBinder apiLatencyMeterBinder() {
+        return ApiHttpClient.getLatency();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        ApiHttpClient.shutdown();
+    }
+}
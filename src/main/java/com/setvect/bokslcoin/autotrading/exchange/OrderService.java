@@ -7,6 +7,7 @@ import com.setvect.bokslcoin.autotrading.common.ApiCaller;
 import com.setvect.bokslcoin.autotrading.model.OrderChance;
 import com.setvect.bokslcoin.autotrading.model.OrderHistory;
 import com.setvect.bokslcoin.autotrading.model.OrderResult;
+import com.setvect.bokslcoin.autotrading.monitor.TradingMetrics;
 import com.setvect.bokslcoin.autotrading.util.GsonUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,8 @@ public class OrderService {
     private final AccessTokenMaker accessInfo;
 
     private final ConnectionInfo connectionInfo;
+
+    private final TradingMetrics tradingMetrics;
     @Value("${com.setvect.bokslcoin.autotrading.enable}")
     private boolean enable;
 
@@ -155,7 +158,14 @@ public class OrderService {
         params.put("price", price);
         params.put("ord_type", ordType.name());
 
-        String jsonResult = ApiCaller.requestApiByPost(URL_ORDERS, params, connectionInfo, accessInfo);
-        return GsonUtil.GSON.fromJson(jsonResult, OrderResult.class);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            String jsonResult = ApiCaller.requestApiByPost(URL_ORDERS, params, connectionInfo, accessInfo);
+            success = true;
+            return GsonUtil.GSON.fromJson(jsonResult, OrderResult.class);
+        } finally {
+            tradingMetrics.order(side, System.nanoTime() - start, success);
+        }
     }
 }
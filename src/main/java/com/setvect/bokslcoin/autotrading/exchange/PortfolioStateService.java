@@ -0,0 +1,204 @@
+package com.setvect.bokslcoin.autotrading.exchange;
+
+import com.setvect.bokslcoin.autotrading.model.Account;
+import com.setvect.bokslcoin.autotrading.model.OrderHistory;
+import com.setvect.bokslcoin.autotrading.model.OrderResult;
+import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 보유 자산, 매매 대기 주문 상태<br>
+ * 주문 직후에는 주문 내용을 바로 반영(낙관적 반영)하고, 실제 값은 주기적으로 API를 조회해 맞춤<br>
+ * 조회는 변경되지 않는 스냅샷을 읽기 때문에 잠금 없이 사용 가능
+ */
+@Service
+@Slf4j
+public class PortfolioStateService {
+    /**
+     * 매매 대기 주문 조회 건수
+     */
+    private static final int ORDER_WAIT_LIMIT = 100;
+
+    private final AccountService accountService;
+    private final OrderService orderService;
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), Collections.emptyMap());
+    /**
+     * 상태를 바꿀 때마다 증가. API 조회 중에 주문이 반영되었는지 확인하는 용도
+     */
+    private long version;
+
+    /**
+     * 처음 {@link #reconcile()}을 호출하기 전까지는 주기적인 동기화를 하지 않음(매매를 하지 않는 경우 API 호출 방지)
+     */
+    private volatile boolean active;
+
+    public PortfolioStateService(AccountService accountService, OrderService orderService) {
+        this.accountService = accountService;
+        this.orderService = orderService;
+    }
+
+    /**
+     * 계좌, 매매 대기 주문을 API로 조회해 상태를 맞춤<br>
+     * API 조회는 잠금 밖에서 하고 결과 교체만 잠금 안에서 수행. 조회하는 동안 주문 반영이나 다른 동기화가 있었으면
+     * 조회 결과가 그 내용을 포함하는지 알 수 없으므로 버리고 다음 동기화에서 맞춤
+     */
+    public void reconcile() {
+        long startVersion;
+        synchronized (this) {
+            startVersion = version;
+        }
+        Map<String, Account> accounts = accountService.getMyAccountBalance();
+        List<OrderHistory> history = orderService.getHistory(1, ORDER_WAIT_LIMIT);
+        Map<String, OrderHistory> orderWait = history.stream().collect(Collectors.toMap(OrderHistory::getMarket, Function.identity(), (a, b) -> a));
+        Snapshot fetched = new Snapshot(accounts, orderWait);
+        synchronized (this) {
+            active = true;
+            if (version != startVersion) {
+                log.debug("조회 중 상태가 바뀌어 동기화 결과 사용 안함");
+                return;
+            }
+            snapshot = fetched;
+            version++;
+        }
+        log.debug("reconcile account: {}, order wait: {}", accounts, orderWait);
+    }
+
+    @Scheduled(fixedDelayString = "${com.setvect.bokslcoin.autotrading.portfolio.reconcileMs:5000}")
+    public void scheduledReconcile() {
+        if (!active) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.warn("계좌 동기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 매수 주문 반영<br>
+     * 매매 대기 주문으로 등록하고 주문 금액만큼 현금을 묶음
+     *
+     * @param market 코인
+     * @param result 주문 결과, 실제 주문을 하지 않은 경우 null
+     * @param volume 주문량
+     * @param price  주문 가격
+     */
+    public synchronized void applyBid(String market, OrderResult result, double volume, double price) {
+        Map<String, Account> accounts = new HashMap<>(snapshot.accounts);
+        Account krw = accounts.get("KRW");
+        if (krw != null) {
+            double amount = volume * price;
+            accounts.put("KRW", copy(krw, krw.getBalanceValue() - amount, parse(krw.getLocked()) + amount));
+        }
+        Map<String, OrderHistory> orderWait = new HashMap<>(snapshot.orderWait);
+        orderWait.put(market, toOrderHistory(market, result, OrderResult.Side.bid, volume, price));
+        snapshot = new Snapshot(accounts, orderWait);
+        version++;
+    }
+
+    /**
+     * 매도 주문 반영<br>
+     * 매매 대기 주문으로 등록하고 주문 수량만큼 코인을 묶음
+     *
+     * @param market 코인
+     * @param result 주문 결과, 실제 주문을 하지 않은 경우 null
+     * @param volume 주문량
+     * @param price  주문 가격
+     */
+    public synchronized void applyAsk(String market, OrderResult result, double volume, double price) {
+        Map<String, Account> accounts = new HashMap<>(snapshot.accounts);
+        Account coin = accounts.get(market);
+        if (coin != null) {
+            accounts.put(market, copy(coin, coin.getBalanceValue() - volume, parse(coin.getLocked()) + volume));
+        }
+        Map<String, OrderHistory> orderWait = new HashMap<>(snapshot.orderWait);
+        orderWait.put(market, toOrderHistory(market, result, OrderResult.Side.ask, volume, price));
+        snapshot = new Snapshot(accounts, orderWait);
+        version++;
+    }
+
+    /**
+     * @return (코인코드: 계좌), 수정 불가
+     */
+    public Map<String, Account> getAccounts() {
+        return snapshot.accounts;
+    }
+
+    /**
+     * @param market 코인 코드. 예) KRW, KRW-BTC
+     * @return 계좌, 없으면 null
+     */
+    public Account getAccount(String market) {
+        return snapshot.accounts.get(market);
+    }
+
+    /**
+     * @return (코인코드: 매매 대기), 수정 불가
+     */
+    public Map<String, OrderHistory> getOrderWaits() {
+        return snapshot.orderWait;
+    }
+
+    /**
+     * @param market 코인 코드
+     * @return 매매 대기 주문, 없으면 null
+     */
+    public OrderHistory getOrderWait(String market) {
+        return snapshot.orderWait.get(market);
+    }
+
+    private static OrderHistory toOrderHistory(String market, OrderResult result, OrderResult.Side side, double volume, double price) {
+        String volumeText = ApplicationUtil.toNumberString(volume);
+        return OrderHistory.builder()
+                .uuid(result == null ? null : result.getUuid())
+                .side(side)
+                .ordType(OrderResult.OrdType.limit)
+                .price(ApplicationUtil.toNumberString(price))
+                .state(OrderResult.State.wait)
+                .market(market)
+                .createdAt(LocalDateTime.now())
+                .volume(volumeText)
+                .remainingVolume(volumeText)
+                .build();
+    }
+
+    private static Account copy(Account source, double balance, double locked) {
+        Account account = new Account();
+        account.setCurrency(source.getCurrency());
+        account.setUnitCurrency(source.getUnitCurrency());
+        account.setAvgBuyPrice(source.getAvgBuyPrice());
+        account.setAvgBuyPriceModified(source.getAvgBuyPriceModified());
+        account.setBalance(ApplicationUtil.toNumberString(Math.max(balance, 0)));
+        account.setLocked(ApplicationUtil.toNumberString(locked));
+        return account;
+    }
+
+    private static double parse(String value) {
+        return value == null ? 0 : Double.parseDouble(value);
+    }
+
+    /**
+     * 한 시점의 상태. 생성 후 변경하지 않음
+     */
+    private static class Snapshot {
+        private final Map<String, Account> accounts;
+        private final Map<String, OrderHistory> orderWait;
+
+        Snapshot(Map<String, Account> accounts, Map<String, OrderHistory> orderWait) {
+            this.accounts = Collections.unmodifiableMap(new HashMap<>(accounts));
+            this.orderWait = Collections.unmodifiableMap(new HashMap<>(orderWait));
+        }
+    }
+}
@@ -56,6 +56,24 @@ public class Candle {
      */
     private double candleAccTradeVolume;
 
+    /**
+     * 복사 생성자
+     *
+     * @param source 원본
+     */
+    public Candle(Candle source) {
+        market = source.market;
+        candleDateTimeUtc = source.candleDateTimeUtc;
+        candleDateTimeKst = source.candleDateTimeKst;
+        openingPrice = source.openingPrice;
+        highPrice = source.highPrice;
+        lowPrice = source.lowPrice;
+        tradePrice = source.tradePrice;
+        timestamp = source.timestamp;
+        candleAccTradePrice = source.candleAccTradePrice;
+        candleAccTradeVolume = source.candleAccTradeVolume;
+    }
+
     public Candle(TradeResult tradeResult) {
         market = tradeResult.getCode();
         candleDateTimeUtc = tradeResult.getTradeDateTimeUtc();
@@ -2,10 +2,12 @@ package com.setvect.bokslcoin.autotrading.model;
 
 import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 @Getter
 @ToString(callSuper = true)
+@NoArgsConstructor
 public class CandleDay extends Candle {
     /**
      * 전일 종가(UTC 0시 기준)
@@ -24,6 +26,22 @@ public class CandleDay extends Candle {
      */
     private double convertedTradePrice;
 
+    /**
+     * 원본이 일봉이면 일봉 항목도 복사
+     *
+     * @param source 원본
+     */
+    public CandleDay(Candle source) {
+        super(source);
+        if (source instanceof CandleDay) {
+            CandleDay day = (CandleDay) source;
+            prevClosingPrice = day.prevClosingPrice;
+            changePrice = day.changePrice;
+            changeRate = day.changeRate;
+            convertedTradePrice = day.convertedTradePrice;
+        }
+    }
+
     /**
      * @return 전일 종가대비 수익률
      */
@@ -0,0 +1,84 @@
+package com.setvect.bokslcoin.autotrading.model;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+
+/**
+ * 캔들 엔티티와 캔들 모델 사이 변환<br>
+ * 리플렉션 없이 항목을 직접 복사
+ */
+public class CandleMapper {
+    private CandleMapper() {
+    }
+
+    /**
+     * @param entity 캔들 엔티티
+     * @return 시가, 고가, 저가, 종가, 기준 시각만 채워짐
+     */
+    public static Candle toCandle(CandleEntity entity) {
+        return copy(entity, new Candle());
+    }
+
+    /**
+     * @param entity 캔들 엔티티
+     * @return 분 단위는 엔티티 주기
+     */
+    public static CandleMinute toMinute(CandleEntity entity) {
+        return new CandleMinute(toCandle(entity), entity.getPeriodType().getDiffMinutes());
+    }
+
+    /**
+     * @param entity 캔들 엔티티
+     * @return 일봉. 전일 종가 관련 항목은 채우지 않음
+     */
+    public static CandleDay toDay(CandleEntity entity) {
+        return copy(entity, new CandleDay());
+    }
+
+    /**
+     * @param candle     캔들
+     * @param periodType 주기
+     * @return 저장용 캔들 엔티티
+     */
+    public static CandleEntity toEntity(Candle candle, PeriodType periodType) {
+        CandleEntity entity = new CandleEntity();
+        entity.setMarket(candle.getMarket());
+        entity.setCandleDateTimeUtc(candle.getCandleDateTimeUtc());
+        entity.setCandleDateTimeKst(candle.getCandleDateTimeKst());
+        entity.setPeriodType(periodType);
+        entity.setOpeningPrice(candle.getOpeningPrice());
+        entity.setHighPrice(candle.getHighPrice());
+        entity.setLowPrice(candle.getLowPrice());
+        entity.setTradePrice(candle.getTradePrice());
+        return entity;
+    }
+
+    /**
+     * 시가, 고가, 저가, 종가, 기준 시각, 코인을 target에 복사
+     *
+     * @param source 원본
+     * @param target 대상
+     * @return target
+     */
+    public static <T extends Candle> T copy(Candle source, T target) {
+        target.setMarket(source.getMarket());
+        target.setCandleDateTimeUtc(source.getCandleDateTimeUtc());
+        target.setCandleDateTimeKst(source.getCandleDateTimeKst());
+        target.setOpeningPrice(source.getOpeningPrice());
+        target.setHighPrice(source.getHighPrice());
+        target.setLowPrice(source.getLowPrice());
+        target.setTradePrice(source.getTradePrice());
+        return target;
+    }
+
+    private static <T extends Candle> T copy(CandleEntity source, T target) {
+        target.setMarket(source.getMarket());
+        target.setCandleDateTimeUtc(source.getCandleDateTimeUtc());
+        target.setCandleDateTimeKst(source.getCandleDateTimeKst());
+        target.setOpeningPrice(source.getOpeningPrice());
+        target.setHighPrice(source.getHighPrice());
+        target.setLowPrice(source.getLowPrice());
+        target.setTradePrice(source.getTradePrice());
+        return target;
+    }
+}
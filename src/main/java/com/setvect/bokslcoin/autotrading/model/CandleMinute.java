@@ -1,13 +1,35 @@
 package com.setvect.bokslcoin.autotrading.model;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 
 @Getter
+@Setter
 @ToString(callSuper = true)
+@NoArgsConstructor
 public class CandleMinute extends Candle {
     /**
      * 분 단위(유닛)
      */
     private int unit;
+
+    /**
+     * @param source 원본
+     * @param unit   분 단위
+     */
+    public CandleMinute(Candle source, int unit) {
+        super(source);
+        this.unit = unit;
+    }
+
+    /**
+     * 복사 생성자
+     *
+     * @param source 원본
+     */
+    public CandleMinute(CandleMinute source) {
+        this(source, source.unit);
+    }
 }
@@ -0,0 +1,273 @@
+package com.setvect.bokslcoin.autotrading.model;
+
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 고정 크기 캔들 목록<br>
+ * 항목별 primitive 배열을 원형으로 사용해 최근 캔들 추가가 O(1)이고, 체결 반영 시 객체를 만들지 않음<br>
+ * 가장 최근 캔들은 {@link #getNewest()}로 재사용 객체를 제공
+ * <p>
+ * 스레드 안전하지 않음
+ */
+public class CandleSeries {
+    private static final long KST_OFFSET_MILLIS = 9 * 60 * 60 * 1000L;
+
+    private final String market;
+    /**
+     * 캔들 기준 시각(UTC, epoch millisecond)
+     */
+    private final long[] time;
+    private final double[] open;
+    private final double[] high;
+    private final double[] low;
+    private final double[] close;
+    /**
+     * 누적 거래량
+     */
+    private final double[] volume;
+    /**
+     * 누적 거래 금액
+     */
+    private final double[] amount;
+
+    /**
+     * 가장 최근 캔들 위치
+     */
+    private int head;
+    private int size;
+
+    /**
+     * 가장 최근 캔들. 값이 바뀌면 같은 객체를 갱신함
+     */
+    private final Candle newest = new Candle();
+
+    /**
+     * @param market   코인
+     * @param capacity 최대 보관 캔들 수
+     */
+    public CandleSeries(String market, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("캔들 보관 크기는 1 이상이어야 됨. 입력값: %d", capacity));
+        }
+        this.market = market;
+        this.time = new long[capacity];
+        this.open = new double[capacity];
+        this.high = new double[capacity];
+        this.low = new double[capacity];
+        this.close = new double[capacity];
+        this.volume = new double[capacity];
+        this.amount = new double[capacity];
+    }
+
+    /**
+     * 최근 캔들 추가. 가득 차면 가장 오래된 캔들이 빠짐
+     *
+     * @param candle 캔들(값만 복사)
+     */
+    public void pushFront(Candle candle) {
+        push(candle.getCandleDateTimeUtc(), candle.getCandleDateTimeKst(), candle.getTimestamp(), candle.getOpeningPrice(), candle.getHighPrice(),
+                candle.getLowPrice(), candle.getTradePrice(), candle.getCandleAccTradeVolume(), candle.getCandleAccTradePrice());
+    }
+
+    /**
+     * 체결로 새로운 캔들 시작
+     *
+     * @param tradeResult 체결
+     */
+    public void pushFront(TradeResult tradeResult) {
+        double price = tradeResult.getTradePrice();
+        push(tradeResult.getTradeDateTimeUtc(), tradeResult.getTradeDateTimeKst(), tradeResult.getTimestamp(), price, price, price, price,
+                tradeResult.getTradeVolume(), tradeResult.getTotalPrice());
+    }
+
+    private void push(LocalDateTime utc, LocalDateTime kst, long timestamp, double openPrice, double highPrice, double lowPrice, double closePrice,
+                      double accVolume, double accAmount) {
+        head = (head + time.length - 1) % time.length;
+        size = Math.min(size + 1, time.length);
+        time[head] = toEpochMilli(utc);
+        open[head] = openPrice;
+        high[head] = highPrice;
+        low[head] = lowPrice;
+        close[head] = closePrice;
+        volume[head] = accVolume;
+        amount[head] = accAmount;
+
+        newest.setMarket(market);
+        newest.setCandleDateTimeUtc(utc);
+        newest.setCandleDateTimeKst(kst);
+        newest.setOpeningPrice(openPrice);
+        newest.setHighPrice(highPrice);
+        newest.setLowPrice(lowPrice);
+        newest.setTradePrice(closePrice);
+        newest.setTimestamp(timestamp);
+        newest.setCandleAccTradeVolume(accVolume);
+        newest.setCandleAccTradePrice(accAmount);
+    }
+
+    /**
+     * 가장 최근 캔들에 체결 반영
+     *
+     * @param tradeResult 체결
+     */
+    public void change(TradeResult tradeResult) {
+        if (size == 0) {
+            pushFront(tradeResult);
+            return;
+        }
+        newest.change(tradeResult);
+        time[head] = toEpochMilli(newest.getCandleDateTimeUtc());
+        high[head] = newest.getHighPrice();
+        low[head] = newest.getLowPrice();
+        close[head] = newest.getTradePrice();
+        volume[head] = newest.getCandleAccTradeVolume();
+        amount[head] = newest.getCandleAccTradePrice();
+    }
+
+    /**
+     * 가장 최근 캔들에 1분봉을 합침<br>
+     * 고가, 저가는 항상 반영하고, 종가와 거래량은 가장 최근 캔들의 마지막 갱신 시각이 속한 분 이후 1분봉만 반영<br>
+     * 마지막 갱신 시각이 속한 1분봉은 거래량 일부가 이미 반영되어 있어 더하면 중복됨
+     *
+     * @param candle 합칠 1분봉
+     */
+    public void merge(Candle candle) {
+        if (size == 0) {
+            pushFront(candle);
+            return;
+        }
+        high[head] = Math.max(high[head], candle.getHighPrice());
+        low[head] = Math.min(low[head], candle.getLowPrice());
+        newest.setHighPrice(high[head]);
+        newest.setLowPrice(low[head]);
+        LocalDateTime lastMinute = newest.getCandleDateTimeUtc().truncatedTo(ChronoUnit.MINUTES);
+        if (!candle.getCandleDateTimeUtc().truncatedTo(ChronoUnit.MINUTES).isAfter(lastMinute)) {
+            return;
+        }
+        time[head] = toEpochMilli(candle.getCandleDateTimeUtc());
+        close[head] = candle.getTradePrice();
+        volume[head] += candle.getCandleAccTradeVolume();
+        amount[head] += candle.getCandleAccTradePrice();
+        newest.setCandleDateTimeUtc(candle.getCandleDateTimeUtc());
+        newest.setCandleDateTimeKst(candle.getCandleDateTimeKst());
+        newest.setTradePrice(close[head]);
+        newest.setCandleAccTradeVolume(volume[head]);
+        newest.setCandleAccTradePrice(amount[head]);
+    }
+
+    /**
+     * @return 가장 최근 캔들. 재사용 객체라 이후 {@link #pushFront}, {@link #change}, {@link #merge}를 호출하면 같은 객체의 값이 바뀜.
+     * 이전 값이 필요하면 미리 값을 꺼내 두거나 {@link #getCandle(int)} 사용
+     */
+    public Candle getNewest() {
+        if (size == 0) {
+            throw new IllegalStateException(String.format("[%s] 캔들이 없음", market));
+        }
+        return newest;
+    }
+
+    /**
+     * @param ago 몇 주기 전(0: 가장 최근)
+     * @return 새로 만든 캔들
+     */
+    public Candle getCandle(int ago) {
+        int i = index(ago);
+        Candle candle = new Candle();
+        candle.setMarket(market);
+        candle.setCandleDateTimeUtc(toLocalDateTime(time[i]));
+        candle.setCandleDateTimeKst(toLocalDateTime(time[i] + KST_OFFSET_MILLIS));
+        candle.setOpeningPrice(open[i]);
+        candle.setHighPrice(high[i]);
+        candle.setLowPrice(low[i]);
+        candle.setTradePrice(close[i]);
+        candle.setCandleAccTradeVolume(volume[i]);
+        candle.setCandleAccTradePrice(amount[i]);
+        return candle;
+    }
+
+    /**
+     * @param ago 몇 주기 전(0: 가장 최근)
+     * @return 캔들 기준 시각(UTC, epoch millisecond)
+     */
+    public long getTime(int ago) {
+        return time[index(ago)];
+    }
+
+    public double getOpen(int ago) {
+        return open[index(ago)];
+    }
+
+    public double getHigh(int ago) {
+        return high[index(ago)];
+    }
+
+    public double getLow(int ago) {
+        return low[index(ago)];
+    }
+
+    /**
+     * @param ago 몇 주기 전(0: 가장 최근)
+     * @return 종가
+     */
+    public double getClose(int ago) {
+        return close[index(ago)];
+    }
+
+    /**
+     * 원형 배열을 연속 구간 두 개로 나눠 합산해 캔들마다 범위 확인, 나머지 연산을 하지 않음
+     *
+     * @param count 가장 최근부터 합산할 캔들 수
+     * @return 종가 합
+     */
+    public double sumClose(int count) {
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException(String.format("[%s] 캔들 범위 초과. 요청: %d, 보관: %d", market, count, size));
+        }
+        int first = Math.min(count, close.length - head);
+        double sum = 0;
+        for (int i = head; i < head + first; i++) {
+            sum += close[i];
+        }
+        for (int i = 0; i < count - first; i++) {
+            sum += close[i];
+        }
+        return sum;
+    }
+
+    public double getVolume(int ago) {
+        return volume[index(ago)];
+    }
+
+    public String getMarket() {
+        return market;
+    }
+
+    /**
+     * @return 보관 중인 캔들 수
+     */
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return time.length;
+    }
+
+    private int index(int ago) {
+        if (ago < 0 || ago >= size) {
+            throw new IndexOutOfBoundsException(String.format("[%s] 캔들 범위 초과. 요청: %d, 보관: %d", market, ago, size));
+        }
+        return (head + ago) % time.length;
+    }
+
+    private static long toEpochMilli(LocalDateTime utc) {
+        return utc.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMilli, 1000), (int) Math.floorMod(epochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -1,12 +1,18 @@
 package com.setvect.bokslcoin.autotrading.model;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.ToString;
 
 import java.util.List;
 
 @Getter
 @ToString
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 /**
  * 주문 가능 정보
  */
@@ -37,6 +43,9 @@ public class OrderChance {
      */
     @Getter
     @ToString
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class AskAccount {
         /**
          * 화폐를 의미하는 영문 대문자 코드
@@ -69,6 +78,9 @@ public class OrderChance {
      */
     @Getter
     @ToString
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class BidAccount {
         /**
          * 화폐를 의미하는 영문 대문자 코드
@@ -101,6 +113,9 @@ public class OrderChance {
      */
     @Getter
     @ToString
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
     public static class Market {
         /**
          * 마켓의 유일 키
@@ -1,10 +1,17 @@
 package com.setvect.bokslcoin.autotrading.model;
 
+import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 /**
  * 주문 접수
  */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class OrderResult {
     public enum Side {
         /**
@@ -0,0 +1,68 @@
+package com.setvect.bokslcoin.autotrading.monitor;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 코인별 체결 수신 상태(/actuator/health 의 feed 항목)<br>
+ * 마지막 체결 이후 일정 시간 동안 체결이 없는 코인을 멈춘 것으로 봄<br>
+ * 거래가 적은 코인은 잠깐 멈출 수 있기 때문에 모든 코인이 멈췄을 때만 DOWN
+ */
+@Component
+public class FeedHealthIndicator implements HealthIndicator {
+    private final TradingMetrics tradingMetrics;
+    private final MabsMultiProperties properties;
+
+    /**
+     * 이 시간(ms) 동안 체결이 없으면 멈춘 것으로 봄
+     */
+    private final long staleFeedMs;
+
+    public FeedHealthIndicator(TradingMetrics tradingMetrics, MabsMultiProperties properties,
+                               @Value("${com.setvect.bokslcoin.autotrading.monitor.staleFeedMs:120000}") long staleFeedMs) {
+        this.tradingMetrics = tradingMetrics;
+        this.properties = properties;
+        this.staleFeedMs = staleFeedMs;
+    }
+
+    @Override
+    public Health health() {
+        long start = tradingMetrics.getFeedStartMillis();
+        if (start == 0) {
+            return Health.unknown().withDetail("message", "웹소켓 구독 전").build();
+        }
+        long now = System.currentTimeMillis();
+        Map<String, Object> detail = new LinkedHashMap<>();
+        List<String> staleMarkets = new ArrayList<>();
+        for (String market : properties.getMarkets()) {
+            long last = tradingMetrics.getLastTickMillis(market);
+            // 수신한 적 없으면 구독 시작 시간 기준
+            long age = now - (last == 0 ? start : last);
+            boolean stale = age > staleFeedMs;
+            if (stale) {
+                staleMarkets.add(market);
+            }
+            Map<String, Object> marketDetail = new LinkedHashMap<>();
+            marketDetail.put("lastTickMs", last);
+            marketDetail.put("ageMs", age);
+            marketDetail.put("stale", stale);
+            detail.put(market, marketDetail);
+        }
+
+        boolean allStale = !staleMarkets.isEmpty() && staleMarkets.size() == properties.getMarkets().size();
+        Health.Builder builder = allStale ? Health.down() : Health.up();
+        return builder
+                .withDetail("staleFeedMs", staleFeedMs)
+                .withDetail("staleMarkets", staleMarkets)
+                .withDetail("markets", detail)
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+package com.setvect.bokslcoin.autotrading.monitor;
+
+import com.setvect.bokslcoin.autotrading.model.OrderResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 실시간 매매 주요 구간 측정값<br>
+ * /actuator/prometheus 로 노출됨
+ * <ul>
+ *     <li>trading.tick.received: 코인별 체결 수신 건수</li>
+ *     <li>trading.tick.decode: 체결 프레임 디코딩 시간</li>
+ *     <li>trading.tick.decision: 체결 발생(거래소 타임스탬프)부터 매매 판단 완료까지 시간</li>
+ *     <li>trading.tick.age: 코인별 마지막 체결 수신 후 경과 시간</li>
+ *     <li>trading.order: 주문 API 왕복 시간</li>
+ *     <li>trading.websocket.reconnect: 웹소켓 재연결 횟수</li>
+ * </ul>
+ */
+@Component
+public class TradingMetrics {
+    private final MeterRegistry registry;
+
+    /**
+     * (코인 코드: 측정값)
+     */
+    private final Map<String, MarketMeters> markets = new ConcurrentHashMap<>();
+    private final Timer decodeTimer;
+    private final Counter reconnectCounter;
+
+    /**
+     * 웹소켓 구독 시작 시간(epoch ms). 시작 전이면 0
+     */
+    private volatile long feedStartMillis;
+
+    public TradingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.decodeTimer = Timer.builder("trading.tick.decode")
+                .description("체결 프레임 디코딩 시간")
+                .register(registry);
+        this.reconnectCounter = Counter.builder("trading.websocket.reconnect")
+                .description("웹소켓 재연결 횟수")
+                .register(registry);
+    }
+
+    /**
+     * 웹소켓 구독 시작. 재연결 시에는 처음 시작 시간 유지
+     */
+    public void feedStarted() {
+        if (feedStartMillis == 0) {
+            feedStartMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * @param market      코인 코드
+     * @param decodeNanos 디코딩 시간
+     */
+    public void tick(String market, long decodeNanos) {
+        decodeTimer.record(decodeNanos, TimeUnit.NANOSECONDS);
+        MarketMeters meters = getMarketMeters(market);
+        meters.received.increment();
+        meters.lastTickMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * @param market     코인 코드
+     * @param diffMillis 현재 시간 - 체결 타임스탬프. 서버 시간 차이로 음수가 나오면 0으로 기록
+     */
+    public void decision(String market, long diffMillis) {
+        getMarketMeters(market).decision.record(Math.max(diffMillis, 0), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param side         매수, 매도
+     * @param elapsedNanos 주문 API 호출 시간
+     * @param success      정상 응답 여부
+     */
+    public void order(OrderResult.Side side, long elapsedNanos, boolean success) {
+        Timer.builder("trading.order")
+                .description("주문 API 왕복 시간")
+                .tag("side", side.name())
+                .tag("outcome", success ? "success" : "error")
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void reconnect() {
+        reconnectCounter.increment();
+    }
+
+    /**
+     * @return 웹소켓 구독 시작 시간(epoch ms). 시작 전이면 0
+     */
+    public long getFeedStartMillis() {
+        return feedStartMillis;
+    }
+
+    /**
+     * @param market 코인 코드
+     * @return 마지막 체결 수신 시간(epoch ms). 수신한 적 없으면 0
+     */
+    public long getLastTickMillis(String market) {
+        MarketMeters meters = markets.get(market);
+        return meters == null ? 0 : meters.lastTickMillis;
+    }
+
+    private MarketMeters getMarketMeters(String market) {
+        MarketMeters meters = markets.get(market);
+        if (meters == null) {
+            meters = markets.computeIfAbsent(market, MarketMeters::new);
+        }
+        return meters;
+    }
+
+    private class MarketMeters {
+        private final Counter received;
+        private final Timer decision;
+        private volatile long lastTickMillis;
+
+        MarketMeters(String market) {
+            received = Counter.builder("trading.tick.received")
+                    .description("체결 수신 건수")
+                    .tag("market", market)
+                    .register(registry);
+            decision = Timer.builder("trading.tick.decision")
+                    .description("체결 발생부터 매매 판단 완료까지 시간")
+                    .tag("market", market)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(30))
+                    .register(registry);
+            Gauge.builder("trading.tick.age", this, m -> m.lastTickMillis == 0 ? Double.NaN : System.currentTimeMillis() - m.lastTickMillis)
+                    .description("마지막 체결 수신 후 경과 시간")
+                    .tag("market", market)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.setvect.bokslcoin.autotrading.monitor;
+
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.ShardStats;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.WebSocketSessionManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 웹소켓 샤드별 연결 상태(/actuator/health 의 webSocket 항목)<br>
+ * 재연결 중인 샤드가 있으면 DOWN
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketHealthIndicator implements HealthIndicator {
+    private final WebSocketSessionManager webSocketSessionManager;
+
+    @Override
+    public Health health() {
+        List<ShardStats> stats = webSocketSessionManager.getStats();
+        if (stats.isEmpty()) {
+            return Health.unknown().withDetail("message", "웹소켓 구독 전").build();
+        }
+        Map<String, Object> detail = new LinkedHashMap<>();
+        boolean allConnected = true;
+        for (ShardStats shard : stats) {
+            allConnected &= shard.isConnected();
+            Map<String, Object> shardDetail = new LinkedHashMap<>();
+            shardDetail.put("connected", shard.isConnected());
+            shardDetail.put("marketCount", shard.getMarkets().size());
+            shardDetail.put("reconnects", shard.getReconnects());
+            shardDetail.put("ratePerSec", shard.getRatePerSec());
+            shardDetail.put("lastMessageAgeMs", shard.getLastMessageAgeMs());
+            shardDetail.put("silentMarkets", shard.getSilentMarkets());
+            detail.put("shard-" + shard.getShard(), shardDetail);
+        }
+        Health.Builder builder = allConnected ? Health.up() : Health.down();
+        return builder.withDetails(detail).build();
+    }
+}
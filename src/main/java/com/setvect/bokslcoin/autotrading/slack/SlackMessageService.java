@@ -1,7 +1,15 @@
 package com.setvect.bokslcoin.autotrading.slack;
 
 import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
+import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.entity.UrlEncodedFormEntity;
@@ -10,14 +18,24 @@ import org.apache.http.message.BasicNameValuePair;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * 슬랙 메시지 전송<br>
+ * 호출한 스레드는 대기열에 넣기만 하고, 전송은 별도 스레드에서 함<br>
+ * 짧은 시간 안에 들어온 메시지는 하나로 합쳐서 전송하고, 대기열이 밀리면 상태 메시지부터 버림
+ */
 @Service
 @Slf4j
-public class SlackMessageService {
+public class SlackMessageService implements MeterBinder {
 
     @Value("${com.setvect.bokslcoin.autotrading.slack.enable}")
     private boolean enable;
@@ -28,30 +46,281 @@ public class SlackMessageService {
     @Value("${com.setvect.bokslcoin.autotrading.slack.channelId:#{null}}")
     private String channelId;
 
+    /**
+     * 대기열 크기
+     */
+    @Value("${com.setvect.bokslcoin.autotrading.slack.queueSize:100}")
+    private int queueSize;
+
+    /**
+     * 메시지를 모아서 보내는 시간(ms)
+     */
+    @Value("${com.setvect.bokslcoin.autotrading.slack.coalesceMs:1000}")
+    private long coalesceMs;
+
     private static final String MESSAGE_POST = "https://slack.com/api/chat.postMessage";
 
-    @SneakyThrows
+    /**
+     * 한 번에 전송하는 최대 글자 수
+     */
+    private static final int MAX_POST_LENGTH = 3500;
+
+    /**
+     * 종료 시 남은 메시지를 보내기 위해 기다리는 시간(ms)
+     */
+    private static final long SHUTDOWN_WAIT_MS = 5000;
+
+    private final Deque<Entry> queue = new ArrayDeque<>();
+
+    private Thread sender;
+    private volatile boolean running;
+
+    /**
+     * 전송한 메시지 수(합쳐진 메시지 각각)
+     */
+    private long sent;
+    /**
+     * 슬랙 API 호출 수
+     */
+    private long posted;
+    /**
+     * 버린 메시지 수
+     */
+    private long dropped;
+    /**
+     * 전송 실패한 메시지 수
+     */
+    private long failed;
+    /**
+     * 마지막 전송 이후 생략한 상태 메시지 수
+     */
+    private int skippedStatus;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        sender = new Thread(this::sendLoop, "slack-sender");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    /**
+     * 남은 메시지를 보내고 종료
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        synchronized (queue) {
+            queue.notifyAll();
+        }
+        sender.join(SHUTDOWN_WAIT_MS);
+    }
+
+    /**
+     * 매매 알림 등 꼭 전달해야 되는 메시지<br>
+     * 대기열이 가득 차면 오래된 상태 메시지를 버리고 넣음
+     *
+     * @param message 메시지
+     */
     public void sendMessage(String message) {
+        offer(message, false);
+    }
+
+    /**
+     * 현재 상태 알림처럼 생략해도 되는 메시지<br>
+     * 대기열이 절반 이상 차 있으면 버리고, 다음 전송에 생략한 건수를 표시함
+     *
+     * @param message 메시지
+     */
+    public void sendStatus(String message) {
+        offer(message, true);
+    }
+
+    /**
+     * @return 전송 현황
+     */
+    public SlackStats getStats() {
+        synchronized (queue) {
+            return SlackStats.builder()
+                    .queued(queue.size())
+                    .sent(sent)
+                    .posted(posted)
+                    .dropped(dropped)
+                    .failed(failed)
+                    .build();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("slack.queue.depth", this, s -> s.getStats().getQueued())
+                .description("슬랙 전송 대기 메시지 수")
+                .register(registry);
+        FunctionCounter.builder("slack.messages.sent", this, s -> s.getStats().getSent())
+                .register(registry);
+        FunctionCounter.builder("slack.messages.dropped", this, s -> s.getStats().getDropped())
+                .register(registry);
+        FunctionCounter.builder("slack.messages.failed", this, s -> s.getStats().getFailed())
+                .register(registry);
+    }
+
+    private void offer(String message, boolean status) {
         if (!enable) {
             log.debug("skip");
             return;
         }
+        synchronized (queue) {
+            if (status && queue.size() >= queueSize / 2) {
+                skipStatus();
+                return;
+            }
+            if (queue.size() >= queueSize && !removeOldestStatus()) {
+                dropped++;
+                log.warn("슬랙 대기열 초과로 메시지 버림: {}", message);
+                return;
+            }
+            queue.add(new Entry(message, status));
+            queue.notifyAll();
+        }
+    }
 
-        Map<String, String> param = new HashMap<>();
-        param.put("channel", channelId);
-        param.put("text", message);
-        param.put("link_names", "true");
+    private boolean removeOldestStatus() {
+        Iterator<Entry> it = queue.iterator();
+        while (it.hasNext()) {
+            if (it.next().status) {
+                it.remove();
+                skipStatus();
+                return true;
+            }
+        }
+        return false;
+    }
 
-        String url = MESSAGE_POST + "?" + ApplicationUtil.getQueryString(param);
-        HttpPost request = new HttpPost(url);
+    private void skipStatus() {
+        dropped++;
+        skippedStatus++;
+    }
+
+    private void sendLoop() {
+        while (true) {
+            synchronized (queue) {
+                while (queue.isEmpty() && running) {
+                    try {
+                        queue.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+            }
+            if (running) {
+                // 이어서 들어오는 메시지를 모음
+                try {
+                    TimeUnit.MILLISECONDS.sleep(coalesceMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            List<String> batch = new ArrayList<>();
+            int skipped;
+            synchronized (queue) {
+                int length = 0;
+                while (!queue.isEmpty() && (batch.isEmpty() || length + queue.peek().message.length() <= MAX_POST_LENGTH)) {
+                    Entry entry = queue.poll();
+                    batch.add(entry.message);
+                    length += entry.message.length();
+                }
+                skipped = skippedStatus;
+                skippedStatus = 0;
+            }
+
+            String text = String.join("\n\n", batch);
+            if (skipped > 0) {
+                text += String.format("\n\n(상태 메시지 %,d건 생략)", skipped);
+            }
+            boolean success = post(text);
+            synchronized (queue) {
+                posted++;
+                if (success) {
+                    sent += batch.size();
+                } else {
+                    failed += batch.size();
+                }
+            }
+        }
+    }
+
+    private boolean post(String message) {
+        try {
+            String response = request(message);
+            if (response.contains("{\"ok\":false")) {
+                log.warn(response);
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("슬랙 전송 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 메시지는 URL 길이 제한이 없도록 본문(application/x-www-form-urlencoded, UTF-8)으로 전송
+     */
+    @SneakyThrows
+    private String request(String message) {
+        HttpPost request = new HttpPost(MESSAGE_POST);
 
         List<NameValuePair> params = new ArrayList<>();
         params.add(new BasicNameValuePair("token", token));
-        request.setEntity(new UrlEncodedFormEntity(params));
+        params.add(new BasicNameValuePair("channel", channelId));
+        params.add(new BasicNameValuePair("text", message));
+        params.add(new BasicNameValuePair("link_names", "true"));
+        request.setEntity(new UrlEncodedFormEntity(params, StandardCharsets.UTF_8));
 
-        String response = ApplicationUtil.request(url, request);
-        if (response.contains("{\"ok\":false")) {
-            log.warn(response);
-        }
+        return ApplicationUtil.request(MESSAGE_POST, request);
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final String message;
+        /**
+         * 생략 가능한 상태 메시지 여부
+         */
+        private final boolean status;
+    }
+
+    /**
+     * 슬랙 전송 현황
+     */
+    @Getter
+    @Builder
+    @ToString
+    public static class SlackStats {
+        /**
+         * 대기 중인 메시지 수
+         */
+        private final int queued;
+        /**
+         * 전송한 메시지 수
+         */
+        private final long sent;
+        /**
+         * 슬랙 API 호출 수
+         */
+        private final long posted;
+        /**
+         * 버린 메시지 수
+         */
+        private final long dropped;
+        /**
+         * 전송 실패한 메시지 수
+         */
+        private final long failed;
     }
 }
@@ -1,12 +1,10 @@
 package com.setvect.bokslcoin.autotrading.starter;
 
+import com.setvect.bokslcoin.autotrading.algorithm.dispatch.TradeDispatcher;
 import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
-import com.setvect.bokslcoin.autotrading.algorithm.websocket.UpbitWebSocketListen;
-import com.setvect.bokslcoin.autotrading.algorithm.websocket.UpbitWebSocketListener;
-import com.setvect.bokslcoin.autotrading.slack.SlackMessageService;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.WebSocketSessionManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
@@ -16,16 +14,12 @@ import org.springframework.stereotype.Component;
 @Slf4j
 @RequiredArgsConstructor
 public class TradingWebsocket {
-    private final UpbitWebSocketListen upbitWebSocketListen;
-    private final ApplicationEventPublisher publisher;
-    private final SlackMessageService slackMessageService;
+    private final WebSocketSessionManager webSocketSessionManager;
+    private final TradeDispatcher tradeDispatcher;
     private final MabsMultiProperties properties;
 
 
     public void onApplicationEvent() {
-        UpbitWebSocketListener webSocketListener = new UpbitWebSocketListener(publisher, slackMessageService);
-        webSocketListener.setParameter(properties.getMarkets());
-
-        upbitWebSocketListen.listen(webSocketListener);
+        webSocketSessionManager.start(properties.getMarkets(), tradeDispatcher::dispatch, tradeDispatcher::backfill);
     }
 }
\ No newline at end of file
@@ -1,13 +1,8 @@
 package com.setvect.bokslcoin.autotrading.util;
 
+import com.setvect.bokslcoin.autotrading.common.ApiHttpClient;
 import lombok.SneakyThrows;
-import org.apache.http.HttpEntity;
-import org.apache.http.HttpResponse;
-import org.apache.http.client.HttpClient;
-import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.impl.client.HttpClientBuilder;
-import org.apache.http.util.EntityUtils;
 import org.modelmapper.ModelMapper;
 import org.modelmapper.config.Configuration;
 import org.modelmapper.convention.MatchingStrategies;
@@ -29,14 +24,21 @@ import java.util.Map;
  * 어플리케이션의 의존적인 유틸성 메소드
  */
 public class ApplicationUtil {
+    /**
+     * 설정은 클래스 로드 때 한 번만 함(공유 객체를 호출마다 다시 설정하지 않음)
+     */
     private static final ModelMapper modelMapper = new ModelMapper();
 
-    public static final NumberFormat NUMBER_FORMAT = new DecimalFormat("#.############");
+    static {
+        modelMapper.getConfiguration()
+                .setFieldAccessLevel(Configuration.AccessLevel.PRIVATE)
+                .setMatchingStrategy(MatchingStrategies.STRICT);
+    }
+
     /**
-     * API 타임 아웃
-     * connection, socket 둘다 적용
+     * DecimalFormat은 스레드 안전하지 않기 때문에 스레드별로 생성
      */
-    public static final int TIMEOUT_MS = 2000;
+    private static final ThreadLocal<NumberFormat> NUMBER_FORMAT = ThreadLocal.withInitial(() -> new DecimalFormat("#.############"));
 
     /**
      * askPrice가 100,521
@@ -58,7 +60,7 @@ public class ApplicationUtil {
      * @return 지수형태가 아닌 소수점으로 표현
      */
     public static String toNumberString(double value) {
-        return NUMBER_FORMAT.format(value);
+        return NUMBER_FORMAT.get().format(value);
     }
 
     /**
@@ -160,26 +162,16 @@ public class ApplicationUtil {
         return Math.pow(ev / bv, 1 / year) - 1;
     }
 
+    /**
+     * 공유 HTTP 클라이언트로 요청
+     *
+     * @param url     호출 주소(오류 메시지용)
+     * @param request 요청
+     * @return 응답 본문
+     * @throws IOException 통신 오류
+     */
     public static String request(String url, HttpRequestBase request) throws IOException {
-        HttpClient client = HttpClientBuilder.create().build();
-
-        RequestConfig config = RequestConfig.custom()
-                .setConnectTimeout(TIMEOUT_MS)
-                .setConnectionRequestTimeout(TIMEOUT_MS)
-                .setSocketTimeout(TIMEOUT_MS).build();
-        request.setConfig(config);
-
-        HttpResponse response = client.execute(request);
-
-        int statusCode = response.getStatusLine().getStatusCode();
-        HttpEntity entity = response.getEntity();
-        String responseText = EntityUtils.toString(entity, "UTF-8");
-
-        if (statusCode != 200 && statusCode != 201) {
-            String message = String.format("Error, Status: %d, URL: %s, Message: %s", statusCode, url, responseText);
-            throw new RuntimeException(message);
-        }
-        return responseText;
+        return ApiHttpClient.execute(url, request);
     }
 
     public static String getQueryString(Map<String, String> params) {
@@ -195,11 +187,12 @@ public class ApplicationUtil {
         return URLEncoder.encode(s, "UTF-8");
     }
 
+    /**
+     * 캔들 변환은 {@link com.setvect.bokslcoin.autotrading.model.CandleMapper} 사용
+     *
+     * @return 필드 기준 매핑
+     */
     public static ModelMapper getMapper() {
-        modelMapper.getConfiguration()
-                .setFieldAccessLevel(Configuration.AccessLevel.PRIVATE)
-                .setMatchingStrategy(MatchingStrategies.STRICT);
-
         return modelMapper;
     }
 }
@@ -7,12 +7,13 @@ import org.modelmapper.convention.MatchingStrategies;
 public class ModalMapper {
     private static final ModelMapper modelMapper = new ModelMapper();
 
-    public static ModelMapper getMapper() {
+    static {
         modelMapper.getConfiguration()
                 .setFieldAccessLevel(Configuration.AccessLevel.PRIVATE)
                 .setMatchingStrategy(MatchingStrategies.STRICT);
+    }
 
+    public static ModelMapper getMapper() {
         return modelMapper;
-
     }
 }
@@ -0,0 +1,149 @@
+package com.setvect.bokslcoin.autotrading.algorithm.dispatch;
+
+import com.setvect.bokslcoin.autotrading.algorithm.CoinTrading;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeFixtures;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeFrameDecoder;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeRecord;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TradeDispatcherTest {
+    private static final int COUNT = 500;
+
+    @Test
+    public void concurrentMarket() throws InterruptedException {
+        CountDownLatch btcStarted = new CountDownLatch(1);
+        CountDownLatch ethStarted = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2 * COUNT);
+        AtomicBoolean concurrent = new AtomicBoolean();
+        Map<String, List<Double>> received = new ConcurrentHashMap<>();
+        CoinTrading coinTrading = tradeResult -> {
+            if (tradeResult.getCode().equals("KRW-BTC") && tradeResult.getTradePrice() == 1) {
+                // 잠금을 공유하면 KRW-BTC 처리가 끝날 때까지 KRW-ETH가 처리될 수 없어 대기 시간 초과
+                btcStarted.countDown();
+                try {
+                    concurrent.set(ethStarted.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (tradeResult.getCode().equals("KRW-ETH")) {
+                ethStarted.countDown();
+            }
+            received.computeIfAbsent(tradeResult.getCode(), k -> Collections.synchronizedList(new ArrayList<>())).add(tradeResult.getTradePrice());
+            done.countDown();
+        };
+        TradeDispatcher dispatcher = TradeFixtures.newDispatcher(coinTrading);
+
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Arrays.asList("KRW-BTC", "KRW-ETH"));
+        TradeRecord record = new TradeRecord();
+        decoder.decode(TradeFixtures.frame("KRW-BTC", 1), record);
+        dispatcher.dispatch(record);
+        Assertions.assertTrue(btcStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= COUNT; i++) {
+            for (String market : Arrays.asList("KRW-BTC", "KRW-ETH")) {
+                if (i == 1 && market.equals("KRW-BTC")) {
+                    continue;
+                }
+                decoder.decode(TradeFixtures.frame(market, i), record);
+                dispatcher.dispatch(record);
+            }
+        }
+        Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        Assertions.assertTrue(concurrent.get(), "KRW-BTC 처리 중 KRW-ETH 처리 안됨");
+
+        // 코인별로 받은 순서 유지
+        for (String market : Arrays.asList("KRW-BTC", "KRW-ETH")) {
+            List<Double> prices = received.get(market);
+            Assertions.assertEquals(COUNT, prices.size());
+            for (int i = 0; i < COUNT; i++) {
+                Assertions.assertEquals(i + 1, prices.get(i).doubleValue());
+            }
+        }
+    }
+
+    @Test
+    public void backfillSameMarketLock() throws InterruptedException {
+        CountDownLatch tradeStarted = new CountDownLatch(1);
+        CountDownLatch releaseTrade = new CountDownLatch(1);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CoinTrading coinTrading = new CoinTrading() {
+            @Override
+            public void tradeEvent(TradeResult tradeResult) {
+                events.add("trade-start");
+                tradeStarted.countDown();
+                try {
+                    releaseTrade.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                events.add("trade-end");
+            }
+
+            @Override
+            public void backfill(String market, List<Candle> minuteCandles) {
+                events.add("backfill");
+            }
+        };
+        TradeDispatcher dispatcher = TradeFixtures.newDispatcher(coinTrading);
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Collections.singletonList("KRW-BTC"));
+        TradeRecord record = new TradeRecord();
+        decoder.decode(TradeFixtures.frame("KRW-BTC", 1), record);
+        dispatcher.dispatch(record);
+        Assertions.assertTrue(tradeStarted.await(5, TimeUnit.SECONDS));
+
+        // 같은 코인은 체결 처리가 끝날 때까지 대기
+        Thread backfill = new Thread(() -> dispatcher.backfill("KRW-BTC", Collections.emptyList()));
+        backfill.start();
+        Thread.sleep(100);
+        releaseTrade.countDown();
+        backfill.join(5000);
+        dispatcher.shutdown();
+        Assertions.assertEquals(Arrays.asList("trade-start", "trade-end", "backfill"), events);
+    }
+
+    /**
+     * 체결 객체를 재사용해도 직전 체결 값은 유지
+     */
+    @Test
+    public void previousTradeKept() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(COUNT);
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        CoinTrading coinTrading = new CoinTrading() {
+            private TradeResult before;
+
+            @Override
+            public void tradeEvent(TradeResult tradeResult) {
+                if (before != null && (before == tradeResult || before.getTradePrice() != tradeResult.getTradePrice() - 1)) {
+                    errors.add(before.getTradePrice() + " -> " + tradeResult.getTradePrice());
+                }
+                before = tradeResult;
+                done.countDown();
+            }
+        };
+        TradeDispatcher dispatcher = TradeFixtures.newDispatcher(coinTrading);
+
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Collections.singletonList("KRW-BTC"));
+        TradeRecord record = new TradeRecord();
+        for (int i = 1; i <= COUNT; i++) {
+            decoder.decode(TradeFixtures.frame("KRW-BTC", i), record);
+            dispatcher.dispatch(record);
+        }
+        Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+        Assertions.assertEquals(Collections.emptyList(), errors);
+    }
+}
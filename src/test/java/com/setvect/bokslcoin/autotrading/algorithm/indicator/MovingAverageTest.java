@@ -0,0 +1,39 @@
+package com.setvect.bokslcoin.autotrading.algorithm.indicator;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class MovingAverageTest {
+    @Test
+    public void compareFullCalculation() {
+        int period = 5;
+        MovingAverage ma = new MovingAverage(period);
+        // 최근 값이 앞
+        List<Double> closes = new ArrayList<>();
+        Random random = new Random(1);
+
+        for (int i = 0; i < 30_000; i++) {
+            double close = 1000 + random.nextInt(10000) / 10.0;
+            if (closes.isEmpty() || random.nextInt(3) == 0) {
+                closes.add(0, close);
+                ma.push(close);
+            } else {
+                closes.set(0, close);
+                ma.update(close);
+            }
+            Assertions.assertEquals(average(closes, 0, period), ma.getValue(), 0.000001);
+            Assertions.assertEquals(average(closes, 1, period), ma.getPreviousValue(), 0.000001);
+        }
+    }
+
+    private static double average(List<Double> closes, int start, int period) {
+        if (closes.size() < start + period) {
+            return 0;
+        }
+        return closes.stream().skip(start).limit(period).mapToDouble(Double::doubleValue).average().orElse(0);
+    }
+}
@@ -0,0 +1,100 @@
+package com.setvect.bokslcoin.autotrading.algorithm.mabs;
+
+import com.setvect.bokslcoin.autotrading.algorithm.TradeEvent;
+import com.setvect.bokslcoin.autotrading.algorithm.TradeRecorder;
+import com.setvect.bokslcoin.autotrading.algorithm.orderbook.TopOfBookCache;
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.exchange.OrderService;
+import com.setvect.bokslcoin.autotrading.exchange.PortfolioStateService;
+import com.setvect.bokslcoin.autotrading.model.Account;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.quotation.CandleService;
+import com.setvect.bokslcoin.autotrading.slack.SlackMessageService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MabsMultiServiceTest {
+    private static final List<String> MARKETS = Arrays.asList("KRW-BTC", "KRW-ETH");
+
+    /**
+     * 늦게 도착한 이전 주기 체결로 매매 주기가 되돌아가지 않음
+     */
+    @Test
+    public void lateTradeOfPreviousPeriod() {
+        TradeEvent tradeEvent = Mockito.mock(TradeEvent.class);
+        MabsMultiService service = newService(tradeEvent, LocalDateTime.of(2022, 1, 31, 20, 0));
+
+        service.tradeEvent(trade("KRW-BTC", LocalDateTime.of(2022, 1, 31, 21, 59, 50)));
+        Mockito.verify(tradeEvent, Mockito.times(1)).newPeriod(ArgumentMatchers.any());
+
+        // 이더리움이 먼저 다음 주기로 넘어감
+        service.tradeEvent(trade("KRW-ETH", LocalDateTime.of(2022, 1, 31, 22, 0, 1)));
+        Mockito.verify(tradeEvent, Mockito.times(2)).newPeriod(ArgumentMatchers.any());
+
+        // 비트코인의 이전 주기 체결이 늦게 처리됨
+        service.tradeEvent(trade("KRW-BTC", LocalDateTime.of(2022, 1, 31, 21, 59, 58)));
+        service.tradeEvent(trade("KRW-ETH", LocalDateTime.of(2022, 1, 31, 22, 0, 5)));
+        service.tradeEvent(trade("KRW-BTC", LocalDateTime.of(2022, 1, 31, 22, 0, 3)));
+        Mockito.verify(tradeEvent, Mockito.times(2)).newPeriod(ArgumentMatchers.any());
+
+        // 월이 바뀌어도 다음 주기
+        service.tradeEvent(trade("KRW-ETH", LocalDateTime.of(2022, 2, 1, 0, 0, 1)));
+        Mockito.verify(tradeEvent, Mockito.times(3)).newPeriod(ArgumentMatchers.any());
+        service.tradeEvent(trade("KRW-BTC", LocalDateTime.of(2022, 1, 31, 23, 59, 59)));
+        Mockito.verify(tradeEvent, Mockito.times(3)).newPeriod(ArgumentMatchers.any());
+    }
+
+    private static MabsMultiService newService(TradeEvent tradeEvent, LocalDateTime newestCandleUtc) {
+        MabsMultiProperties properties = new MabsMultiProperties();
+        properties.setMarkets(MARKETS);
+        properties.setPeriodType(PeriodType.PERIOD_60);
+        properties.setShortPeriod(2);
+        properties.setLongPeriod(4);
+        properties.setUpBuyRate(0.01);
+        properties.setDownSellRate(0.01);
+        properties.setLoseStopRate(0.5);
+        properties.setMaxBuyCount(1);
+        properties.setInvestRatio(0.99);
+
+        CandleService candleService = Mockito.mock(CandleService.class);
+        for (String market : MARKETS) {
+            List<CandleMinute> candles = new ArrayList<>();
+            for (int i = 0; i <= properties.getLongPeriod(); i++) {
+                CandleMinute candle = new CandleMinute();
+                candle.setMarket(market);
+                candle.setCandleDateTimeUtc(newestCandleUtc.minusHours(i));
+                candle.setCandleDateTimeKst(newestCandleUtc.minusHours(i).plusHours(9));
+                candle.setOpeningPrice(100);
+                candle.setHighPrice(100);
+                candle.setLowPrice(100);
+                candle.setTradePrice(100);
+                candles.add(candle);
+            }
+            Mockito.when(candleService.getMinute(60, market, properties.getLongPeriod() + 1)).thenReturn(candles);
+        }
+        // 현금이 없어 매수하지 않음
+        PortfolioStateService portfolioStateService = Mockito.mock(PortfolioStateService.class);
+        Account krw = new Account();
+        krw.setCurrency("KRW");
+        Mockito.when(portfolioStateService.getAccount("KRW")).thenReturn(krw);
+        return new MabsMultiService(portfolioStateService, candleService, tradeEvent, Mockito.mock(OrderService.class),
+                new SlackMessageService(), Mockito.mock(TradeRecorder.class), properties, new TopOfBookCache(0));
+    }
+
+    private static TradeResult trade(String market, LocalDateTime utc) {
+        return TradeResult.builder()
+                .type("trade")
+                .code(market)
+                .tradePrice(100)
+                .tradeDate(utc.toLocalDate())
+                .tradeTime(utc.toLocalTime())
+                .build();
+    }
+}
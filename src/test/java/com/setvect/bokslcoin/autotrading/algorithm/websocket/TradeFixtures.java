@@ -0,0 +1,46 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import com.setvect.bokslcoin.autotrading.algorithm.CoinTrading;
+import com.setvect.bokslcoin.autotrading.algorithm.dispatch.BackpressurePolicy;
+import com.setvect.bokslcoin.autotrading.algorithm.dispatch.DispatchProperties;
+import com.setvect.bokslcoin.autotrading.algorithm.dispatch.TradeDispatcher;
+import com.setvect.bokslcoin.autotrading.monitor.TradingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okio.ByteString;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationContext;
+
+/**
+ * 체결 수신, 전달 테스트에서 같이 쓰는 체결 프레임, 전달기
+ */
+public final class TradeFixtures {
+    /**
+     * 프레임의 거래소 타임스탬프
+     */
+    public static final long TIMESTAMP = 1652345678901L;
+
+    private TradeFixtures() {
+    }
+
+    /**
+     * @param coinTrading 체결을 받을 매매 알고리즘
+     * @return 대기열이 차면 기다리는 전달기. 다 쓰면 {@link TradeDispatcher#shutdown()} 호출
+     */
+    public static TradeDispatcher newDispatcher(CoinTrading coinTrading) {
+        ApplicationContext context = Mockito.mock(ApplicationContext.class);
+        Mockito.when(context.getBean("test")).thenReturn(coinTrading);
+        DispatchProperties properties = new DispatchProperties();
+        properties.setPolicy(BackpressurePolicy.BLOCK);
+        return new TradeDispatcher(context, "test", properties, new TradingMetrics(new SimpleMeterRegistry()));
+    }
+
+    /**
+     * @param market 코인
+     * @param price  체결가
+     * @return 체결 프레임
+     */
+    public static ByteString frame(String market, int price) {
+        return ByteString.encodeUtf8(String.format("{\"type\":\"trade\",\"code\":\"%s\",\"timestamp\":%d,\"trade_date\":\"2022-05-12\"," +
+                "\"trade_time\":\"09:01:02\",\"trade_price\":%d.0,\"trade_volume\":0.1,\"prev_closing_price\":1.0}", market, TIMESTAMP, price));
+    }
+}
@@ -0,0 +1,93 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import com.setvect.bokslcoin.autotrading.util.GsonUtil;
+import okio.ByteString;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class TradeFrameDecoderTest {
+    private static final String FRAME = "{\"type\":\"trade\",\"code\":\"KRW-BTC\",\"timestamp\":1652345678901,\"trade_date\":\"2022-05-12\"," +
+            "\"trade_time\":\"09:01:02\",\"trade_timestamp\":1652345678000,\"trade_price\":38331000.0,\"trade_volume\":0.00012345," +
+            "\"ask_bid\":\"BID\",\"prev_closing_price\":39064000.0,\"change\":\"FALL\",\"change_price\":733000.0," +
+            "\"sequential_id\":16523456780000000,\"stream_type\":\"REALTIME\"}";
+
+    @Test
+    public void compareGson() {
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Arrays.asList("KRW-BTC", "KRW-ETH"));
+        TradeRecord record = new TradeRecord();
+
+        Assertions.assertTrue(decoder.decode(ByteString.encodeUtf8(FRAME), record));
+        TradeResult expected = GsonUtil.GSON.fromJson(FRAME, TradeResult.class);
+        TradeResult actual = record.toTradeResult();
+
+        Assertions.assertEquals(expected.getType(), actual.getType());
+        Assertions.assertSame("KRW-BTC", actual.getCode());
+        Assertions.assertEquals(expected.getTradePrice(), actual.getTradePrice());
+        Assertions.assertEquals(expected.getTradeVolume(), actual.getTradeVolume());
+        Assertions.assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        Assertions.assertEquals(expected.getTradeDateTimeUtc(), actual.getTradeDateTimeUtc());
+        Assertions.assertEquals(expected.getPrevClosingPrice(), actual.getPrevClosingPrice());
+    }
+
+    @Test
+    public void orderbook() {
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Arrays.asList("KRW-BTC"));
+        TradeRecord record = new TradeRecord();
+        String frame = "{\"type\":\"orderbook\",\"code\":\"KRW-BTC\",\"timestamp\":1652345678901,\"total_ask_size\":8.1,\"total_bid_size\":3.2," +
+                "\"orderbook_units\":[{\"ask_price\":38332000.0,\"bid_price\":38331000.0,\"ask_size\":0.5,\"bid_size\":0.25}," +
+                "{\"ask_price\":38333000.0,\"bid_price\":38330000.0,\"ask_size\":1.0,\"bid_size\":2.0}],\"stream_type\":\"REALTIME\"}";
+
+        Assertions.assertEquals(UpbitWebSocketListener.UpbitType.ORDERBOOK, decoder.decodeFrame(ByteString.encodeUtf8(frame), record));
+        Assertions.assertFalse(decoder.decode(ByteString.encodeUtf8(frame), record));
+        Assertions.assertSame("KRW-BTC", record.getCode());
+        Assertions.assertEquals(38332000.0, record.getAskPrice());
+        Assertions.assertEquals(0.5, record.getAskSize());
+        Assertions.assertEquals(38331000.0, record.getBidPrice());
+        Assertions.assertEquals(0.25, record.getBidSize());
+        Assertions.assertEquals(1652345678901L, record.getTimestamp());
+
+        // 다음 체결 프레임을 읽으면 호가 값은 초기화
+        Assertions.assertEquals(UpbitWebSocketListener.UpbitType.TRADE, decoder.decodeFrame(ByteString.encodeUtf8(FRAME), record));
+        Assertions.assertEquals(0, record.getAskPrice());
+    }
+
+    @Test
+    public void notTrade() {
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Arrays.asList("KRW-BTC"));
+        TradeRecord record = new TradeRecord();
+        String error = "{\"error\":{\"name\":\"INVALID_AUTH\",\"message\":\"인증 오류\"}}";
+        Assertions.assertFalse(decoder.decode(ByteString.encodeUtf8(error), record));
+    }
+
+    @Test
+    public void truncated() {
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Arrays.asList("KRW-BTC"));
+        TradeRecord record = new TradeRecord();
+        // 값 중간, 키 중간, 닫는 괄호 없이 잘린 프레임
+        for (int length : new int[]{FRAME.indexOf("2022-05") + 3, FRAME.indexOf("trade_time") + 4, FRAME.length() - 1}) {
+            ByteString frame = ByteString.encodeUtf8(FRAME.substring(0, length));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> decoder.decodeFrame(frame, record));
+        }
+        // 잘린 다음 프레임도 정상 처리
+        Assertions.assertEquals(UpbitWebSocketListener.UpbitType.TRADE, decoder.decodeFrame(ByteString.encodeUtf8(FRAME), record));
+    }
+
+    @Test
+    public void invalidTradeDateTime() {
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Arrays.asList("KRW-BTC"));
+        TradeRecord record = new TradeRecord();
+        String noDate = FRAME.replace("\"trade_date\":\"2022-05-12\",", "");
+        String noTime = FRAME.replace("\"trade_time\":\"09:01:02\",", "");
+        String shortDate = FRAME.replace("2022-05-12", "2022-5-12");
+        String invalidDate = FRAME.replace("2022-05-12", "2022-02-30");
+        String invalidTime = FRAME.replace("09:01:02", "24:01:02");
+        for (String frame : Arrays.asList(noDate, noTime, shortDate, invalidDate, invalidTime)) {
+            Assertions.assertNull(decoder.decodeFrame(ByteString.encodeUtf8(frame), record), frame);
+        }
+        Assertions.assertEquals(UpbitWebSocketListener.UpbitType.TRADE,
+                decoder.decodeFrame(ByteString.encodeUtf8(FRAME.replace("2022-05-12", "2024-02-29")), record));
+        Assertions.assertEquals(20240229, record.getTradeDate());
+    }
+}
@@ -0,0 +1,127 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import com.setvect.bokslcoin.autotrading.algorithm.CoinTrading;
+import com.setvect.bokslcoin.autotrading.algorithm.dispatch.TradeDispatcher;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class TradeHoldBufferTest {
+    private static final String MARKET = "KRW-BTC";
+    private static final int LIVE_COUNT = 200;
+
+    /**
+     * 끊기기 전 체결 → 놓친 1분봉 → 새 연결 체결 순서로 반영
+     */
+    @Test
+    public void backfillBeforeLiveTrade() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3 + LIVE_COUNT);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        CoinTrading coinTrading = new CoinTrading() {
+            @Override
+            public void tradeEvent(TradeResult tradeResult) {
+                if (tradeResult.getTradePrice() == 1) {
+                    firstStarted.countDown();
+                    try {
+                        releaseFirst.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                events.add("trade-" + (int) tradeResult.getTradePrice());
+                done.countDown();
+            }
+
+            @Override
+            public void backfill(String market, List<Candle> minuteCandles) {
+                events.add("backfill");
+            }
+        };
+        TradeDispatcher dispatcher = TradeFixtures.newDispatcher(coinTrading);
+        TradeHoldBuffer holdBuffer = new TradeHoldBuffer();
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Collections.singletonList(MARKET));
+        TradeRecord record = new TradeRecord();
+
+        // 끊기기 전 체결. 처리가 끝나지 않은 채 대기열에 남아 있음
+        for (int i = 1; i <= 3; i++) {
+            decoder.decode(TradeFixtures.frame(MARKET, i), record);
+            dispatcher.dispatch(record);
+        }
+        Assertions.assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        holdBuffer.hold(MARKET);
+
+        // 새 연결 수신 스레드. 1분봉 반영 전, 반영 중, 보관 해제 후에 걸쳐 체결을 받음
+        CountDownLatch liveStarted = new CountDownLatch(LIVE_COUNT / 2);
+        Thread receive = new Thread(() -> {
+            TradeFrameDecoder liveDecoder = new TradeFrameDecoder(Collections.singletonList(MARKET));
+            TradeRecord live = new TradeRecord();
+            for (int i = 1; i <= LIVE_COUNT; i++) {
+                liveDecoder.decode(TradeFixtures.frame(MARKET, 100 + i), live);
+                if (!holdBuffer.offer(live)) {
+                    dispatcher.dispatch(live);
+                }
+                liveStarted.countDown();
+                Thread.yield();
+            }
+        });
+        receive.start();
+        Assertions.assertTrue(liveStarted.await(5, TimeUnit.SECONDS));
+
+        // 관리 스레드. 끊기기 전 체결 처리를 기다렸다가 1분봉 반영, 보관한 체결 전달
+        Thread session = new Thread(() -> {
+            dispatcher.backfill(MARKET, Collections.emptyList());
+            holdBuffer.release(MARKET, dispatcher::dispatch);
+        });
+        session.start();
+        Thread.sleep(100);
+        Assertions.assertFalse(events.contains("backfill"));
+        releaseFirst.countDown();
+
+        session.join(5000);
+        receive.join(5000);
+        Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+        dispatcher.shutdown();
+
+        List<String> expected = new ArrayList<>();
+        expected.add("trade-1");
+        expected.add("trade-2");
+        expected.add("trade-3");
+        expected.add("backfill");
+        for (int i = 1; i <= LIVE_COUNT; i++) {
+            expected.add("trade-" + (100 + i));
+        }
+        Assertions.assertEquals(expected, events);
+        Assertions.assertEquals(0, holdBuffer.release(MARKET, dispatcher::dispatch));
+    }
+
+    @Test
+    public void offer() {
+        TradeHoldBuffer holdBuffer = new TradeHoldBuffer();
+        TradeFrameDecoder decoder = new TradeFrameDecoder(Collections.singletonList(MARKET));
+        TradeRecord record = new TradeRecord();
+        decoder.decode(TradeFixtures.frame(MARKET, 1), record);
+        Assertions.assertFalse(holdBuffer.offer(record));
+
+        holdBuffer.hold(MARKET);
+        Assertions.assertTrue(holdBuffer.offer(record));
+        // 보관할 때 복사
+        decoder.decode(TradeFixtures.frame(MARKET, 2), record);
+        Assertions.assertTrue(holdBuffer.offer(record));
+        Assertions.assertEquals(TradeFixtures.TIMESTAMP, holdBuffer.getFirstTimestamp(MARKET));
+
+        List<Double> prices = new ArrayList<>();
+        Assertions.assertEquals(2, holdBuffer.release(MARKET, r -> prices.add(r.getTradePrice())));
+        Assertions.assertEquals(1, prices.get(0).doubleValue());
+        Assertions.assertEquals(2, prices.get(1).doubleValue());
+        Assertions.assertFalse(holdBuffer.offer(record));
+        Assertions.assertEquals(0, holdBuffer.getFirstTimestamp(MARKET));
+    }
+}
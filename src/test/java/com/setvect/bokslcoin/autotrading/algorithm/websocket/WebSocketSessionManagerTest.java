@@ -0,0 +1,71 @@
+package com.setvect.bokslcoin.autotrading.algorithm.websocket;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class WebSocketSessionManagerTest {
+    @Test
+    public void splitEmpty() {
+        Assertions.assertTrue(WebSocketSessionManager.split(Collections.emptyList(), 3).isEmpty());
+        Assertions.assertTrue(WebSocketSessionManager.split(Collections.emptyList(), 0).isEmpty());
+    }
+
+    @Test
+    public void splitUneven() {
+        List<List<String>> groups = WebSocketSessionManager.split(markets(7), 3);
+        Assertions.assertEquals(3, groups.size());
+        Assertions.assertEquals(Arrays.asList("M0", "M3", "M6"), groups.get(0));
+        Assertions.assertEquals(Arrays.asList("M1", "M4"), groups.get(1));
+        Assertions.assertEquals(Arrays.asList("M2", "M5"), groups.get(2));
+    }
+
+    @Test
+    public void splitMoreShardThanMarket() {
+        List<List<String>> groups = WebSocketSessionManager.split(markets(2), 5);
+        Assertions.assertEquals(2, groups.size());
+        Assertions.assertEquals(Collections.singletonList("M0"), groups.get(0));
+        Assertions.assertEquals(Collections.singletonList("M1"), groups.get(1));
+
+        // 샤드 수가 1보다 작으면 하나로
+        Assertions.assertEquals(Collections.singletonList(markets(2)), WebSocketSessionManager.split(markets(2), 0));
+    }
+
+    @Test
+    public void splitAllMarket() {
+        for (int marketCount = 1; marketCount <= 30; marketCount++) {
+            List<String> markets = markets(marketCount);
+            for (int shardCount = 1; shardCount <= 10; shardCount++) {
+                List<List<String>> groups = WebSocketSessionManager.split(markets, shardCount);
+                Assertions.assertEquals(Math.min(marketCount, shardCount), groups.size());
+
+                // 빠지거나 중복된 코인 없음
+                List<String> all = new ArrayList<>();
+                int min = Integer.MAX_VALUE;
+                int max = 0;
+                for (List<String> group : groups) {
+                    all.addAll(group);
+                    min = Math.min(min, group.size());
+                    max = Math.max(max, group.size());
+                }
+                Collections.sort(all);
+                List<String> expected = new ArrayList<>(markets);
+                Collections.sort(expected);
+                Assertions.assertEquals(expected, all, String.format("코인: %d, 샤드: %d", marketCount, shardCount));
+                Assertions.assertTrue(max - min <= 1, String.format("코인: %d, 샤드: %d", marketCount, shardCount));
+            }
+        }
+    }
+
+    private static List<String> markets(int count) {
+        List<String> markets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            markets.add("M" + i);
+        }
+        return markets;
+    }
+}
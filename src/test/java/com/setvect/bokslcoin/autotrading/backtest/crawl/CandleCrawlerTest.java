@@ -0,0 +1,117 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice;
+import com.setvect.bokslcoin.autotrading.backtest.repository.CandleBulkRepository;
+import com.setvect.bokslcoin.autotrading.backtest.repository.CandleRepository;
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.quotation.CandleService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+public class CandleCrawlerTest {
+    private static final String MARKET = "KRW-BTC";
+    /**
+     * 이미 저장된 마지막 1분봉
+     */
+    private static final LocalDateTime BEGIN = LocalDateTime.of(2022, 1, 1, 0, 0);
+    /**
+     * 거래소에 있는 1분봉 수(BEGIN 포함)
+     */
+    private static final int MINUTE_COUNT = 1000;
+
+    @TempDir
+    Path checkpointDir;
+
+    /**
+     * 저장한 다음 실패하면 다음 실행에서 남은 구간부터 이어서 수집해 빠지는 구간이 없음
+     */
+    @Test
+    public void resumeAfterFailure() {
+        TreeSet<LocalDateTime> saved = new TreeSet<>();
+        saved.add(BEGIN);
+        // 이 시각 이하 요청은 실패
+        LocalDateTime[] failUntil = {BEGIN.plusMinutes(400)};
+        CandleCrawler crawler = newCrawler(saved, failUntil);
+
+        // 999 ~ 600분 저장 후 400분 이전 요청에서 실패
+        Assertions.assertThrows(RuntimeException.class, () -> crawler.crawl(MARKET));
+        Assertions.assertEquals(401, saved.size());
+        Assertions.assertEquals(BEGIN.plusMinutes(600), saved.higher(BEGIN));
+        Path checkpointPath = checkpointDir.resolve(MARKET + ".crawl");
+        Assertions.assertTrue(Files.exists(checkpointPath));
+
+        failUntil[0] = null;
+        CrawlResult result = crawler.crawl(MARKET);
+        Assertions.assertEquals(599, result.getCount());
+        Assertions.assertEquals(BEGIN.plusMinutes(1), result.getFrom());
+        Assertions.assertEquals(BEGIN.plusMinutes(599), result.getTo());
+        Assertions.assertEquals(MINUTE_COUNT, saved.size());
+        Assertions.assertEquals(BEGIN.plusMinutes(MINUTE_COUNT - 1), saved.last());
+        Assertions.assertFalse(Files.exists(checkpointPath));
+
+        // 새 캔들이 없으면 아무것도 받지 않음
+        Assertions.assertEquals(0, crawler.crawl(MARKET).getCount());
+    }
+
+    private CandleCrawler newCrawler(TreeSet<LocalDateTime> saved, LocalDateTime[] failUntil) {
+        CandleService candleService = Mockito.mock(CandleService.class);
+        Mockito.when(candleService.getMinute(ArgumentMatchers.eq(1), ArgumentMatchers.eq(MARKET), ArgumentMatchers.anyInt(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> {
+                    int count = invocation.getArgument(2);
+                    LocalDateTime to = invocation.getArgument(3);
+                    if (failUntil[0] != null && to != null && !to.isAfter(failUntil[0])) {
+                        throw new IllegalStateException("연결 실패");
+                    }
+                    return minutes(count, to);
+                });
+
+        CandleRepository candleRepository = Mockito.mock(CandleRepository.class);
+        Mockito.when(candleRepository.findPriceBefore(ArgumentMatchers.eq(MARKET), ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenAnswer(invocation -> saved.isEmpty() ? Collections.emptyList()
+                        : Collections.singletonList(new CandlePrice(saved.last(), saved.last().plusHours(9), 1, 1, 1, 1)));
+
+        CandleBulkRepository candleBulkRepository = Mockito.mock(CandleBulkRepository.class);
+        Mockito.when(candleBulkRepository.upsert(ArgumentMatchers.anyList())).thenAnswer(invocation -> {
+            List<CandleEntity> candles = invocation.getArgument(0);
+            candles.forEach(c -> saved.add(c.getCandleDateTimeUtc()));
+            return candles.size();
+        });
+
+        CandleCrawler crawler = new CandleCrawler(candleService, candleRepository, candleBulkRepository);
+        ReflectionTestUtils.setField(crawler, "requestIntervalMs", 0L);
+        ReflectionTestUtils.setField(crawler, "flushSize", 400);
+        ReflectionTestUtils.setField(crawler, "checkpointDir", checkpointDir.toString());
+        return crawler;
+    }
+
+    /**
+     * @return to 이전 1분봉을 최신부터 count개. to가 null이면 마지막 1분봉부터
+     */
+    private static List<CandleMinute> minutes(int count, LocalDateTime to) {
+        List<CandleMinute> result = new ArrayList<>();
+        LocalDateTime time = to == null ? BEGIN.plusMinutes(MINUTE_COUNT - 1) : to.minusMinutes(1);
+        while (result.size() < count && !time.isBefore(BEGIN.minusMinutes(100))) {
+            CandleMinute candle = new CandleMinute();
+            candle.setMarket(MARKET);
+            candle.setCandleDateTimeUtc(time);
+            candle.setCandleDateTimeKst(time.plusHours(9));
+            candle.setTradePrice(1);
+            result.add(candle);
+            time = time.minusMinutes(1);
+        }
+        return result;
+    }
+}
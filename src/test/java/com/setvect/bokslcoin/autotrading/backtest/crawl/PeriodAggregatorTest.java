@@ -0,0 +1,52 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.model.CandlePrice;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class PeriodAggregatorTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    @Test
+    public void aggregate() {
+        List<CandleEntity> result = new ArrayList<>();
+        PeriodAggregator aggregator = new PeriodAggregator("KRW-BTC", Arrays.asList(PeriodType.PERIOD_15, PeriodType.PERIOD_30), result::add);
+        // 00:01 ~ 00:44, 00:00 1분봉은 없음
+        for (int i = 1; i < 45; i++) {
+            aggregator.add(minute(i, 100 + i));
+        }
+        // 15분봉 두 개(00:01, 00:15) 완성, 30분봉 00:01 완성
+        Assertions.assertEquals(3, result.size());
+        CandleEntity first = result.get(0);
+        Assertions.assertEquals(PeriodType.PERIOD_15, first.getPeriodType());
+        Assertions.assertEquals(BASE.plusMinutes(1), first.getCandleDateTimeUtc());
+        Assertions.assertEquals(BASE.plusMinutes(1).plusHours(9), first.getCandleDateTimeKst());
+        Assertions.assertEquals(101, first.getOpeningPrice());
+        Assertions.assertEquals(114 + 1, first.getHighPrice());
+        Assertions.assertEquals(101 - 1, first.getLowPrice());
+        Assertions.assertEquals(114, first.getTradePrice());
+
+        CandleEntity half = result.get(2);
+        Assertions.assertEquals(PeriodType.PERIOD_30, half.getPeriodType());
+        Assertions.assertEquals(101, half.getOpeningPrice());
+        Assertions.assertEquals(129, half.getTradePrice());
+
+        // 구간이 끝나지 않은 캔들은 버림
+        aggregator.finish(BASE.plusMinutes(50));
+        Assertions.assertEquals(4, result.size());
+        Assertions.assertEquals(BASE.plusMinutes(30), result.get(3).getCandleDateTimeUtc());
+        Assertions.assertEquals(144, result.get(3).getTradePrice());
+    }
+
+    private static CandlePrice minute(int minute, double price) {
+        LocalDateTime time = BASE.plusMinutes(minute);
+        return new CandlePrice(time, time.plusHours(9), price, price + 1, price - 1, price);
+    }
+}
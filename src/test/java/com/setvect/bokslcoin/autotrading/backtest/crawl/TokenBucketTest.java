@@ -0,0 +1,54 @@
+package com.setvect.bokslcoin.autotrading.backtest.crawl;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class TokenBucketTest {
+    @Test
+    public void acquire() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(50, 1);
+        long start = System.nanoTime();
+        // 첫 번째는 바로, 나머지 10번은 20ms 간격
+        for (int i = 0; i < 11; i++) {
+            bucket.acquire();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(elapsedMs >= 190, "경과 시간: " + elapsedMs);
+    }
+
+    @Test
+    public void acquireMultiThread() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(50, 1);
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>();
+        // 스레드 4개가 5번씩, 모두 합쳐 20번 호출
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 5; i++) {
+                        bucket.acquire();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(elapsedMs >= 370, "경과 시간: " + elapsedMs);
+    }
+
+    @Test
+    public void invalid() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new TokenBucket(10, 0));
+    }
+}
@@ -0,0 +1,169 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleColumns;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
+import com.setvect.bokslcoin.autotrading.model.OrderResult;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BacktestEngineTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 0, 0);
+    private static final int HOURS = 30;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void run() {
+        LocalDateTime from = BASE.plusHours(6);
+        LocalDateTime to = BASE.plusHours(HOURS).minusMinutes(1);
+        BacktestResult result = new BacktestEngine(store()).run(properties(), from, to, 10_000_000);
+
+        Assertions.assertEquals((HOURS - 6) * 60, result.getCandleCount());
+        List<BacktestTrade> trades = result.getTrades();
+        // 10시에 매수, 16시에 매도하고 이후 하락 구간에서는 매수하지 않음
+        Assertions.assertEquals(2, trades.size());
+        for (int i = 0; i < trades.size(); i++) {
+            Assertions.assertEquals(i % 2 == 0 ? TradeType.BUY : TradeType.SELL, trades.get(i).getTradeType());
+        }
+        BacktestTrade buy = trades.get(0);
+        Assertions.assertEquals(BASE.plusHours(10).plusHours(9), buy.getTradeTimeKst());
+        Assertions.assertEquals(120, buy.getUnitPrice());
+
+        BacktestTrade sell = trades.get(1);
+        Assertions.assertEquals(sell.getUnitPrice() / 120 - 1, sell.getYield(), 0.000001);
+        // 매도 후 보유 코인이 없기 때문에 최종 금액은 현금
+        Assertions.assertEquals(sell.getCash(), result.getFinalAsset(), 0.01);
+    }
+
+    @Test
+    public void resume() {
+        BacktestEngine engine = new BacktestEngine(store());
+        MabsMultiProperties properties = properties();
+        LocalDateTime from = BASE.plusHours(6);
+        LocalDateTime to = BASE.plusHours(HOURS).minusMinutes(1);
+        BacktestResult whole = engine.run(properties, from, to, 10_000_000);
+
+        // 매수 후 매도 전에 멈추고, 저장한 상태로 이어서 실행
+        BacktestResult first = engine.run(properties, from, BASE.plusHours(12).plusMinutes(30), 10_000_000);
+        BacktestCheckpoint checkpoint = BacktestCheckpoint.fromBytes(first.getCheckpoint().toBytes());
+        Assertions.assertEquals(1, checkpoint.getPositions().size());
+        Assertions.assertEquals(CandleStore.toEpochMilli(BASE.plusHours(12).plusMinutes(30)), checkpoint.getTime());
+        BacktestResult second = engine.resume(properties, checkpoint, to);
+
+        List<BacktestTrade> trades = new ArrayList<>(first.getTrades());
+        trades.addAll(second.getTrades());
+        Assertions.assertEquals(whole.getTrades().size(), trades.size());
+        for (int i = 0; i < trades.size(); i++) {
+            BacktestTrade expect = whole.getTrades().get(i);
+            BacktestTrade actual = trades.get(i);
+            Assertions.assertEquals(expect.getTradeType(), actual.getTradeType());
+            Assertions.assertEquals(expect.getTradeTimeKst(), actual.getTradeTimeKst());
+            Assertions.assertEquals(expect.getUnitPrice(), actual.getUnitPrice(), 0.000001);
+            Assertions.assertEquals(expect.getYield(), actual.getYield(), 0.000001);
+        }
+        Assertions.assertEquals(whole.getCandleCount(), first.getCandleCount() + second.getCandleCount());
+        Assertions.assertEquals(whole.getFinalAsset(), second.getFinalAsset(), 0.01);
+    }
+
+    /**
+     * 미체결 주문이 남은 상태로 멈췄다가 이어서 실행
+     */
+    @Test
+    public void resumeWithOpenOrder() {
+        BacktestEngine engine = new BacktestEngine(store());
+        MabsMultiProperties properties = properties();
+        LocalDateTime to = BASE.plusHours(HOURS).minusMinutes(1);
+        BacktestCheckpoint bought = engine.run(properties, BASE.plusHours(6), BASE.plusHours(12).plusMinutes(30), 10_000_000).getCheckpoint();
+
+        // 보유 수량 전부를 190원에 지정가 매도 주문. 180원인 13시에는 미체결, 200원인 14시에 체결
+        BacktestCheckpoint.Position position = bought.getPositions().get(0);
+        BacktestCheckpoint.Order order = BacktestCheckpoint.Order.builder()
+                .uuid("backtest-" + (bought.getOrderSeq() + 1))
+                .market(position.getMarket())
+                .side(OrderResult.Side.ask)
+                .ordType(OrderResult.OrdType.limit)
+                .volume(position.getBalance())
+                .price(190)
+                .locked(position.getBalance())
+                .build();
+        BacktestCheckpoint checkpoint = BacktestCheckpoint.builder()
+                .time(bought.getTime())
+                .cash(bought.getCash())
+                .totalAsset(bought.getTotalAsset())
+                .positions(bought.getPositions())
+                .orders(Collections.singletonList(order))
+                .orderSeq(bought.getOrderSeq() + 1)
+                .currentPrice(bought.getCurrentPrice())
+                .strategy(bought.getStrategy())
+                .build();
+        BacktestResult whole = engine.resume(properties, checkpoint, to);
+
+        BacktestResult first = engine.resume(properties, checkpoint, BASE.plusHours(13).plusMinutes(30));
+        BacktestCheckpoint open = BacktestCheckpoint.fromBytes(first.getCheckpoint().toBytes());
+        Assertions.assertEquals(1, open.getOrders().size());
+        Assertions.assertEquals(order.getUuid(), open.getOrders().get(0).getUuid());
+        Assertions.assertEquals(order.getVolume(), open.getOrders().get(0).getLocked(), 0.000001);
+        BacktestResult second = engine.resume(properties, open, to);
+
+        Assertions.assertTrue(whole.getCheckpoint().getOrders().isEmpty());
+        Assertions.assertTrue(second.getCheckpoint().getOrders().isEmpty());
+        Assertions.assertEquals(whole.getTrades().size(), first.getTrades().size() + second.getTrades().size());
+        Assertions.assertEquals(whole.getCheckpoint().getCash(), second.getCheckpoint().getCash(), 0.01);
+        Assertions.assertEquals(whole.getFinalAsset(), second.getFinalAsset(), 0.01);
+    }
+
+    private CandleStore store() {
+        CandleStore store = new CandleStore(dir.toString());
+        CandleColumns minute = new CandleColumns();
+        CandleColumns hour = new CandleColumns();
+        for (int h = 0; h < HOURS; h++) {
+            double price = price(h);
+            hour.add(CandleStore.toEpochMilli(BASE.plusHours(h)), price, price, price, price);
+            for (int m = 0; m < 60; m++) {
+                minute.add(CandleStore.toEpochMilli(BASE.plusHours(h).plusMinutes(m)), price, price, price, price);
+            }
+        }
+        store.merge("KRW-BTC", PeriodType.PERIOD_1, minute);
+        store.merge("KRW-BTC", PeriodType.PERIOD_60, hour);
+        return store;
+    }
+
+    private static MabsMultiProperties properties() {
+        MabsMultiProperties properties = new MabsMultiProperties();
+        properties.setMarkets(Collections.singletonList("KRW-BTC"));
+        properties.setPeriodType(PeriodType.PERIOD_60);
+        properties.setShortPeriod(2);
+        properties.setLongPeriod(4);
+        properties.setUpBuyRate(0.01);
+        properties.setDownSellRate(0.01);
+        properties.setLoseStopRate(0.5);
+        properties.setMaxBuyCount(1);
+        properties.setInvestRatio(0.99);
+        properties.setNewMasBuy(false);
+        return properties;
+    }
+
+    /**
+     * 10시간 동안 100, 5시간 동안 200까지 상승, 이후 하락
+     */
+    private static double price(int hour) {
+        if (hour < 10) {
+            return 100;
+        }
+        if (hour < 15) {
+            return 100 + (hour - 9) * 20;
+        }
+        return Math.max(50, 200 - (hour - 14) * 15);
+    }
+}
@@ -0,0 +1,40 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 캔들 저장소 기준 여러 조건 백테스트 후 결과 저장
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+@Slf4j
+public class BacktestSweepTest {
+    @Autowired
+    private BacktestSweepService backtestSweepService;
+
+    @Test
+    public void sweep() {
+        List<String> markets = Arrays.asList("KRW-BTC", "KRW-ETH", "KRW-XRP", "KRW-EOS", "KRW-ETC", "KRW-ADA", "KRW-MANA", "KRW-BAT", "KRW-BCH", "KRW-DOT");
+        List<int[]> maPeriods = Arrays.asList(
+                new int[]{13, 64},
+                new int[]{20, 70},
+                new int[]{20, 80},
+                new int[]{30, 100}
+        );
+        List<MabsMultiProperties> grid = BacktestSweepService.grid(markets, PeriodType.PERIOD_60, maPeriods, 0.01, 0.01, 0.5);
+        SweepResult result = backtestSweepService.sweep(grid, LocalDateTime.of(2017, 1, 1, 0, 0), LocalDateTime.now(), 10_000_000, null);
+
+        result.getItems().forEach(item -> log.info("{}", item));
+        log.info("{}, 초당 {}건", result, String.format("%,.0f", result.getCandlesPerSecond()));
+    }
+}
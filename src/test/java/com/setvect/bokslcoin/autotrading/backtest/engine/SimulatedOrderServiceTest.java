@@ -0,0 +1,94 @@
+package com.setvect.bokslcoin.autotrading.backtest.engine;
+
+import com.setvect.bokslcoin.autotrading.model.OrderChance;
+import com.setvect.bokslcoin.autotrading.model.OrderHistory;
+import com.setvect.bokslcoin.autotrading.model.OrderResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class SimulatedOrderServiceTest {
+    private static final String MARKET = "KRW-BTC";
+
+    @Test
+    public void limitBid() {
+        SimulatedExchange exchange = new SimulatedExchange(10_000);
+        SimulatedOrderService orderService = new SimulatedOrderService(exchange);
+        exchange.setCurrentPrice(MARKET, 100);
+
+        // 주문 가격 이상이면 현재 체결가로 체결
+        OrderResult done = orderService.callOrderBid(MARKET, "10", "110");
+        Assertions.assertEquals(OrderResult.State.done.name(), done.getState());
+        Assertions.assertEquals(9_000, exchange.getCash(), 0.000001);
+
+        // 주문 가격보다 비싸면 대기
+        OrderResult wait = orderService.callOrderBid(MARKET, "10", "90");
+        Assertions.assertEquals(OrderResult.State.wait.name(), wait.getState());
+        List<OrderHistory> history = orderService.getHistory(1, 100);
+        Assertions.assertEquals(1, history.size());
+        Assertions.assertEquals(wait.getUuid(), history.get(0).getUuid());
+        OrderChance chance = orderService.getChange(MARKET);
+        Assertions.assertEquals("8100", chance.getBidAccount().getBalance());
+        Assertions.assertEquals("900", chance.getBidAccount().getLocked());
+        Assertions.assertEquals("10", chance.getAskAccount().getBalance());
+
+        exchange.setCurrentPrice(MARKET, 95);
+        Assertions.assertEquals(1, orderService.getHistory(1, 100).size());
+        // 주문 가격 이하로 내려오면 그 체결가로 체결, 남은 금액은 돌려 받음
+        exchange.setCurrentPrice(MARKET, 80);
+        Assertions.assertTrue(orderService.getHistory(1, 100).isEmpty());
+        Assertions.assertEquals(9_000 - 800, exchange.getCash(), 0.000001);
+        Assertions.assertEquals(90, Double.parseDouble(exchange.getAccounts().get(MARKET).getAvgBuyPrice()), 0.000001);
+    }
+
+    @Test
+    public void cancel() {
+        SimulatedExchange exchange = new SimulatedExchange(10_000);
+        SimulatedOrderService orderService = new SimulatedOrderService(exchange);
+        exchange.setCurrentPrice(MARKET, 100);
+        orderService.callOrderBid(MARKET, "10", "100");
+
+        OrderResult ask = orderService.callOrderAsk(MARKET, "10", "120");
+        Assertions.assertEquals(OrderResult.State.wait.name(), ask.getState());
+        Assertions.assertEquals("0", exchange.getAccounts().get(MARKET).getBalance());
+        Assertions.assertEquals("10", exchange.getAccounts().get(MARKET).getLocked());
+        OrderResult bid = orderService.callOrderBid(MARKET, "10", "50");
+
+        OrderHistory canceled = orderService.cancelOrder(bid.getUuid());
+        Assertions.assertEquals(OrderResult.State.cancel, canceled.getState());
+        Assertions.assertEquals("0", exchange.getAccounts().get("KRW").getLocked());
+        Assertions.assertEquals(9_000, exchange.getCash(), 0.000001);
+        orderService.cancelOrder(ask.getUuid());
+        Assertions.assertEquals("10", exchange.getAccounts().get(MARKET).getBalance());
+        Assertions.assertTrue(orderService.getHistory(1, 100).isEmpty());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> orderService.cancelOrder(ask.getUuid()));
+
+        // 취소한 주문은 체결되지 않음
+        exchange.setCurrentPrice(MARKET, 40);
+        exchange.setCurrentPrice(MARKET, 130);
+        Assertions.assertEquals("10", exchange.getAccounts().get(MARKET).getBalance());
+        Assertions.assertEquals(9_000, exchange.getCash(), 0.000001);
+    }
+
+    @Test
+    public void marketBid() {
+        SimulatedExchange exchange = new SimulatedExchange(10_000);
+        SimulatedOrderService orderService = new SimulatedOrderService(exchange);
+        exchange.setCurrentPrice(MARKET, 100);
+
+        OrderResult bid = orderService.callOrderBidByMarket(MARKET, "5000");
+        Assertions.assertEquals(OrderResult.State.wait.name(), bid.getState());
+        Assertions.assertNull(exchange.getAccounts().get(MARKET));
+        // 다른 코인 체결에서는 체결되지 않음
+        exchange.setCurrentPrice("KRW-ETH", 10);
+        Assertions.assertEquals(1, orderService.getHistory(1, 100).size());
+
+        // 다음 체결가로 주문 금액만큼 체결
+        exchange.setCurrentPrice(MARKET, 125);
+        Assertions.assertTrue(orderService.getHistory(1, 100).isEmpty());
+        Assertions.assertEquals("40", exchange.getAccounts().get(MARKET).getBalance());
+        Assertions.assertEquals(5_000, exchange.getCash(), 0.000001);
+        Assertions.assertEquals(10_000, exchange.getTotalAsset(), 0.000001);
+    }
+}
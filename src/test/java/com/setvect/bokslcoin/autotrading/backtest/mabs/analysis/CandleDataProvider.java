@@ -1,40 +1,57 @@
 package com.setvect.bokslcoin.autotrading.backtest.mabs.analysis;
 
-import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.crawl.CandleCrawler;
 import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
 import com.setvect.bokslcoin.autotrading.backtest.repository.CandleRepository;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleColumns;
+import com.setvect.bokslcoin.autotrading.backtest.store.CandleStore;
 import com.setvect.bokslcoin.autotrading.model.Candle;
 import com.setvect.bokslcoin.autotrading.model.CandleDay;
+import com.setvect.bokslcoin.autotrading.model.CandleMapper;
 import com.setvect.bokslcoin.autotrading.model.CandleMinute;
-import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
-import com.setvect.bokslcoin.autotrading.util.LapTimeChecker;
-import lombok.Builder;
-import lombok.EqualsAndHashCode;
+import com.setvect.bokslcoin.autotrading.util.DateRange;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 
+/**
+ * 백테스트 시세 제공<br>
+ * 코인, 주기별 캔들을 처음 사용할 때 한 번만 DB에서 읽어 primitive 배열로 들고 있고, 이후에는 이진 탐색으로 찾음
+ */
 @Slf4j
 public class CandleDataProvider {
+    /**
+     * DB에서 한 번에 읽는 캔들 수
+     */
+    private static final int PAGE_SIZE = 10_000;
+
     private final CandleRepository candleRepository;
+    /**
+     * 1분봉 읽는 범위. 다른 주기는 이동평균 계산을 위해 처음부터 읽음
+     */
+    private final DateRange range;
     /**
      * UTC 기준
      */
     private LocalDateTime currentDateTime;
 
     private CandleMinute currentCandle;
-    private final LapTimeChecker ck = new LapTimeChecker("start");
 
+    private final Map<String, Map<PeriodType, CandleColumns>> columnsByMarket = new HashMap<>();
 
-    private final Map<CacheKey, List<Candle>> cachePeriod = new HashMap<>();
-
-    public CandleDataProvider(CandleRepository candleRepository) {
+    /**
+     * @param candleRepository 캔들 조회
+     * @param range            백테스트 기간(UTC)
+     */
+    public CandleDataProvider(CandleRepository candleRepository, DateRange range) {
         this.candleRepository = candleRepository;
+        this.range = range;
     }
 
     /**
@@ -45,67 +62,68 @@ public class CandleDataProvider {
     }
 
     public CandleMinute getCurrentCandle(String market) {
-        List<CandleEntity> minuteOfDay = candleRepository.findMarketPrice(market, PeriodType.PERIOD_1, currentDateTime, currentDateTime);
-        if (minuteOfDay.size() == 0) {
-            currentCandle = null;
+        CandleColumns columns = getColumns(market, PeriodType.PERIOD_1);
+        long time = CandleStore.toEpochMilli(currentDateTime);
+        int index = columns.lowerBound(time);
+        if (index < columns.size() && columns.getTime(index) == time) {
+            currentCandle = toCandle(market, columns, index, CandleMinute::new);
         } else {
-            currentCandle = ApplicationUtil.getMapper().map(minuteOfDay.get(0), CandleMinute.class);
+            currentCandle = null;
         }
         return currentCandle;
     }
 
     public List<CandleDay> beforeDayCandle(String market, int count) {
-        List<Candle> r = beforeData(market, PeriodType.PERIOD_1440, count);
-        return r.stream().map(p -> ApplicationUtil.getMapper().map(p, CandleDay.class)).collect(Collectors.toList());
+        return beforeData(market, PeriodType.PERIOD_1440, count, CandleDay::new);
     }
 
     public List<CandleMinute> beforeMinute(String market, PeriodType periodType, Integer count) {
-        List<Candle> r = beforeData(market, periodType, count);
-        return r.stream().map(p -> ApplicationUtil.getMapper().map(p, CandleMinute.class)).collect(Collectors.toList());
+        return beforeData(market, periodType, count, CandleMinute::new);
     }
 
-    public List<Candle> beforeData(String market, PeriodType periodType, Integer count) {
-        if (cachePeriod.size() > 1000) {
-            log.info("cache clear");
-            cachePeriod.clear();
-        }
-        LocalDateTime base = null;
-        if (periodType == PeriodType.PERIOD_1440) {
-            base = currentDateTime.withHour(0).withMinute(0).withSecond(0).withNano(0);
-        } else if (periodType == PeriodType.PERIOD_240) {
-            int hour = (currentDateTime.getHour() / 4) * 4;
-            base = currentDateTime.withHour(hour).withMinute(0).withSecond(0).withNano(0);
-        } else if (periodType == PeriodType.PERIOD_60) {
-            base = currentDateTime.withMinute(0).withSecond(0).withNano(0);
-        } else if (periodType == PeriodType.PERIOD_30) {
-            int minute = (currentDateTime.getMinute() / 30) * 30;
-            base = currentDateTime.withMinute(minute).withSecond(0).withNano(0);
-        } else if (periodType == PeriodType.PERIOD_15) {
-            int minute = (currentDateTime.getMinute() / 15) * 15;
-            base = currentDateTime.withMinute(minute).withSecond(0).withNano(0);
+    /**
+     * @return 최신 순. 첫 번째는 현재 분봉, 나머지는 현재 시간이 포함된 주기 이전 캔들 count - 1개
+     */
+    private <T extends Candle> List<T> beforeData(String market, PeriodType periodType, int count, Supplier<T> factory) {
+        CandleColumns columns = getColumns(market, periodType);
+        int end = columns.lowerBound(CandleStore.toEpochMilli(periodType.fitDateTime(currentDateTime)));
+        int start = Math.max(0, end - (count - 1));
+
+        List<T> result = new ArrayList<>(count);
+        // 최신 캔들은 현재 분봉 데이터를 넣는다.
+        if (currentCandle != null) {
+            result.add(CandleMapper.copy(currentCandle, factory.get()));
         }
-        CacheKey key = CacheKey.builder().market(market).count(count).base(base).period(periodType).build();
-        List<Candle> periodData = cachePeriod.get(key);
-        if (periodData == null) {
-            List<CandleEntity> candleList = candleRepository.findMarketPricePeriodBefore(market, periodType, base, PageRequest.of(0, count - 1));
-            periodData = candleList.stream().map(v -> ApplicationUtil.getMapper().map(v, CandleDay.class)).collect(Collectors.toList());
-            periodData.add(0, ApplicationUtil.getMapper().map(currentCandle, CandleDay.class));
-            cachePeriod.put(key, periodData);
+        for (int i = end - 1; i >= start; i--) {
+            result.add(toCandle(market, columns, i, factory));
         }
-        // 최신 캔들은 현재 분봉 데이터를 넣는다.
-        periodData.remove(0);
-        periodData.add(0, ApplicationUtil.getMapper().map(currentCandle, CandleDay.class));
-        return periodData;
+        return result;
     }
 
-    @Builder
-    @EqualsAndHashCode
-    static class CacheKey {
-        private final String market;
-        private final int count;
-        private final LocalDateTime base;
-        private final PeriodType period;
+    private CandleColumns getColumns(String market, PeriodType periodType) {
+        return columnsByMarket.computeIfAbsent(market, k -> new EnumMap<>(PeriodType.class))
+                .computeIfAbsent(periodType, k -> load(market, periodType));
     }
 
+    private CandleColumns load(String market, PeriodType periodType) {
+        LocalDateTime from = periodType == PeriodType.PERIOD_1 ? range.getFrom() : CandleCrawler.MINIMUM_CANDLE_DATE;
+        CandleColumns columns = new CandleColumns();
+        candleRepository.scanPrice(market, periodType, from, range.getTo(), PAGE_SIZE,
+                c -> columns.add(CandleStore.toEpochMilli(c.getCandleDateTimeUtc()), c.getOpeningPrice(), c.getHighPrice(), c.getLowPrice(), c.getTradePrice()));
+        log.info("캔들 읽음: {}, {}, {}건", market, periodType, columns.size());
+        return columns;
+    }
 
+    private static <T extends Candle> T toCandle(String market, CandleColumns columns, int i, Supplier<T> factory) {
+        T candle = factory.get();
+        candle.setMarket(market);
+        LocalDateTime utc = CandleStore.toLocalDateTime(columns.getTime(i));
+        candle.setCandleDateTimeUtc(utc);
+        candle.setCandleDateTimeKst(utc.plusHours(9));
+        candle.setOpeningPrice(columns.getOpen(i));
+        candle.setHighPrice(columns.getHigh(i));
+        candle.setLowPrice(columns.getLow(i));
+        candle.setTradePrice(columns.getClose(i));
+        return candle;
+    }
 }
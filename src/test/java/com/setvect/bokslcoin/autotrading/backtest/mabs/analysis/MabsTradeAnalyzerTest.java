@@ -1,10 +1,12 @@
 package com.setvect.bokslcoin.autotrading.backtest.mabs.analysis;
 
 import com.setvect.bokslcoin.autotrading.algorithm.BasicTradeEvent;
+import com.setvect.bokslcoin.autotrading.algorithm.RepositoryTradeRecorder;
 import com.setvect.bokslcoin.autotrading.algorithm.TradeEvent;
 import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiProperties;
 import com.setvect.bokslcoin.autotrading.algorithm.mabs.MabsMultiService;
 import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import com.setvect.bokslcoin.autotrading.backtest.engine.MabsIncrementalService;
 import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
 import com.setvect.bokslcoin.autotrading.backtest.entity.MabsConditionEntity;
 import com.setvect.bokslcoin.autotrading.backtest.entity.MabsTradeEntity;
@@ -14,6 +16,7 @@ import com.setvect.bokslcoin.autotrading.backtest.repository.MabsConditionEntity
 import com.setvect.bokslcoin.autotrading.backtest.repository.MabsTradeEntityRepository;
 import com.setvect.bokslcoin.autotrading.exchange.AccountService;
 import com.setvect.bokslcoin.autotrading.exchange.OrderService;
+import com.setvect.bokslcoin.autotrading.exchange.PortfolioStateService;
 import com.setvect.bokslcoin.autotrading.model.Account;
 import com.setvect.bokslcoin.autotrading.model.Candle;
 import com.setvect.bokslcoin.autotrading.model.CandleDay;
@@ -25,7 +28,6 @@ import com.setvect.bokslcoin.autotrading.record.repository.TradeRepository;
 import com.setvect.bokslcoin.autotrading.slack.SlackMessageService;
 import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
 import com.setvect.bokslcoin.autotrading.util.DateRange;
-import com.setvect.bokslcoin.autotrading.util.GsonUtil;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -44,6 +46,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -84,6 +87,9 @@ public class MabsTradeAnalyzerTest {
     @Autowired
     private TradeRepository tradeRepository;
 
+    @Autowired
+    private MabsIncrementalService mabsIncrementalService;
+
     @Mock
     private SlackMessageService slackMessageService;
 
@@ -102,6 +108,8 @@ public class MabsTradeAnalyzerTest {
     @InjectMocks
     private MabsMultiService mabsMultiService;
 
+    private PortfolioStateService portfolioStateService;
+
     private List<MabsMultiBacktestRow> tradeHistory;
 
     /**
@@ -176,27 +184,10 @@ public class MabsTradeAnalyzerTest {
                 44544109  // KRW-DOT(2020-10-15)
         );
 
-        // 완전한 거래(매수-매도 쌍)를 만들기 위해 마지막 거래가 매수인경우 거래 내역 삭제
-        deleteLastBuy(conditionSeqList);
-
-        List<MabsConditionEntity> conditionEntityList = mabsConditionEntityRepository.findAllById(conditionSeqList);
-
-        for (MabsConditionEntity condition : conditionEntityList) {
-            log.info("{}, {}, {}_{} 시작", condition.getMarket(), condition.getTradePeriod(), condition.getLongPeriod(), condition.getShortPeriod());
-            List<MabsTradeEntity> tradeList = mabsTradeEntityRepository.findByCondition(condition.getMabsConditionSeq());
-
-            LocalDateTime start = makeBaseStart(condition.getMarket(), condition.getTradePeriod(), condition.getLongPeriod() + 1);
-            if (!tradeList.isEmpty()) {
-                MabsTradeEntity lastTrade = tradeList.get(tradeList.size() - 1);
-                checkLastSell(lastTrade);
-                start = lastTrade.getTradeTimeKst();
-            }
-            DateRange range = new DateRange(start, LocalDateTime.now());
-            List<MabsMultiBacktestRow> tradeHistory = backtest(condition, range);
-
-            List<MabsTradeEntity> mabsTradeEntities = convert(condition, tradeHistory);
-            log.info("[{}] save. range: {}, trade Count: {}", condition.getMarket(), range, mabsTradeEntities.size());
-            mabsTradeEntityRepository.saveAll(mabsTradeEntities);
+        // 조건별로 저장한 상태 이후 1분봉만 실행. 보유 중인 코인도 이어서 처리
+        LocalDateTime to = LocalDateTime.now(ZoneOffset.UTC);
+        for (Integer conditionSeq : conditionSeqList) {
+            mabsIncrementalService.run(conditionSeq, to);
         }
         log.info("끝.");
     }
@@ -217,37 +208,6 @@ public class MabsTradeAnalyzerTest {
         return candleList.get(n - 1).getCandleDateTimeUtc();
     }
 
-    private void checkLastSell(MabsTradeEntity lastTrade) {
-        if (lastTrade.getTradeType() == TradeType.BUY) {
-            throw new RuntimeException(String.format("마지막 거래가 BUY인 항목이 있음. tradeSeq: %s", lastTrade.getTradeSeq()));
-        }
-    }
-
-    /**
-     * 거래 내역의 마지막이 매수인경우 해당 거래를 삭제
-     *
-     * @param conditionSeqList 거래 조건 일련번호
-     */
-    private void deleteLastBuy(List<Integer> conditionSeqList) {
-        List<MabsConditionEntity> conditionEntityList = mabsConditionEntityRepository.findAllById(conditionSeqList);
-
-        for (MabsConditionEntity condition : conditionEntityList) {
-            List<MabsTradeEntity> tradeList = mabsTradeEntityRepository.findByCondition(condition.getMabsConditionSeq());
-            if (tradeList.isEmpty()) {
-                continue;
-            }
-            MabsTradeEntity lastTrade = tradeList.get(tradeList.size() - 1);
-            log.info("count: {}, last: {} -> {} ", tradeList.size(), lastTrade.getTradeType(), lastTrade.getTradeTimeKst());
-            if (lastTrade.getTradeType() == TradeType.SELL) {
-                continue;
-            }
-
-            log.info("Delete Last Buy: {} {}", lastTrade.getTradeSeq(), lastTrade.getTradeTimeKst());
-            mabsTradeEntityRepository.deleteById(lastTrade.getTradeSeq());
-        }
-    }
-
-
     /**
      * @param condition    거래 조건
      * @param tradeHistory 거래 이력
@@ -299,7 +259,7 @@ public class MabsTradeAnalyzerTest {
 
         LocalDateTime current = range.getFrom();
         LocalDateTime to = range.getTo();
-        CandleDataProvider candleDataProvider = new CandleDataProvider(candleRepository);
+        CandleDataProvider candleDataProvider = new CandleDataProvider(candleRepository, range);
 
         initMock(candleDataProvider);
 
@@ -332,6 +292,8 @@ public class MabsTradeAnalyzerTest {
                     .build();
 
             mabsMultiService.tradeEvent(tradeResult);
+            // 실제 매매에서 주기적으로 하는 계좌 동기화를 매 분마다 수행
+            portfolioStateService.reconcile();
             current = current.plusMinutes(1);
             count++;
         }
@@ -343,9 +305,10 @@ public class MabsTradeAnalyzerTest {
 
     private void injectionFieldValue(MabsConditionEntity condition) {
         ReflectionTestUtils.setField(mabsMultiService, "coinByCandles", new HashMap<>());
-        ReflectionTestUtils.setField(mabsMultiService, "assetHistoryRepository", this.assetHistoryRepository);
-        ReflectionTestUtils.setField(mabsMultiService, "tradeRepository", this.tradeRepository);
+        ReflectionTestUtils.setField(mabsMultiService, "tradeRecorder", new RepositoryTradeRecorder(assetHistoryRepository, tradeRepository));
         ReflectionTestUtils.setField(mabsMultiService, "periodIdx", -1);
+        portfolioStateService = new PortfolioStateService(accountService, orderService);
+        ReflectionTestUtils.setField(mabsMultiService, "portfolioStateService", portfolioStateService);
 
         MabsMultiProperties properties = new MabsMultiProperties();
         properties.setMarkets(Collections.singletonList(condition.getMarket()));
@@ -405,7 +368,7 @@ public class MabsTradeAnalyzerTest {
             String market = invocation.getArgument(0, String.class);
             CurrentPrice currentPrice = priceMap.get(market);
             Candle candle = currentPrice.getCandle();
-            MabsMultiBacktestRow backtestRow = new MabsMultiBacktestRow(depthCopy(candle));
+            MabsMultiBacktestRow backtestRow = new MabsMultiBacktestRow(new Candle(candle));
             double tradePrice = invocation.getArgument(1);
 
             Account coinAccount = accountMap.get(market);
@@ -447,7 +410,7 @@ public class MabsTradeAnalyzerTest {
             CurrentPrice currentPrice = priceMap.get(market);
             Candle candle = currentPrice.getCandle();
 
-            MabsMultiBacktestRow backtestRow = new MabsMultiBacktestRow(depthCopy(candle));
+            MabsMultiBacktestRow backtestRow = new MabsMultiBacktestRow(new Candle(candle));
 
             Account coinAccount = accountMap.get(market);
             backtestRow.setBidPrice(coinAccount.getAvgBuyPriceValue());
@@ -478,11 +441,6 @@ public class MabsTradeAnalyzerTest {
         }).when(tradeEvent).ask(anyString(), anyDouble(), anyDouble(), notNull());
     }
 
-    private static Candle depthCopy(Candle candle) {
-        String json = GsonUtil.GSON.toJson(candle);
-        return GsonUtil.GSON.fromJson(json, Candle.class);
-    }
-
     /**
      * @param accountMap 코인(현금 포함) 계좌
      * @return 현재 투자한 코인 함
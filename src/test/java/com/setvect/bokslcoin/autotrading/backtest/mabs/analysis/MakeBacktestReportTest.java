@@ -1,13 +1,16 @@
 package com.setvect.bokslcoin.autotrading.backtest.mabs.analysis;
 
-import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
 import com.setvect.bokslcoin.autotrading.backtest.entity.MabsConditionEntity;
 import com.setvect.bokslcoin.autotrading.backtest.entity.MabsTradeEntity;
 import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.backtest.portfolio.PortfolioResult;
+import com.setvect.bokslcoin.autotrading.backtest.portfolio.PortfolioScenario;
+import com.setvect.bokslcoin.autotrading.backtest.portfolio.PortfolioSimulator;
+import com.setvect.bokslcoin.autotrading.backtest.portfolio.PriceMatrix;
+import com.setvect.bokslcoin.autotrading.backtest.portfolio.TradeEvents;
 import com.setvect.bokslcoin.autotrading.backtest.repository.CandleRepository;
 import com.setvect.bokslcoin.autotrading.backtest.repository.MabsConditionEntityRepository;
 import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
-import com.setvect.bokslcoin.autotrading.util.ApplicationUtil;
 import com.setvect.bokslcoin.autotrading.util.DateRange;
 import com.setvect.bokslcoin.autotrading.util.DateUtil;
 import lombok.extern.slf4j.Slf4j;
@@ -22,7 +25,6 @@ import javax.transaction.Transactional;
 import java.io.File;
 import java.io.IOException;
 import java.sql.Timestamp;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
@@ -33,15 +35,17 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @SpringBootTest
 @ActiveProfiles("local")
 @Slf4j
 public class MakeBacktestReportTest {
+    /**
+     * DB에서 한 번에 읽는 캔들 수
+     */
+    private static final int PAGE_SIZE = 10_000;
 
     @Autowired
     private MabsConditionEntityRepository mabsConditionEntityRepository;
@@ -77,8 +81,7 @@ public class MakeBacktestReportTest {
                 .feeSell(0.002) // 슬리피지까지 고려해 보수적으로 0.2% 수수료 측정
                 .feeBuy(0.002)
                 .build();
-        List<MabsTradeReportItem> tradeReportItems = trading(analysisMultiCondition);
-        AnalysisReportResult result = analysis(tradeReportItems, analysisMultiCondition);
+        AnalysisReportResult result = backtest(analysisMultiCondition);
         printSummary(result);
         makeReport(result);
         System.out.println("끝");
@@ -161,27 +164,32 @@ public class MakeBacktestReportTest {
                 new DateRange("2021-01-01T00:00:00", "2021-12-31T23:59:59")
         );
 
+        List<AnalysisMultiCondition> conditionMultiList = rangeList.stream()
+                .map(dateRange -> AnalysisMultiCondition.builder()
+                        .mabsConditionIdSet(new HashSet<>(conditionSeqList))
+                        .range(dateRange)
+                        .investRatio(.99)
+                        .cash(10_000_000)
+                        .feeSell(0.0007)
+                        .feeBuy(0.0007)
+                        .build())
+                .collect(Collectors.toList());
+
+        // 매매 내역, 가격은 한 번만 읽고 기간별 계산은 병렬로 처리
+        List<MabsConditionEntity> conditionList = mabsConditionEntityRepository.findAllById(new HashSet<>(conditionSeqList));
+        TradeEvents events = loadEvents(conditionList);
+        LocalDateTime from = rangeList.stream().map(DateRange::getFrom).min(Comparator.naturalOrder()).orElseThrow(IllegalStateException::new);
+        LocalDateTime to = rangeList.stream().map(DateRange::getTo).max(Comparator.naturalOrder()).orElseThrow(IllegalStateException::new);
+        PriceMatrix prices = loadPrice(conditionList, from, to);
+
+        List<PortfolioScenario> scenarios = conditionMultiList.stream().map(MakeBacktestReportTest::toScenario).collect(Collectors.toList());
+        List<PortfolioResult> results = PortfolioSimulator.run(events, conditionSeqList.size(), scenarios);
+
         List<AnalysisReportResult> accResult = new ArrayList<>();
-        int count = 0;
-        int total = rangeList.size() * conditionSeqList.size();
-//        for (Integer conditionSeq : conditionSeqList) {
-        for (DateRange dateRange : rangeList) {
-            AnalysisMultiCondition analysisMultiCondition = AnalysisMultiCondition.builder()
-                    .mabsConditionIdSet(new HashSet<>(conditionSeqList))
-                    .range(dateRange)
-                    .investRatio(.99)
-                    .cash(10_000_000)
-                    .feeSell(0.0007)
-                    .feeBuy(0.0007)
-                    .build();
-            List<MabsTradeReportItem> tradeReportItems = trading(analysisMultiCondition);
-            AnalysisReportResult result = analysis(tradeReportItems, analysisMultiCondition);
-            accResult.add(result);
-            count++;
-
-            log.info("{}/{} - {}", count, total, dateRange);
+        for (int i = 0; i < results.size(); i++) {
+            accResult.add(analysis(conditionMultiList.get(i), conditionList, prices, results.get(i)));
+            log.info("{}/{} - {}", i + 1, results.size(), rangeList.get(i));
         }
-//        }
 
         makeReportMulti(accResult);
         System.out.println("끝");
@@ -190,311 +198,133 @@ public class MakeBacktestReportTest {
 
     /**
      * @param analysisMultiCondition 매매 분석 조건
-     * @return 대상코인의 수익률 정보를 제공
-     */
-    private List<MabsTradeReportItem> trading(AnalysisMultiCondition analysisMultiCondition) throws RuntimeException {
-        List<MabsConditionEntity> mabsConditionEntityList = mabsConditionEntityRepository.findAllById(analysisMultiCondition.getMabsConditionIdSet());
-        List<List<MabsTradeEntity>> tradeList = mabsConditionEntityList.stream().map(MabsConditionEntity::getMabsTradeEntityList).collect(Collectors.toList());
-
-        List<MabsTradeEntity> allTrade = new ArrayList<>();
-        for (List<MabsTradeEntity> tradeHistory : tradeList) {
-            List<MabsTradeEntity> targetTradeHistory = tradeHistory.stream()
-                    .filter(p -> analysisMultiCondition.getRange().isBetween(p.getTradeTimeKst()))
-                    .collect(Collectors.toList());
-            if (targetTradeHistory.isEmpty()) {
-                continue;
-            }
-
-            List<MabsTradeEntity> list = makePairTrade(targetTradeHistory);
-            allTrade.addAll(list);
-        }
-        allTrade.sort(Comparator.comparing(MabsTradeEntity::getTradeTimeKst));
-
-        List<MabsTradeReportItem> reportHistory = new ArrayList<>();
-
-        Set<Integer> ids = analysisMultiCondition.getMabsConditionIdSet();
-        int allowBuyCount = ids.size();
-
-        int buyCount = 0;
-        double cash = analysisMultiCondition.getCash();
-
-        // 코인명:매수가격
-        Map<String, Double> buyCoinAmount = new HashMap<>();
-
-        for (MabsTradeEntity trade : allTrade) {
-
-            MabsTradeReportItem.MabsTradeReportItemBuilder itemBuilder = MabsTradeReportItem.builder();
-            itemBuilder.mabsTradeEntity(trade);
-            String market = trade.getMabsConditionEntity().getMarket();
-
-
-            if (trade.getTradeType() == TradeType.BUY) {
-                if (allowBuyCount <= buyCount) {
-                    throw new RuntimeException(String.format("매수 종목 한도 초과. 종모 매수 한도: %,d", allowBuyCount));
-                }
-                int rate = allowBuyCount - buyCount;
-                double buyAmount = (cash * analysisMultiCondition.getInvestRatio()) / rate;
-                double feePrice = buyAmount * analysisMultiCondition.getFeeBuy();
-
-                if (buyCoinAmount.containsKey(market)) {
-                    throw new RuntimeException(String.format("이미 매수한 코인 입니다. 코인명: %s", market));
-                }
-
-                buyCoinAmount.put(market, buyAmount);
-
-                cash -= buyAmount;
-                double totalBuyAmount = getBuyCoin(buyCoinAmount);
-                itemBuilder.buyAmount(buyAmount);
-                itemBuilder.buyTotalAmount(totalBuyAmount);
-                itemBuilder.feePrice(feePrice);
-                itemBuilder.cash(cash);
-                buyCount++;
-            } else if (trade.getTradeType() == TradeType.SELL) {
-                if (buyCount <= 0) {
-                    throw new RuntimeException("매도할 종목이 없습니다.");
-                }
-                if (!buyCoinAmount.containsKey(market)) {
-                    throw new RuntimeException(String.format("매수 내역이 없습니다. 코인명: %s", market));
-                }
-
-                double buyAmount = buyCoinAmount.get(market);
-                buyCoinAmount.remove(market);
-                double gains = buyAmount * trade.getYield();
-                double sellAmount = buyAmount + gains;
-                double feePrice = sellAmount * analysisMultiCondition.getFeeBuy();
-                gains -= feePrice;
-                cash += buyAmount + gains;
-
-                double totalBuyAmount = getBuyCoin(buyCoinAmount);
-                itemBuilder.buyAmount(buyAmount);
-                itemBuilder.buyTotalAmount(totalBuyAmount);
-                itemBuilder.cash(cash);
-                itemBuilder.feePrice(feePrice);
-                itemBuilder.gains(gains);
-
-                buyCount--;
-            }
-            reportHistory.add(itemBuilder.build());
-        }
-        return reportHistory;
-    }
-
-    /**
-     * @param tradeHistory   매매 내역
-     * @param conditionMulti 조건
      * @return 분석결과
      */
-    private AnalysisReportResult analysis(List<MabsTradeReportItem> tradeHistory, AnalysisMultiCondition conditionMulti) {
-        List<MabsConditionEntity> conditionByCoin = mabsConditionEntityRepository.findAllById(conditionMulti.getMabsConditionIdSet());
-        Set<String> markets = conditionByCoin.stream()
-                .map(MabsConditionEntity::getMarket)
-                .collect(Collectors.toSet());
-        AnalysisReportResult.MultiCoinHoldYield holdYield = calculateCoinHoldYield(conditionMulti.getRange(), markets);
-
-        return AnalysisReportResult.builder()
-                .condition(conditionMulti)
-                .conditionList(conditionByCoin)
-                .tradeHistory(tradeHistory)
-                .multiCoinHoldYield(holdYield)
-                .totalYield(calculateTotalYield(tradeHistory, conditionMulti))
-                .coinWinningRate(calculateCoinInvestment(tradeHistory, conditionByCoin))
-                .build();
-    }
-
-    /**
-     * @param buyCoinAmount 코인 매수 내역
-     * @return 코인 매수 총액
-     */
-    private double getBuyCoin(Map<String, Double> buyCoinAmount) {
-        return buyCoinAmount.values().stream().mapToDouble(v -> v).sum();
-    }
-
-    /**
-     * 첫 거래는 매수로 시작하고 마지막 거래는 매도로 끝나야됨
-     *
-     * @param targetTradeHistory 거래 내역
-     * @return 첫 거래는 매수, 마지막 거래는 매도로 끝나는 거래 내역
-     */
-    private List<MabsTradeEntity> makePairTrade(List<MabsTradeEntity> targetTradeHistory) {
-        int skip = targetTradeHistory.get(0).getTradeType() == TradeType.BUY ? 0 : 1;
-        int size = targetTradeHistory.size();
-        int limit = targetTradeHistory.get(size - 1).getTradeType() == TradeType.SELL ? size - skip : size - skip - 1;
-        return targetTradeHistory.stream()
-                .skip(skip)
-                .limit(limit)
-                .collect(Collectors.toList());
+    private AnalysisReportResult backtest(AnalysisMultiCondition analysisMultiCondition) {
+        List<MabsConditionEntity> conditionList = mabsConditionEntityRepository.findAllById(analysisMultiCondition.getMabsConditionIdSet());
+        DateRange range = analysisMultiCondition.getRange();
+        TradeEvents events = loadEvents(conditionList).window(range.getFrom(), range.getTo());
+        PriceMatrix prices = loadPrice(conditionList, range.getFrom(), range.getTo());
+        int allowBuyCount = analysisMultiCondition.getMabsConditionIdSet().size();
+        PortfolioResult result = PortfolioSimulator.simulate(events, allowBuyCount, toScenario(analysisMultiCondition));
+        return analysis(analysisMultiCondition, conditionList, prices, result);
     }
 
-
-    /**
-     * 기간동안 보유(존버)할 경우 수익률 계산
-     *
-     * @param range   투자 기간
-     * @param markets 대상 코인
-     * @return 기간별 코인 수익률
-     */
-    private AnalysisReportResult.MultiCoinHoldYield calculateCoinHoldYield(DateRange range, Set<String> markets) {
-        Map<String, List<CandleEntity>> coinCandleListMap = markets.stream()
-                .collect(Collectors.toMap(Function.identity(),
-                        p -> {
-                            log.info("조회 시작. 코인: {}", p);
-                            List<CandleEntity> marketPrice = candleRepository.findMarketPrice(p, PeriodType.PERIOD_1440, range.getFrom(), range.getTo());
-                            log.info("조회 완료. 코인: {}, 건수: {}", p, marketPrice.size());
-                            return marketPrice;
-                        })
-                );
-
-        Map<String, AnalysisReportResult.YieldMdd> coinByYield = getCoinByYield(coinCandleListMap);
-        AnalysisReportResult.YieldMdd sumYield = getYieldMdd(range, coinCandleListMap);
-
-        return AnalysisReportResult.MultiCoinHoldYield.builder()
-                .coinByYield(coinByYield)
-                .sumYield(sumYield)
+    private static PortfolioScenario toScenario(AnalysisMultiCondition condition) {
+        return PortfolioScenario.builder()
+                .from(condition.getRange().getFrom())
+                .to(condition.getRange().getTo())
+                .investRatio(condition.getInvestRatio())
+                .cash(condition.getCash())
+                .feeBuy(condition.getFeeBuy())
+                .feeSell(condition.getFeeSell())
                 .build();
     }
 
     /**
-     * @param coinCandleListMap 코인명:기간별 캔들 이력
-     * @return 코인별 수익률
-     * 코인명:수익률
+     * @param conditionList 코인별 매매 조건
+     * @return 전체 매매 내역
      */
-    private Map<String, AnalysisReportResult.YieldMdd> getCoinByYield(Map<String, List<CandleEntity>> coinCandleListMap) {
-        return coinCandleListMap.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> {
-            List<Double> priceList = e.getValue().stream().map(CandleEntity::getOpeningPrice).collect(Collectors.toList());
-            AnalysisReportResult.YieldMdd yieldMdd = new AnalysisReportResult.YieldMdd();
-            yieldMdd.setYield(ApplicationUtil.getYield(priceList));
-            yieldMdd.setMdd(ApplicationUtil.getMdd(priceList));
-            return yieldMdd;
-        }));
+    private static TradeEvents loadEvents(List<MabsConditionEntity> conditionList) {
+        List<MabsTradeEntity> trades = conditionList.stream()
+                .flatMap(c -> c.getMabsTradeEntityList().stream())
+                .collect(Collectors.toList());
+        return TradeEvents.of(trades);
     }
 
     /**
-     * @param range             투자 기간
-     * @param coinCandleListMap 코인명:기간별 캔들 이력
-     * @return 해당 기간 동안 동일 비중 투자 시 수익률
+     * @param conditionList 코인별 매매 조건
+     * @param from          시작
+     * @param to            종료
+     * @return 기간 동안 코인별 일봉 가격
      */
-    private AnalysisReportResult.YieldMdd getYieldMdd(DateRange range, Map<String, List<CandleEntity>> coinCandleListMap) {
-        LocalDateTime start = range.getFrom();
-        // 코인 시작 가격 <코인명:가격>
-        Map<String, Double> coinStartPrice = coinCandleListMap.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, p -> {
-                    if (p.getValue().isEmpty()) {
-                        return 0.0;
-                    }
-                    return p.getValue().get(0).getOpeningPrice();
-                }));
-
-        // <코인명:수익률>
-        Map<String, Double> coinYield = coinCandleListMap.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, p -> 1.0));
-
-        // 날짜별 수익률 합계
-        List<Double> evaluationPrice = new ArrayList<>();
-        evaluationPrice.add((coinYield.values().stream().mapToDouble(p -> p).sum()));
-
-        // <코인명:<날짜:캔들정보>>
-        Map<String, Map<LocalDate, CandleEntity>> coinCandleMapByDate = coinCandleListMap
-                .entrySet()
-                .stream()
-                .collect(Collectors.toMap(Map.Entry::getKey,
-                        p -> p.getValue().stream().collect(Collectors.toMap(c -> c.getCandleDateTimeKst().toLocalDate(), Function.identity()))));
-
-        while (start.isBefore(range.getTo()) || start.isEqual(range.getTo())) {
-            LocalDate date = start.toLocalDate();
-            for (Map.Entry<String, Double> entity : coinStartPrice.entrySet()) {
-                String market = entity.getKey();
-                Double startPrice = entity.getValue();
-                CandleEntity candle = coinCandleMapByDate.get(market).get(date);
-                if (candle == null) {
-                    continue;
-                }
-
-                double yield = candle.getTradePrice() / startPrice;
-                coinYield.put(market, yield);
-            }
-            evaluationPrice.add((coinYield.values().stream().mapToDouble(p -> p).sum()));
-            start = start.plusDays(1);
+    private PriceMatrix loadPrice(List<MabsConditionEntity> conditionList, LocalDateTime from, LocalDateTime to) {
+        List<String> markets = conditionList.stream().map(MabsConditionEntity::getMarket).distinct().collect(Collectors.toList());
+        PriceMatrix prices = new PriceMatrix(markets, from.toLocalDate(), to.toLocalDate());
+        for (int i = 0; i < markets.size(); i++) {
+            int marketIndex = i;
+            int count = candleRepository.scanPrice(markets.get(i), PeriodType.PERIOD_1440, from, to, PAGE_SIZE,
+                    c -> prices.set(marketIndex, c.getCandleDateTimeKst().toLocalDate(), c.getOpeningPrice(), c.getTradePrice()));
+            log.info("조회 완료. 코인: {}, 건수: {}", markets.get(i), count);
         }
-        AnalysisReportResult.YieldMdd sumYield = new AnalysisReportResult.TotalYield();
-        sumYield.setMdd(ApplicationUtil.getMdd(evaluationPrice));
-        sumYield.setYield(ApplicationUtil.getYield(evaluationPrice));
-        return sumYield;
+        return prices;
     }
 
     /**
-     * @param tradeReportItems        거래 내역
-     * @param mabsConditionEntityList 코인 매매 조건
-     * @return Key: 코인, Value: 수익
-     * 코인별 수익 정보
+     * @param conditionMulti 조건
+     * @param conditionList  코인별 매매 조건
+     * @param prices         코인별 일봉 가격
+     * @param result         포트폴리오 시뮬레이션 결과
+     * @return 분석결과
      */
-    private Map<String, AnalysisReportResult.WinningRate> calculateCoinInvestment(List<MabsTradeReportItem> tradeReportItems, List<MabsConditionEntity> mabsConditionEntityList) {
-        Map<String, AnalysisReportResult.WinningRate> coinInvestmentMap = new TreeMap<>();
-
-        for (MabsConditionEntity mabsConditionEntity : mabsConditionEntityList) {
-            AnalysisReportResult.WinningRate coinInvestment = calculateInvestment(mabsConditionEntity.getMarket(), tradeReportItems);
-            coinInvestmentMap.put(mabsConditionEntity.getMarket(), coinInvestment);
+    private static AnalysisReportResult analysis(AnalysisMultiCondition conditionMulti, List<MabsConditionEntity> conditionList, PriceMatrix prices, PortfolioResult result) {
+        TradeEvents events = result.getEvents();
+        List<MabsTradeReportItem> tradeHistory = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            tradeHistory.add(MabsTradeReportItem.builder()
+                    .mabsTradeEntity(events.getSource(i))
+                    .buyAmount(result.getBuyAmount()[i])
+                    .buyTotalAmount(result.getBuyTotalAmount()[i])
+                    .cash(result.getCash()[i])
+                    .feePrice(result.getFeePrice()[i])
+                    .gains(result.getGains()[i])
+                    .build());
         }
-        return coinInvestmentMap;
-    }
-
-    /**
-     * 멀티 코인 매매 수익정보 계산
-     *
-     * @param tradeReportItems       거래 내역
-     * @param analysisMultiCondition 분석 조건
-     * @return 수익률 정보
-     */
-    private AnalysisReportResult.TotalYield calculateTotalYield(List<MabsTradeReportItem> tradeReportItems, AnalysisMultiCondition analysisMultiCondition) {
 
         AnalysisReportResult.TotalYield totalYield = new AnalysisReportResult.TotalYield();
-        long dayCount = analysisMultiCondition.getRange().getDiffDays();
-        totalYield.setDayCount((int) dayCount);
-
-        if (tradeReportItems.isEmpty()) {
-            totalYield.setYield(0);
-            totalYield.setMdd(0);
-            return totalYield;
-        }
-
-        double realYield = tradeReportItems.get(tradeReportItems.size() - 1).getFinalResult() / tradeReportItems.get(0).getFinalResult() - 1;
-        List<Double> finalResultList = tradeReportItems.stream().map(MabsTradeReportItem::getFinalResult).collect(Collectors.toList());
-        double realMdd = ApplicationUtil.getMdd(finalResultList);
-        totalYield.setYield(realYield);
-        totalYield.setMdd(realMdd);
-
-        // 승률 계산
-        for (MabsTradeReportItem mabsTradeReportItem : tradeReportItems) {
-            if (mabsTradeReportItem.getMabsTradeEntity().getTradeType() == TradeType.BUY) {
-                continue;
-            }
-            if (mabsTradeReportItem.getGains() > 0) {
-                totalYield.incrementGainCount();
-            } else {
-                totalYield.incrementLossCount();
+        totalYield.setDayCount((int) conditionMulti.getRange().getDiffDays());
+        totalYield.setYield(result.getYield());
+        totalYield.setMdd(result.getMdd());
+        totalYield.setGainCount(result.getGainCount());
+        totalYield.setLossCount(result.getLossCount());
+
+        // 코인별 승률
+        List<String> eventMarkets = Arrays.asList(events.getMarkets());
+        Map<String, AnalysisReportResult.WinningRate> coinWinningRate = new TreeMap<>();
+        for (MabsConditionEntity condition : conditionList) {
+            AnalysisReportResult.WinningRate winningRate = new AnalysisReportResult.WinningRate();
+            int m = eventMarkets.indexOf(condition.getMarket());
+            if (m >= 0) {
+                winningRate.setInvest(result.getMarketGains()[m]);
+                winningRate.setGainCount(result.getMarketGainCount()[m]);
+                winningRate.setLossCount(result.getMarketLossCount()[m]);
             }
+            coinWinningRate.put(condition.getMarket(), winningRate);
         }
-        return totalYield;
+
+        return AnalysisReportResult.builder()
+                .condition(conditionMulti)
+                .conditionList(conditionList)
+                .tradeHistory(tradeHistory)
+                .multiCoinHoldYield(toHoldYield(prices, conditionMulti.getRange()))
+                .totalYield(totalYield)
+                .coinWinningRate(coinWinningRate)
+                .build();
     }
 
     /**
-     * 개별 코인 수익 정보 계산
+     * 기간동안 보유(존버)할 경우 수익률 계산
      *
-     * @param market       코인
-     * @param tradeHistory 매매 기록
-     * @return 코인별 투자전략 수익률
+     * @param prices 코인별 일봉 가격
+     * @param range  투자 기간
+     * @return 기간별 코인 수익률
      */
-    private static AnalysisReportResult.WinningRate calculateInvestment(String market, List<MabsTradeReportItem> tradeHistory) {
-        List<MabsTradeReportItem> filter = tradeHistory.stream()
-                .filter(p -> p.getMabsTradeEntity().getMabsConditionEntity().getMarket().equals(market))
-                .filter(p -> p.getMabsTradeEntity().getTradeType() == TradeType.SELL)
-                .collect(Collectors.toList());
-        double totalInvest = filter.stream().mapToDouble(MabsTradeReportItem::getGains).sum();
-        int gainCount = (int) filter.stream().filter(p -> p.getGains() > 0).count();
-        AnalysisReportResult.WinningRate coinInvestment = new AnalysisReportResult.WinningRate();
-        coinInvestment.setInvest(totalInvest);
-        coinInvestment.setGainCount(gainCount);
-        coinInvestment.setLossCount(filter.size() - gainCount);
-        return coinInvestment;
+    private static AnalysisReportResult.MultiCoinHoldYield toHoldYield(PriceMatrix prices, DateRange range) {
+        PriceMatrix.HoldYield hold = prices.hold(range.getFrom(), range.getTo());
+        Map<String, AnalysisReportResult.YieldMdd> coinByYield = new HashMap<>();
+        for (int m = 0; m < prices.getMarketCount(); m++) {
+            AnalysisReportResult.YieldMdd yieldMdd = new AnalysisReportResult.YieldMdd();
+            yieldMdd.setYield(hold.getYield()[m]);
+            yieldMdd.setMdd(hold.getMdd()[m]);
+            coinByYield.put(prices.getMarket(m), yieldMdd);
+        }
+        AnalysisReportResult.YieldMdd sumYield = new AnalysisReportResult.TotalYield();
+        sumYield.setYield(hold.getSumYield());
+        sumYield.setMdd(hold.getSumMdd());
+        return AnalysisReportResult.MultiCoinHoldYield.builder()
+                .coinByYield(coinByYield)
+                .sumYield(sumYield)
+                .build();
     }
 
 
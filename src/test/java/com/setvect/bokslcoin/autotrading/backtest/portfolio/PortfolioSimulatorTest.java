@@ -0,0 +1,86 @@
+package com.setvect.bokslcoin.autotrading.backtest.portfolio;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsConditionEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.MabsTradeEntity;
+import com.setvect.bokslcoin.autotrading.record.entity.TradeType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+public class PortfolioSimulatorTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 0, 0);
+    private static final MabsConditionEntity BTC = MabsConditionEntity.builder().market("KRW-BTC").build();
+    private static final MabsConditionEntity ETH = MabsConditionEntity.builder().market("KRW-ETH").build();
+
+    @Test
+    public void simulate() {
+        TradeEvents events = TradeEvents.of(trades());
+        PortfolioResult result = PortfolioSimulator.simulate(events, 2, scenario(BASE, BASE.plusDays(10)));
+
+        // 현금을 코인 수만큼 나눠 매수
+        Assertions.assertEquals(500, result.getBuyAmount()[0], 0.0001);
+        Assertions.assertEquals(500, result.getBuyAmount()[1], 0.0001);
+        Assertions.assertEquals(0, result.getCash()[1], 0.0001);
+        Assertions.assertEquals(50, result.getGains()[2], 0.0001);
+        Assertions.assertEquals(-100, result.getGains()[3], 0.0001);
+        Assertions.assertEquals(950, result.getFinalResult(3), 0.0001);
+
+        Assertions.assertEquals(-0.05, result.getYield(), 0.0001);
+        Assertions.assertEquals(950.0 / 1050 - 1, result.getMdd(), 0.0001);
+        Assertions.assertEquals(1, result.getGainCount());
+        Assertions.assertEquals(1, result.getLossCount());
+        Assertions.assertEquals(0.5, result.getWinRate(), 0.0001);
+    }
+
+    @Test
+    public void window() {
+        TradeEvents events = TradeEvents.of(trades());
+        // BTC 매수가 빠지면 BTC 매도도 제외
+        List<PortfolioResult> results = PortfolioSimulator.run(events, 2, Arrays.asList(
+                scenario(BASE, BASE.plusDays(10)),
+                scenario(BASE.plusDays(2), BASE.plusDays(10))));
+
+        Assertions.assertEquals(4, results.get(0).getEvents().size());
+        PortfolioResult part = results.get(1);
+        Assertions.assertEquals(2, part.getEvents().size());
+        Assertions.assertEquals("KRW-ETH", part.getEvents().getSource(0).getMabsConditionEntity().getMarket());
+        Assertions.assertEquals(-0.1, part.getYield(), 0.0001);
+    }
+
+    @Test
+    public void overflow() {
+        TradeEvents events = TradeEvents.of(trades());
+        Assertions.assertThrows(RuntimeException.class, () -> PortfolioSimulator.simulate(events, 1, scenario(BASE, BASE.plusDays(10))));
+    }
+
+    private static List<MabsTradeEntity> trades() {
+        return Arrays.asList(
+                trade(BTC, TradeType.BUY, 1, 0),
+                trade(ETH, TradeType.BUY, 2, 0),
+                trade(BTC, TradeType.SELL, 3, 0.1),
+                trade(ETH, TradeType.SELL, 4, -0.2));
+    }
+
+    private static MabsTradeEntity trade(MabsConditionEntity condition, TradeType tradeType, int day, double yield) {
+        return MabsTradeEntity.builder()
+                .mabsConditionEntity(condition)
+                .tradeType(tradeType)
+                .yield(yield)
+                .tradeTimeKst(BASE.plusDays(day))
+                .build();
+    }
+
+    private static PortfolioScenario scenario(LocalDateTime from, LocalDateTime to) {
+        return PortfolioScenario.builder()
+                .from(from)
+                .to(to)
+                .investRatio(1)
+                .cash(1000)
+                .feeBuy(0)
+                .feeSell(0)
+                .build();
+    }
+}
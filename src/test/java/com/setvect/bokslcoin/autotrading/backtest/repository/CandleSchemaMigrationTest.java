@@ -0,0 +1,48 @@
+package com.setvect.bokslcoin.autotrading.backtest.repository;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class CandleSchemaMigrationTest {
+    /**
+     * 예전 인덱스 구성에 중복 캔들이 있는 테이블
+     */
+    @Test
+    public void migrate() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:candle_migration;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE WA_CANDLE (CANDLE_SEQ INT PRIMARY KEY, MARKET VARCHAR(20) NOT NULL, PERIOD_TYPE VARCHAR(20) NOT NULL," +
+                " CANDLE_DATE_TIME_UTC TIMESTAMP NOT NULL, TRADE_PRICE DOUBLE NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX IDX_CANDLE_DATE_TIME_UTC_ASC ON WA_CANDLE (CANDLE_DATE_TIME_UTC ASC)");
+        jdbcTemplate.execute("CREATE INDEX IDX_CANDLE_DATE_TIME_UTC_DESC ON WA_CANDLE (CANDLE_DATE_TIME_UTC DESC)");
+        jdbcTemplate.execute("CREATE INDEX IDX_CANDLE_MARKET_PERIOD_TIME ON WA_CANDLE (MARKET, PERIOD_TYPE, CANDLE_DATE_TIME_UTC)");
+        String insert = "INSERT INTO WA_CANDLE VALUES (?, ?, ?, TIMESTAMP '2022-01-01 00:00:00', ?)";
+        jdbcTemplate.update(insert, 1, "KRW-BTC", "PERIOD_1", 100);
+        jdbcTemplate.update(insert, 2, "KRW-BTC", "PERIOD_1", 101);
+        jdbcTemplate.update(insert, 3, "KRW-BTC", "PERIOD_1", 102);
+        jdbcTemplate.update(insert, 4, "KRW-BTC", "PERIOD_60", 200);
+        jdbcTemplate.update(insert, 5, "KRW-ETH", "PERIOD_1", 300);
+
+        CandleSchemaMigration migration = new CandleSchemaMigration(jdbcTemplate);
+        migration.migrate();
+
+        // 중복 중 마지막에 저장한 캔들만 남음
+        Assertions.assertEquals(3, count(jdbcTemplate, "SELECT COUNT(*) FROM WA_CANDLE"));
+        Double price = jdbcTemplate.queryForObject("SELECT TRADE_PRICE FROM WA_CANDLE WHERE MARKET = 'KRW-BTC' AND PERIOD_TYPE = 'PERIOD_1'", Double.class);
+        Assertions.assertEquals(102, price, 0.000001);
+        Assertions.assertEquals(1, count(jdbcTemplate, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.CONSTRAINTS WHERE CONSTRAINT_NAME = '" + CandleSchemaMigration.UNIQUE_KEY + "'"));
+        Assertions.assertEquals(0, count(jdbcTemplate, "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME LIKE 'IDX_CANDLE_%'"));
+        Assertions.assertThrows(RuntimeException.class, () -> jdbcTemplate.update(insert, 6, "KRW-ETH", "PERIOD_1", 301));
+
+        // 이미 적용했으면 아무것도 하지 않음
+        migration.migrate();
+        Assertions.assertEquals(3, count(jdbcTemplate, "SELECT COUNT(*) FROM WA_CANDLE"));
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    private static int count(JdbcTemplate jdbcTemplate, String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+}
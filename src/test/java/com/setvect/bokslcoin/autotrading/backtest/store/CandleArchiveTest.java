@@ -0,0 +1,139 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.model.CandleMinute;
+import com.setvect.bokslcoin.autotrading.util.GsonUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CandleArchiveTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void writeRead() {
+        Path path = dir.resolve("KRW-BTC_1.cbin");
+        List<CandleMinute> expected = new ArrayList<>();
+        try (CandleArchiveWriter writer = CandleArchiveWriter.create(path, "KRW-BTC", 1, 100)) {
+            for (int i = 0; i < 1000; i++) {
+                // 중간에 빠진 분이 있어도 됨
+                CandleMinute candle = minute(i + (i / 300) * 5, 50_000_000 + i * 1000);
+                // 두 번째 블록은 소수점 가격, 세 번째 블록은 정수로 표현할 수 없는 가격
+                if (i >= 100 && i < 200) {
+                    candle.setTradePrice(0.00012345 + i * 0.00000001);
+                } else if (i >= 200 && i < 300) {
+                    candle.setLowPrice(Math.PI * i);
+                }
+                writer.add(candle);
+                expected.add(candle);
+            }
+        }
+
+        try (CandleArchiveReader reader = CandleArchiveReader.open(path)) {
+            Assertions.assertEquals("KRW-BTC", reader.getMarket());
+            Assertions.assertEquals(1, reader.getUnit());
+            Assertions.assertEquals(1000, reader.size());
+            Assertions.assertEquals(10, reader.getBlockCount());
+            Assertions.assertEquals(expected.get(0).getCandleDateTimeUtc(), reader.getFrom());
+            Assertions.assertEquals(expected.get(999).getCandleDateTimeUtc(), reader.getTo());
+
+            int i = 0;
+            for (CandleMinute actual : reader) {
+                assertCandle(expected.get(i++), actual);
+            }
+            Assertions.assertEquals(1000, i);
+
+            // 블록 경계에 걸친 범위
+            List<CandleMinute> range = new ArrayList<>();
+            reader.forEach(expected.get(95).getCandleDateTimeUtc(), expected.get(205).getCandleDateTimeUtc(), range::add);
+            Assertions.assertEquals(111, range.size());
+            assertCandle(expected.get(95), range.get(0));
+            assertCandle(expected.get(205), range.get(110));
+
+            CandleColumns columns = new CandleColumns();
+            Assertions.assertEquals(5, reader.readColumns(expected.get(250).getCandleDateTimeUtc(), expected.get(254).getCandleDateTimeUtc(), columns));
+            Assertions.assertEquals(expected.get(252).getLowPrice(), columns.getLow(2));
+        }
+    }
+
+    @Test
+    public void writeOrder() {
+        Path path = dir.resolve("KRW-BTC_1.cbin");
+        try (CandleArchiveWriter writer = CandleArchiveWriter.create(path, "KRW-BTC", 1)) {
+            writer.add(minute(1, 100));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> writer.add(minute(1, 100)));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> writer.add(minute(0, 100)));
+        }
+        try (CandleArchiveReader reader = CandleArchiveReader.open(path)) {
+            Assertions.assertEquals(1, reader.size());
+        }
+    }
+
+    @Test
+    public void fromJson() throws IOException {
+        // 업비트 응답처럼 최신 순
+        List<CandleMinute> candles = new ArrayList<>();
+        for (int i = 9; i >= 0; i--) {
+            candles.add(minute(i, 1000 + i));
+        }
+        Path json = dir.resolve("KRW-BTC.json");
+        try (Writer writer = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+            GsonUtil.GSON.toJson(candles, writer);
+        }
+
+        List<Path> archives = CandleArchiveConverter.fromJson(json.toFile(), dir.resolve("archive"));
+        Assertions.assertEquals(1, archives.size());
+        Assertions.assertEquals("KRW-BTC_1.cbin", archives.get(0).getFileName().toString());
+        Assertions.assertTrue(Files.size(archives.get(0)) < Files.size(json));
+
+        try (CandleArchiveReader reader = CandleArchiveReader.open(archives.get(0))) {
+            int i = 0;
+            for (CandleMinute actual : reader) {
+                assertCandle(candles.get(9 - i), actual);
+                i++;
+            }
+            Assertions.assertEquals(10, i);
+        }
+    }
+
+    private static CandleMinute minute(int minute, double price) {
+        CandleMinute candle = new CandleMinute();
+        candle.setMarket("KRW-BTC");
+        candle.setUnit(1);
+        candle.setCandleDateTimeUtc(BASE.plusMinutes(minute));
+        candle.setCandleDateTimeKst(BASE.plusMinutes(minute).plusHours(9));
+        candle.setOpeningPrice(price);
+        candle.setHighPrice(price + 5000);
+        candle.setLowPrice(price - 3000);
+        candle.setTradePrice(price + 1000);
+        candle.setTimestamp(CandleStore.toEpochMilli(BASE.plusMinutes(minute)) + 59_123);
+        candle.setCandleAccTradePrice(123_456_789.1234 + minute);
+        candle.setCandleAccTradeVolume(2.46913578 + minute);
+        return candle;
+    }
+
+    private static void assertCandle(CandleMinute expected, CandleMinute actual) {
+        Assertions.assertEquals(expected.getMarket(), actual.getMarket());
+        Assertions.assertEquals(expected.getUnit(), actual.getUnit());
+        Assertions.assertEquals(expected.getCandleDateTimeUtc(), actual.getCandleDateTimeUtc());
+        Assertions.assertEquals(expected.getCandleDateTimeKst(), actual.getCandleDateTimeKst());
+        Assertions.assertEquals(expected.getOpeningPrice(), actual.getOpeningPrice());
+        Assertions.assertEquals(expected.getHighPrice(), actual.getHighPrice());
+        Assertions.assertEquals(expected.getLowPrice(), actual.getLowPrice());
+        Assertions.assertEquals(expected.getTradePrice(), actual.getTradePrice());
+        Assertions.assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        Assertions.assertEquals(expected.getCandleAccTradePrice(), actual.getCandleAccTradePrice());
+        Assertions.assertEquals(expected.getCandleAccTradeVolume(), actual.getCandleAccTradeVolume());
+    }
+}
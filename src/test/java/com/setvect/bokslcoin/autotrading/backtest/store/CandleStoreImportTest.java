@@ -0,0 +1,50 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * DB, JSON 파일의 캔들을 캔들 저장소로 옮김
+ */
+@SpringBootTest
+@ActiveProfiles("local")
+@Slf4j
+public class CandleStoreImportTest {
+    @Autowired
+    private CandleStoreImporter candleStoreImporter;
+
+    @Test
+    public void DB캔들옮기기() {
+        List<String> marketList = Arrays.asList("KRW-BTC", "KRW-ETH", "KRW-XRP", "KRW-EOS", "KRW-ETC", "KRW-ADA", "KRW-MANA", "KRW-BAT", "KRW-BCH", "KRW-DOT");
+        for (String market : marketList) {
+            for (PeriodType periodType : PeriodType.values()) {
+                int count = candleStoreImporter.importFromDb(market, periodType);
+                log.info("{} {}: {}건", market, periodType, count);
+            }
+        }
+    }
+
+    @Test
+    public void JSON캔들옮기기() {
+        candleStoreImporter.importFromJsonDir(new File("./craw-data"));
+    }
+
+    @Test
+    public void JSON캔들보관파일변환() {
+        List<Path> archives = CandleArchiveConverter.fromJsonDir(new File("./craw-data"), Paths.get("./craw-data/archive"));
+        for (Path archive : archives) {
+            log.info("{}: {}byte", archive, archive.toFile().length());
+        }
+        candleStoreImporter.importFromArchiveDir(new File("./craw-data/archive"));
+    }
+}
@@ -0,0 +1,77 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+public class CandleStoreTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void range() {
+        CandleStore store = new CandleStore(dir.toString());
+        CandleColumns columns = new CandleColumns();
+        // 최신 순으로 넣어도 저장할 때 정렬
+        for (int i = 9; i >= 0; i--) {
+            columns.add(time(i), 100 + i, 110 + i, 90 + i, 105 + i);
+        }
+        Assertions.assertEquals(10, store.merge("KRW-BTC", PeriodType.PERIOD_1, columns));
+
+        CandleSlice slice = store.range("KRW-BTC", PeriodType.PERIOD_1, BASE.plusMinutes(3), BASE.plusMinutes(6));
+        Assertions.assertEquals(4, slice.size());
+        Assertions.assertEquals(103, slice.getOpen(0));
+        Assertions.assertEquals(111, slice.getClose(3));
+        Assertions.assertEquals(BASE.plusMinutes(6), slice.getCandle(3).getCandleDateTimeUtc());
+        Assertions.assertEquals(BASE.plusMinutes(6).plusHours(9), slice.getCandle(3).getCandleDateTimeKst());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> slice.getClose(4));
+
+        // 사이 시간으로 조회
+        CandleSlice between = store.range("KRW-BTC", PeriodType.PERIOD_1, BASE.plusSeconds(30), BASE.plusSeconds(90));
+        Assertions.assertEquals(1, between.size());
+        Assertions.assertTrue(store.range("KRW-BTC", PeriodType.PERIOD_1, BASE.plusMinutes(20), BASE.plusMinutes(30)).isEmpty());
+    }
+
+    @Test
+    public void merge() {
+        CandleStore store = new CandleStore(dir.toString());
+        CandleColumns first = new CandleColumns();
+        for (int i = 0; i < 5; i++) {
+            first.add(time(i), 1, 1, 1, 1);
+        }
+        store.merge("KRW-BTC", PeriodType.PERIOD_1, first);
+
+        CandleColumns second = new CandleColumns();
+        for (int i = 3; i < 8; i++) {
+            second.add(time(i), 2, 2, 2, 2);
+        }
+        Assertions.assertEquals(8, store.merge("KRW-BTC", PeriodType.PERIOD_1, second));
+
+        CandleColumnFile file = store.open("KRW-BTC", PeriodType.PERIOD_1);
+        Assertions.assertEquals(1, file.getClose(2));
+        Assertions.assertEquals(2, file.getClose(3));
+        Assertions.assertEquals(time(7), file.getTime(7));
+    }
+
+    @Test
+    public void lowerBound() {
+        CandleColumns columns = new CandleColumns();
+        for (int i = 0; i < 10; i += 2) {
+            columns.add(time(i), 1, 1, 1, 1);
+        }
+        Assertions.assertEquals(0, columns.lowerBound(time(-1)));
+        Assertions.assertEquals(1, columns.lowerBound(time(2)));
+        Assertions.assertEquals(2, columns.lowerBound(time(3)));
+        Assertions.assertEquals(5, columns.lowerBound(time(9)));
+    }
+
+    private static long time(int minute) {
+        return CandleStore.toEpochMilli(BASE.plusMinutes(minute));
+    }
+}
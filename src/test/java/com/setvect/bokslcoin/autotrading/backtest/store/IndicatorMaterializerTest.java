@@ -0,0 +1,73 @@
+package com.setvect.bokslcoin.autotrading.backtest.store;
+
+import com.setvect.bokslcoin.autotrading.algorithm.CommonTradeHelper;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import com.setvect.bokslcoin.autotrading.model.Candle;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class IndicatorMaterializerTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void materialize() {
+        CandleStore store = new CandleStore(dir.toString());
+        double[] close = save(store, 0, 500);
+        IndicatorMaterializer materializer = new IndicatorMaterializer(store);
+
+        IndicatorColumnFile indicator = materializer.materialize("KRW-BTC", PeriodType.PERIOD_60, 5, 20);
+        Assertions.assertEquals(500, indicator.size());
+        Assertions.assertArrayEquals(new int[]{5, 20}, indicator.getWindows());
+        Assertions.assertTrue(Double.isNaN(indicator.getSma(5, 3)));
+        Assertions.assertTrue(Double.isNaN(indicator.getWma(20, 18)));
+        for (int i = 19; i < 500; i++) {
+            // 최근 캔들이 앞
+            List<Candle> candles = new ArrayList<>();
+            for (int k = i; k >= 0; k--) {
+                Candle candle = new Candle();
+                candle.setTradePrice(close[k]);
+                candles.add(candle);
+            }
+            for (int window : new int[]{5, 20}) {
+                Assertions.assertEquals(CommonTradeHelper.getMa(candles, window), indicator.getSma(window, i), 1e-6);
+                Assertions.assertEquals(CommonTradeHelper.getMaWeight(candles, window), indicator.getWma(window, i), 1e-6);
+            }
+        }
+        Assertions.assertEquals(close[10] + close[11] + close[12], indicator.getSum(10, 13), 1e-6);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> indicator.getSma(7, 100));
+
+        // 계산한 기간만 요청하면 다시 계산하지 않음
+        Assertions.assertSame(indicator, materializer.materialize("KRW-BTC", PeriodType.PERIOD_60, 20));
+        // 새 기간을 요청하면 기존 기간까지 다시 계산
+        IndicatorColumnFile added = materializer.materialize("KRW-BTC", PeriodType.PERIOD_60, 7);
+        Assertions.assertArrayEquals(new int[]{5, 7, 20}, added.getWindows());
+
+        // 캔들이 추가되면 다시 계산
+        double[] more = save(store, 500, 10);
+        IndicatorColumnFile updated = materializer.materialize("KRW-BTC", PeriodType.PERIOD_60, 5);
+        Assertions.assertEquals(510, updated.size());
+        Assertions.assertEquals((more[5] + more[6] + more[7] + more[8] + more[9]) / 5, updated.getSma(5, 509), 1e-6);
+    }
+
+    private static double[] save(CandleStore store, int from, int count) {
+        Random random = new Random(from);
+        double[] close = new double[count];
+        CandleColumns columns = new CandleColumns();
+        for (int i = 0; i < count; i++) {
+            close[i] = 50_000_000 + random.nextInt(1_000_000);
+            columns.add(CandleStore.toEpochMilli(BASE.plusHours(from + i)), close[i], close[i], close[i], close[i]);
+        }
+        store.merge("KRW-BTC", PeriodType.PERIOD_60, columns);
+        return close;
+    }
+}
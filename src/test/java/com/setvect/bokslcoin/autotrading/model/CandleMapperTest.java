@@ -0,0 +1,54 @@
+package com.setvect.bokslcoin.autotrading.model;
+
+import com.setvect.bokslcoin.autotrading.backtest.entity.CandleEntity;
+import com.setvect.bokslcoin.autotrading.backtest.entity.PeriodType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+public class CandleMapperTest {
+    private static final LocalDateTime TIME = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    @Test
+    public void toMinute() {
+        CandleEntity entity = new CandleEntity();
+        entity.setMarket("KRW-BTC");
+        entity.setPeriodType(PeriodType.PERIOD_15);
+        entity.setCandleDateTimeUtc(TIME);
+        entity.setCandleDateTimeKst(TIME.plusHours(9));
+        entity.setOpeningPrice(100);
+        entity.setHighPrice(110);
+        entity.setLowPrice(90);
+        entity.setTradePrice(105);
+
+        CandleMinute minute = CandleMapper.toMinute(entity);
+        Assertions.assertEquals("KRW-BTC", minute.getMarket());
+        Assertions.assertEquals(15, minute.getUnit());
+        Assertions.assertEquals(TIME.plusHours(9), minute.getCandleDateTimeKst());
+        Assertions.assertEquals(110, minute.getHighPrice());
+        Assertions.assertEquals(105, minute.getTradePrice());
+
+        CandleEntity back = CandleMapper.toEntity(minute, PeriodType.PERIOD_15);
+        Assertions.assertEquals(TIME, back.getCandleDateTimeUtc());
+        Assertions.assertEquals(90, back.getLowPrice());
+    }
+
+    @Test
+    public void copy() {
+        Candle source = new Candle();
+        source.setMarket("KRW-ETH");
+        source.setCandleDateTimeUtc(TIME);
+        source.setTradePrice(3000);
+        source.setCandleAccTradeVolume(12.5);
+
+        Candle copy = new Candle(source);
+        source.setTradePrice(3100);
+        Assertions.assertEquals(3000, copy.getTradePrice());
+        Assertions.assertEquals(12.5, copy.getCandleAccTradeVolume());
+
+        CandleMinute minute = new CandleMinute(copy, 60);
+        Assertions.assertEquals(60, new CandleMinute(minute).getUnit());
+        Assertions.assertEquals("KRW-ETH", new CandleDay(minute).getMarket());
+    }
+}
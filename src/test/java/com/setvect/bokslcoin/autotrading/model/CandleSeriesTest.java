@@ -0,0 +1,133 @@
+package com.setvect.bokslcoin.autotrading.model;
+
+import com.setvect.bokslcoin.autotrading.algorithm.websocket.TradeResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public class CandleSeriesTest {
+    @Test
+    public void pushFront() {
+        CandleSeries series = new CandleSeries("KRW-BTC", 3);
+        for (int i = 0; i < 5; i++) {
+            series.pushFront(trade(i, 100 + i));
+        }
+
+        Assertions.assertEquals(3, series.size());
+        Assertions.assertEquals(104, series.getClose(0));
+        Assertions.assertEquals(103, series.getClose(1));
+        Assertions.assertEquals(102, series.getClose(2));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> series.getClose(3));
+        // 원형 배열 끝을 넘어가는 구간 포함
+        Assertions.assertEquals(104 + 103 + 102, series.sumClose(3));
+        Assertions.assertEquals(104 + 103, series.sumClose(2));
+        Assertions.assertEquals(0, series.sumClose(0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> series.sumClose(4));
+        Assertions.assertEquals(LocalTime.of(2, 0), series.getCandle(2).getCandleDateTimeUtc().toLocalTime());
+        Assertions.assertEquals(LocalTime.of(11, 0), series.getCandle(2).getCandleDateTimeKst().toLocalTime());
+    }
+
+    @Test
+    public void change() {
+        CandleSeries series = new CandleSeries("KRW-BTC", 3);
+        series.pushFront(trade(0, 100));
+        Candle newest = series.getNewest();
+
+        series.change(trade(0, 120));
+        series.change(trade(0, 90));
+        series.change(trade(0, 110));
+
+        Assertions.assertSame(newest, series.getNewest());
+        Assertions.assertEquals(110, series.getClose(0));
+        Assertions.assertEquals(120, series.getHigh(0));
+        Assertions.assertEquals(90, series.getLow(0));
+        Assertions.assertEquals(100, series.getOpen(0));
+        Assertions.assertEquals(110, newest.getTradePrice());
+        Assertions.assertEquals(4, series.getVolume(0));
+    }
+
+    @Test
+    public void newestAfterPush() {
+        CandleSeries series = new CandleSeries("KRW-BTC", 3);
+        series.pushFront(trade(0, 100));
+        Candle before = series.getNewest();
+        double beforeClose = before.getTradePrice();
+
+        // 새 주기를 추가하면 앞서 받은 객체도 새 캔들 값으로 바뀜. 이전 캔들은 배열에서 읽음
+        series.pushFront(trade(1, 200));
+        Assertions.assertSame(before, series.getNewest());
+        Assertions.assertEquals(200, before.getTradePrice());
+        Assertions.assertEquals(200, series.getClose(0));
+        Assertions.assertEquals(beforeClose, series.getClose(1));
+        Assertions.assertEquals(100, series.getCandle(1).getTradePrice());
+    }
+
+    @Test
+    public void merge() {
+        CandleSeries series = new CandleSeries("KRW-BTC", 3);
+        series.pushFront(trade(1, 100));
+
+        // 마지막 갱신 시각 이전 캔들은 고가, 저가만 반영
+        series.merge(minute(0, 59, 130, 80, 95));
+        Assertions.assertEquals(100, series.getClose(0));
+        Assertions.assertEquals(130, series.getHigh(0));
+        Assertions.assertEquals(80, series.getLow(0));
+        Assertions.assertEquals(1, series.getVolume(0));
+
+        series.merge(minute(1, 5, 105, 99, 102));
+        Candle newest = series.getNewest();
+        Assertions.assertEquals(1, series.size());
+        Assertions.assertEquals(102, series.getClose(0));
+        Assertions.assertEquals(102, newest.getTradePrice());
+        Assertions.assertEquals(130, newest.getHighPrice());
+        Assertions.assertEquals(3, series.getVolume(0));
+        Assertions.assertEquals(LocalTime.of(1, 5), newest.getCandleDateTimeUtc().toLocalTime());
+    }
+
+    @Test
+    public void mergeLastTickMinute() {
+        CandleSeries series = new CandleSeries("KRW-BTC", 3);
+        series.pushFront(trade(LocalTime.of(1, 5, 30), 100));
+
+        // 마지막 체결이 속한 1분봉은 거래량이 이미 일부 들어 있어 종가, 거래량 제외
+        series.merge(minute(1, 5, 110, 90, 105));
+        Assertions.assertEquals(100, series.getClose(0));
+        Assertions.assertEquals(1, series.getVolume(0));
+        Assertions.assertEquals(110, series.getHigh(0));
+
+        series.merge(minute(1, 6, 104, 101, 103));
+        Assertions.assertEquals(103, series.getClose(0));
+        Assertions.assertEquals(3, series.getVolume(0));
+        // 반영한 1분봉은 다시 합쳐도 중복되지 않음
+        series.merge(minute(1, 6, 104, 101, 103));
+        Assertions.assertEquals(3, series.getVolume(0));
+    }
+
+    private static Candle minute(int hour, int minute, double high, double low, double close) {
+        Candle candle = new Candle();
+        candle.setCandleDateTimeUtc(LocalDate.of(2022, 1, 1).atTime(hour, minute));
+        candle.setCandleDateTimeKst(LocalDate.of(2022, 1, 1).atTime(hour + 9, minute));
+        candle.setOpeningPrice(close);
+        candle.setHighPrice(high);
+        candle.setLowPrice(low);
+        candle.setTradePrice(close);
+        candle.setCandleAccTradeVolume(2);
+        return candle;
+    }
+
+    private static TradeResult trade(int hour, double price) {
+        return trade(LocalTime.of(hour, 0), price);
+    }
+
+    private static TradeResult trade(LocalTime time, double price) {
+        return TradeResult.builder()
+                .code("KRW-BTC")
+                .tradePrice(price)
+                .tradeVolume(1)
+                .tradeDate(LocalDate.of(2022, 1, 1))
+                .tradeTime(time)
+                .build();
+    }
+}
@@ -1,6 +1,8 @@
 package com.setvect.bokslcoin.autotrading.websocket;
 
 import com.setvect.bokslcoin.autotrading.algorithm.websocket.UpbitWebSocketListener;
+import com.setvect.bokslcoin.autotrading.monitor.TradingMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 
@@ -14,7 +16,7 @@ public class UpbitWebSocketClient {
                 .url("wss://api.upbit.com/websocket/v1")
                 .build();
 
-        UpbitWebSocketListener webSocketListener = new UpbitWebSocketListener(System.out::println, null);
+        UpbitWebSocketListener webSocketListener = new UpbitWebSocketListener(System.out::println, null, new TradingMetrics(new SimpleMeterRegistry()), null, null);
         webSocketListener.setParameter(Arrays.asList("KRW-BTC", "KRW-ETH", "KRW-XRP", "KRW-EOS", "KRW-ETC", "KRW-ADA", "KRW-MANA", "KRW-BAT", "KRW-BCH", "KRW-DOT"));
 //        webSocketListener.setParameter(Arrays.asList("KRW-XRP"));
 